@@ -0,0 +1,49 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.applib.services.audit;
+
+import java.util.List;
+
+import org.apache.isis.applib.annotation.Programmatic;
+
+/**
+ * Will be called with all of the changes to auditable entities made within a transaction, as a single batch.
+ *
+ * <p>
+ * This is an alternative to {@link AuditerService}, allowing implementations to write the audit entries using a
+ * single (batched) insert rather than one insert per changed property.  The framework adapts any registered
+ * {@link AuditerService}s on top of this SPI, so that both are called with the same {@link AuditRecord}s.
+ *
+ * <p>
+ * By default the batch is passed synchronously, within the transaction being committed.  If asynchronous auditing is
+ * enabled (<tt>isis.services.audit.async</tt>) then it is instead passed after the transaction has committed, from a
+ * background thread, within a transaction of its own.
+ */
+public interface AuditerBatchService {
+
+    @Programmatic
+    boolean isEnabled();
+
+    /**
+     * @param records - the changed properties; never empty.
+     */
+    @Programmatic
+    void audit(final List<AuditRecord> records);
+
+}
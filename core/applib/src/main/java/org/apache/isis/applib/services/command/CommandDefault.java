@@ -32,6 +32,8 @@
 import org.apache.isis.applib.services.eventbus.ActionDomainEvent;
 import org.apache.isis.applib.services.eventbus.ActionInteractionEvent;
 import org.apache.isis.applib.util.ObjectContracts;
+import org.apache.isis.schema.cmd.v1.CommandDto;
+import org.apache.isis.schema.utils.CommandDtoUtils;
 
 public class CommandDefault implements Command3 {
 
@@ -102,14 +104,53 @@ public void setArguments(String arguments) {
     //region > memento (property)
 
     private String memento;
-    
+    private CommandDto commandDto;
+
+    /**
+     * If only the {@link #setCommandDto(CommandDto) dto} has been provided, then serializes it (once) to XML.
+     */
     @Override
     public String getMemento() {
+        if(memento == null && commandDto != null) {
+            memento = CommandDtoUtils.toXml(commandDto);
+        }
         return memento;
     }
     @Override
     public void setMemento(String memento) {
         this.memento = memento;
+        this.commandDto = null;
+    }
+
+    /**
+     * The dto from which the {@link #getMemento() memento} is lazily serialized, if provided.
+     */
+    @Programmatic
+    public CommandDto getCommandDto() {
+        return commandDto;
+    }
+
+    /**
+     * <b>NOT API</b>: intended to be called only by the framework.
+     *
+     * <p>
+     * Implementation notes: set (instead of the {@link #setMemento(String) memento}) when the action is invoked or
+     * property edited, so that the cost of serializing to XML is only incurred if the memento is actually required
+     * (eg the command is persisted).
+     */
+    @Programmatic
+    public void setCommandDto(final CommandDto commandDto) {
+        this.commandDto = commandDto;
+        this.memento = null;
+    }
+
+    /**
+     * Whether either the {@link #getMemento() memento} or the {@link #getCommandDto() dto} has been provided,
+     * without serializing the latter.
+     */
+    @Programmatic
+    public boolean hasMemento() {
+        return memento != null || commandDto != null;
     }
     
     //endregion
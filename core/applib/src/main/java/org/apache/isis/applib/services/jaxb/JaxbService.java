@@ -22,6 +22,7 @@
 import java.lang.reflect.Method;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.inject.Inject;
 import javax.xml.bind.JAXBContext;
@@ -102,6 +103,23 @@ public boolean shouldIgnore(final String namespaceUri) {
 
     public static class Simple implements JaxbService {
 
+        /**
+         * {@link JAXBContext}s are expensive to create but thread-safe, so are created only once per class.
+         */
+        private final ConcurrentMap<Class<?>, JAXBContext> jaxbContextByClass = Maps.newConcurrentMap();
+
+        protected JAXBContext jaxbContextFor(final Class<?> domainClass) throws JAXBException {
+            JAXBContext context = jaxbContextByClass.get(domainClass);
+            if(context == null) {
+                context = JAXBContext.newInstance(domainClass);
+                final JAXBContext existing = jaxbContextByClass.putIfAbsent(domainClass, context);
+                if(existing != null) {
+                    context = existing;
+                }
+            }
+            return context;
+        }
+
         @Override
         public Object fromXml(final JAXBContext jaxbContext, final String xml) {
             return fromXml(jaxbContext, xml, Maps.<String,Object>newHashMap());
@@ -133,7 +151,7 @@ public <T> T fromXml(final Class<T> domainClass, final String xml) {
         @Override
         public <T> T fromXml(final Class<T> domainClass, final String xml, final Map<String, Object> unmarshallerProperties) {
             try {
-                final JAXBContext context = JAXBContext.newInstance(domainClass);
+                final JAXBContext context = jaxbContextFor(domainClass);
                 return (T) fromXml(context, xml, unmarshallerProperties);
 
             } catch (final JAXBException ex) {
@@ -151,7 +169,7 @@ public String toXml(final Object domainObject, final Map<String, Object> marshal
 
             final Class<?> domainClass = domainObject.getClass();
             try {
-                final JAXBContext context = JAXBContext.newInstance(domainClass);
+                final JAXBContext context = jaxbContextFor(domainClass);
 
                 final Marshaller marshaller = context.createMarshaller();
 
@@ -219,7 +237,7 @@ public Map<String,String> toXsd(final Object domainObject, final IsisSchemas isi
 
             try {
                 final Class<?> domainClass = domainObject.getClass();
-                final JAXBContext context = JAXBContext.newInstance(domainClass);
+                final JAXBContext context = jaxbContextFor(domainClass);
 
                 final CatalogingSchemaOutputResolver outputResolver = new CatalogingSchemaOutputResolver(isisSchemas);
                 context.generateSchema(outputResolver);
@@ -0,0 +1,52 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.applib.services.metrics;
+
+import org.apache.isis.applib.annotation.Programmatic;
+
+/**
+ * Extends {@link MetricsService} with statistics for the level-2 (shared, cross-session) cache used by the
+ * object store for entities marked as cacheable.
+ *
+ * <p>
+ *     Unlike the other metrics, these are totals since the application was started.  If the framework's own
+ *     level-2 cache is not in use (eg no entities are cacheable), then they are all zero.
+ * </p>
+ */
+public interface MetricsService2 extends MetricsService {
+
+    /**
+     * The number of times that an object was found in the level-2 cache.
+     */
+    @Programmatic
+    long level2CacheHitCount();
+
+    /**
+     * The number of times that an object was looked for but not found in the level-2 cache.
+     */
+    @Programmatic
+    long level2CacheMissCount();
+
+    /**
+     * The number of objects removed from the level-2 cache because it was full or the entry had expired.
+     */
+    @Programmatic
+    long level2CacheEvictionCount();
+
+}
@@ -22,6 +22,9 @@
 import java.util.Collections;
 import java.util.List;
 
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+
 import org.apache.isis.applib.annotation.Hidden;
 import org.apache.isis.applib.annotation.Programmatic;
 import org.apache.isis.applib.events.InteractionEvent;
@@ -103,6 +106,45 @@ public boolean shouldExecute() {
         }
     }
 
+    /**
+     * Interacts with a wrapper (typically just invoking a single action), as used by
+     * {@link AsyncWrapper#invoke(AsyncCall)}.
+     *
+     * <p>
+     * The call is made twice: first synchronously on a {@link ExecutionMode#NO_EXECUTE no-execute} wrapper (so
+     * the wrapper returns <tt>null</tt>), then asynchronously on an {@link ExecutionMode#EXECUTE executing} wrapper.
+     * It should therefore do nothing other than interact with the provided wrapper.
+     * </p>
+     */
+    public interface AsyncCall<T, R> {
+        R call(T wrapped);
+    }
+
+    /**
+     * Obtained from {@link WrapperFactory#async(Object)}.
+     */
+    public interface AsyncWrapper<T> {
+
+        /**
+         * Validates the business rules of the interaction synchronously (throwing any {@link InteractionException}
+         * immediately), then executes it asynchronously in its own session and transaction, running as the
+         * current user.
+         *
+         * <p>
+         * If called within a transaction, then the interaction is only executed once that transaction has committed
+         * (and the future is cancelled if it aborts instead); the future should therefore not be waited upon within
+         * that transaction.
+         * </p>
+         *
+         * <p>
+         * Any domain entity returned by the future belongs to that (by then closed) session, so should be
+         * looked up again (eg using its bookmark) if it is to be modified.
+         * </p>
+         */
+        @Programmatic
+        <R> ListenableFuture<R> invoke(AsyncCall<T, R> call);
+    }
+
     WrapperFactory NOOP = new WrapperFactory(){
 
         @Override
@@ -125,6 +167,16 @@ public <T> T wrap(T domainObject, ExecutionMode mode) {
             return domainObject;
         }
 
+        @Override
+        public <T> AsyncWrapper<T> async(final T domainObject) {
+            return new AsyncWrapper<T>() {
+                @Override
+                public <R> ListenableFuture<R> invoke(final AsyncCall<T, R> call) {
+                    return Futures.immediateFuture(call.call(domainObject));
+                }
+            };
+        }
+
         @Override
         public <T> T unwrap(T possibleWrappedDomainObject) {
             return possibleWrappedDomainObject;
@@ -190,6 +242,25 @@ public void notifyListeners(InteractionEvent ev) {
     @Programmatic
     <T> T wrap(T domainObject, ExecutionMode mode);
 
+    /**
+     * Provides an {@link AsyncWrapper} of the underlying domain object (which must be persistent, a view model or
+     * a domain service), whose interactions are executed asynchronously, for example:
+     *
+     * <pre>
+     * ListenableFuture&lt;Order&gt; future = wrapperFactory.async(customer).invoke(
+     *     new AsyncCall&lt;Customer, Order&gt;() {
+     *         public Order call(Customer customer) { return customer.placeOrder(product, 1); }
+     *     });
+     * </pre>
+     *
+     * <p>
+     * This allows services that interact with many domain objects (eg to recalculate or notify them) to do so in
+     * parallel, rather than one after the other.  The business rules are still validated synchronously, so that
+     * any {@link InteractionException} is thrown immediately to the caller.
+     * </p>
+     */
+    @Programmatic
+    <T> AsyncWrapper<T> async(T domainObject);
 
     /**
      * Obtains the underlying domain object, if wrapped.
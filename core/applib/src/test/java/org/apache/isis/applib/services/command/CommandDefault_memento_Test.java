@@ -0,0 +1,74 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.applib.services.command;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.apache.isis.schema.cmd.v1.CommandDto;
+import org.apache.isis.schema.utils.CommandDtoUtils;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class CommandDefault_memento_Test {
+
+    private CommandDefault command;
+    private CommandDto dto;
+
+    @Before
+    public void setUp() throws Exception {
+        command = new CommandDefault();
+        dto = new CommandDto();
+        dto.setMajorVersion("1");
+        dto.setMinorVersion("3");
+        dto.setTransactionId("abc-123");
+    }
+
+    @Test
+    public void when_none() throws Exception {
+        assertThat(command.hasMemento(), is(false));
+        assertThat(command.getMemento(), is(nullValue()));
+    }
+
+    @Test
+    public void when_dto_then_serialized_once_on_demand() throws Exception {
+        command.setCommandDto(dto);
+        assertThat(command.hasMemento(), is(true));
+
+        final String memento = command.getMemento();
+        assertThat(memento, is(CommandDtoUtils.toXml(dto)));
+        assertThat(memento, containsString("abc-123"));
+        assertThat(command.getMemento(), is(sameInstance(memento)));
+    }
+
+    @Test
+    public void when_memento_set_then_replaces_dto() throws Exception {
+        command.setCommandDto(dto);
+
+        command.setMemento("<xml/>");
+
+        assertThat(command.getCommandDto(), is(nullValue()));
+        assertThat(command.getMemento(), is("<xml/>"));
+    }
+
+}
@@ -0,0 +1,164 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.benchmarks;
+
+import java.util.Collections;
+import java.util.List;
+
+import javax.ws.rs.core.MediaType;
+
+import org.apache.isis.applib.annotation.Where;
+import org.apache.isis.core.commons.authentication.AuthenticationSession;
+import org.apache.isis.core.commons.config.IsisConfiguration;
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.adapter.mgr.AdapterManager;
+import org.apache.isis.core.metamodel.consent.InteractionInitiatedBy;
+import org.apache.isis.core.metamodel.deployment.DeploymentCategory;
+import org.apache.isis.core.metamodel.services.ServicesInjector;
+import org.apache.isis.core.metamodel.specloader.SpecificationLoader;
+import org.apache.isis.core.runtime.system.persistence.PersistenceSession;
+import org.apache.isis.core.runtime.system.session.IsisSessionFactory;
+import org.apache.isis.viewer.restfulobjects.rendering.RendererContext6;
+import org.apache.isis.viewer.restfulobjects.rendering.service.RepresentationService;
+
+/**
+ * Stands in for the Restful Objects viewer's (request-scoped) <tt>ResourceContext</tt>, using the default settings.
+ */
+class BenchmarkRendererContext implements RendererContext6 {
+
+    private final IsisSessionFactory isisSessionFactory;
+
+    BenchmarkRendererContext(final IsisSessionFactory isisSessionFactory) {
+        this.isisSessionFactory = isisSessionFactory;
+    }
+
+    @Override
+    public String urlFor(final String url) {
+        return "http://localhost:8080/restful/" + url;
+    }
+
+    @Override
+    public AuthenticationSession getAuthenticationSession() {
+        return isisSessionFactory.getCurrentSession().getAuthenticationSession();
+    }
+
+    @Override
+    public IsisConfiguration getConfiguration() {
+        return isisSessionFactory.getConfiguration();
+    }
+
+    @Override
+    public PersistenceSession getPersistenceSession() {
+        return isisSessionFactory.getCurrentSession().getPersistenceSession();
+    }
+
+    @Override
+    public AdapterManager getAdapterManager() {
+        return getPersistenceSession();
+    }
+
+    @Override
+    public Where getWhere() {
+        return Where.OBJECT_FORMS;
+    }
+
+    @Override
+    public List<List<String>> getFollowLinks() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public boolean honorUiHints() {
+        return false;
+    }
+
+    @Override
+    public boolean objectPropertyValuesOnly() {
+        return false;
+    }
+
+    @Override
+    public boolean suppressDescribedByLinks() {
+        return false;
+    }
+
+    @Override
+    public boolean suppressUpdateLink() {
+        return false;
+    }
+
+    @Override
+    public boolean suppressMemberId() {
+        return false;
+    }
+
+    @Override
+    public boolean suppressMemberLinks() {
+        return false;
+    }
+
+    @Override
+    public boolean suppressMemberExtensions() {
+        return false;
+    }
+
+    @Override
+    public boolean suppressMemberDisabledReason() {
+        return false;
+    }
+
+    /**
+     * Never eagerly render, so that each invocation of the benchmark does the same work.
+     */
+    @Override
+    public boolean canEagerlyRender(final ObjectAdapter objectAdapter) {
+        return false;
+    }
+
+    @Override
+    public List<MediaType> getAcceptableMediaTypes() {
+        return Collections.singletonList(MediaType.APPLICATION_JSON_TYPE);
+    }
+
+    @Override
+    public DeploymentCategory getDeploymentCategory() {
+        return DeploymentCategory.PRODUCTION;
+    }
+
+    @Override
+    public InteractionInitiatedBy getInteractionInitiatedBy() {
+        return InteractionInitiatedBy.USER;
+    }
+
+    @Override
+    public SpecificationLoader getSpecificationLoader() {
+        return isisSessionFactory.getSpecificationLoader();
+    }
+
+    @Override
+    public ServicesInjector getServicesInjector() {
+        return isisSessionFactory.getServicesInjector();
+    }
+
+    @Override
+    public RepresentationService.Intent getIntent() {
+        return RepresentationService.Intent.ALREADY_PERSISTENT;
+    }
+
+}
@@ -0,0 +1,77 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.benchmarks;
+
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import org.apache.isis.core.benchmarks.fixture.SimpleObject;
+import org.apache.isis.core.runtime.system.persistence.PersistenceSession;
+
+/**
+ * Holds an open session (and transaction) for the benchmark thread, along with the seeded objects.
+ */
+@State(Scope.Thread)
+public class BenchmarkSession {
+
+    private BenchmarkSystem system;
+    private List<SimpleObject> objects;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void openSession() {
+        system = BenchmarkSystem.get();
+        objects = system.openSession();
+        if(objects.isEmpty()) {
+            throw new IllegalStateException("No objects were seeded");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void closeSession() {
+        system.closeSession();
+    }
+
+    public BenchmarkSystem getSystem() {
+        return system;
+    }
+
+    public PersistenceSession getPersistenceSession() {
+        return system.getIsisSessionFactory().getCurrentSession().getPersistenceSession();
+    }
+
+    public List<SimpleObject> getObjects() {
+        return objects;
+    }
+
+    /**
+     * Cycles through the seeded objects, so that successive invocations do not hit the same object.
+     */
+    public SimpleObject nextObject() {
+        final SimpleObject object = objects.get(next);
+        next = (next + 1) % objects.size();
+        return object;
+    }
+
+}
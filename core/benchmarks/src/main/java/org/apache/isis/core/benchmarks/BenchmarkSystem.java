@@ -0,0 +1,104 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.benchmarks;
+
+import java.util.List;
+
+import org.apache.isis.applib.services.xactn.TransactionService;
+import org.apache.isis.core.benchmarks.fixture.BenchmarkAppManifest;
+import org.apache.isis.core.benchmarks.fixture.SimpleObject;
+import org.apache.isis.core.benchmarks.fixture.SimpleObjectRepository;
+import org.apache.isis.core.integtestsupport.IsisSystemForTest;
+import org.apache.isis.core.runtime.system.session.IsisSessionFactory;
+
+/**
+ * The (lazily bootstrapped) framework, shared by all benchmarks running in the same (forked) JVM.
+ *
+ * <p>
+ *     The fixture domain is seeded with {@link #NUMBER_OF_OBJECTS} {@link SimpleObject}s.
+ * </p>
+ */
+public final class BenchmarkSystem {
+
+    public static final int NUMBER_OF_OBJECTS = 100;
+
+    private static BenchmarkSystem instance;
+
+    public static synchronized BenchmarkSystem get() {
+        if(instance == null) {
+            instance = new BenchmarkSystem();
+        }
+        return instance;
+    }
+
+    private final IsisSystemForTest isft;
+
+    private BenchmarkSystem() {
+        isft = IsisSystemForTest.builder()
+                .withLoggingAt(org.apache.log4j.Level.WARN)
+                .with(new BenchmarkAppManifest())
+                .build();
+        isft.setUpSystem();
+
+        try {
+            final TransactionService transactionService = isft.getService(TransactionService.class);
+            transactionService.nextTransaction();
+            final SimpleObjectRepository repository = isft.getService(SimpleObjectRepository.class);
+            for (int i = 0; i < NUMBER_OF_OBJECTS; i++) {
+                repository.create("Object #" + i);
+            }
+            transactionService.nextTransaction();
+        } finally {
+            closeSession();
+        }
+    }
+
+    public IsisSessionFactory getIsisSessionFactory() {
+        return isft.getIsisSessionFactory();
+    }
+
+    public <T> T getService(final Class<T> serviceClass) {
+        return isft.getService(serviceClass);
+    }
+
+    /**
+     * Opens a session (and transaction) for the calling thread, returning the seeded objects.
+     */
+    public List<SimpleObject> openSession() {
+        try {
+            isft.openSession();
+        } catch (final Exception e) {
+            throw new RuntimeException(e);
+        }
+        getService(TransactionService.class).nextTransaction();
+        return getService(SimpleObjectRepository.class).listAll();
+    }
+
+    /**
+     * Closes the calling thread's session, if any.
+     */
+    public void closeSession() {
+        try {
+            isft.closeSession();
+        } catch (final Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+}
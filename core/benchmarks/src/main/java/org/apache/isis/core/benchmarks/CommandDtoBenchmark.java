@@ -0,0 +1,91 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.benchmarks;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.apache.isis.applib.services.bookmark.Bookmark;
+import org.apache.isis.schema.cmd.v1.ActionDto;
+import org.apache.isis.schema.cmd.v1.CommandDto;
+import org.apache.isis.schema.common.v1.InteractionType;
+import org.apache.isis.schema.utils.CommandDtoUtils;
+import org.apache.isis.schema.utils.CommonDtoUtils;
+
+/**
+ * JAXB round-trips of a {@link CommandDto} (as persisted by command and background command services); does not
+ * require the framework to be running.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CommandDtoBenchmark {
+
+    private CommandDto commandDto;
+    private String commandDtoXml;
+
+    @Setup
+    public void setUp() {
+        commandDto = new CommandDto();
+        commandDto.setMajorVersion("1");
+        commandDto.setMinorVersion("0");
+        commandDto.setTransactionId(UUID.randomUUID().toString());
+        commandDto.setUser("sven");
+        CommandDtoUtils.targetsFor(commandDto).getOid().add(new Bookmark("benchmarks.SimpleObject", "123").toOidDto());
+
+        final ActionDto actionDto = new ActionDto();
+        actionDto.setInteractionType(InteractionType.ACTION_INVOCATION);
+        actionDto.setMemberIdentifier("org.apache.isis.core.benchmarks.fixture.SimpleObject#updateName()");
+        CommandDtoUtils.parametersFor(actionDto).getParameter().add(
+                CommonDtoUtils.newParamDto("name", String.class, "Object #1 (updated)", null));
+        commandDto.setMember(actionDto);
+
+        commandDtoXml = CommandDtoUtils.toXml(commandDto);
+    }
+
+    @Benchmark
+    public String toXml() {
+        return CommandDtoUtils.toXml(commandDto);
+    }
+
+    @Benchmark
+    public CommandDto fromXml() {
+        return CommandDtoUtils.fromXml(commandDtoXml);
+    }
+
+    @Benchmark
+    public CommandDto roundTrip() {
+        return CommandDtoUtils.fromXml(CommandDtoUtils.toXml(commandDto));
+    }
+
+}
@@ -0,0 +1,73 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.benchmarks;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.viewer.restfulobjects.applib.JsonRepresentation;
+import org.apache.isis.viewer.restfulobjects.rendering.LinkFollowSpecs;
+import org.apache.isis.viewer.restfulobjects.rendering.RendererContext;
+import org.apache.isis.viewer.restfulobjects.rendering.domainobjects.DomainObjectReprRenderer;
+
+/**
+ * Rendering of a domain object as a Restful Objects JSON representation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DomainObjectReprRendererBenchmark {
+
+    @State(Scope.Thread)
+    public static class Context {
+
+        RendererContext rendererContext;
+        LinkFollowSpecs linkFollowSpecs;
+
+        @Setup
+        public void setUp(final BenchmarkSession session) {
+            rendererContext = new BenchmarkRendererContext(session.getSystem().getIsisSessionFactory());
+            linkFollowSpecs = LinkFollowSpecs.create(Collections.<java.util.List<String>>emptyList());
+        }
+    }
+
+    @Benchmark
+    public JsonRepresentation render(final BenchmarkSession session, final Context context) {
+        final ObjectAdapter adapter = session.getPersistenceSession().adapterFor(session.nextObject());
+        final DomainObjectReprRenderer renderer =
+                new DomainObjectReprRenderer(context.rendererContext, context.linkFollowSpecs, JsonRepresentation.newMap());
+        renderer.with(adapter);
+        return renderer.render();
+    }
+
+}
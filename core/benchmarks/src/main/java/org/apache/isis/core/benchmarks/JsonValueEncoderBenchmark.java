@@ -0,0 +1,96 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.benchmarks;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.node.TextNode;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+import org.apache.isis.core.metamodel.specloader.SpecificationLoader;
+import org.apache.isis.viewer.restfulobjects.applib.JsonRepresentation;
+import org.apache.isis.viewer.restfulobjects.rendering.domainobjects.JsonValueEncoder;
+
+/**
+ * Encoding of value types as JSON (as used by the Restful Objects viewer), and decoding back again.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonValueEncoderBenchmark {
+
+    @State(Scope.Thread)
+    public static class Values {
+
+        ObjectSpecification stringSpec;
+        ObjectAdapter stringAdapter;
+        JsonRepresentation stringRepr;
+
+        ObjectSpecification bigDecimalSpec;
+        ObjectAdapter bigDecimalAdapter;
+
+        @Setup
+        public void setUp(final BenchmarkSession session) {
+            final SpecificationLoader specificationLoader =
+                    session.getSystem().getIsisSessionFactory().getSpecificationLoader();
+
+            stringSpec = specificationLoader.loadSpecification(String.class);
+            stringAdapter = session.getPersistenceSession().adapterFor("Object #1");
+            stringRepr = new JsonRepresentation(new TextNode("Object #1"));
+
+            bigDecimalSpec = specificationLoader.loadSpecification(BigDecimal.class);
+            bigDecimalAdapter = session.getPersistenceSession().adapterFor(new BigDecimal("12345.67"));
+        }
+    }
+
+    @Benchmark
+    public JsonRepresentation appendString(final Values values) {
+        final JsonRepresentation repr = JsonRepresentation.newMap();
+        JsonValueEncoder.appendValueAndFormat(values.stringSpec, values.stringAdapter, repr, null, false);
+        return repr;
+    }
+
+    @Benchmark
+    public JsonRepresentation appendBigDecimal(final Values values) {
+        final JsonRepresentation repr = JsonRepresentation.newMap();
+        JsonValueEncoder.appendValueAndFormat(values.bigDecimalSpec, values.bigDecimalAdapter, repr, null, false);
+        return repr;
+    }
+
+    @Benchmark
+    public ObjectAdapter asAdapterString(final Values values) {
+        return JsonValueEncoder.asAdapter(values.stringSpec, values.stringRepr, null);
+    }
+
+}
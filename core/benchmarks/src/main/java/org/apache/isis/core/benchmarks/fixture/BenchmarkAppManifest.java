@@ -0,0 +1,69 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.benchmarks.fixture;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.Maps;
+
+import org.apache.isis.applib.AppManifest;
+import org.apache.isis.applib.fixturescripts.FixtureScript;
+
+/**
+ * Bootstraps the fixture domain against an in-memory HSQLDB.
+ */
+public class BenchmarkAppManifest implements AppManifest {
+
+    @Override
+    public List<Class<?>> getModules() {
+        return Collections.<Class<?>>singletonList(BenchmarkFixtureModule.class);
+    }
+
+    @Override
+    public List<Class<?>> getAdditionalServices() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public String getAuthenticationMechanism() {
+        return null;
+    }
+
+    @Override
+    public String getAuthorizationMechanism() {
+        return null;
+    }
+
+    @Override
+    public List<Class<? extends FixtureScript>> getFixtures() {
+        return null;
+    }
+
+    @Override
+    public Map<String, String> getConfigurationProperties() {
+        final Map<String, String> map = Maps.newHashMap();
+        Util.withJavaxJdoRunInMemoryProperties(map);
+        Util.withDataNucleusProperties(map);
+        Util.withIsisIntegTestProperties(map);
+        return map;
+    }
+
+}
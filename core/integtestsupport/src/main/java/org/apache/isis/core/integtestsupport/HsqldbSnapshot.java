@@ -0,0 +1,228 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.integtestsupport;
+
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import com.google.common.base.Joiner;
+import com.google.common.collect.Lists;
+
+/**
+ * The contents of all tables (and the next values of all sequences) of an HSQLDB database, so that it can
+ * subsequently be restored to that state.
+ *
+ * <p>
+ *     Identity columns are restarted at one more than their maximum value in the snapshot.
+ * </p>
+ */
+class HsqldbSnapshot {
+
+    private static final String TABLES_SQL =
+            "SELECT TABLE_SCHEMA, TABLE_NAME FROM INFORMATION_SCHEMA.TABLES "
+            + "WHERE TABLE_TYPE = 'BASE TABLE' AND TABLE_SCHEMA NOT IN ('INFORMATION_SCHEMA', 'SYSTEM_LOBS')";
+
+    private static final String IDENTITY_COLUMNS_SQL =
+            "SELECT COLUMN_NAME FROM INFORMATION_SCHEMA.COLUMNS "
+            + "WHERE TABLE_SCHEMA = ? AND TABLE_NAME = ? AND IS_IDENTITY = 'YES'";
+
+    private static final String SEQUENCES_SQL =
+            "SELECT SEQUENCE_SCHEMA, SEQUENCE_NAME, NEXT_VALUE FROM INFORMATION_SCHEMA.SEQUENCES "
+            + "WHERE SEQUENCE_SCHEMA NOT IN ('INFORMATION_SCHEMA', 'SYSTEM_LOBS')";
+
+    private final List<TableContents> tables;
+    private final List<SequenceValue> sequences;
+
+    private HsqldbSnapshot(final List<TableContents> tables, final List<SequenceValue> sequences) {
+        this.tables = tables;
+        this.sequences = sequences;
+    }
+
+    //region > take
+
+    static HsqldbSnapshot take(final Connection connection) throws SQLException {
+        final List<TableContents> tables = Lists.newArrayList();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(TABLES_SQL)) {
+            while (rs.next()) {
+                tables.add(new TableContents(rs.getString(1), rs.getString(2)));
+            }
+        }
+        for (final TableContents table : tables) {
+            table.read(connection);
+        }
+
+        final List<SequenceValue> sequences = Lists.newArrayList();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(SEQUENCES_SQL)) {
+            while (rs.next()) {
+                sequences.add(new SequenceValue(quoted(rs.getString(1), rs.getString(2)), rs.getString(3)));
+            }
+        }
+        return new HsqldbSnapshot(tables, sequences);
+    }
+
+    //endregion
+
+    //region > restore
+
+    void restore(final Connection connection) throws SQLException {
+        final boolean autoCommit = connection.getAutoCommit();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET DATABASE REFERENTIAL INTEGRITY FALSE");
+            try {
+                connection.setAutoCommit(false);
+                for (final TableContents table : tables) {
+                    statement.executeUpdate("DELETE FROM " + table.name);
+                }
+                for (final TableContents table : tables) {
+                    table.insertRows(connection);
+                }
+                connection.commit();
+            } catch(final SQLException ex) {
+                connection.rollback();
+                throw ex;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+                statement.execute("SET DATABASE REFERENTIAL INTEGRITY TRUE");
+            }
+
+            // schema changes, so (being committed implicitly) done only once the data has been restored
+            for (final TableContents table : tables) {
+                table.restartIdentityColumns(statement);
+            }
+            for (final SequenceValue sequence : sequences) {
+                statement.execute("ALTER SEQUENCE " + sequence.name + " RESTART WITH " + sequence.nextValue);
+            }
+        }
+    }
+
+    //endregion
+
+    //region > TableContents, SequenceValue
+
+    private static class TableContents {
+
+        private final String schema;
+        private final String table;
+        private final String name;
+
+        private int columnCount;
+        private final List<Object[]> rows = Lists.newArrayList();
+        private final List<String> identityColumns = Lists.newArrayList();
+
+        TableContents(final String schema, final String table) {
+            this.schema = schema;
+            this.table = table;
+            this.name = quoted(schema, table);
+        }
+
+        void read(final Connection connection) throws SQLException {
+            try (Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery("SELECT * FROM " + name)) {
+                columnCount = rs.getMetaData().getColumnCount();
+                while (rs.next()) {
+                    final Object[] row = new Object[columnCount];
+                    for (int i = 0; i < columnCount; i++) {
+                        row[i] = detached(rs.getObject(i + 1));
+                    }
+                    rows.add(row);
+                }
+            }
+            try (PreparedStatement statement = connection.prepareStatement(IDENTITY_COLUMNS_SQL)) {
+                statement.setString(1, schema);
+                statement.setString(2, table);
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        identityColumns.add(rs.getString(1));
+                    }
+                }
+            }
+        }
+
+        /**
+         * LOBs are only valid for the duration of the transaction in which they were read.
+         */
+        private static Object detached(final Object value) throws SQLException {
+            if(value instanceof Blob) {
+                final Blob blob = (Blob) value;
+                return blob.getBytes(1, (int) blob.length());
+            }
+            if(value instanceof Clob) {
+                final Clob clob = (Clob) value;
+                return clob.getSubString(1, (int) clob.length());
+            }
+            return value;
+        }
+
+        void insertRows(final Connection connection) throws SQLException {
+            if(!rows.isEmpty()) {
+                final List<String> placeholders = Lists.newArrayList();
+                for (int i = 0; i < columnCount; i++) {
+                    placeholders.add("?");
+                }
+                final String insertSql = "INSERT INTO " + name + " VALUES (" + Joiner.on(", ").join(placeholders) + ")";
+                try (PreparedStatement insert = connection.prepareStatement(insertSql)) {
+                    for (final Object[] row : rows) {
+                        for (int i = 0; i < columnCount; i++) {
+                            insert.setObject(i + 1, row[i]);
+                        }
+                        insert.addBatch();
+                    }
+                    insert.executeBatch();
+                }
+            }
+        }
+
+        void restartIdentityColumns(final Statement statement) throws SQLException {
+            for (final String identityColumn : identityColumns) {
+                final String column = "\"" + identityColumn + "\"";
+                final long nextValue;
+                try (ResultSet rs = statement.executeQuery("SELECT MAX(" + column + ") FROM " + name)) {
+                    rs.next();
+                    nextValue = rs.getLong(1) + 1;
+                }
+                statement.execute("ALTER TABLE " + name + " ALTER COLUMN " + column + " RESTART WITH " + nextValue);
+            }
+        }
+    }
+
+    private static class SequenceValue {
+        private final String name;
+        private final String nextValue;
+
+        SequenceValue(final String name, final String nextValue) {
+            this.name = name;
+            this.nextValue = nextValue;
+        }
+    }
+
+    private static String quoted(final String schema, final String name) {
+        return "\"" + schema + "\".\"" + name + "\"";
+    }
+
+    //endregion
+
+}
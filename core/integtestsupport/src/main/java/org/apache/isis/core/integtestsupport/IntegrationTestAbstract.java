@@ -208,18 +208,27 @@ public Statement apply(final Statement base, final FrameworkMethod method, final
             return new Statement() {
                 @Override
                 public void evaluate() throws Throwable {
+                    final long start = System.currentTimeMillis();
                     isft.getContainer().injectServicesInto(target);
                     isft.beginTran();
                     try {
                         base.evaluate();
-                        isft.endTran();
+                        if(isft.getDatabaseReset() == IsisSystemForTest.DatabaseReset.ROLLBACK) {
+                            isft.abortTran();
+                        } else {
+                            isft.endTran();
+                        }
                         isft.nextSession();
+                        resetDatabaseIfRequired();
+                        IsisSystemForTest.recordTest(System.currentTimeMillis() - start);
                     } catch(final Throwable e) {
 
                         // if test failed to clean up after itself, then take care of it here.
                         endTransactionTilDone();
 
                         isft.nextSession();
+                        resetDatabaseIfRequired();
+                        IsisSystemForTest.recordTest(System.currentTimeMillis() - start);
                         final List<Throwable> causalChain = Throwables.getCausalChain(e);
                         // if underlying cause is an applib-defined exception, throw that rather than Isis' wrapper exception
                         for (final Throwable cause : causalChain) {
@@ -232,6 +241,12 @@ public void evaluate() throws Throwable {
                     }
                 }
 
+                protected void resetDatabaseIfRequired() {
+                    if(isft.getDatabaseReset() == IsisSystemForTest.DatabaseReset.SNAPSHOT) {
+                        isft.restoreDatabase();
+                    }
+                }
+
                 protected void endTransactionTilDone() {
                     IsisTransactionManager tranMgr = isft.getIsisSessionFactory().getCurrentSession()
                                                          .getPersistenceSession().getTransactionManager();
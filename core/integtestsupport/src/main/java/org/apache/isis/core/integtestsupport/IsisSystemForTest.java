@@ -19,15 +19,27 @@
 
 package org.apache.isis.core.integtestsupport;
 
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 
+import javax.jdo.PersistenceManager;
+
 import com.google.common.base.Joiner;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 
+import org.datanucleus.api.jdo.JDOPersistenceManager;
 import org.junit.Before;
 import org.junit.runner.Description;
 import org.junit.runners.model.Statement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import org.apache.isis.applib.AppManifest;
 import org.apache.isis.applib.DomainObjectContainer;
@@ -63,6 +75,8 @@
  */
 public class IsisSystemForTest implements org.junit.rules.TestRule, DomainServiceProvider {
 
+    private static final Logger LOG = LoggerFactory.getLogger(IsisSystemForTest.class);
+
     //region > Listener, ListenerAdapter
     public interface Listener {
 
@@ -157,6 +171,10 @@ public static class Builder {
 
         private org.apache.log4j.Level level;
 
+        private DatabaseReset databaseReset = DatabaseReset.NONE;
+
+        private boolean caching;
+
         public Builder with(IsisConfiguration configuration) {
             this.configuration = (IsisConfigurationDefault) configuration;
             return this;
@@ -177,33 +195,59 @@ public Builder withLoggingAt(org.apache.log4j.Level level) {
             return this;
         }
 
+        public Builder withDatabaseReset(final DatabaseReset databaseReset) {
+            this.databaseReset = databaseReset;
+            return this;
+        }
+
+        /**
+         * Have {@link #build()} return the system previously built (also with caching) from an equal app manifest,
+         * configuration, authentication request and {@link DatabaseReset}, and the same listener instances, so that
+         * it is bootstrapped only once.
+         *
+         * <p>
+         *     Cached systems are shut down when the JVM exits, or earlier using {@link #releaseCached()}.
+         * </p>
+         */
+        public Builder withCaching() {
+            this.caching = true;
+            return this;
+        }
+
         public IsisSystemForTest build() {
+            if(!caching) {
+                return doBuild();
+            }
+            final CacheKey cacheKey = new CacheKey(
+                    appManifestIfAny, configuration, authenticationRequest, databaseReset, listeners);
+            synchronized (SYSTEMS_BY_KEY) {
+                final IsisSystemForTest cached = SYSTEMS_BY_KEY.get(cacheKey);
+                if(cached != null) {
+                    return cached;
+                }
+                final IsisSystemForTest isisSystemForTest = doBuild();
+                SYSTEMS_BY_KEY.put(cacheKey, isisSystemForTest);
+                return isisSystemForTest;
+            }
+        }
+
+        private IsisSystemForTest doBuild() {
             final IsisSystemForTest isisSystemForTest =
                     new IsisSystemForTest(
                             appManifestIfAny,
                             configuration,
                             authenticationRequest,
+                            databaseReset,
                             listeners);
             if(level != null) {
                 isisSystemForTest.setLevel(level);
             }
 
+            TIMINGS.logOnShutdown();
             Runtime.getRuntime().addShutdownHook(new Thread() {
                 @Override
                 public synchronized void run() {
-                    try {
-                        isisSystemForTest.closeSession();
-                    } catch (Exception e) {
-                        e.printStackTrace();
-                    }
-
-                    try {
-                        if(isisSystemForTest.isisSessionFactory != null) {
-                            isisSystemForTest.isisSessionFactory.destroyServicesAndShutdown();
-                        }
-                    } catch (Exception e) {
-                        e.printStackTrace();
-                    }
+                    isisSystemForTest.shutdown();
                 }
             });
 
@@ -226,6 +270,89 @@ public static Builder builder() {
 
     //endregion
 
+    //region > cache
+
+    private static final Map<CacheKey, IsisSystemForTest> SYSTEMS_BY_KEY = Maps.newHashMap();
+
+    /**
+     * Shuts down (and forgets) all systems cached by {@link Builder#withCaching()}, eg from the
+     * <tt>@AfterClass</tt> of a test suite.
+     */
+    public static void releaseCached() {
+        final List<IsisSystemForTest> systems;
+        synchronized (SYSTEMS_BY_KEY) {
+            systems = Lists.newArrayList(SYSTEMS_BY_KEY.values());
+            SYSTEMS_BY_KEY.clear();
+        }
+        for (final IsisSystemForTest system : systems) {
+            system.shutdown();
+        }
+    }
+
+    private static class CacheKey {
+
+        private final Class<?> appManifestClass;
+        private final Map<String, String> configuration;
+        private final Class<?> authenticationRequestClass;
+        private final String authenticationRequestName;
+        private final List<String> authenticationRequestRoles;
+        private final DatabaseReset databaseReset;
+        private final List<Listener> listeners;
+
+        CacheKey(
+                final AppManifest appManifestIfAny,
+                final IsisConfigurationDefault configuration,
+                final AuthenticationRequest authenticationRequest,
+                final DatabaseReset databaseReset,
+                final List<Listener> listeners) {
+            this.appManifestClass = appManifestIfAny != null ? appManifestIfAny.getClass() : null;
+            this.configuration = ImmutableMap.copyOf(configuration.asMap());
+            this.authenticationRequestClass = authenticationRequest != null ? authenticationRequest.getClass() : null;
+            this.authenticationRequestName = authenticationRequest != null ? authenticationRequest.getName() : null;
+            this.authenticationRequestRoles = authenticationRequest != null ? authenticationRequest.getRoles() : null;
+            this.databaseReset = databaseReset;
+            this.listeners = Lists.newArrayList(listeners);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            final CacheKey other = (CacheKey) o;
+            return Objects.equals(appManifestClass, other.appManifestClass) &&
+                    Objects.equals(configuration, other.configuration) &&
+                    Objects.equals(authenticationRequestClass, other.authenticationRequestClass) &&
+                    Objects.equals(authenticationRequestName, other.authenticationRequestName) &&
+                    Objects.equals(authenticationRequestRoles, other.authenticationRequestRoles) &&
+                    databaseReset == other.databaseReset &&
+                    sameInstances(listeners, other.listeners);
+        }
+
+        private static boolean sameInstances(final List<Listener> listeners, final List<Listener> other) {
+            if(listeners.size() != other.size()) {
+                return false;
+            }
+            for (int i = 0; i < listeners.size(); i++) {
+                if(listeners.get(i) != other.get(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(appManifestClass, configuration, authenticationRequestClass,
+                    authenticationRequestName, authenticationRequestRoles, databaseReset, listeners.size());
+        }
+    }
+
+    //endregion
+
     //region > constructor, fields
 
     // these fields 'xxxForComponentProvider' are used to initialize the IsisComponentProvider, but shouldn't be used thereafter.
@@ -236,14 +363,18 @@ public static Builder builder() {
     private AuthenticationSession authenticationSession;
 
 
+    private final DatabaseReset databaseReset;
+
     private IsisSystemForTest(
             final AppManifest appManifestIfAny,
             final IsisConfiguration configurationOverride,
             final AuthenticationRequest authenticationRequestIfAny,
+            final DatabaseReset databaseReset,
             final List<Listener> listeners) {
         this.appManifestIfAny = appManifestIfAny;
         this.configurationOverride = configurationOverride;
         this.authenticationRequestIfAny = authenticationRequestIfAny;
+        this.databaseReset = databaseReset;
         this.listeners = listeners;
     }
 
@@ -294,11 +425,22 @@ private void initIfRequiredThenOpenSession(FireListeners fireListeners) throws E
         }
 
         boolean firstTime = isisSessionFactory == null;
+
+        // another (cached) system may have been set up since, or may still be current
+        final IsisSessionFactory currentSessionFactory = IsisContext.getSessionFactory();
+        if(currentSessionFactory != null && currentSessionFactory != isisSessionFactory) {
+            IsisContext.testReset();
+            if(!firstTime) {
+                IsisContext.setSessionFactory(isisSessionFactory);
+            }
+        }
+
         if(fireListeners.shouldFire()) {
             fireInitAndPreOpenSession(firstTime);
         }
 
         if(firstTime) {
+            final long start = System.currentTimeMillis();
             IsisLoggingConfigurer isisLoggingConfigurer = new IsisLoggingConfigurer(getLevel());
             isisLoggingConfigurer.configureLogging(".", new String[] {});
 
@@ -332,6 +474,10 @@ private void initIfRequiredThenOpenSession(FireListeners fireListeners) throws E
                 }
                 fail("Metamodel is invalid: \n" + buf.toString());
             }
+
+            final long bootstrapMillis = System.currentTimeMillis() - start;
+            TIMINGS.bootstrapped(bootstrapMillis);
+            LOG.info("bootstrapped in {}ms", bootstrapMillis);
         }
 
         final AuthenticationManager authenticationManager = isisSessionFactory.getAuthenticationManager();
@@ -390,6 +536,28 @@ public void nextSession() throws Exception {
         firePostNextSession();
     }
 
+    private synchronized void shutdown() {
+        if(isisSessionFactory == null) {
+            return;
+        }
+        try {
+            closeSession();
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+
+        try {
+            isisSessionFactory.destroyServicesAndShutdown();
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+
+        if(IsisContext.getSessionFactory() == isisSessionFactory) {
+            IsisContext.testReset();
+        }
+        isisSessionFactory = null;
+    }
+
     //endregion
 
     //region > openSession, closeSession
@@ -463,6 +631,152 @@ private void firePostNextSession() throws Exception {
     }
     //endregion
 
+    //region > database reset
+
+    /**
+     * How (if at all) the database is reset after each test run by {@link IntegrationTestAbstract}, so that
+     * test classes sharing a (cached) system do not see each other's changes.
+     */
+    public enum DatabaseReset {
+        /**
+         * Nothing is reset; each test commits its transaction.
+         */
+        NONE,
+        /**
+         * Each test's transaction is rolled back rather than committed.  Only effective for tests that do not
+         * commit any intermediate transactions themselves (eg using <tt>TransactionService#nextTransaction()</tt>).
+         */
+        ROLLBACK,
+        /**
+         * The database is restored after each test to the state captured by {@link #snapshotDatabase()}, eg
+         * immediately after the test class's fixtures have been installed.  Only supported for HSQLDB.
+         */
+        SNAPSHOT
+    }
+
+    private static final String CONNECTION_URL_KEY = "isis.persistor.datanucleus.impl.javax.jdo.option.ConnectionURL";
+    private static final String CONNECTION_USER_NAME_KEY = "isis.persistor.datanucleus.impl.javax.jdo.option.ConnectionUserName";
+    private static final String CONNECTION_PASSWORD_KEY = "isis.persistor.datanucleus.impl.javax.jdo.option.ConnectionPassword";
+
+    private HsqldbSnapshot snapshot;
+
+    public DatabaseReset getDatabaseReset() {
+        return databaseReset;
+    }
+
+    /**
+     * Captures the current contents of the (HSQLDB) database, to which it is restored after each test if using
+     * {@link DatabaseReset#SNAPSHOT}.
+     *
+     * <p>
+     *     Should be called outside of any transaction, having committed the fixtures to be captured.
+     * </p>
+     */
+    public void snapshotDatabase() {
+        final long start = System.currentTimeMillis();
+        try (Connection connection = openHsqldbConnection()) {
+            snapshot = HsqldbSnapshot.take(connection);
+        } catch (final SQLException ex) {
+            throw new RuntimeException("Unable to snapshot database", ex);
+        }
+        TIMINGS.databaseReset(System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Restores the database to its {@link #snapshotDatabase() snapshot}, if there is one.
+     */
+    public void restoreDatabase() {
+        if(snapshot == null) {
+            return;
+        }
+        final long start = System.currentTimeMillis();
+        try (Connection connection = openHsqldbConnection()) {
+            snapshot.restore(connection);
+        } catch (final SQLException ex) {
+            throw new RuntimeException("Unable to restore database", ex);
+        }
+        // the data restored bypasses DataNucleus, so anything it has cached is stale
+        final PersistenceManager persistenceManager = getPersistenceSession().getPersistenceManager();
+        persistenceManager.getPersistenceManagerFactory().getDataStoreCache().evictAll();
+        // ... including the blocks of ids reserved by its value generators (eg for the "increment" strategy),
+        // which would otherwise overlap with those reserved again from the restored sequences
+        ((JDOPersistenceManager) persistenceManager).getExecutionContext().getStoreManager()
+                .getValueGenerationManager().clear();
+        TIMINGS.databaseReset(System.currentTimeMillis() - start);
+    }
+
+    private Connection openHsqldbConnection() throws SQLException {
+        final IsisConfiguration configuration = isisSessionFactory.getConfiguration();
+        final String url = configuration.getString(CONNECTION_URL_KEY);
+        if(url == null || !url.startsWith("jdbc:hsqldb:")) {
+            throw new IllegalStateException("Database snapshots are only supported for HSQLDB; connection URL is: " + url);
+        }
+        return DriverManager.getConnection(
+                url,
+                configuration.getString(CONNECTION_USER_NAME_KEY, "sa"),
+                configuration.getString(CONNECTION_PASSWORD_KEY, ""));
+    }
+
+    //endregion
+
+    //region > timings
+
+    private static final Timings TIMINGS = new Timings();
+
+    /**
+     * Records the time spent bootstrapping systems, running tests and resetting the database, logged (as a
+     * summary) on shutdown.
+     */
+    static class Timings {
+
+        private long bootstrapMillis;
+        private int bootstrapCount;
+        private long testMillis;
+        private int testCount;
+        private long databaseResetMillis;
+        private boolean loggingOnShutdown;
+
+        synchronized void bootstrapped(final long millis) {
+            bootstrapMillis += millis;
+            bootstrapCount++;
+        }
+
+        synchronized void tested(final long millis) {
+            testMillis += millis;
+            testCount++;
+        }
+
+        synchronized void databaseReset(final long millis) {
+            databaseResetMillis += millis;
+        }
+
+        synchronized void logOnShutdown() {
+            if(loggingOnShutdown) {
+                return;
+            }
+            loggingOnShutdown = true;
+            Runtime.getRuntime().addShutdownHook(new Thread() {
+                @Override
+                public void run() {
+                    LOG.info(Timings.this.toString());
+                }
+            });
+        }
+
+        @Override
+        public synchronized String toString() {
+            return String.format(
+                    "bootstrapped %d system(s) in %dms; ran %d test(s) in %dms; database snapshot/restore took %dms",
+                    bootstrapCount, bootstrapMillis, testCount, testMillis, databaseResetMillis);
+        }
+    }
+
+    static void recordTest(final long millis) {
+        TIMINGS.tested(millis);
+    }
+
+    //endregion
+
     //region > JUnit @Rule integration
 
     @Override
@@ -0,0 +1,121 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.integtestsupport;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class HsqldbSnapshot_restore_Test {
+
+    private Connection connection;
+
+    @Before
+    public void setUp() throws Exception {
+        connection = DriverManager.getConnection("jdbc:hsqldb:mem:HsqldbSnapshot_restore_Test", "sa", "");
+        execute("CREATE SCHEMA \"test\"");
+        execute("CREATE TABLE \"test\".\"Customer\" (\"id\" BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, \"name\" VARCHAR(50))");
+        execute("CREATE TABLE \"test\".\"Order\" (\"id\" BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+                + "\"customerId\" BIGINT NOT NULL, FOREIGN KEY (\"customerId\") REFERENCES \"test\".\"Customer\" (\"id\"))");
+        execute("CREATE SEQUENCE \"test\".\"seq\" START WITH 1");
+
+        execute("INSERT INTO \"test\".\"Customer\" (\"name\") VALUES ('Fred')");
+        execute("INSERT INTO \"test\".\"Order\" (\"customerId\") SELECT \"id\" FROM \"test\".\"Customer\"");
+        execute("CALL NEXT VALUE FOR \"test\".\"seq\"");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        execute("DROP SCHEMA \"test\" CASCADE");
+        connection.close();
+    }
+
+    @Test
+    public void restores_rows_identities_and_sequences() throws Exception {
+
+        // given
+        final HsqldbSnapshot snapshot = HsqldbSnapshot.take(connection);
+
+        // when
+        execute("DELETE FROM \"test\".\"Order\"");
+        execute("UPDATE \"test\".\"Customer\" SET \"name\" = 'Mary'");
+        execute("INSERT INTO \"test\".\"Customer\" (\"name\") VALUES ('Bill')");
+        execute("CALL NEXT VALUE FOR \"test\".\"seq\"");
+
+        snapshot.restore(connection);
+
+        // then
+        assertThat(queryForLong("SELECT COUNT(*) FROM \"test\".\"Customer\""), is(1L));
+        assertThat(queryForString("SELECT \"name\" FROM \"test\".\"Customer\""), is("Fred"));
+        assertThat(queryForLong("SELECT COUNT(*) FROM \"test\".\"Order\""), is(1L));
+
+        // identity restarts after the restored rows (HSQLDB identities start at 0)
+        execute("INSERT INTO \"test\".\"Customer\" (\"name\") VALUES ('Bill')");
+        assertThat(queryForLong("SELECT \"id\" FROM \"test\".\"Customer\" WHERE \"name\" = 'Bill'"), is(1L));
+
+        // sequence restarts from its value when the snapshot was taken
+        assertThat(queryForLong("CALL NEXT VALUE FOR \"test\".\"seq\""), is(2L));
+    }
+
+    @Test
+    public void can_restore_repeatedly() throws Exception {
+
+        // given
+        final HsqldbSnapshot snapshot = HsqldbSnapshot.take(connection);
+
+        for (int i = 0; i < 3; i++) {
+            // when
+            execute("INSERT INTO \"test\".\"Customer\" (\"name\") VALUES ('Bill')");
+            snapshot.restore(connection);
+
+            // then
+            assertThat(queryForLong("SELECT COUNT(*) FROM \"test\".\"Customer\""), is(1L));
+        }
+    }
+
+    private void execute(final String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private long queryForLong(final String sql) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery(sql)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private String queryForString(final String sql) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery(sql)) {
+            rs.next();
+            return rs.getString(1);
+        }
+    }
+
+}
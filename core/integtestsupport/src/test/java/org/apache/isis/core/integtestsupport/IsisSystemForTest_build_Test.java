@@ -0,0 +1,85 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.integtestsupport;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class IsisSystemForTest_build_Test {
+
+    @After
+    public void tearDown() throws Exception {
+        IsisSystemForTest.releaseCached();
+    }
+
+    @Test
+    public void not_cached_by_default() throws Exception {
+        final IsisSystemForTest first = IsisSystemForTest.builder().build();
+        final IsisSystemForTest second = IsisSystemForTest.builder().build();
+
+        assertThat(second, is(not(sameInstance(first))));
+    }
+
+    @Test
+    public void cached_if_requested() throws Exception {
+        final IsisSystemForTest first = IsisSystemForTest.builder().withCaching().build();
+        final IsisSystemForTest second = IsisSystemForTest.builder().withCaching().build();
+
+        assertThat(second, is(sameInstance(first)));
+    }
+
+    @Test
+    public void cached_only_for_same_database_reset() throws Exception {
+        final IsisSystemForTest first = IsisSystemForTest.builder().withCaching().build();
+        final IsisSystemForTest second = IsisSystemForTest.builder().withCaching()
+                .withDatabaseReset(IsisSystemForTest.DatabaseReset.ROLLBACK).build();
+
+        assertThat(second, is(not(sameInstance(first))));
+    }
+
+    @Test
+    public void cached_only_for_same_listener_instances() throws Exception {
+        final IsisSystemForTest.Listener listener = new IsisSystemForTest.ListenerAdapter() {};
+
+        final IsisSystemForTest first = IsisSystemForTest.builder().withCaching().with(listener).build();
+        final IsisSystemForTest second = IsisSystemForTest.builder().withCaching().with(listener).build();
+        final IsisSystemForTest third = IsisSystemForTest.builder().withCaching()
+                .with(new IsisSystemForTest.ListenerAdapter() {}).build();
+
+        assertThat(second, is(sameInstance(first)));
+        assertThat(third, is(not(sameInstance(first))));
+    }
+
+    @Test
+    public void not_cached_once_released() throws Exception {
+        final IsisSystemForTest first = IsisSystemForTest.builder().withCaching().build();
+
+        IsisSystemForTest.releaseCached();
+        final IsisSystemForTest second = IsisSystemForTest.builder().withCaching().build();
+
+        assertThat(second, is(not(sameInstance(first))));
+    }
+
+}
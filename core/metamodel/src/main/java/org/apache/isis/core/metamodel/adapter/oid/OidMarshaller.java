@@ -18,14 +18,11 @@
  */
 package org.apache.isis.core.metamodel.adapter.oid;
 
-import java.util.Iterator;
-import java.util.List;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-import com.google.common.base.Splitter;
 import com.google.common.base.Strings;
-import com.google.common.collect.Lists;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 
 import org.apache.isis.applib.annotation.Programmatic;
 import org.apache.isis.applib.services.bookmark.Bookmark;
@@ -101,13 +98,28 @@ private OidMarshaller(){}
 	private static final String SEPARATOR_COLLECTION = "$";
 	private static final String SEPARATOR_VERSION = "^";
 
+    private static final char TRANSIENT_INDICATOR_CHAR = TRANSIENT_INDICATOR.charAt(0);
+    private static final char VIEWMODEL_INDICATOR_CHAR = VIEWMODEL_INDICATOR.charAt(0);
+    private static final char SEPARATOR_CHAR = SEPARATOR.charAt(0);
+    private static final char SEPARATOR_NESTING_CHAR = SEPARATOR_NESTING.charAt(0);
+    private static final char SEPARATOR_COLLECTION_CHAR = SEPARATOR_COLLECTION.charAt(0);
+    private static final char SEPARATOR_VERSION_CHAR = SEPARATOR_VERSION.charAt(0);
+
 	private static final String WORD = "[^" + SEPARATOR + SEPARATOR_NESTING + SEPARATOR_COLLECTION + "\\" + SEPARATOR_VERSION + "#" + "]+";
 	private static final String DIGITS = "\\d+";
 	
 	private static final String WORD_GROUP = "(" + WORD + ")";
 	private static final String DIGITS_GROUP = "(" + DIGITS + ")";
     
-	private static Pattern OIDSTR_PATTERN = 
+    /**
+     * The grammar of an oid string.
+     *
+     * <p>
+     *     No longer used for parsing (see {@link #doParse(String)}), but retained to document the grammar, and for
+     *     error messages.
+     * </p>
+     */
+	private static final Pattern OIDSTR_PATTERN = 
             Pattern.compile(
             		"^(" +
             		   "(" +
@@ -147,81 +159,30 @@ public String splitInstanceId(String oidStr) {
     @Programmatic
     @SuppressWarnings("unchecked")
 	public <T extends Oid> T unmarshal(String oidStr, Class<T> requestedType) {
-        
-        final Matcher matcher = OIDSTR_PATTERN.matcher(oidStr);
-        if (!matcher.matches()) {
-            throw new IllegalArgumentException("Could not parse OID '" + oidStr + "'; should match pattern: " + OIDSTR_PATTERN.pattern());
-        }
 
-        final String isTransientOrViewModelStr = getGroup(matcher, 3);
-        final State state;
-        if("!".equals(isTransientOrViewModelStr)) {
-            state = State.TRANSIENT;
-        } else if("*".equals(isTransientOrViewModelStr)) {
-            state = State.VIEWMODEL;
-        } else {
-            state = State.PERSISTENT;
-        }
-        
-        final String rootObjectType = getGroup(matcher, 4);
-        final String rootIdentifier = getGroup(matcher, 5);
-        
-        final String aggregateOidPart = getGroup(matcher, 6);
-        final List<AggregateOidPart> aggregateOidParts = Lists.newArrayList();
-        final Splitter nestingSplitter = Splitter.on(SEPARATOR_NESTING);
-        final Splitter partsSplitter = Splitter.on(SEPARATOR);
-        if(aggregateOidPart != null) {
-            final Iterable<String> tildaSplitIter = nestingSplitter.split(aggregateOidPart);
-            for(String str: tildaSplitIter) {
-                if(Strings.isNullOrEmpty(str)) {
-                    continue; // leading "~"
-                }
-                final Iterator<String> colonSplitIter = partsSplitter.split(str).iterator();
-                final String objectType = colonSplitIter.next();
-                final String localId = colonSplitIter.next();
-                aggregateOidParts.add(new AggregateOidPart(objectType, localId));
-            }
-        }
-        final String collectionPart = getGroup(matcher, 8);
-        final String collectionName = collectionPart != null ? collectionPart.substring(1) : null;
-        
-        final String versionSequence = getGroup(matcher, 10);
-        final String versionUser = getGroup(matcher, 11); 
-        final String versionUtcTimestamp = getGroup(matcher, 12);
-        final Version version = Version.create(versionSequence, versionUser, versionUtcTimestamp);
-
-        if(collectionName == null) {
-            if(aggregateOidParts.isEmpty()) {
+        final ParsedOid parsed = parse(oidStr);
+
+        if(parsed.collectionName == null) {
+            if(!parsed.aggregated) {
                 ensureCorrectType(oidStr, requestedType, RootOid.class);
-                return (T) new RootOid(ObjectSpecId.of(rootObjectType), rootIdentifier, state, version);
+                return (T) newRootOid(parsed);
             } else {
                 throw new RuntimeException("Aggregated Oids are no longer supported");
             }
         } else {
-            final String oidStrWithoutCollectionName = getGroup(matcher, 1);
-            
-            final String parentOidStr = oidStrWithoutCollectionName + marshal(version);
-
-            RootOid parentOid = this.unmarshal(parentOidStr, RootOid.class);
+            if(parsed.aggregated) {
+                // as would be thrown when unmarshalling the parent oid
+                throw new RuntimeException("Aggregated Oids are no longer supported");
+            }
+            final RootOid parentOid = newRootOid(parsed);
             ensureCorrectType(oidStr, requestedType, ParentedCollectionOid.class);
-            return (T)new ParentedCollectionOid(parentOid, collectionName);
+            return (T)new ParentedCollectionOid(parentOid, parsed.collectionName);
         }
     }
 
-
-
-    private static class AggregateOidPart {
-        AggregateOidPart(String objectType, String localId) {
-            this.objectType = objectType;
-            this.localId = localId;
-        }
-        String objectType;
-        String localId;
-        public String toString() {
-            return SEPARATOR_NESTING + objectType + SEPARATOR + localId;
-        }
+    private static RootOid newRootOid(final ParsedOid parsed) {
+        return new RootOid(parsed.objectSpecId, parsed.identifier, parsed.state, parsed.version);
     }
-    
 
     private <T> void ensureCorrectType(String oidStr, Class<T> requestedType, final Class<? extends Oid> actualType) {
         if(!requestedType.isAssignableFrom(actualType)) {
@@ -230,39 +191,234 @@ private <T> void ensureCorrectType(String oidStr, Class<T> requestedType, final
         }
     }
 
-    private String getGroup(final Matcher matcher, final int group) {
-        final int groupCount = matcher.groupCount();
-        if(group > groupCount) {
-            return null;
+    //endregion
+
+    //region > parse
+
+    /**
+     * The components of a successfully parsed oid string; immutable, so can be cached.
+     */
+    private static final class ParsedOid {
+        private final State state;
+        private final ObjectSpecId objectSpecId;
+        private final String identifier;
+        private final boolean aggregated;
+        private final String collectionName;
+        private final Version version;
+
+        private ParsedOid(
+                final State state,
+                final ObjectSpecId objectSpecId,
+                final String identifier,
+                final boolean aggregated,
+                final String collectionName,
+                final Version version) {
+            this.state = state;
+            this.objectSpecId = objectSpecId;
+            this.identifier = identifier;
+            this.aggregated = aggregated;
+            this.collectionName = collectionName;
+            this.version = version;
         }
-        final String val = matcher.group(group);
-        return Strings.emptyToNull(val);
     }
 
+    public static final String CACHE_SIZE_KEY = "isis.oidMarshaller.cacheSize";
+    public static final int CACHE_SIZE_DEFAULT = 0;
+
+    private volatile Cache<String, ParsedOid> parsedOidCache;
+
+    /**
+     * Caches the results of parsing up to this many (most recently used) oid strings; <tt>0</tt> (the default)
+     * disables the cache.
+     */
+    @Programmatic
+    public void setCacheSize(final int cacheSize) {
+        this.parsedOidCache = cacheSize > 0
+                ? CacheBuilder.newBuilder().maximumSize(cacheSize).<String, ParsedOid>build()
+                : null;
+    }
+
+    private ParsedOid parse(final String oidStr) {
+        final Cache<String, ParsedOid> cache = this.parsedOidCache;
+        if(cache == null) {
+            return doParse(oidStr);
+        }
+        ParsedOid parsed = cache.getIfPresent(oidStr);
+        if(parsed == null) {
+            parsed = doParse(oidStr);
+            cache.put(oidStr, parsed);
+        }
+        return parsed;
+    }
+
+    /**
+     * Single pass parser, accepting exactly the strings matched by {@link #OIDSTR_PATTERN}.
+     */
+    private static ParsedOid doParse(final String oidStr) {
+        final int length = oidStr.length();
+        int pos = 0;
+
+        // optional transient or view model indicator (unless it is the only character of the object type)
+        State state = State.PERSISTENT;
+        if(length > 1 && isWordChar(oidStr.charAt(1))) {
+            final char first = oidStr.charAt(0);
+            if(first == TRANSIENT_INDICATOR_CHAR) {
+                state = State.TRANSIENT;
+                pos = 1;
+            } else if(first == VIEWMODEL_INDICATOR_CHAR) {
+                state = State.VIEWMODEL;
+                pos = 1;
+            }
+        }
+
+        // root object type and identifier
+        final int objectTypeEnd = endOfWord(oidStr, pos);
+        if(objectTypeEnd == pos || !isCharAt(oidStr, objectTypeEnd, SEPARATOR_CHAR)) {
+            throw parseException(oidStr);
+        }
+        final int identifierEnd = endOfWord(oidStr, objectTypeEnd + 1);
+        if(identifierEnd == objectTypeEnd + 1) {
+            throw parseException(oidStr);
+        }
+        final String rootObjectType = oidStr.substring(pos, objectTypeEnd);
+        final String rootIdentifier = oidStr.substring(objectTypeEnd + 1, identifierEnd);
+        pos = identifierEnd;
+
+        // nesting of aggregates
+        boolean aggregated = false;
+        while(isCharAt(oidStr, pos, SEPARATOR_NESTING_CHAR)) {
+            final int aggregateTypeEnd = endOfWord(oidStr, pos + 1);
+            if(aggregateTypeEnd == pos + 1 || !isCharAt(oidStr, aggregateTypeEnd, SEPARATOR_CHAR)) {
+                throw parseException(oidStr);
+            }
+            final int aggregateIdEnd = endOfWord(oidStr, aggregateTypeEnd + 1);
+            if(aggregateIdEnd == aggregateTypeEnd + 1) {
+                throw parseException(oidStr);
+            }
+            aggregated = true;
+            pos = aggregateIdEnd;
+        }
+
+        // optional collection name
+        String collectionName = null;
+        if(isCharAt(oidStr, pos, SEPARATOR_COLLECTION_CHAR)) {
+            final int collectionNameEnd = endOfWord(oidStr, pos + 1);
+            if(collectionNameEnd == pos + 1) {
+                throw parseException(oidStr);
+            }
+            collectionName = oidStr.substring(pos + 1, collectionNameEnd);
+            pos = collectionNameEnd;
+        }
+
+        // optional version (sequence, then optional user name, then optional UTC time)
+        Version version = null;
+        if(isCharAt(oidStr, pos, SEPARATOR_VERSION_CHAR)) {
+            final int sequenceEnd = endOfDigits(oidStr, pos + 1);
+            if(sequenceEnd == pos + 1 || !isCharAt(oidStr, sequenceEnd, SEPARATOR_CHAR)) {
+                throw parseException(oidStr);
+            }
+            final int userEnd = endOfWord(oidStr, sequenceEnd + 1);
+            if(!isCharAt(oidStr, userEnd, SEPARATOR_CHAR)) {
+                throw parseException(oidStr);
+            }
+            final int utcTimestampEnd = endOfDigits(oidStr, userEnd + 1);
+            version = Version.create(
+                    oidStr.substring(pos + 1, sequenceEnd),
+                    substringElseNull(oidStr, sequenceEnd + 1, userEnd),
+                    substringElseNull(oidStr, userEnd + 1, utcTimestampEnd));
+            pos = utcTimestampEnd;
+        }
+
+        if(pos != length) {
+            throw parseException(oidStr);
+        }
+
+        return new ParsedOid(
+                state, ObjectSpecId.of(rootObjectType), rootIdentifier, aggregated, collectionName, version);
+    }
+
+    private static boolean isWordChar(final char c) {
+        return c != SEPARATOR_CHAR &&
+               c != SEPARATOR_NESTING_CHAR &&
+               c != SEPARATOR_COLLECTION_CHAR &&
+               c != SEPARATOR_VERSION_CHAR &&
+               c != '#';
+    }
+
+    private static int endOfWord(final String str, final int from) {
+        int pos = from;
+        while(pos < str.length() && isWordChar(str.charAt(pos))) {
+            pos++;
+        }
+        return pos;
+    }
+
+    private static int endOfDigits(final String str, final int from) {
+        int pos = from;
+        while(pos < str.length() && str.charAt(pos) >= '0' && str.charAt(pos) <= '9') {
+            pos++;
+        }
+        return pos;
+    }
+
+    private static boolean isCharAt(final String str, final int pos, final char c) {
+        return pos < str.length() && str.charAt(pos) == c;
+    }
+
+    private static String substringElseNull(final String str, final int from, final int to) {
+        return to > from ? str.substring(from, to) : null;
+    }
+
+    private static IllegalArgumentException parseException(final String oidStr) {
+        return new IllegalArgumentException("Could not parse OID '" + oidStr + "'; should match pattern: " + OIDSTR_PATTERN.pattern());
+    }
 
     //endregion
 
     //region > marshal
     @Programmatic
     public final String marshal(RootOid rootOid) {
-        return marshalNoVersion(rootOid) + marshal(rootOid.getVersion());
+        final StringBuilder buf = new StringBuilder(32);
+        appendNoVersion(rootOid, buf);
+        appendVersion(rootOid.getVersion(), buf);
+        return buf.toString();
     }
 
     @Programmatic
     public final String marshalNoVersion(RootOid rootOid) {
-        final String transientIndicator = rootOid.isTransient()? TRANSIENT_INDICATOR : "";
-        final String viewModelIndicator = rootOid.isViewModel()? VIEWMODEL_INDICATOR : "";
-        return transientIndicator + viewModelIndicator + rootOid.getObjectSpecId() + SEPARATOR + rootOid.getIdentifier();
+        final StringBuilder buf = new StringBuilder(32);
+        appendNoVersion(rootOid, buf);
+        return buf.toString();
+    }
+
+    private static void appendNoVersion(final RootOid rootOid, final StringBuilder buf) {
+        if(rootOid.isTransient()) {
+            buf.append(TRANSIENT_INDICATOR_CHAR);
+        }
+        if(rootOid.isViewModel()) {
+            buf.append(VIEWMODEL_INDICATOR_CHAR);
+        }
+        buf.append(rootOid.getObjectSpecId()).append(SEPARATOR_CHAR).append(rootOid.getIdentifier());
     }
 
     @Programmatic
     public final String marshal(ParentedCollectionOid collectionOid) {
-        return marshalNoVersion(collectionOid) + marshal(collectionOid.getVersion());
+        final StringBuilder buf = new StringBuilder(48);
+        appendNoVersion(collectionOid, buf);
+        appendVersion(collectionOid.getVersion(), buf);
+        return buf.toString();
     }
 
     @Programmatic
     public String marshalNoVersion(ParentedCollectionOid collectionOid) {
-        return collectionOid.getRootOid().enStringNoVersion() + SEPARATOR_COLLECTION + collectionOid.getName();
+        final StringBuilder buf = new StringBuilder(48);
+        appendNoVersion(collectionOid, buf);
+        return buf.toString();
+    }
+
+    private static void appendNoVersion(final ParentedCollectionOid collectionOid, final StringBuilder buf) {
+        appendNoVersion(collectionOid.getRootOid(), buf);
+        buf.append(SEPARATOR_COLLECTION_CHAR).append(collectionOid.getName());
     }
 
     @Programmatic
@@ -270,8 +426,18 @@ public final String marshal(Version version) {
         if(version == null) {
             return "";
         }
-        final String versionUser = version.getUser();
-        return SEPARATOR_VERSION + version.getSequence() + SEPARATOR + Strings.nullToEmpty(versionUser) + SEPARATOR + nullToEmpty(version.getUtcTimestamp());
+        final StringBuilder buf = new StringBuilder(32);
+        appendVersion(version, buf);
+        return buf.toString();
+    }
+
+    private static void appendVersion(final Version version, final StringBuilder buf) {
+        if(version == null) {
+            return;
+        }
+        buf.append(SEPARATOR_VERSION_CHAR).append(version.getSequence())
+           .append(SEPARATOR_CHAR).append(Strings.nullToEmpty(version.getUser()))
+           .append(SEPARATOR_CHAR).append(nullToEmpty(version.getUtcTimestamp()));
     }
 
     private static String nullToEmpty(Object obj) {
@@ -19,10 +19,11 @@
 
 package org.apache.isis.core.metamodel.facetapi;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import com.google.common.collect.Maps;
+
 import org.apache.isis.applib.filter.Filter;
 
 /**
@@ -30,7 +31,11 @@
  */
 public class FacetHolderImpl implements FacetHolder {
 
-    private final Map<Class<? extends Facet>, Facet> facetsByClass = new HashMap<Class<? extends Facet>, Facet>();
+    /**
+     * Concurrent, because (if the metamodel is introspected in parallel) a specification may be read by one thread
+     * while its facets are still being added by another.
+     */
+    private final Map<Class<? extends Facet>, Facet> facetsByClass = Maps.newConcurrentMap();
 
     @Override
     public boolean containsFacet(final Class<? extends Facet> facetType) {
@@ -57,6 +62,9 @@ public void addFacet(final MultiTypedFacet facet) {
     }
 
     private void addFacet(final Class<? extends Facet> facetType, final Facet facet) {
+        if (facet == null) {
+            return;
+        }
         final Facet existingFacet = getFacet(facetType);
         if (existingFacet == null || existingFacet.isNoop()) {
             facetsByClass.put(facetType, facet);
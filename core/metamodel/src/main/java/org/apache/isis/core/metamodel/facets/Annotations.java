@@ -251,7 +251,7 @@ public Method getMethod() {
         }
     }
 
-    static class FieldEvaluator<T extends Annotation> extends Evaluator<T> {
+    public static class FieldEvaluator<T extends Annotation> extends Evaluator<T> {
         private final Field field;
 
         FieldEvaluator(final Field field, final T annotation) {
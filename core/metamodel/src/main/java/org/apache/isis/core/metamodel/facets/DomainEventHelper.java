@@ -19,8 +19,12 @@
 
 package org.apache.isis.core.metamodel.facets;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -140,34 +144,25 @@ static <S> ActionDomainEvent<S> newActionDomainEvent(
             final S source,
             final Object... arguments) throws InstantiationException, IllegalAccessException, IllegalArgumentException, InvocationTargetException, NoSuchMethodException, SecurityException {
 
-        final Constructor<?>[] constructors = type.getConstructors();
+        final EventConstructors constructors = EventConstructors.of(type);
 
         // no-arg constructor
-        for (final Constructor<?> constructor : constructors) {
-            final Class<?>[] parameterTypes = constructor.getParameterTypes();
-            if(parameterTypes.length == 0) {
-                final Object event = constructor.newInstance();
-                final ActionDomainEvent<S> ade = (ActionDomainEvent<S>) event;
-
-                ade.setSource(source);
-                ade.setIdentifier(identifier);
-                ade.setArguments(asList(arguments));
-                return ade;
-            }
+        final EventConstructor noArgConstructor = constructors.noArgConstructor;
+        if(noArgConstructor != null) {
+            final Object event = noArgConstructor.newInstance();
+            final ActionDomainEvent<S> ade = (ActionDomainEvent<S>) event;
+
+            ade.setSource(source);
+            ade.setIdentifier(identifier);
+            ade.setArguments(asList(arguments));
+            return ade;
         }
 
-
-        for (final Constructor<?> constructor : constructors) {
-            final Class<?>[] parameterTypes = constructor.getParameterTypes();
-            if(parameterTypes.length != 3) {
-                continue;
-            }
+        for (final EventConstructor constructor : constructors.threeArgConstructors) {
+            final Class<?>[] parameterTypes = constructor.parameterTypes;
             if(!parameterTypes[0].isAssignableFrom(source.getClass())) {
                 continue;
             }
-            if(!parameterTypes[1].isAssignableFrom(Identifier.class)) {
-                continue;
-            }
             if(!parameterTypes[2].isAssignableFrom(Object[].class)) {
                 continue;
             }
@@ -233,34 +228,26 @@ static <S,T> PropertyDomainEvent<S,T> newPropertyDomainEvent(
             final T oldValue,
             final T newValue) throws NoSuchMethodException, SecurityException, InstantiationException, IllegalAccessException, IllegalArgumentException, InvocationTargetException  {
 
-        final Constructor<?>[] constructors = type.getConstructors();
+        final EventConstructors constructors = EventConstructors.of(type);
 
         // no-arg constructor
-        for (final Constructor<?> constructor : constructors) {
-            final Class<?>[] parameterTypes = constructor.getParameterTypes();
-            if(parameterTypes.length == 0) {
-                final Object event = constructor.newInstance();
-                final PropertyDomainEvent<S, T> pde = (PropertyDomainEvent<S, T>) event;
-                pde.setSource(source);
-                pde.setIdentifier(identifier);
-                pde.setOldValue(oldValue);
-                pde.setNewValue(newValue);
-                return pde;
-            }
+        final EventConstructor noArgConstructor = constructors.noArgConstructor;
+        if(noArgConstructor != null) {
+            final Object event = noArgConstructor.newInstance();
+            final PropertyDomainEvent<S, T> pde = (PropertyDomainEvent<S, T>) event;
+            pde.setSource(source);
+            pde.setIdentifier(identifier);
+            pde.setOldValue(oldValue);
+            pde.setNewValue(newValue);
+            return pde;
         }
 
         // else
-        for (final Constructor<?> constructor : constructors) {
-            final Class<?>[] parameterTypes = constructor.getParameterTypes();
-            if(parameterTypes.length != 4) {
-                continue;
-            }
+        for (final EventConstructor constructor : constructors.fourArgConstructors) {
+            final Class<?>[] parameterTypes = constructor.parameterTypes;
             if(!parameterTypes[0].isAssignableFrom(source.getClass())) {
                 continue;
             }
-            if(!parameterTypes[1].isAssignableFrom(Identifier.class)) {
-                continue;
-            }
             if(oldValue != null && !parameterTypes[2].isAssignableFrom(oldValue.getClass())) {
                 continue;
             }
@@ -318,35 +305,27 @@ <S, T> CollectionDomainEvent<S, T> newCollectionDomainEvent(
             throws NoSuchMethodException, SecurityException, InstantiationException,
             IllegalAccessException, IllegalArgumentException, InvocationTargetException {
 
-        final Constructor<?>[] constructors = type.getConstructors();
+        final EventConstructors constructors = EventConstructors.of(type);
 
         // no-arg constructor
-        for (final Constructor<?> constructor : constructors) {
-            final Class<?>[] parameterTypes = constructor.getParameterTypes();
-            if(parameterTypes.length ==0) {
-                final Object event = constructor.newInstance();
-                final CollectionDomainEvent<S, T> cde = (CollectionDomainEvent<S, T>) event;
-
-                cde.setSource(source);
-                cde.setIdentifier(identifier);
-                cde.setOf(of);
-                cde.setValue(value);
-                return cde;
-            }
+        final EventConstructor noArgConstructor = constructors.noArgConstructor;
+        if(noArgConstructor != null) {
+            final Object event = noArgConstructor.newInstance();
+            final CollectionDomainEvent<S, T> cde = (CollectionDomainEvent<S, T>) event;
+
+            cde.setSource(source);
+            cde.setIdentifier(identifier);
+            cde.setOf(of);
+            cde.setValue(value);
+            return cde;
         }
 
         // search for constructor accepting source, identifier, type, value
-        for (final Constructor<?> constructor : constructors) {
-            final Class<?>[] parameterTypes = constructor.getParameterTypes();
-            if(parameterTypes.length != 4) {
-                continue;
-            }
+        for (final EventConstructor constructor : constructors.fourArgConstructors) {
+            final Class<?>[] parameterTypes = constructor.parameterTypes;
             if(!parameterTypes[0].isAssignableFrom(source.getClass())) {
                 continue;
             }
-            if(!parameterTypes[1].isAssignableFrom(Identifier.class)) {
-                continue;
-            }
             if(!parameterTypes[2].isAssignableFrom(CollectionDomainEvent.Of.class)) {
                 continue;
             }
@@ -361,17 +340,11 @@ <S, T> CollectionDomainEvent<S, T> newCollectionDomainEvent(
             if(of == CollectionDomainEvent.Of.ADD_TO) {
                 // support for @PostsCollectionAddedTo annotation:
                 // search for constructor accepting source, identifier, value
-                for (final Constructor<?> constructor : constructors) {
-                    final Class<?>[] parameterTypes = constructor.getParameterTypes();
-                    if(parameterTypes.length != 3) {
-                        continue;
-                    }
+                for (final EventConstructor constructor : constructors.threeArgConstructors) {
+                    final Class<?>[] parameterTypes = constructor.parameterTypes;
                     if(!parameterTypes[0].isAssignableFrom(source.getClass())) {
                         continue;
                     }
-                    if(!parameterTypes[1].isAssignableFrom(Identifier.class)) {
-                        continue;
-                    }
                     if(value != null && !parameterTypes[2].isAssignableFrom(value.getClass())) {
                         continue;
                     }
@@ -381,17 +354,11 @@ <S, T> CollectionDomainEvent<S, T> newCollectionDomainEvent(
             } else if(of == CollectionDomainEvent.Of.REMOVE_FROM) {
                 // support for @PostsCollectionRemovedFrom annotation:
                 // search for constructor accepting source, identifier, value
-                for (final Constructor<?> constructor : constructors) {
-                    final Class<?>[] parameterTypes = constructor.getParameterTypes();
-                    if(parameterTypes.length != 3) {
-                        continue;
-                    }
+                for (final EventConstructor constructor : constructors.threeArgConstructors) {
+                    final Class<?>[] parameterTypes = constructor.parameterTypes;
                     if(!parameterTypes[0].isAssignableFrom(source.getClass())) {
                         continue;
                     }
-                    if(!parameterTypes[1].isAssignableFrom(Identifier.class)) {
-                        continue;
-                    }
                     if(value != null && !parameterTypes[2].isAssignableFrom(value.getClass())) {
                         continue;
                     }
@@ -407,6 +374,133 @@ <S, T> CollectionDomainEvent<S, T> newCollectionDomainEvent(
     //endregion
 
 
+    //region > EventConstructors, EventConstructor
+
+    /**
+     * Ensures that the constructors of the specified event type have been resolved (eg while building the
+     * metamodel), so that this need not be done when the first event of that type is posted.
+     */
+    public static void resolveConstructorsFor(final Class<?> eventType) {
+        if(eventType != null) {
+            EventConstructors.of(eventType);
+        }
+    }
+
+    /**
+     * The public constructors of an event type, resolved once per type.
+     *
+     * <p>
+     *     The constructors are held in the order returned by {@link Class#getConstructors()}, and only those
+     *     whose second parameter accepts an {@link Identifier} are retained (every legacy constructor form requires
+     *     one); the remaining parameter checks depend upon the runtime types of the arguments, so are still made
+     *     for each event.
+     * </p>
+     */
+    static final class EventConstructors {
+
+        private static final ClassValue<EventConstructors> CACHE = new ClassValue<EventConstructors>() {
+            @Override
+            protected EventConstructors computeValue(final Class<?> type) {
+                return new EventConstructors(type);
+            }
+        };
+
+        static EventConstructors of(final Class<?> type) {
+            return CACHE.get(type);
+        }
+
+        final EventConstructor noArgConstructor;
+        final List<EventConstructor> threeArgConstructors;
+        final List<EventConstructor> fourArgConstructors;
+
+        private EventConstructors(final Class<?> type) {
+            EventConstructor noArgConstructor = null;
+            final List<EventConstructor> threeArgConstructors = Lists.newArrayList();
+            final List<EventConstructor> fourArgConstructors = Lists.newArrayList();
+            for (final Constructor<?> constructor : type.getConstructors()) {
+                final Class<?>[] parameterTypes = constructor.getParameterTypes();
+                if(parameterTypes.length == 0) {
+                    if(noArgConstructor == null) {
+                        noArgConstructor = new EventConstructor(constructor);
+                    }
+                    continue;
+                }
+                if(parameterTypes.length < 3 || !parameterTypes[1].isAssignableFrom(Identifier.class)) {
+                    continue;
+                }
+                if(parameterTypes.length == 3) {
+                    threeArgConstructors.add(new EventConstructor(constructor));
+                } else if(parameterTypes.length == 4) {
+                    fourArgConstructors.add(new EventConstructor(constructor));
+                }
+            }
+            this.noArgConstructor = noArgConstructor;
+            this.threeArgConstructors = Collections.unmodifiableList(threeArgConstructors);
+            this.fourArgConstructors = Collections.unmodifiableList(fourArgConstructors);
+        }
+    }
+
+    /**
+     * A public constructor of an event type, invoked through a {@link MethodHandle} if one can be obtained.
+     *
+     * <p>
+     *     Otherwise (eg if the event class is abstract or not itself public) the constructor is invoked
+     *     reflectively, so that the same exceptions are thrown as previously.
+     * </p>
+     */
+    static final class EventConstructor {
+
+        private final Constructor<?> constructor;
+        final Class<?>[] parameterTypes;
+        /**
+         * Adapted to accept and return {@link Object}s, so can be called using {@link MethodHandle#invokeExact(Object...)}.
+         */
+        private final MethodHandle handle;
+
+        EventConstructor(final Constructor<?> constructor) {
+            this.constructor = constructor;
+            this.parameterTypes = constructor.getParameterTypes();
+            this.handle = handleFor(constructor);
+        }
+
+        private static MethodHandle handleFor(final Constructor<?> constructor) {
+            if(Modifier.isAbstract(constructor.getDeclaringClass().getModifiers())) {
+                return null;
+            }
+            try {
+                // fixed arity, so that an Object[] is passed as is to a varargs constructor (as per reflection)
+                final MethodHandle handle = MethodHandles.publicLookup().unreflectConstructor(constructor).asFixedArity();
+                return handle.asType(MethodType.genericMethodType(constructor.getParameterTypes().length));
+            } catch (final IllegalAccessException ex) {
+                return null;
+            }
+        }
+
+        Object newInstance(final Object... args)
+                throws InstantiationException, IllegalAccessException, InvocationTargetException {
+            if(handle == null) {
+                return constructor.newInstance(args);
+            }
+            try {
+                switch (args.length) {
+                case 0:
+                    return (Object) handle.invokeExact();
+                case 3:
+                    return (Object) handle.invokeExact(args[0], args[1], args[2]);
+                case 4:
+                    return (Object) handle.invokeExact(args[0], args[1], args[2], args[3]);
+                default:
+                    return handle.invokeWithArguments(args);
+                }
+            } catch (final Throwable ex) {
+                // as would be thrown by Constructor#newInstance
+                throw new InvocationTargetException(ex);
+            }
+        }
+    }
+
+    //endregion
+
     //region > eventBusService
 
     private EventBusService getEventBusService() {
@@ -30,6 +30,8 @@
 import org.apache.isis.core.commons.lang.ObjectExtensions;
 import org.apache.isis.core.metamodel.facetapi.DecoratingFacet;
 import org.apache.isis.core.metamodel.facetapi.Facet;
+import org.apache.isis.core.metamodel.facetapi.FacetFilters;
+import org.apache.isis.core.metamodel.interactions.HidingInteractionAdvisor;
 import org.apache.isis.core.metamodel.spec.ObjectSpecification;
 import org.apache.isis.core.metamodel.spec.feature.ObjectMember;
 
@@ -138,6 +140,24 @@ public static boolean isImperativeFacet(final Facet facet) {
             return getImperativeFacet(facet) != null;
         }
 
+        /**
+         * Whether the visibility of instances of the specification is determined by any imperative facet, eg a
+         * <tt>hidden()</tt> method, in which case it may depend upon the state of the instance or of other objects.
+         *
+         * <p>
+         *     Objects do not emit domain events to determine their visibility, so there are no subscribers to consider.
+         * </p>
+         */
+        public static boolean isVisibilityImperative(final ObjectSpecification spec) {
+            final List<Facet> facets = spec.getFacets(FacetFilters.isA(HidingInteractionAdvisor.class));
+            for (final Facet facet : facets) {
+                if(isImperativeFacet(facet)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
         public static Intent getIntent(final ObjectMember member, final Method method) {
             final List<Facet> allFacets = member.getFacets(Filters.anyOfType(Facet.class));
             final List<ImperativeFacet> imperativeFacets = Lists.newArrayList();
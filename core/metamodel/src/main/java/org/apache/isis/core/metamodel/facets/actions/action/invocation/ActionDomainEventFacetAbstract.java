@@ -69,6 +69,7 @@ public ActionDomainEventFacetAbstract(
         this.translationContext = ((IdentifiedHolder)holder).getIdentifier().toClassAndNameIdentityString();
 
         domainEventHelper = new DomainEventHelper(servicesInjector);
+        DomainEventHelper.resolveConstructorsFor(eventType);
     }
 
 
@@ -56,6 +56,7 @@ public CollectionDomainEventFacetAbstract(
         this.translationContext = ((IdentifiedHolder)holder).getIdentifier().toClassAndNameIdentityString();
 
         domainEventHelper = new DomainEventHelper(servicesInjector);
+        DomainEventHelper.resolveConstructorsFor(eventType);
     }
 
     @Override
@@ -115,7 +115,7 @@ private String cssIfAnyFor(String name) {
         return null;
     }
 
-    private Map<Pattern,String> cssClassByPattern;
+    private volatile Map<Pattern,String> cssClassByPattern;
 
     private Map<Pattern, String> getCssClassByPattern() {
         if (cssClassByPattern == null) {
@@ -127,7 +127,7 @@ private String faIconIfAnyFor(String name) {
         return null;
     }
 
-    private Map<Pattern, String> faIconByPattern;
+    private volatile Map<Pattern, String> faIconByPattern;
 
     private Map<Pattern, String> getFaIconByPattern() {
         if (faIconByPattern == null) {
@@ -32,4 +32,10 @@ List<ObjectAdapter> execute(
             final InteractionInitiatedBy interactionInitiatedBy);
 
     int getMinLength();
+
+    /**
+     * The maximum number of results, if the autoComplete is declared (using
+     * {@link org.apache.isis.applib.annotation.MatchesTitle}) to match on title; <tt>0</tt> otherwise.
+     */
+    int getMatchesTitleMaxResults();
 }
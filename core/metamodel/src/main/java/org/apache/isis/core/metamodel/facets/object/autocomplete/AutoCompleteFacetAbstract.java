@@ -34,6 +34,7 @@
 import org.apache.isis.core.metamodel.facetapi.FacetAbstract;
 import org.apache.isis.core.metamodel.facetapi.FacetHolder;
 import org.apache.isis.core.metamodel.facets.collections.modify.CollectionFacet;
+import org.apache.isis.core.metamodel.facets.param.autocomplete.MatchesTitleUtil;
 import org.apache.isis.core.metamodel.facets.param.autocomplete.MinLengthUtil;
 import org.apache.isis.core.metamodel.services.ServicesInjector;
 import org.apache.isis.core.metamodel.services.publishing.PublishingServiceInternal;
@@ -55,6 +56,10 @@ public static Class<? extends Facet> type() {
      * lazily populated
      */
     private Integer minLength;
+    /**
+     * lazily populated
+     */
+    private Integer matchesTitleMaxResults;
 
     public AutoCompleteFacetAbstract(
             final FacetHolder holder,
@@ -122,6 +127,14 @@ public int getMinLength() {
         return minLength;
     }
 
+    @Override
+    public int getMatchesTitleMaxResults() {
+        if(matchesTitleMaxResults == null) {
+            matchesTitleMaxResults = MatchesTitleUtil.determineMaxResults(repositoryMethod);
+        }
+        return matchesTitleMaxResults;
+    }
+
     protected DeploymentCategory getDeploymentCategory() {
         return deploymentCategory;
     }
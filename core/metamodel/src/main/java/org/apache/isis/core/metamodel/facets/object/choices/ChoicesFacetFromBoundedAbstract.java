@@ -19,6 +19,7 @@
 
 package org.apache.isis.core.metamodel.facets.object.choices;
 
+import java.util.Collections;
 import java.util.List;
 
 import com.google.common.collect.Lists;
@@ -31,17 +32,21 @@
 import org.apache.isis.core.commons.authentication.AuthenticationSession;
 import org.apache.isis.core.commons.authentication.AuthenticationSessionProvider;
 import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.adapter.oid.RootOid;
 import org.apache.isis.core.metamodel.consent.InteractionInitiatedBy;
 import org.apache.isis.core.metamodel.deployment.DeploymentCategory;
 import org.apache.isis.core.metamodel.facetapi.Facet;
 import org.apache.isis.core.metamodel.facetapi.FacetAbstract;
 import org.apache.isis.core.metamodel.facetapi.FacetHolder;
+import org.apache.isis.core.metamodel.facets.ImperativeFacet;
 import org.apache.isis.core.metamodel.facets.objectvalue.choices.ChoicesFacet;
 import org.apache.isis.core.metamodel.interactions.DisablingInteractionAdvisor;
 import org.apache.isis.core.metamodel.interactions.ObjectValidityContext;
 import org.apache.isis.core.metamodel.interactions.UsabilityContext;
 import org.apache.isis.core.metamodel.interactions.ValidatingInteractionAdvisor;
 import org.apache.isis.core.metamodel.interactions.ValidityContext;
+import org.apache.isis.core.metamodel.services.ServicesInjector;
+import org.apache.isis.core.metamodel.services.choices.BoundedChoicesCacheServiceInternal;
 import org.apache.isis.core.metamodel.services.persistsession.PersistenceSessionServiceInternal;
 import org.apache.isis.core.metamodel.spec.ObjectSpecification;
 
@@ -56,6 +61,10 @@
  * In the standard Apache Isis Programming Model, corresponds to annotating the
  * member with {@link org.apache.isis.applib.annotation.Bounded Bounded} annotation
  * or implementing the {@link Bounded} marker interface.
+ *
+ * <p>
+ * The oids of the instances are cached by the {@link BoundedChoicesCacheServiceInternal}, if available.  The oids of
+ * those visible to the current user are also cached (per user), unless their visibility is determined imperatively.
  */
 public abstract class ChoicesFacetFromBoundedAbstract
         extends FacetAbstract
@@ -68,16 +77,19 @@ public static Class<? extends Facet> type() {
     private final DeploymentCategory deploymentCategory;
     private final AuthenticationSessionProvider authenticationSessionProvider;
     private final PersistenceSessionServiceInternal persistenceSessionServiceInternal;
+    private final ServicesInjector servicesInjector;
 
     public ChoicesFacetFromBoundedAbstract(
             final FacetHolder holder,
             final DeploymentCategory deploymentCategory,
             final AuthenticationSessionProvider authenticationSessionProvider,
-            final PersistenceSessionServiceInternal persistenceSessionServiceInternal) {
+            final PersistenceSessionServiceInternal persistenceSessionServiceInternal,
+            final ServicesInjector servicesInjector) {
         super(type(), holder, Derivation.NOT_DERIVED);
         this.deploymentCategory = deploymentCategory;
         this.authenticationSessionProvider = authenticationSessionProvider;
         this.persistenceSessionServiceInternal = persistenceSessionServiceInternal;
+        this.servicesInjector = servicesInjector;
     }
 
     public PersistenceSessionServiceInternal getPersistenceSessionService() {
@@ -121,22 +133,126 @@ public String disabledReason(final ObjectAdapter inObject) {
         return "Bounded";
     }
 
-    @SuppressWarnings({ "rawtypes", "unchecked" })
     @Override
     public Object[] getChoices(
             ObjectAdapter adapter,
             final InteractionInitiatedBy interactionInitiatedBy) {
+
+        final BoundedChoicesCacheServiceInternal cacheService = getBoundedChoicesCacheService();
+        if(cacheService == null || !cacheService.isEnabled()) {
+            return pojosOf(visibleAdapters(allInstances(), interactionInitiatedBy));
+        }
+
+        final ObjectSpecification spec = getObjectSpecification();
+        final String userKey = userKeyFor(interactionInitiatedBy);
+        // if imperative, visibility may depend upon the state of the instance or of other objects, so cannot be cached
+        final boolean cacheVisibleOids =
+                interactionInitiatedBy == InteractionInitiatedBy.FRAMEWORK ||
+                !ImperativeFacet.Util.isVisibilityImperative(spec);
+
+        final List<RootOid> cachedVisibleOids = cacheVisibleOids ? cacheService.getVisibleOids(spec, userKey) : null;
+        if(cachedVisibleOids != null) {
+            List<ObjectAdapter> adapters = mappedAdaptersFor(cachedVisibleOids);
+            if(adapters == null) {
+                // not yet loaded in this session; loading all instances maps them all, without re-evaluating
+                // their visibility.
+                allInstances();
+                adapters = mappedAdaptersFor(cachedVisibleOids);
+            }
+            if(adapters != null) {
+                return pojosOf(adapters);
+            }
+        }
+
+        final List<RootOid> cachedAllOids = cacheService.getAllOids(spec);
+        final long generation = cacheService.generationOf(spec);
+        List<ObjectAdapter> allInstances = cachedAllOids != null ? mappedAdaptersFor(cachedAllOids) : null;
+        if(allInstances == null) {
+            allInstances = allInstances();
+        }
+
+        final List<ObjectAdapter> visibleAdapters = visibleAdapters(allInstances, interactionInitiatedBy);
+        final List<RootOid> allOids = rootOidsOf(allInstances);
+        final List<RootOid> visibleOids = rootOidsOf(visibleAdapters);
+        if(allOids != null && visibleOids != null) {
+            if(cacheVisibleOids) {
+                cacheService.put(spec, generation, allOids, userKey, visibleOids);
+            } else {
+                cacheService.put(spec, generation, allOids);
+            }
+        }
+        return pojosOf(visibleAdapters);
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private List<ObjectAdapter> allInstances() {
         final Query query = new QueryFindAllInstances(getObjectSpecification().getFullIdentifier());
-        final List<ObjectAdapter> allInstancesAdapter = getPersistenceSessionService().allMatchingQuery(query);
+        return getPersistenceSessionService().allMatchingQuery(query);
+    }
 
-        final List<ObjectAdapter> adapters =
-                ObjectAdapter.Util.visibleAdapters(
-                    allInstancesAdapter, interactionInitiatedBy);
+    private static List<ObjectAdapter> visibleAdapters(
+            final List<ObjectAdapter> adapters,
+            final InteractionInitiatedBy interactionInitiatedBy) {
+        return ObjectAdapter.Util.visibleAdapters(adapters, interactionInitiatedBy);
+    }
 
+    private static Object[] pojosOf(final List<ObjectAdapter> adapters) {
         final List<Object> pojos = Lists.transform(adapters, ObjectAdapter.Functions.getObject());
         return Lists.newArrayList(pojos).toArray();
     }
 
+    /**
+     * The adapters already mapped in the current session for each of the oids, or <tt>null</tt> if any is not.
+     */
+    private List<ObjectAdapter> mappedAdaptersFor(final List<RootOid> oids) {
+        final List<ObjectAdapter> adapters = Lists.newArrayList();
+        for (final RootOid oid : oids) {
+            final ObjectAdapter adapter = getPersistenceSessionService().getAdapterFor(oid);
+            if(adapter == null || adapter.isDestroyed()) {
+                return null;
+            }
+            adapters.add(adapter);
+        }
+        return adapters;
+    }
+
+    /**
+     * The oids of the adapters, or <tt>null</tt> if any is not persistent (in which case nothing is cached).
+     */
+    private static List<RootOid> rootOidsOf(final List<ObjectAdapter> adapters) {
+        final List<RootOid> oids = Lists.newArrayList();
+        for (final ObjectAdapter adapter : adapters) {
+            if(!(adapter.getOid() instanceof RootOid) || !adapter.representsPersistent()) {
+                return null;
+            }
+            oids.add((RootOid) adapter.getOid());
+        }
+        return oids;
+    }
+
+    /**
+     * Visibility (if not imperative) is assumed to depend only upon the current user, including their roles;
+     * interactions initiated by the framework are not subject to visibility checks at all.
+     */
+    private String userKeyFor(final InteractionInitiatedBy interactionInitiatedBy) {
+        if(interactionInitiatedBy == InteractionInitiatedBy.FRAMEWORK) {
+            return null;
+        }
+        final AuthenticationSession authenticationSession = getAuthenticationSession();
+        if(authenticationSession == null) {
+            return "user:;roles:[]";
+        }
+        final List<String> roles = Lists.newArrayList(authenticationSession.getRoles());
+        Collections.sort(roles);
+        return "user:" + authenticationSession.getUserName() + ";roles:" + roles;
+    }
+
+    private BoundedChoicesCacheServiceInternal getBoundedChoicesCacheService() {
+        return servicesInjector != null
+                ? servicesInjector.lookupService(BoundedChoicesCacheServiceInternal.class)
+                : null;
+    }
+
     protected DeploymentCategory getDeploymentCategory() {
         return deploymentCategory;
     }
@@ -23,6 +23,7 @@
 import org.apache.isis.core.metamodel.deployment.DeploymentCategory;
 import org.apache.isis.core.metamodel.facetapi.FacetHolder;
 import org.apache.isis.core.metamodel.facets.object.choices.ChoicesFacetFromBoundedAbstract;
+import org.apache.isis.core.metamodel.services.ServicesInjector;
 import org.apache.isis.core.metamodel.services.persistsession.PersistenceSessionServiceInternal;
 
 public class ChoicesFacetFromBoundedMarkerInterface extends ChoicesFacetFromBoundedAbstract {
@@ -31,8 +32,10 @@ public ChoicesFacetFromBoundedMarkerInterface(
             final FacetHolder holder,
             final DeploymentCategory deploymentCategory,
             final AuthenticationSessionProvider authenticationSessionProvider,
-            final PersistenceSessionServiceInternal persistenceSessionServiceInternal) {
-        super(holder, deploymentCategory, authenticationSessionProvider, persistenceSessionServiceInternal);
+            final PersistenceSessionServiceInternal persistenceSessionServiceInternal,
+            final ServicesInjector servicesInjector) {
+        super(holder, deploymentCategory, authenticationSessionProvider, persistenceSessionServiceInternal,
+                servicesInjector);
     }
 
 }
@@ -50,7 +50,7 @@ private ChoicesFacet create(
         return implementsMarker
                 ? new ChoicesFacetFromBoundedMarkerInterface(
                     holder, getDeploymentCategory(), getAuthenticationSessionProvider(),
-                persistenceSessionServiceInternal) : null;
+                persistenceSessionServiceInternal, servicesInjector) : null;
     }
 
     public boolean recognizes(final Method method) {
@@ -303,12 +303,12 @@ void processBounded(final ProcessClassContext processClassContext) {
             ChoicesFacetFromBoundedAnnotation.create(annotation, processClassContext.getFacetHolder(),
                     getDeploymentCategory(),
                     getAuthenticationSessionProvider(),
-                    persistenceSessionServiceInternal));
+                    persistenceSessionServiceInternal, servicesInjector));
 
         // else check from @DomainObject(bounded=...)
         if(facet == null) {
             facet = ChoicesFacetForDomainObjectAnnotation.create(domainObject, facetHolder, getDeploymentCategory(),
-                    getAuthenticationSessionProvider(), persistenceSessionServiceInternal);
+                    getAuthenticationSessionProvider(), persistenceSessionServiceInternal, servicesInjector);
         }
 
         // then add
@@ -25,6 +25,7 @@
 import org.apache.isis.core.metamodel.facetapi.Facet;
 import org.apache.isis.core.metamodel.facetapi.FacetHolder;
 import org.apache.isis.core.metamodel.facets.object.choices.ChoicesFacetFromBoundedAbstract;
+import org.apache.isis.core.metamodel.services.ServicesInjector;
 import org.apache.isis.core.metamodel.services.persistsession.PersistenceSessionServiceInternal;
 
 public class ChoicesFacetForDomainObjectAnnotation extends ChoicesFacetFromBoundedAbstract {
@@ -34,7 +35,8 @@ public static Facet create(
             final FacetHolder facetHolder,
             final DeploymentCategory deploymentCategory,
             final AuthenticationSessionProvider authenticationSessionProvider,
-            final PersistenceSessionServiceInternal persistenceSessionServiceInternal) {
+            final PersistenceSessionServiceInternal persistenceSessionServiceInternal,
+            final ServicesInjector servicesInjector) {
 
         if(domainObject == null) {
             return null;
@@ -43,15 +45,18 @@ public static Facet create(
         final boolean bounded = domainObject.bounded();
         return bounded
                 ? new ChoicesFacetForDomainObjectAnnotation(
-                    facetHolder, deploymentCategory, authenticationSessionProvider, persistenceSessionServiceInternal)
+                    facetHolder, deploymentCategory, authenticationSessionProvider, persistenceSessionServiceInternal,
+                    servicesInjector)
                 : null;
     }
 
     private ChoicesFacetForDomainObjectAnnotation(
             final FacetHolder holder,
             final DeploymentCategory deploymentCategory,
-            final AuthenticationSessionProvider authenticationSessionProvider, final PersistenceSessionServiceInternal persistenceSessionServiceInternal) {
-        super(holder, deploymentCategory, authenticationSessionProvider, persistenceSessionServiceInternal);
+            final AuthenticationSessionProvider authenticationSessionProvider, final PersistenceSessionServiceInternal persistenceSessionServiceInternal,
+            final ServicesInjector servicesInjector) {
+        super(holder, deploymentCategory, authenticationSessionProvider, persistenceSessionServiceInternal,
+                servicesInjector);
     }
 
 }
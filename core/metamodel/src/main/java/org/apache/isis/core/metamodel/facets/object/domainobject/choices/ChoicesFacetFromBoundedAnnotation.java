@@ -25,6 +25,7 @@
 import org.apache.isis.core.metamodel.facetapi.FacetHolder;
 import org.apache.isis.core.metamodel.facets.object.choices.ChoicesFacetFromBoundedAbstract;
 import org.apache.isis.core.metamodel.facets.objectvalue.choices.ChoicesFacet;
+import org.apache.isis.core.metamodel.services.ServicesInjector;
 import org.apache.isis.core.metamodel.services.persistsession.PersistenceSessionServiceInternal;
 
 /**
@@ -37,8 +38,10 @@ private ChoicesFacetFromBoundedAnnotation(
             final FacetHolder holder,
             final DeploymentCategory deploymentCategory,
             final AuthenticationSessionProvider authenticationSessionProvider,
-            final PersistenceSessionServiceInternal persistenceSessionServiceInternal) {
-        super(holder, deploymentCategory, authenticationSessionProvider, persistenceSessionServiceInternal);
+            final PersistenceSessionServiceInternal persistenceSessionServiceInternal,
+            final ServicesInjector servicesInjector) {
+        super(holder, deploymentCategory, authenticationSessionProvider, persistenceSessionServiceInternal,
+                servicesInjector);
     }
 
     public static ChoicesFacet create(
@@ -46,13 +49,14 @@ public static ChoicesFacet create(
             final FacetHolder holder,
             final DeploymentCategory deploymentCategory,
             final AuthenticationSessionProvider authenticationSessionProvider,
-            final PersistenceSessionServiceInternal persistenceSessionServiceInternal) {
+            final PersistenceSessionServiceInternal persistenceSessionServiceInternal,
+            final ServicesInjector servicesInjector) {
         if (annotation == null) {
             return null;
         }
 
         return new ChoicesFacetFromBoundedAnnotation(holder, deploymentCategory, authenticationSessionProvider,
-                persistenceSessionServiceInternal);
+                persistenceSessionServiceInternal, servicesInjector);
     }
 
 
@@ -48,7 +48,11 @@ public static GridFacet create(
 
     private final GridService gridService;
 
-    private Grid grid;
+    /**
+     * Once loaded and normalized, published to all threads; only ever reloaded if the
+     * {@link GridService#supportsReloading() grid service supports reloading} (ie prototyping mode).
+     */
+    private volatile Grid grid;
 
     private GridFacetDefault(
             final FacetHolder facetHolder,
@@ -58,13 +62,19 @@ private GridFacetDefault(
     }
 
     public Grid getGrid() {
-        if (!gridService.supportsReloading() && this.grid != null) {
+        final Grid grid = this.grid;
+        if (grid != null && !gridService.supportsReloading()) {
+            return grid;
+        }
+        // only one thread loads and normalizes the grid (normalizing also updates this spec's facets)
+        synchronized (this) {
+            if (this.grid != null && !gridService.supportsReloading()) {
+                return this.grid;
+            }
+            final Class<?> domainClass = getSpecification().getCorrespondingClass();
+            this.grid = load(domainClass);
             return this.grid;
         }
-        final Class<?> domainClass = getSpecification().getCorrespondingClass();
-        this.grid = load(domainClass);
-
-        return this.grid;
     }
 
     private Grid load(final Class<?> domainClass) {
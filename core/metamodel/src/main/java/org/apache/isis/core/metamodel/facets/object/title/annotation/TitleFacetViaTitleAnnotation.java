@@ -75,6 +75,10 @@ public Annotations.Evaluator<Title> getTitleEvaluator() {
             return titleEvaluator;
         }
 
+        public int getAbbreviateTo() {
+            return abbreviateTo;
+        }
+
         private static TitleComponent of(final Annotations.Evaluator<Title> titleEvaluator) {
             final Title annotation = titleEvaluator.getAnnotation();
             final String prepend = annotation != null ? annotation.prepend() : " ";
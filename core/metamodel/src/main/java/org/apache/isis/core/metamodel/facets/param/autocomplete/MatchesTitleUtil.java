@@ -0,0 +1,48 @@
+/**
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.apache.isis.core.metamodel.facets.param.autocomplete;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+
+import org.apache.isis.applib.annotation.MatchesTitle;
+
+public final class MatchesTitleUtil {
+
+    private MatchesTitleUtil(){}
+
+    /**
+     * Finds the maximum number of results, from the {@link MatchesTitle} annotation on the first parameter of the
+     * supplied method; <tt>0</tt> if none (meaning that the method does not declare that it matches on title).
+     */
+    public static int determineMaxResults(final Method method) {
+        if(method == null) {
+            return 0;
+        }
+
+        final Annotation[][] parameterAnnotations = method.getParameterAnnotations();
+        if(parameterAnnotations.length == 1) {
+            for(Annotation annotation: parameterAnnotations[0]) {
+                if(annotation instanceof MatchesTitle) {
+                    return Math.max(((MatchesTitle) annotation).maxResults(), 0);
+                }
+            }
+        }
+        return 0;
+    }
+
+}
@@ -36,6 +36,7 @@
 import org.apache.isis.core.metamodel.facets.FacetedMethodParameter;
 import org.apache.isis.core.metamodel.facets.ImperativeFacet;
 import org.apache.isis.core.metamodel.facets.param.autocomplete.ActionParameterAutoCompleteFacetAbstract;
+import org.apache.isis.core.metamodel.facets.param.autocomplete.MatchesTitleUtil;
 import org.apache.isis.core.metamodel.facets.param.autocomplete.MinLengthUtil;
 import org.apache.isis.core.metamodel.spec.ObjectSpecification;
 import org.apache.isis.core.metamodel.specloader.SpecificationLoader;
@@ -45,6 +46,7 @@ public class ActionParameterAutoCompleteFacetViaMethod extends ActionParameterAu
     private final Method method;
     private final Class<?> choicesType;
     private final int minLength;
+    private final int matchesTitleMaxResults;
 
     public ActionParameterAutoCompleteFacetViaMethod(
             final Method method,
@@ -58,6 +60,7 @@ public ActionParameterAutoCompleteFacetViaMethod(
         this.method = method;
         this.choicesType = choicesType;
         this.minLength = MinLengthUtil.determineMinLength(method);
+        this.matchesTitleMaxResults = MatchesTitleUtil.determineMaxResults(method);
     }
 
     /**
@@ -79,6 +82,11 @@ public int getMinLength() {
         return minLength;
     }
 
+    @Override
+    public int getMatchesTitleMaxResults() {
+        return matchesTitleMaxResults;
+    }
+
     @Override
     public Object[] autoComplete(
             final ObjectAdapter owningAdapter,
@@ -48,4 +48,10 @@ public Object[] autoComplete(
      * The minimum number of characters that need to be entered.
      */
     public int getMinLength();
+
+    /**
+     * The maximum number of results, if the autoComplete is declared (using
+     * {@link org.apache.isis.applib.annotation.MatchesTitle}) to match on title; <tt>0</tt> otherwise.
+     */
+    public int getMatchesTitleMaxResults();
 }
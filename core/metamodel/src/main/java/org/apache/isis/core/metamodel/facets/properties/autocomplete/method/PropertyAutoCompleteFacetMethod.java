@@ -36,6 +36,7 @@
 import org.apache.isis.core.metamodel.facets.CollectionUtils;
 import org.apache.isis.core.metamodel.facets.FacetedMethod;
 import org.apache.isis.core.metamodel.facets.ImperativeFacet;
+import org.apache.isis.core.metamodel.facets.param.autocomplete.MatchesTitleUtil;
 import org.apache.isis.core.metamodel.facets.param.autocomplete.MinLengthUtil;
 import org.apache.isis.core.metamodel.facets.properties.autocomplete.PropertyAutoCompleteFacetAbstract;
 import org.apache.isis.core.metamodel.spec.ObjectSpecification;
@@ -46,6 +47,7 @@ public class PropertyAutoCompleteFacetMethod extends PropertyAutoCompleteFacetAb
     private final Method method;
     private final Class<?> choicesClass;
     private final int minLength;
+    private final int matchesTitleMaxResults;
 
     private final AuthenticationSessionProvider authenticationSessionProvider;
     private final AdapterManager adapterManager;
@@ -68,6 +70,7 @@ public PropertyAutoCompleteFacetMethod(
         this.authenticationSessionProvider = authenticationSessionProvider;
         this.adapterManager = adapterManager;
         this.minLength = MinLengthUtil.determineMinLength(method);
+        this.matchesTitleMaxResults = MatchesTitleUtil.determineMaxResults(method);
     }
 
     /**
@@ -89,6 +92,11 @@ public int getMinLength() {
         return minLength;
     }
 
+    @Override
+    public int getMatchesTitleMaxResults() {
+        return matchesTitleMaxResults;
+    }
+
     @Override
     public Object[] autoComplete(
             final ObjectAdapter owningAdapter,
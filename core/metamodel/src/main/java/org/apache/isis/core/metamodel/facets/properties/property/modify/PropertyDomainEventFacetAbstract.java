@@ -62,6 +62,7 @@ public PropertyDomainEventFacetAbstract(
         this.translationContext = ((IdentifiedHolder)holder).getIdentifier().toClassAndNameIdentityString();
 
         domainEventHelper = new DomainEventHelper(servicesInjector);
+        DomainEventHelper.resolveConstructorsFor(eventType);
     }
 
     @Override
@@ -83,9 +83,16 @@ public class ServicesInjector implements ApplicationScopedComponent {
     /**
      * If no key, not yet searched for type; otherwise the corresponding value is a {@link List} of all
      * services that are assignable to the type.  It's possible that this is an empty list.
+     *
+     * <p>
+     * Concurrent, because services are looked up from multiple threads (including while the metamodel is being
+     * introspected in parallel).
      */
-    private final Map<Class<?>, List<Object>> servicesAssignableToType = Maps.newHashMap();
+    private final Map<Class<?>, List<Object>> servicesAssignableToType = Maps.newConcurrentMap();
 
+    /**
+     * Guarded by itself.
+     */
     private final Map<Class<?>, Object> serviceByConcreteType = Maps.newHashMap();
 
     private final InjectorMethodEvaluator injectorMethodEvaluator;
@@ -154,19 +161,23 @@ public <T> void replaceService(final T existingService, final T replacementServi
 
         // invalidate
         servicesAssignableToType.clear();
-        serviceByConcreteType.clear();
+        synchronized (serviceByConcreteType) {
+            serviceByConcreteType.clear();
+        }
         autowire();
     }
 
     public boolean isRegisteredService(final Class<?> cls) {
-        // lazily construct cache
-        if(serviceByConcreteType.isEmpty()) {
-            for (Object service : services) {
-                final Class<?> concreteType = service.getClass();
-                serviceByConcreteType.put(concreteType, service);
+        synchronized (serviceByConcreteType) {
+            // lazily construct cache
+            if(serviceByConcreteType.isEmpty()) {
+                for (Object service : services) {
+                    final Class<?> concreteType = service.getClass();
+                    serviceByConcreteType.put(concreteType, service);
+                }
             }
+            return serviceByConcreteType.containsKey(cls);
         }
-        return serviceByConcreteType.containsKey(cls);
     }
 
     public <T> void addFallbackIfRequired(final Class<T> serviceClass, final T serviceInstance) {
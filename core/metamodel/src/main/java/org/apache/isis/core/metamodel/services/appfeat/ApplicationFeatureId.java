@@ -29,7 +29,9 @@
 import com.google.common.base.Joiner;
 import com.google.common.base.Predicate;
 import com.google.common.base.Splitter;
+import com.google.common.collect.ComparisonChain;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Ordering;
 import com.google.common.io.BaseEncoding;
 
 import org.apache.isis.applib.annotation.Programmatic;
@@ -252,11 +254,7 @@ public ApplicationFeatureId getParentPackageId() {
                 return null; // parent is root
             }
 
-            final Iterable<String> split = Splitter.on(".").split(packageName);
-            final List<String> parts = Lists.newArrayList(split); // eg [aaa,bbb,ccc]
-            parts.remove(parts.size()-1); // remove last, eg [aaa,bbb]
-
-            final String parentPackageName = Joiner.on(".").join(parts); // eg aaa.bbb
+            final String parentPackageName = packageName.substring(0, packageName.lastIndexOf('.')); // eg aaa.bbb
 
             return newPackage(parentPackageName);
         }
@@ -423,9 +421,18 @@ private static List<ApplicationFeatureId> appendParents(final ApplicationFeature
 
     private final static String propertyNames = "type, packageName, className, memberName";
 
+    private final static Ordering<Comparable> NATURAL_NULLS_FIRST = Ordering.natural().nullsFirst();
+
     @Override
     public int compareTo(final ApplicationFeatureId other) {
-        return ObjectContracts.compare(this, other, propertyNames);
+        // not using ObjectContracts (reflection) because features are compared very frequently while being sorted;
+        // equivalent to ObjectContracts.compare(this, other, propertyNames)
+        return ComparisonChain.start()
+                .compare(type, other.type, NATURAL_NULLS_FIRST)
+                .compare(packageName, other.packageName, NATURAL_NULLS_FIRST)
+                .compare(className, other.className, NATURAL_NULLS_FIRST)
+                .compare(memberName, other.memberName, NATURAL_NULLS_FIRST)
+                .result();
     }
 
     @Override
@@ -18,11 +18,12 @@
  */
 package org.apache.isis.core.metamodel.services.appfeat;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
-import java.util.Set;
-import java.util.SortedMap;
+import java.util.Map;
 import java.util.SortedSet;
 
 import javax.annotation.PostConstruct;
@@ -32,6 +33,9 @@
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import org.apache.isis.applib.DomainObjectContainer;
 import org.apache.isis.applib.annotation.DomainService;
 import org.apache.isis.applib.annotation.NatureOfService;
@@ -66,13 +70,28 @@
 )
 public class ApplicationFeatureRepositoryDefault implements ApplicationFeatureRepository {
 
+    private static final Logger LOG = LoggerFactory.getLogger(ApplicationFeatureRepositoryDefault.class);
+
     //region > caches
-    SortedMap<ApplicationFeatureId, ApplicationFeature> packageFeatures = Maps.newTreeMap();
-    private final SortedMap<ApplicationFeatureId, ApplicationFeature> classFeatures = Maps.newTreeMap();
-    private final SortedMap<ApplicationFeatureId, ApplicationFeature> memberFeatures = Maps.newTreeMap();
-    private final SortedMap<ApplicationFeatureId, ApplicationFeature> propertyFeatures = Maps.newTreeMap();
-    private final SortedMap<ApplicationFeatureId, ApplicationFeature> collectionFeatures = Maps.newTreeMap();
-    private final SortedMap<ApplicationFeatureId, ApplicationFeature> actionFeatures = Maps.newTreeMap();
+
+    // populated only while initializing (under lock); thereafter only ever read.
+    final Map<ApplicationFeatureId, ApplicationFeature> packageFeatures = Maps.newHashMap();
+    final Map<ApplicationFeatureId, ApplicationFeature> classFeatures = Maps.newHashMap();
+    private final Map<ApplicationFeatureId, ApplicationFeature> memberFeatures = Maps.newHashMap();
+    private final Map<ApplicationFeatureId, ApplicationFeature> propertyFeatures = Maps.newHashMap();
+    private final Map<ApplicationFeatureId, ApplicationFeature> collectionFeatures = Maps.newHashMap();
+    private final Map<ApplicationFeatureId, ApplicationFeature> actionFeatures = Maps.newHashMap();
+
+    /**
+     * Sorted views over the caches; <tt>null</tt> until initialized.
+     *
+     * <p>
+     *     Publishing this (volatile) field also safely publishes the (no longer modified) maps above, so lookups
+     *     need not acquire any lock once initialized.
+     * </p>
+     */
+    private volatile Index index;
+
     //endregion
 
 
@@ -83,35 +102,79 @@ public class ApplicationFeatureRepositoryDefault implements ApplicationFeatureRe
     @Programmatic
     @PostConstruct
     public void init() {
-        if(isEagerInitialize()) {
+        final String configuredValue = configurationService.getProperty(KEY);
+        if(isEagerInitialize(configuredValue)) {
             initializeIfRequired();
+        } else if(isBackgroundInitialize(configuredValue)) {
+            initializeInBackground();
         }
     }
 
-    private boolean isEagerInitialize() {
-        final String configuredValue = configurationService.getProperty(KEY);
+    private static boolean isEagerInitialize(final String configuredValue) {
         return "eager".equalsIgnoreCase(configuredValue) ||
                 "eagerly".equalsIgnoreCase(configuredValue);
     }
 
+    private static boolean isBackgroundInitialize(final String configuredValue) {
+        return "background".equalsIgnoreCase(configuredValue);
+    }
+
+    /**
+     * Builds the features on a separate (daemon) thread, so as not to hold up bootstrapping; any lookup made
+     * before it completes will block until it has done so.
+     */
+    private void initializeInBackground() {
+        final Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    initializeIfRequired();
+                } catch(final RuntimeException ex) {
+                    LOG.warn("Failed to initialize application features in background", ex);
+                }
+            }
+        }, "isis-applicationFeatures-init");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
     //endregion
 
 
     //region > initializeIfRequired
 
-    enum InitializationState {
-        NOT_INITIALIZED,
-        INITIALIZED
-    }
-    private InitializationState initializationState = InitializationState.NOT_INITIALIZED;
+    private final Object initializationLock = new Object();
+    private boolean initializing;
 
-    private synchronized void initializeIfRequired() {
-        if(initializationState == InitializationState.INITIALIZED) {
-            return;
+    private Index initializeIfRequired() {
+        final Index index = this.index;
+        if(index != null) {
+            return index;
+        }
+        synchronized (initializationLock) {
+            if(this.index != null) {
+                return this.index;
+            }
+            if(initializing) {
+                throw new IllegalStateException("Application features are still being initialized");
+            }
+            initializing = true;
+            try {
+                final long start = System.currentTimeMillis();
+                final Collection<ObjectSpecification> specifications = primeMetaModel();
+                createApplicationFeaturesFor(specifications);
+                if(LOG.isDebugEnabled()) {
+                    LOG.debug("initialized {} application features in {}ms",
+                            packageFeatures.size() + classFeatures.size() + memberFeatures.size(),
+                            System.currentTimeMillis() - start);
+                }
+            } finally {
+                // as previously, any features created before a failure are retained (rather than retrying)
+                this.index = new Index();
+                initializing = false;
+            }
+            return this.index;
         }
-        initializationState = InitializationState.INITIALIZED;
-        final Collection<ObjectSpecification> specifications = primeMetaModel();
-        createApplicationFeaturesFor(specifications);
     }
 
     private Collection<ObjectSpecification> primeMetaModel() {
@@ -224,7 +287,7 @@ void addParents(final ApplicationFeatureId classOrPackageId) {
     }
 
     private ApplicationFeature findPackageElseCreate(final ApplicationFeatureId parentPackageId) {
-        ApplicationFeature parentPackage = findPackage(parentPackageId);
+        ApplicationFeature parentPackage = packageFeatures.get(parentPackageId);
         if (parentPackage == null) {
             parentPackage = newPackage(parentPackageId);
         }
@@ -307,11 +370,11 @@ private void newMember(
         // also cache per memberType
         featuresMapFor(memberType).put(featureId, memberFeature);
 
-        final ApplicationFeature classFeature = findClass(classFeatureId);
+        final ApplicationFeature classFeature = classFeatures.get(classFeatureId);
         classFeature.addToMembers(featureId, memberType);
     }
 
-    private SortedMap<ApplicationFeatureId, ApplicationFeature> featuresMapFor(final ApplicationMemberType memberType) {
+    private Map<ApplicationFeatureId, ApplicationFeature> featuresMapFor(final ApplicationMemberType memberType) {
         switch (memberType) {
         case PROPERTY:
             return propertyFeatures;
@@ -446,38 +509,32 @@ public Collection<ApplicationFeature> allFeatures(final ApplicationFeatureType f
 
     @Programmatic
     public Collection<ApplicationFeature> allPackages() {
-        initializeIfRequired();
-        return packageFeatures.values();
+        return initializeIfRequired().packages;
     }
 
     @Programmatic
     public Collection<ApplicationFeature> allClasses() {
-        initializeIfRequired();
-        return classFeatures.values();
+        return initializeIfRequired().classes;
     }
 
     @Programmatic
     public Collection<ApplicationFeature> allMembers() {
-        initializeIfRequired();
-        return memberFeatures.values();
+        return initializeIfRequired().members;
     }
 
     @Programmatic
     public Collection<ApplicationFeature> allProperties() {
-        initializeIfRequired();
-        return propertyFeatures.values();
+        return initializeIfRequired().properties;
     }
 
     @Programmatic
     public Collection<ApplicationFeature> allCollections() {
-        initializeIfRequired();
-        return collectionFeatures.values();
+        return initializeIfRequired().collections;
     }
 
     @Programmatic
     public Collection<ApplicationFeature> allActions() {
-        initializeIfRequired();
-        return actionFeatures.values();
+        return initializeIfRequired().actions;
     }
     //endregion
 
@@ -522,19 +579,13 @@ public List<String> classNamesContainedIn(final String packageFqn, final Applica
 
     @Override @Programmatic
     public List<String> classNamesRecursivelyContainedIn(final String packageFqn) {
-        initializeIfRequired();
+        final Index index = initializeIfRequired();
         final ApplicationFeatureId packageId = ApplicationFeatureId.newPackage(packageFqn);
         final ApplicationFeature pkg = findPackage(packageId);
         if (pkg == null) {
             return Collections.emptyList();
         }
-        final Set<ApplicationFeatureId> classIds = this.classFeatures.keySet();
-        return Lists.newArrayList(
-                Iterables.transform(
-                        Iterables.filter(
-                                classIds,
-                                ApplicationFeatureId.Predicates.isClassRecursivelyWithin(packageId)),
-                        ApplicationFeatureId.Functions.GET_CLASS_NAME));
+        return index.classNamesRecursivelyContainedIn(packageFqn);
     }
 
     @Override @Programmatic
@@ -556,6 +607,94 @@ public List<String> memberNamesOf(
 
     //endregion
 
+    //region > Index
+
+    /**
+     * Immutable sorted views of the features, built once all features have been created.
+     */
+    final class Index {
+
+        final List<ApplicationFeature> packages;
+        final List<ApplicationFeature> classes;
+        final List<ApplicationFeature> members;
+        final List<ApplicationFeature> properties;
+        final List<ApplicationFeature> collections;
+        final List<ApplicationFeature> actions;
+
+        /**
+         * The fully qualified names of all classes, sorted lexically, so that the classes within a package (and
+         * its subpackages) occupy a contiguous range that can be found by binary search.
+         */
+        private final String[] classFqns;
+        /**
+         * For each of {@link #classFqns}, its position in {@link #classes}.
+         */
+        private final int[] classPositions;
+
+        Index() {
+            packages = sorted(packageFeatures);
+            classes = sorted(classFeatures);
+            members = sorted(memberFeatures);
+            properties = sorted(propertyFeatures);
+            collections = sorted(collectionFeatures);
+            actions = sorted(actionFeatures);
+
+            final int numClasses = classes.size();
+            final String[] fqns = new String[numClasses];
+            final Integer[] positions = new Integer[numClasses];
+            for (int i = 0; i < numClasses; i++) {
+                fqns[i] = classes.get(i).getFeatureId().getFullyQualifiedName();
+                positions[i] = i;
+            }
+            Arrays.sort(positions, new Comparator<Integer>() {
+                @Override
+                public int compare(final Integer p, final Integer q) {
+                    return fqns[p].compareTo(fqns[q]);
+                }
+            });
+            classFqns = new String[numClasses];
+            classPositions = new int[numClasses];
+            for (int i = 0; i < numClasses; i++) {
+                classFqns[i] = fqns[positions[i]];
+                classPositions[i] = positions[i];
+            }
+        }
+
+        private List<ApplicationFeature> sorted(final Map<ApplicationFeatureId, ApplicationFeature> featureById) {
+            final List<ApplicationFeatureId> featureIds = Lists.newArrayList(featureById.keySet());
+            Collections.sort(featureIds);
+            final List<ApplicationFeature> features = Lists.newArrayListWithCapacity(featureIds.size());
+            for (final ApplicationFeatureId featureId : featureIds) {
+                features.add(featureById.get(featureId));
+            }
+            return Collections.unmodifiableList(features);
+        }
+
+        /**
+         * The (simple) names of the classes within the package or any of its subpackages, in feature order.
+         */
+        List<String> classNamesRecursivelyContainedIn(final String packageFqn) {
+            final String prefix = packageFqn + ".";
+            int from = Arrays.binarySearch(classFqns, prefix);
+            if(from < 0) {
+                from = -from - 1;
+            }
+            int to = from;
+            while(to < classFqns.length && classFqns[to].startsWith(prefix)) {
+                to++;
+            }
+            final int[] positions = Arrays.copyOfRange(classPositions, from, to);
+            Arrays.sort(positions);
+            final List<String> classNames = Lists.newArrayListWithCapacity(positions.length);
+            for (final int position : positions) {
+                classNames.add(classes.get(position).getFeatureId().getClassName());
+            }
+            return classNames;
+        }
+    }
+
+    //endregion
+
     //region  > services (injected)
 
     @javax.inject.Inject
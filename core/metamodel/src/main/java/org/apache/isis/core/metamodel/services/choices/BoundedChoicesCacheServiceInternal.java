@@ -0,0 +1,239 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.metamodel.services.choices;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.annotation.PostConstruct;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Maps;
+
+import org.apache.isis.applib.annotation.DomainService;
+import org.apache.isis.applib.annotation.NatureOfService;
+import org.apache.isis.applib.annotation.Programmatic;
+import org.apache.isis.core.metamodel.adapter.oid.RootOid;
+import org.apache.isis.core.metamodel.spec.ObjectSpecId;
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+
+/**
+ * Caches the {@link RootOid oid}s of the instances of bounded types (as used for their choices), shared by all
+ * sessions.
+ *
+ * <p>
+ *     As well as the oids of all instances, the oids of those instances that are visible are cached per user (and
+ *     roles), if the caller knows that the visibility of an instance depends only upon the current user.
+ * </p>
+ *
+ * <p>
+ *     The cached oids of a type are invalidated whenever an instance of that type (or of a subtype) is created,
+ *     updated or deleted in a committed transaction.  Changes made by other JVMs (in a cluster) are not detected,
+ *     so a time-to-live can also be configured.
+ * </p>
+ */
+@DomainService(
+        nature = NatureOfService.DOMAIN,
+        menuOrder = "" + Integer.MAX_VALUE
+)
+public class BoundedChoicesCacheServiceInternal {
+
+    public static final String KEY_ENABLED = "isis.services.boundedChoicesCache.enabled";
+    public static final boolean ENABLED_DEFAULT = true;
+
+    /**
+     * How long cached oids are used before being reloaded; a value of <tt>0</tt> or less means until invalidated.
+     */
+    public static final String KEY_TTL_SECONDS = "isis.services.boundedChoicesCache.ttlSeconds";
+    public static final int TTL_SECONDS_DEFAULT = 0;
+
+    private boolean enabled = ENABLED_DEFAULT;
+    private long ttlMillis = TTL_SECONDS_DEFAULT * 1000L;
+
+    private final ConcurrentMap<ObjectSpecId, Entry> entryBySpecId = Maps.newConcurrentMap();
+    private final Map<ObjectSpecId, Long> generationBySpecId = Maps.newHashMap();
+
+    @Programmatic
+    @PostConstruct
+    public void init(final Map<String, String> properties) {
+        final String enabled = properties.get(KEY_ENABLED);
+        if(enabled != null) {
+            this.enabled = Boolean.parseBoolean(enabled.trim());
+        }
+        final String ttlSeconds = properties.get(KEY_TTL_SECONDS);
+        if(ttlSeconds != null) {
+            this.ttlMillis = Integer.parseInt(ttlSeconds.trim()) * 1000L;
+        }
+    }
+
+    @Programmatic
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    //region > lookup
+
+    /**
+     * The cached oids of those instances of the type that are visible to the user identified by the key (or to the
+     * framework, if <tt>null</tt>), else <tt>null</tt> if not cached.
+     */
+    @Programmatic
+    public List<RootOid> getVisibleOids(final ObjectSpecification spec, final String userKey) {
+        final Entry entry = currentEntry(spec.getSpecId());
+        return entry != null ? entry.visibleOidsByUserKey.get(keyFor(userKey)) : null;
+    }
+
+    /**
+     * The cached oids of all instances of the type, else <tt>null</tt> if not cached.
+     */
+    @Programmatic
+    public List<RootOid> getAllOids(final ObjectSpecification spec) {
+        final Entry entry = currentEntry(spec.getSpecId());
+        return entry != null ? entry.allOids : null;
+    }
+
+    private Entry currentEntry(final ObjectSpecId specId) {
+        if(!enabled) {
+            return null;
+        }
+        final Entry entry = entryBySpecId.get(specId);
+        if(entry == null) {
+            return null;
+        }
+        if(ttlMillis > 0 && System.currentTimeMillis() - entry.createdAt > ttlMillis) {
+            entryBySpecId.remove(specId, entry);
+            return null;
+        }
+        return entry;
+    }
+
+    //endregion
+
+    //region > put
+
+    /**
+     * To be obtained before loading the instances of the type, and then passed to
+     * {@link #put(ObjectSpecification, long, List, String, List)}, so that instances loaded prior to an invalidation
+     * are not cached.
+     */
+    @Programmatic
+    public synchronized long generationOf(final ObjectSpecification spec) {
+        final Long generation = generationBySpecId.get(spec.getSpecId());
+        return generation != null ? generation : 0L;
+    }
+
+    /**
+     * Caches the oids of all instances of the type, along with those that are visible to the user identified by the
+     * key (or to the framework, if <tt>null</tt>), unless invalidated since the <tt>generation</tt> was obtained.
+     */
+    @Programmatic
+    public synchronized void put(
+            final ObjectSpecification spec,
+            final long generation,
+            final List<RootOid> allOids,
+            final String userKey,
+            final List<RootOid> visibleOids) {
+        final Entry entry = entryFor(spec, generation, allOids);
+        if(entry != null) {
+            entry.visibleOidsByUserKey.put(keyFor(userKey), ImmutableList.copyOf(visibleOids));
+        }
+    }
+
+    /**
+     * Caches the oids of all instances of the type (but not of those that are visible), unless invalidated since
+     * the <tt>generation</tt> was obtained.
+     */
+    @Programmatic
+    public synchronized void put(
+            final ObjectSpecification spec,
+            final long generation,
+            final List<RootOid> allOids) {
+        entryFor(spec, generation, allOids);
+    }
+
+    private Entry entryFor(final ObjectSpecification spec, final long generation, final List<RootOid> allOids) {
+        if(!enabled || generation != generationOf(spec)) {
+            return null;
+        }
+        final ObjectSpecId specId = spec.getSpecId();
+        final List<RootOid> allOidsCopy = ImmutableList.copyOf(allOids);
+        Entry entry = currentEntry(specId);
+        if(entry == null || !entry.allOids.equals(allOidsCopy)) {
+            entry = new Entry(allOidsCopy);
+            entryBySpecId.put(specId, entry);
+        }
+        return entry;
+    }
+
+    private static String keyFor(final String userKey) {
+        return userKey != null ? userKey : "";
+    }
+
+    //endregion
+
+    //region > invalidate
+
+    /**
+     * Invalidates the cached oids of the specified types and their supertypes.
+     */
+    @Programmatic
+    public synchronized void invalidate(final Collection<ObjectSpecification> specs) {
+        for (final ObjectSpecification spec : specs) {
+            for (ObjectSpecification each = spec; each != null; each = each.superclass()) {
+                final ObjectSpecId specId = each.getSpecId();
+                if(specId == null) {
+                    continue;
+                }
+                generationBySpecId.put(specId, generationOf(each) + 1);
+                entryBySpecId.remove(specId);
+            }
+        }
+    }
+
+    @Programmatic
+    public void invalidateAll() {
+        final List<ObjectSpecId> specIds = ImmutableList.copyOf(entryBySpecId.keySet());
+        synchronized (this) {
+            for (final ObjectSpecId specId : specIds) {
+                final Long generation = generationBySpecId.get(specId);
+                generationBySpecId.put(specId, (generation != null ? generation : 0L) + 1);
+                entryBySpecId.remove(specId);
+            }
+        }
+    }
+
+    //endregion
+
+    //region > Entry
+
+    private static class Entry {
+        private final long createdAt = System.currentTimeMillis();
+        private final List<RootOid> allOids;
+        private final ConcurrentMap<String, List<RootOid>> visibleOidsByUserKey = Maps.newConcurrentMap();
+
+        Entry(final List<RootOid> allOids) {
+            this.allOids = allOids;
+        }
+    }
+
+    //endregion
+
+}
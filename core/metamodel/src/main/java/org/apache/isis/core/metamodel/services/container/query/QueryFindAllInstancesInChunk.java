@@ -0,0 +1,48 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.metamodel.services.container.query;
+
+import java.text.MessageFormat;
+
+import org.apache.isis.applib.query.QueryFindAllInstances;
+
+/**
+ * A chunk (that is, range) of all the instances of a class, ordered by their identity so that successive chunks
+ * neither overlap nor miss out instances.
+ *
+ * <p>
+ *     Used by <tt>RepositoryServiceInternalDefault#matchingIterator(...)</tt>;
+ *     a plain (ranged) {@link QueryFindAllInstances} is not ordered.
+ * </p>
+ */
+public class QueryFindAllInstancesInChunk<T> extends QueryFindAllInstances<T> {
+
+    private static final long serialVersionUID = 1L;
+
+    public QueryFindAllInstancesInChunk(final Class<T> type, final long start, final long count) {
+        super(type, start, count);
+    }
+
+    @Override
+    public String getDescription() {
+        return MessageFormat.format("{0} (all instances, from {1} count {2})", getResultTypeName(), getStart(), getCount());
+    }
+
+}
@@ -26,6 +26,7 @@
 import javax.annotation.PostConstruct;
 import javax.inject.Inject;
 import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
 
 import com.google.common.base.Function;
 import com.google.common.collect.FluentIterable;
@@ -54,13 +55,19 @@ public class GridLoaderServiceDefault implements GridLoaderService {
 
 
     // for better logging messages (used only in prototyping mode)
-    private final Map<Class<?>, String> badXmlByClass = Maps.newHashMap();
+    private final Map<Class<?>, String> badXmlByClass = Maps.newConcurrentMap();
 
     // cache (used only in prototyping mode)
-    private final Map<String, Grid> gridByXml = Maps.newHashMap();
+    private final Map<String, Grid> gridByXml = Maps.newConcurrentMap();
 
     private List<Class<? extends Grid>> pageImplementations;
 
+    /**
+     * For all known implementations of {@link Grid}; created once (being expensive to create but thread-safe), on
+     * first use.
+     */
+    private volatile JAXBContext jaxbContext;
+
 
 
     @PostConstruct
@@ -75,6 +82,20 @@ public Class<? extends Grid> apply(final GridSystemService gridSystemService) {
                 .toList();
     }
 
+    private JAXBContext getJaxbContext() throws JAXBException {
+        JAXBContext jaxbContext = this.jaxbContext;
+        if(jaxbContext == null) {
+            synchronized (this) {
+                jaxbContext = this.jaxbContext;
+                if(jaxbContext == null) {
+                    jaxbContext = JAXBContext.newInstance(pageImplementations.toArray(new Class[0]));
+                    this.jaxbContext = jaxbContext;
+                }
+            }
+        }
+        return jaxbContext;
+    }
+
     @Override
     public boolean supportsReloading() {
         return !deploymentCategoryProvider.getDeploymentCategory().isProduction();
@@ -127,10 +148,7 @@ public Grid load(final Class<?> domainClass) {
         }
 
         try {
-            // all known implementations of Page
-            final JAXBContext context = JAXBContext.newInstance(pageImplementations.toArray(new Class[0]));
-
-            final Grid grid = (Grid) jaxbService.fromXml(context, xml);
+            final Grid grid = (Grid) jaxbService.fromXml(getJaxbContext(), xml);
             grid.setDomainClass(domainClass);
             if(supportsReloading()) {
                 gridByXml.put(xml, grid);
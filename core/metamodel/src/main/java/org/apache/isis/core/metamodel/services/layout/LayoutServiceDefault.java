@@ -67,10 +67,16 @@ public String toXml(final Class<?> domainClass, final Style style) {
 
     protected Grid toGrid(final Class<?> domainClass, final Style style) {
 
-        if (style == Style.CURRENT) {
+        if (style == Style.CURRENT || style == Style.NORMALIZED) {
+            // the facet holds the (cached) normalized grid, so no need to load and normalize it again.
             final ObjectSpecification objectSpec = specificationLoader.loadSpecification(domainClass);
             final GridFacet facet = objectSpec.getFacet(GridFacet.class);
-            return facet != null? facet.getGrid(): null;
+            if(facet != null) {
+                return facet.getGrid();
+            }
+            if(style == Style.CURRENT) {
+                return null;
+            }
         }
 
         // don't use the grid from the facet, because it will be modified subsequently.
@@ -17,6 +17,7 @@
 package org.apache.isis.core.metamodel.services.persistsession;
 
 import java.util.List;
+import java.util.Set;
 
 import org.apache.isis.applib.annotation.Programmatic;
 import org.apache.isis.applib.query.Query;
@@ -85,6 +86,27 @@ public interface PersistenceSessionServiceInternal extends AdapterManager {
     @Programmatic
     Bookmark bookmarkFor(Class<?> cls, String identifier);
 
+    /**
+     * Provided by <tt>PersistenceSession</tt> when used by framework.
+     *
+     * <p>
+     * Called by <tt>RepositoryServiceInternalDefault</tt>, to discard instances that were loaded only to be
+     * filtered out.  Has no effect on objects that are new, modified or deleted in the current transaction.
+     */
+    @Programmatic
+    void evict(ObjectAdapter adapter);
+
+    /**
+     * Provided by <tt>PersistenceSession</tt> when used by framework.
+     *
+     * <p>
+     * The domain objects (compared by identity) currently loaded into this session.  Called by
+     * <tt>RepositoryServiceInternalDefault</tt>, so that it only {@link #evict(ObjectAdapter) evicts} instances
+     * that it loaded itself.
+     */
+    @Programmatic
+    Set<Object> getLoadedObjects();
+
     //endregion
 
     //region > beginTran, flush, commit, currentTransaction
@@ -19,6 +19,7 @@
 package org.apache.isis.core.metamodel.services.persistsession;
 
 import java.util.List;
+import java.util.Set;
 
 import org.apache.isis.applib.annotation.DomainService;
 import org.apache.isis.applib.annotation.NatureOfService;
@@ -96,6 +97,16 @@ public Bookmark bookmarkFor(Class<?> cls, String identifier) {
         throw new UnsupportedOperationException("Not supported by this implementation of PersistenceSessionServiceInternal");
     }
 
+    @Override
+    public void evict(final ObjectAdapter adapter) {
+        throw new UnsupportedOperationException("Not supported by this implementation of PersistenceSessionServiceInternal");
+    }
+
+    @Override
+    public Set<Object> getLoadedObjects() {
+        throw new UnsupportedOperationException("Not supported by this implementation of PersistenceSessionServiceInternal");
+    }
+
     @Override
     public void resolve(final Object parent, final Object field) {
         throw new UnsupportedOperationException("Not supported by this implementation of PersistenceSessionServiceInternal");
@@ -19,13 +19,17 @@
 
 package org.apache.isis.core.metamodel.services.repository;
 
-import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import javax.annotation.PostConstruct;
 
 import com.google.common.base.Predicate;
+import com.google.common.collect.AbstractIterator;
+import com.google.common.collect.Lists;
 
 import org.apache.isis.applib.PersistFailedException;
 import org.apache.isis.applib.RepositoryException;
@@ -39,6 +43,7 @@
 import org.apache.isis.applib.services.wrapper.WrapperFactory;
 import org.apache.isis.applib.services.xactn.TransactionService;
 import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.services.container.query.QueryFindAllInstancesInChunk;
 import org.apache.isis.core.metamodel.services.persistsession.PersistenceSessionServiceInternal;
 
 @DomainService(
@@ -48,13 +53,25 @@ public class RepositoryServiceInternalDefault implements RepositoryService {
 
 
 
+    /**
+     * The number of instances fetched at a time when searching using a {@link Predicate}; a value of <tt>0</tt> or
+     * less means that all instances are fetched at once.
+     */
+    public static final String KEY_PREDICATE_CHUNK_SIZE = "isis.services.repository.predicateChunkSize";
+    public static final int PREDICATE_CHUNK_SIZE_DEFAULT = 1000;
+
     private boolean autoFlush;
+    private int predicateChunkSize = PREDICATE_CHUNK_SIZE_DEFAULT;
 
     @Programmatic
     @PostConstruct
     public void init(Map<String, String> properties) {
         final boolean disableAutoFlush = Boolean.parseBoolean(properties.get(KEY_DISABLE_AUTOFLUSH));
         this.autoFlush = !disableAutoFlush;
+        final String predicateChunkSize = properties.get(KEY_PREDICATE_CHUNK_SIZE);
+        if(predicateChunkSize != null) {
+            this.predicateChunkSize = Integer.parseInt(predicateChunkSize.trim());
+        }
     }
 
 
@@ -145,17 +162,88 @@ public <T> List<T> allInstances(final Class<T> type, long... range) {
 
     // //////////////////////////////////////
 
+    /**
+     * The range (if any) is applied to the matching instances, not to all instances.
+     */
     @Programmatic
     @Override
     public <T> List<T> allMatches(final Class<T> cls, final Predicate<? super T> predicate, long... range) {
-        final List<T> allInstances = allInstances(cls, range);
-        final List<T> filtered = new ArrayList<T>();
-        for (final T instance : allInstances) {
-            if (predicate.apply(instance)) {
-                filtered.add(instance);
+        final long start = range.length > 0 ? range[0] : 0;
+        final long count = range.length > 1 ? range[1] : 0;
+        return matches(cls, predicate, start, count);
+    }
+
+    private <T> List<T> matches(final Class<T> cls, final Predicate<? super T> predicate, final long start, final long count) {
+        final List<T> matches = Lists.newArrayList();
+        long skipped = 0;
+        final Iterator<T> iterator = matchingIterator(cls, predicate);
+        while ((count == 0 || matches.size() < count) && iterator.hasNext()) {
+            final T match = iterator.next();
+            if (skipped < start) {
+                skipped++;
+                continue;
             }
+            matches.add(match);
         }
-        return filtered;
+        return matches;
+    }
+
+    /**
+     * Iterates over those instances of the class that match the predicate, fetching instances in chunks of
+     * {@link #KEY_PREDICATE_CHUNK_SIZE configurable} size (so that only as many are fetched as are needed), and
+     * evicting those that do not match from the persistence session (unless they had already been loaded when the
+     * iteration started).
+     */
+    @Programmatic
+    public <T> Iterator<T> matchingIterator(final Class<T> cls, final Predicate<? super T> predicate) {
+        if(autoFlush) {
+            transactionService.flushTransaction();
+        }
+        return new AbstractIterator<T>() {
+
+            private long nextChunkStart;
+            private boolean lastChunk;
+            private Iterator<ObjectAdapter> chunk = Collections.emptyIterator();
+            private Set<Object> loadedBeforehand;
+
+            @Override
+            protected T computeNext() {
+                while (true) {
+                    while (chunk.hasNext()) {
+                        final ObjectAdapter adapter = chunk.next();
+                        @SuppressWarnings("unchecked")
+                        final T instance = (T) adapter.getObject();
+                        if (predicate.apply(instance)) {
+                            return instance;
+                        }
+                        if (!loadedBeforehand.contains(instance)) {
+                            persistenceSessionServiceInternal.evict(adapter);
+                        }
+                    }
+                    if (lastChunk) {
+                        return endOfData();
+                    }
+                    chunk = nextChunk().iterator();
+                }
+            }
+
+            private List<ObjectAdapter> nextChunk() {
+                if (loadedBeforehand == null) {
+                    // taken just the once; any instance fetched since was either returned (so is never evicted) or
+                    // evicted already
+                    loadedBeforehand = persistenceSessionServiceInternal.getLoadedObjects();
+                }
+                if (predicateChunkSize <= 0) {
+                    lastChunk = true;
+                    return persistenceSessionServiceInternal.allMatchingQuery(new QueryFindAllInstances<T>(cls));
+                }
+                final List<ObjectAdapter> adapters = persistenceSessionServiceInternal.allMatchingQuery(
+                        new QueryFindAllInstancesInChunk<T>(cls, nextChunkStart, predicateChunkSize));
+                nextChunkStart += predicateChunkSize;
+                lastChunk = adapters.size() < predicateChunkSize;
+                return adapters;
+            }
+        };
     }
 
 
@@ -180,7 +268,7 @@ <T> List<T> submitQuery(final Query<T> query) {
     @Programmatic
     @Override
     public <T> T uniqueMatch(final Class<T> type, final Predicate<T> predicate) {
-        final List<T> instances = allMatches(type, predicate, 0, 2); // No need to fetch more than 2.
+        final List<T> instances = matches(type, predicate, 0, 2); // No need to fetch more than 2.
         if (instances.size() > 1) {
             throw new RepositoryException("Found more than one instance of " + type + " matching filter " + predicate);
         }
@@ -205,13 +293,8 @@ public <T> T uniqueMatch(final Query<T> query) {
     @Programmatic
     @Override
     public <T> T firstMatch(final Class<T> cls, final Predicate<T> predicate) {
-        final List<T> allInstances = allInstances(cls); // Have to fetch all, as matching is done in next loop
-        for (final T instance : allInstances) {
-            if (predicate.apply(instance)) {
-                return instance;
-            }
-        }
-        return null;
+        final Iterator<T> iterator = matchingIterator(cls, predicate);
+        return iterator.hasNext() ? iterator.next() : null;
     }
 
 
@@ -48,7 +48,8 @@ public interface Hierarchical {
 
     /**
      * Get the list of specifications for the subclasses of the class
-     * represented by this specification
+     * represented by this specification, in order of their class names
+     * (rather than the order in which they happened to be introspected).
      */
     List<ObjectSpecification> subclasses();
 
@@ -20,6 +20,9 @@
 
 import java.io.Serializable;
 
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+
 import org.apache.isis.core.metamodel.facets.object.objectspecid.ObjectSpecIdFacet;
 
 /**
@@ -35,8 +38,17 @@ public final class ObjectSpecId implements Serializable {
     
     private final String specId;
 
+    /**
+     * Weakly held, so that ids no longer referenced (eg parsed from an invalid oid string) can be garbage collected.
+     */
+    private static final Interner<ObjectSpecId> INTERNER = Interners.newWeakInterner();
+
+    /**
+     * Returns a canonical instance for the specified id, so that (for example) repeatedly parsed oids share the same
+     * instance.
+     */
     public static ObjectSpecId of(String specId) {
-        return new ObjectSpecId(specId);
+        return INTERNER.intern(new ObjectSpecId(specId));
     }
 
     public ObjectSpecId(String specId) {
@@ -0,0 +1,117 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.metamodel.specloader;
+
+import java.util.Map;
+
+import com.google.common.collect.Maps;
+
+import org.apache.isis.core.commons.exceptions.IsisException;
+
+/**
+ * Per-specification locks, held by the {@link SpecificationLoader} while it introspects a specification, so that
+ * different specifications can be introspected concurrently but any one specification is introspected only once.
+ *
+ * <p>
+ *     Because specifications reference each other (often cyclically), a thread introspecting one specification will
+ *     typically go on to acquire the locks for others.  Rather than risk deadlock, {@link #acquire(String)} declines
+ *     to wait for a lock whose owner is (transitively) waiting on the calling thread.  That mirrors what has always
+ *     happened with cycles when introspecting in a single thread: the specification further up the chain is simply
+ *     used as it stands, partially introspected.
+ * </p>
+ *
+ * <p>
+ *     Unlike a single thread, the owning thread may go on to update that specification while the calling thread is
+ *     still reading it.  The specification's facets and members are therefore held in structures that are safe to
+ *     read while being written (see <tt>FacetHolderImpl</tt> and <tt>ObjectSpecificationAbstract</tt>); as with a
+ *     single thread, though, what is read may be incomplete.
+ * </p>
+ */
+class IntrospectionLocks {
+
+    /**
+     * guarded by <tt>this</tt>
+     */
+    private final Map<String, Thread> ownerByTypeName = Maps.newHashMap();
+
+    /**
+     * guarded by <tt>this</tt>
+     */
+    private final Map<Thread, String> awaitedTypeNameByThread = Maps.newHashMap();
+
+    /**
+     * Acquires the lock for the specified type, waiting if necessary.
+     *
+     * @return <tt>true</tt> if acquired, in which case the caller must {@link #release(String) release} it;
+     * <tt>false</tt> if the calling thread already owns the lock, or if waiting for it would deadlock.
+     */
+    synchronized boolean acquire(final String typeName) {
+        final Thread currentThread = Thread.currentThread();
+        while(true) {
+            final Thread owner = ownerByTypeName.get(typeName);
+            if(owner == null) {
+                ownerByTypeName.put(typeName, currentThread);
+                return true;
+            }
+            if(owner == currentThread || isWaitingOn(owner, currentThread)) {
+                return false;
+            }
+            awaitedTypeNameByThread.put(currentThread, typeName);
+            try {
+                wait();
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IsisException("Interrupted while waiting to introspect " + typeName, ex);
+            } finally {
+                awaitedTypeNameByThread.remove(currentThread);
+            }
+        }
+    }
+
+    synchronized void release(final String typeName) {
+        ownerByTypeName.remove(typeName);
+        notifyAll();
+    }
+
+    /**
+     * Whether the <tt>waitingThread</tt> is waiting, directly or transitively, for a lock owned by the
+     * <tt>owningThread</tt>.
+     */
+    private boolean isWaitingOn(final Thread waitingThread, final Thread owningThread) {
+        Thread thread = waitingThread;
+        // bounded, in case of any inconsistency
+        for (int i = 0; i <= awaitedTypeNameByThread.size(); i++) {
+            final String awaitedTypeName = awaitedTypeNameByThread.get(thread);
+            if(awaitedTypeName == null) {
+                return false;
+            }
+            thread = ownerByTypeName.get(awaitedTypeName);
+            if(thread == null) {
+                // lock has just been released; the waiting thread is about to be woken
+                return false;
+            }
+            if(thread == owningThread) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
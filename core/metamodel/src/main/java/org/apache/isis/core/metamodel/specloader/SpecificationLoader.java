@@ -21,6 +21,13 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.jdo.annotations.PersistenceCapable;
 
 import com.google.common.base.Function;
 import com.google.common.collect.Lists;
@@ -34,6 +41,7 @@
 import org.apache.isis.applib.annotation.NatureOfService;
 import org.apache.isis.applib.annotation.Programmatic;
 import org.apache.isis.core.commons.components.ApplicationScopedComponent;
+import org.apache.isis.core.commons.config.IsisConfiguration;
 import org.apache.isis.core.commons.ensure.Assert;
 import org.apache.isis.core.commons.exceptions.IsisException;
 import org.apache.isis.core.commons.lang.ClassUtil;
@@ -55,6 +63,7 @@
 import org.apache.isis.core.metamodel.specloader.specimpl.standalonelist.ObjectSpecificationOnStandaloneList;
 import org.apache.isis.core.metamodel.specloader.validator.MetaModelValidator;
 import org.apache.isis.core.metamodel.specloader.validator.ValidationFailures;
+import org.apache.isis.core.runtime.threadpool.ThreadPoolSupport;
 import org.apache.isis.progmodels.dflt.ProgrammingModelFacetsJava5;
 
 /**
@@ -79,11 +88,30 @@
  * must be annotated using {@link Programmatic}.
  * </p>
  *
+ * <p>
+ * If {@value #INTROSPECTOR_PARALLELIZE_KEY} is set, then the specifications of the services, mixins and entities
+ * are introspected at startup concurrently, on a pool of {@value #INTROSPECTOR_THREADS_KEY} threads.  Each
+ * specification is introspected under its own lock (see {@link IntrospectionLocks}), so the resultant metamodel is
+ * the same as if introspected in a single thread.
+ * </p>
+ *
 */
 public class SpecificationLoader implements ApplicationScopedComponent {
 
     private final static Logger LOG = LoggerFactory.getLogger(SpecificationLoader.class);
 
+    /**
+     * Whether to introspect the specifications of services, mixins and entities concurrently at startup.
+     */
+    public static final String INTROSPECTOR_PARALLELIZE_KEY = "isis.reflector.introspector.parallelize";
+    public static final boolean INTROSPECTOR_PARALLELIZE_DEFAULT = false;
+
+    /**
+     * The number of threads to introspect with, if {@link #INTROSPECTOR_PARALLELIZE_KEY parallelized};
+     * defaults to the number of available processors.
+     */
+    public static final String INTROSPECTOR_THREADS_KEY = "isis.reflector.introspector.threads";
+
     //region > constructor, fields
     private final ClassSubstitutor classSubstitutor = new ClassSubstitutor();
 
@@ -94,9 +122,14 @@ public class SpecificationLoader implements ApplicationScopedComponent {
 
     private final MetaModelValidator metaModelValidator;
     private final SpecificationCacheDefault cache = new SpecificationCacheDefault();
+    private final IntrospectionLocks introspectionLocks = new IntrospectionLocks();
     private final List<LayoutMetadataReader> layoutMetadataReaders;
 
+    private final boolean parallelize;
+    private final int numThreads;
+
     public SpecificationLoader(
+            final IsisConfiguration configuration,
             final ProgrammingModel programmingModel,
             final MetaModelValidator metaModelValidator,
             final List<LayoutMetadataReader> layoutMetadataReaders,
@@ -108,6 +141,10 @@ public SpecificationLoader(
 
         this.facetProcessor = new FacetProcessor(programmingModel);
         this.layoutMetadataReaders = layoutMetadataReaders;
+
+        this.parallelize = configuration.getBoolean(INTROSPECTOR_PARALLELIZE_KEY, INTROSPECTOR_PARALLELIZE_DEFAULT);
+        this.numThreads = Math.max(1,
+                configuration.getInteger(INTROSPECTOR_THREADS_KEY, Runtime.getRuntime().availableProcessors()));
     }
 
     @Override
@@ -142,33 +179,127 @@ public void init() {
         }
 
         // initialize subcomponents
+        long start = System.currentTimeMillis();
         programmingModel.init();
         facetProcessor.init();
         metaModelValidator.init(this);
+        LOG.info("initialized programming model in {}ms", System.currentTimeMillis() - start);
+
+        start = System.currentTimeMillis();
+        final List<ObjectSpecification> specsToIntrospect = Lists.newArrayList();
+        specsToIntrospect.addAll(createSpecificationsForServices());
+        specsToIntrospect.addAll(createSpecificationsForMixins());
+        if(parallelize) {
+            specsToIntrospect.addAll(createSpecificationsForEntities());
+            introspectInParallel(specsToIntrospect);
+        } else {
+            introspectInSequence(specsToIntrospect);
+        }
+        LOG.info("introspected {} specifications (from {} services, mixins and entities) in {}ms",
+                allSpecifications().size(), specsToIntrospect.size(), System.currentTimeMillis() - start);
 
-        loadSpecificationsForServices();
-        loadSpecificationsForMixins();
+        start = System.currentTimeMillis();
         cacheBySpecId();
+        LOG.info("cached specifications by specId in {}ms", System.currentTimeMillis() - start);
 
         initialized = true;
+        metaModelVersion.incrementAndGet();
     }
 
-    private void loadSpecificationsForServices() {
+    /**
+     * The specs for services and mixins are created (though not yet introspected) up-front and in order, so that
+     * each service is flagged as such irrespective of whether it is first reached directly or as a reference from
+     * some other type.
+     */
+    private List<ObjectSpecification> createSpecificationsForServices() {
+        final List<ObjectSpecification> specs = Lists.newArrayList();
         for (final Class<?> serviceClass : allServiceClasses()) {
             final DomainService domainService = serviceClass.getAnnotation(DomainService.class);
             final NatureOfService nature = domainService != null ? domainService.nature() : NatureOfService.DOMAIN;
             // will 'markAsService'
-            internalLoadSpecification(serviceClass, nature);
+            addIfNotNull(specs, cacheIfRequired(serviceClass, nature));
         }
+        return specs;
     }
 
-    private void loadSpecificationsForMixins() {
+    private List<ObjectSpecification> createSpecificationsForMixins() {
+        final List<ObjectSpecification> specs = Lists.newArrayList();
         final Set<Class<?>> mixinTypes = AppManifest.Registry.instance().getMixinTypes();
         if(mixinTypes == null) {
-            return;
+            return specs;
         }
         for (final Class<?> mixinType : mixinTypes) {
-            internalLoadSpecification(mixinType);
+            addIfNotNull(specs, cacheIfRequired(mixinType));
+        }
+        return specs;
+    }
+
+    /**
+     * Only if {@link #INTROSPECTOR_PARALLELIZE_KEY parallelized}; otherwise the entities are loaded subsequently,
+     * when the persistence session factory registers them with DataNucleus.
+     */
+    private List<ObjectSpecification> createSpecificationsForEntities() {
+        final List<ObjectSpecification> specs = Lists.newArrayList();
+        final Set<Class<?>> persistenceCapableTypes = AppManifest.Registry.instance().getPersistenceCapableTypes();
+        if(persistenceCapableTypes == null) {
+            return specs;
+        }
+        for (final Class<?> persistenceCapableType : persistenceCapableTypes) {
+            // same filter as used when the entities are registered
+            if(persistenceCapableType.isAnonymousClass() ||
+               persistenceCapableType.isLocalClass() ||
+               persistenceCapableType.isMemberClass() ||
+               persistenceCapableType.getAnnotation(PersistenceCapable.class) == null) {
+                continue;
+            }
+            addIfNotNull(specs, cacheIfRequired(persistenceCapableType));
+        }
+        return specs;
+    }
+
+    private static void addIfNotNull(final List<ObjectSpecification> specs, final ObjectSpecification spec) {
+        if(spec != null) {
+            specs.add(spec);
+        }
+    }
+
+    private void introspectInSequence(final List<ObjectSpecification> specs) {
+        for (final ObjectSpecification spec : specs) {
+            introspectIfRequiredLocked(spec);
+        }
+    }
+
+    private void introspectInParallel(final List<ObjectSpecification> specs) {
+        final List<Callable<Object>> callables = Lists.newArrayList();
+        for (final ObjectSpecification spec : specs) {
+            callables.add(new Callable<Object>() {
+                @Override
+                public Object call() {
+                    return introspectIfRequiredLocked(spec);
+                }
+            });
+        }
+
+        final ThreadPoolExecutor executor = ThreadPoolSupport.newExecutor("isis-introspector", numThreads);
+        try {
+            final List<Future<Object>> futures = ThreadPoolSupport.invokeAll(executor, callables);
+            for (final Future<Object> future : futures) {
+                // unlike ThreadPoolSupport#join, any failure must be propagated
+                try {
+                    future.get();
+                } catch (final InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    throw new IsisException("Interrupted while introspecting specifications", ex);
+                } catch (final ExecutionException ex) {
+                    final Throwable cause = ex.getCause();
+                    throw cause instanceof RuntimeException
+                            ? (RuntimeException) cause
+                            : new IsisException("Failed to introspect specifications", cause);
+                }
+            }
+        } finally {
+            executor.shutdown();
+            LOG.info("introspector pool: {}", ThreadPoolSupport.statisticsOf(executor));
         }
     }
 
@@ -202,6 +333,27 @@ public void shutdown() {
         initialized = false;
 
         cache.clear();
+        metaModelVersion.incrementAndGet();
+    }
+
+    //endregion
+
+    //region > metaModelVersion
+
+    private final AtomicInteger metaModelVersion = new AtomicInteger();
+
+    /**
+     * Incremented whenever the metamodel is initialized, shutdown or has any of its specifications
+     * {@link #invalidateCache(Class) invalidated}.
+     *
+     * <p>
+     *     Allows caches that are derived from the metamodel (eg the Wicket viewer's service menus) to detect that
+     *     they have become stale.
+     * </p>
+     */
+    @Programmatic
+    public int getMetaModelVersion() {
+        return metaModelVersion.get();
     }
 
     //endregion
@@ -233,6 +385,7 @@ public void invalidateCache(final Class<?> cls) {
             }
             spec = spec.superclass();
         }
+        metaModelVersion.incrementAndGet();
     }
 
 
@@ -248,7 +401,9 @@ private void recache(final ObjectSpecification newSpec) {
 
     @Programmatic
     public void validateAndAssert() {
+        final long start = System.currentTimeMillis();
         ValidationFailures validationFailures = validate();
+        LOG.info("validated metamodel in {}ms", System.currentTimeMillis() - start);
         validationFailures.assertNone();
 
         cacheBySpecId();
@@ -315,33 +470,44 @@ public ObjectSpecification loadSpecification(final Class<?> type) {
     }
 
     private ObjectSpecification internalLoadSpecification(final Class<?> type) {
+        final ObjectSpecification spec = cacheIfRequired(type);
+        return spec != null ? introspectIfRequiredLocked(spec) : null;
+    }
+
+    private ObjectSpecification internalLoadSpecification(final Class<?> type, final NatureOfService nature) {
+        final ObjectSpecification spec = cacheIfRequired(type, nature);
+        return spec != null ? introspectIfRequiredLocked(spec) : null;
+    }
+
+    private ObjectSpecification cacheIfRequired(final Class<?> type) {
         // superclasses tend to be loaded via this method, implicitly.
         // what can happen is that a subclass domain service, eg a fake one such as FakeLocationLookupService
         // can be registered first prior to the "real" implementation.  As belt-n-braces, if that superclass is
         // annotated using @DomainService, then we ensure its own spec is created correctly as a service spec.
         final DomainService domainServiceIfAny = type.getAnnotation(DomainService.class);
         final NatureOfService natureOfServiceIfAny = domainServiceIfAny != null ? domainServiceIfAny.nature() : null;
-        return internalLoadSpecification(type, natureOfServiceIfAny);
+        return cacheIfRequired(type, natureOfServiceIfAny);
     }
 
-    private ObjectSpecification internalLoadSpecification(final Class<?> type, final NatureOfService nature) {
+    /**
+     * Returns the (possibly not yet introspected) spec for the substituted type, creating and caching it if need be.
+     */
+    private ObjectSpecification cacheIfRequired(final Class<?> type, final NatureOfService nature) {
         final Class<?> substitutedType = classSubstitutor.getClass(type);
-        return substitutedType != null ? loadSpecificationForSubstitutedClass(substitutedType, nature) : null;
-    }
-
-    private ObjectSpecification loadSpecificationForSubstitutedClass(final Class<?> type, final NatureOfService nature) {
-        Assert.assertNotNull(type);
+        if(substitutedType == null) {
+            return null;
+        }
 
-        final String typeName = type.getName();
+        final String typeName = substitutedType.getName();
         final ObjectSpecification spec = cache.get(typeName);
         if (spec != null) {
             return spec;
         }
 
-        return loadSpecificationForSubstitutedClassSynchronized(type, nature);
+        return cacheSynchronized(substitutedType, nature);
     }
 
-    private synchronized ObjectSpecification loadSpecificationForSubstitutedClassSynchronized(
+    private synchronized ObjectSpecification cacheSynchronized(
             final Class<?> type,
             final NatureOfService natureOfService) {
 
@@ -360,11 +526,38 @@ private synchronized ObjectSpecification loadSpecificationForSubstitutedClassSyn
         // infinite loops
         cache.cache(typeName, specification);
 
-        introspectIfRequired(specification);
-
         return specification;
     }
 
+    /**
+     * Introspects the spec unless already done, holding its lock (but not the lock of any other spec) while doing so.
+     *
+     * <p>
+     * If the spec is already being introspected further up the calling thread's stack, or by some other thread
+     * that is itself waiting on a spec being introspected by the calling thread, then it is returned as is.
+     * </p>
+     */
+    private ObjectSpecification introspectIfRequiredLocked(final ObjectSpecification spec) {
+        final ObjectSpecificationAbstract specSpi = (ObjectSpecificationAbstract) spec;
+        if(specSpi.getIntrospectionState() == ObjectSpecificationAbstract.IntrospectionState.INTROSPECTED) {
+            return spec;
+        }
+
+        final String typeName = spec.getCorrespondingClass().getName();
+        if(!introspectionLocks.acquire(typeName)) {
+            return spec;
+        }
+        try {
+            // only if not left half-done by an earlier failure, which (as ever) is not retried
+            if(specSpi.getIntrospectionState() == ObjectSpecificationAbstract.IntrospectionState.NOT_INTROSPECTED) {
+                introspectIfRequired(spec);
+            }
+            return spec;
+        } finally {
+            introspectionLocks.release(typeName);
+        }
+    }
+
     /**
      * Loads the specifications of the specified types except the one specified
      * (to prevent an infinite loop).
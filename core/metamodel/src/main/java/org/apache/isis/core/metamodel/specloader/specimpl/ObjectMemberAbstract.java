@@ -29,6 +29,7 @@
 import org.apache.isis.applib.services.bookmark.Bookmark;
 import org.apache.isis.applib.services.command.Command;
 import org.apache.isis.applib.services.command.CommandContext;
+import org.apache.isis.applib.services.command.CommandDefault;
 import org.apache.isis.core.commons.lang.StringExtensions;
 import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
 import org.apache.isis.core.metamodel.consent.Consent;
@@ -462,16 +463,21 @@ protected void setupCommandDtoAndExecutionContext(final CommandDto dto) {
             return;
         }
 
-        if (command.getMemento() != null) {
+        if (hasMemento(command)) {
             // guard here to prevent subsequent contributed/mixin actions from
             // trampling over the command's memento and execution context
             return;
         }
 
         // memento
+        // (for the default implementation, only serialized to XML if actually required, eg if persisted)
 
-        final String mementoXml = CommandDtoUtils.toXml(dto);
-        command.setMemento(mementoXml);
+        if(command instanceof CommandDefault) {
+            ((CommandDefault) command).setCommandDto(dto);
+        } else {
+            final String mementoXml = CommandDtoUtils.toXml(dto);
+            command.setMemento(mementoXml);
+        }
 
         // copy over the command execution 'context' (if available)
         final CommandFacet commandFacet = getFacetHolder().getFacet(CommandFacet.class);
@@ -485,6 +491,12 @@ protected void setupCommandDtoAndExecutionContext(final CommandDto dto) {
         }
     }
 
+    private static boolean hasMemento(final Command command) {
+        return command instanceof CommandDefault
+                ? ((CommandDefault) command).hasMemento()
+                : command.getMemento() != null;
+    }
+
     //endregion
 
 }
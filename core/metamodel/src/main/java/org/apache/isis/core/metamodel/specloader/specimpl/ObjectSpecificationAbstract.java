@@ -103,22 +103,31 @@ public abstract class ObjectSpecificationAbstract extends FacetHolderImpl implem
 
     private final static Logger LOG = LoggerFactory.getLogger(ObjectSpecificationAbstract.class);
 
+    /**
+     * Thread-safe, because subclasses may be introspected (and so add themselves) concurrently; and kept in order
+     * of class name, so that the order does not depend on which subclass happened to be introspected first.  This
+     * applies whether or not the metamodel is introspected in parallel, so that both yield the same metamodel.
+     */
     private static class SubclassList {
         private final List<ObjectSpecification> classes = Lists.newArrayList();
 
-        public void addSubclass(final ObjectSpecification subclass) {
+        public synchronized void addSubclass(final ObjectSpecification subclass) {
             if(classes.contains(subclass)) { 
                 return;
             }
-            classes.add(subclass);
+            int i = 0;
+            while(i < classes.size() && classes.get(i).getFullIdentifier().compareTo(subclass.getFullIdentifier()) < 0) {
+                i++;
+            }
+            classes.add(i, subclass);
         }
 
-        public boolean hasSubclasses() {
+        public synchronized boolean hasSubclasses() {
             return !classes.isEmpty();
         }
 
-        public List<ObjectSpecification> toList() {
-            return Collections.unmodifiableList(classes);
+        public synchronized List<ObjectSpecification> toList() {
+            return Collections.unmodifiableList(Lists.newArrayList(classes));
         }
     }
 
@@ -136,24 +145,31 @@ public List<ObjectSpecification> toList() {
     protected Properties metadataProperties;
 
 
-    private final List<ObjectAssociation> associations = Lists.newArrayList();
-    private final List<ObjectAction> objectActions = Lists.newArrayList();
+    /*
+     * The lists of members (and of interfaces) are never modified, only replaced, so that (if the metamodel is
+     * introspected in parallel) they can be safely read by one thread while still being updated by another.
+     */
+    private volatile List<ObjectAssociation> associations = Collections.emptyList();
+    private volatile List<ObjectAction> objectActions = Collections.emptyList();
     // partitions and caches objectActions by type; updated in sortCacheAndUpdateActions()
-    private final Map<ActionType, List<ObjectAction>> objectActionsByType = createObjectActionsByType();
+    private volatile Map<ActionType, List<ObjectAction>> objectActionsByType = createObjectActionsByType(objectActions);
 
-    private static Map<ActionType, List<ObjectAction>> createObjectActionsByType() {
+    private static Map<ActionType, List<ObjectAction>> createObjectActionsByType(final List<ObjectAction> objectActions) {
         final Map<ActionType, List<ObjectAction>> map = Maps.newHashMap();
         for (final ActionType type : ActionType.values()) {
-            map.put(type, Lists.<ObjectAction>newArrayList());
+            map.put(type, Collections.unmodifiableList(
+                    Lists.newArrayList(Collections2.filter(objectActions, ObjectAction.Predicates.ofType(type)))));
         }
         return map;
     }
 
-    private boolean contributeeAndMixedInAssociationsAdded;
-    private boolean contributeeAndMixedInActionsAdded;
+    private final Object associationsLock = new Object();
+    private final Object objectActionsLock = new Object();
+    private volatile boolean contributeeAndMixedInAssociationsAdded;
+    private volatile boolean contributeeAndMixedInActionsAdded;
 
 
-    private final List<ObjectSpecification> interfaces = Lists.newArrayList();
+    private volatile List<ObjectSpecification> interfaces = Collections.emptyList();
     private final SubclassList subclasses = new SubclassList();
 
     private final Class<?> correspondingClass;
@@ -164,15 +180,15 @@ private static Map<ActionType, List<ObjectAction>> createObjectActionsByType() {
     // derived lazily, cached since immutable
     private ObjectSpecId specId;
 
-    private ObjectSpecification superclassSpec;
+    private volatile ObjectSpecification superclassSpec;
 
-    private Persistability persistability = Persistability.USER_PERSISTABLE;
+    private volatile Persistability persistability = Persistability.USER_PERSISTABLE;
 
-    private TitleFacet titleFacet;
-    private IconFacet iconFacet;
-    private CssClassFacet cssClassFacet;
+    private volatile TitleFacet titleFacet;
+    private volatile IconFacet iconFacet;
+    private volatile CssClassFacet cssClassFacet;
 
-    private IntrospectionState introspected = IntrospectionState.NOT_INTROSPECTED;
+    private volatile IntrospectionState introspected = IntrospectionState.NOT_INTROSPECTED;
     //endregion
 
     //region > Constructor
@@ -296,8 +312,7 @@ protected void updateSuperclass(final Class<?> superclass) {
      * .
      */
     protected void updateInterfaces(final List<ObjectSpecification> interfaces) {
-        this.interfaces.clear();
-        this.interfaces.addAll(interfaces);
+        this.interfaces = Collections.unmodifiableList(Lists.newArrayList(interfaces));
     }
 
     /**
@@ -330,24 +345,13 @@ private void updateSubclasses(final ObjectSpecification subclass) {
 
     protected void sortAndUpdateAssociations(final List<ObjectAssociation> associations) {
         final List<ObjectAssociation> orderedAssociations = sortAssociations(associations);
-        synchronized (this.associations) {
-            this.associations.clear();
-            this.associations.addAll(orderedAssociations);
-        }
+        this.associations = Collections.unmodifiableList(orderedAssociations);
     }
 
     protected void sortCacheAndUpdateActions(final List<ObjectAction> objectActions) {
         final List<ObjectAction> orderedActions = sortActions(objectActions);
-        synchronized (this.objectActions){
-            this.objectActions.clear();
-            this.objectActions.addAll(orderedActions);
-
-            for (final ActionType type : ActionType.values()) {
-                final List<ObjectAction> objectActionForType = objectActionsByType.get(type);
-                objectActionForType.clear();
-                objectActionForType.addAll(Collections2.filter(objectActions, ObjectAction.Predicates.ofType(type)));
-            }
-        }
+        this.objectActions = Collections.unmodifiableList(orderedActions);
+        this.objectActionsByType = createObjectActionsByType(objectActions);
     }
 
     //endregion
@@ -595,7 +599,7 @@ public ObjectSpecification superclass() {
 
     @Override
     public List<ObjectSpecification> interfaces() {
-        return Collections.unmodifiableList(interfaces);
+        return interfaces;
     }
 
     @Override
@@ -621,12 +625,14 @@ public List<ObjectAssociation> getAssociations(final Contributed contributed) {
         // the "contributed.isIncluded()" guard is required because we cannot do this too early;
         // there must be a session available
         if(contributed.isIncluded() && !contributeeAndMixedInAssociationsAdded) {
-            synchronized (this.associations) {
-                List<ObjectAssociation> associations = Lists.newArrayList(this.associations);
-                associations.addAll(createContributeeAssociations());
-                associations.addAll(createMixedInAssociations());
-                sortAndUpdateAssociations(associations);
-                contributeeAndMixedInAssociationsAdded = true;
+            synchronized (associationsLock) {
+                if(!contributeeAndMixedInAssociationsAdded) {
+                    List<ObjectAssociation> associations = Lists.newArrayList(this.associations);
+                    associations.addAll(createContributeeAssociations());
+                    associations.addAll(createMixedInAssociations());
+                    sortAndUpdateAssociations(associations);
+                    contributeeAndMixedInAssociationsAdded = true;
+                }
             }
         }
         final List<ObjectAssociation> associations = Lists.newArrayList(this.associations);
@@ -739,22 +745,24 @@ public List<ObjectAction> getObjectActions(
         // the "contributed.isIncluded()" guard is required because we cannot do this too early;
         // there must be a session available
         if(contributed.isIncluded() && !contributeeAndMixedInActionsAdded) {
-            synchronized (this.objectActions) {
-                final List<ObjectAction> actions = Lists.newArrayList(this.objectActions);
-                final boolean containsMixin = containsDoOpFacet(MixinFacet.class);
-                final boolean containsDomainService = containsDoOpFacet(DomainServiceFacet.class);
-                final boolean isService = isService();
-                if (containsMixin || containsDomainService || isService) {
-                    // don't contribute to mixins themselves!
-                    // don't contribute to services either
-                    // - isService() is sufficient check for internal services registered directly with ServicesInjector
-                    // - checking for DomainServiceFacet is for application services (isService() may not have been called, for these)
-                } else {
-                    actions.addAll(createContributeeActions());
-                    actions.addAll(createMixedInActions());
+            synchronized (objectActionsLock) {
+                if(!contributeeAndMixedInActionsAdded) {
+                    final List<ObjectAction> actions = Lists.newArrayList(this.objectActions);
+                    final boolean containsMixin = containsDoOpFacet(MixinFacet.class);
+                    final boolean containsDomainService = containsDoOpFacet(DomainServiceFacet.class);
+                    final boolean isService = isService();
+                    if (containsMixin || containsDomainService || isService) {
+                        // don't contribute to mixins themselves!
+                        // don't contribute to services either
+                        // - isService() is sufficient check for internal services registered directly with ServicesInjector
+                        // - checking for DomainServiceFacet is for application services (isService() may not have been called, for these)
+                    } else {
+                        actions.addAll(createContributeeActions());
+                        actions.addAll(createMixedInActions());
+                    }
+                    sortCacheAndUpdateActions(actions);
+                    contributeeAndMixedInActionsAdded = true;
                 }
-                sortCacheAndUpdateActions(actions);
-                contributeeAndMixedInActionsAdded = true;
             }
         }
 
@@ -83,7 +83,7 @@ private static String determineShortName(final Class<?> introspectedClass) {
     /**
      * Lazily built by {@link #getMember(Method)}.
      */
-    private Map<Method, ObjectMember> membersByMethod = null;
+    private volatile Map<Method, ObjectMember> membersByMethod = null;
     
     private final FacetedMethodsBuilder facetedMethodsBuilder;
     private final boolean isService;
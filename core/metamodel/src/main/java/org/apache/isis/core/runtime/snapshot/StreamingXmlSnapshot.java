@@ -0,0 +1,641 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.runtime.snapshot;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringTokenizer;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+import org.apache.isis.applib.ViewModel;
+import org.apache.isis.applib.snapshot.SnapshottableWithInclusions;
+import org.apache.isis.core.commons.exceptions.IsisException;
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.consent.InteractionInitiatedBy;
+import org.apache.isis.core.metamodel.facetapi.FacetUtil;
+import org.apache.isis.core.metamodel.facets.collections.modify.CollectionFacet;
+import org.apache.isis.core.metamodel.facets.collections.modify.CollectionFacetUtils;
+import org.apache.isis.core.metamodel.facets.object.encodeable.EncodableFacet;
+import org.apache.isis.core.metamodel.facets.object.parseable.ParseableFacet;
+import org.apache.isis.core.metamodel.facets.object.value.ValueFacet;
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+import org.apache.isis.core.metamodel.spec.feature.Contributed;
+import org.apache.isis.core.metamodel.spec.feature.ObjectAssociation;
+import org.apache.isis.core.metamodel.spec.feature.OneToManyAssociation;
+import org.apache.isis.core.metamodel.spec.feature.OneToOneAssociation;
+
+/**
+ * Streaming equivalent of {@link XmlSnapshot}, writing the XML representation of the object graph directly to an
+ * {@link OutputStream} (using an {@link XMLStreamWriter}) rather than first building it as an in-memory DOM.
+ *
+ * <p>
+ *     The include paths have the same semantics as for {@link XmlSnapshot#include(String, String)}, and the
+ *     resultant XML uses the same application and <tt>isis:</tt> namespaces.  However, rather than merging the
+ *     elements for each included path into the document one path at a time, the paths are first combined into a
+ *     tree, so that the graph can be traversed exactly once.
+ * </p>
+ *
+ * <p>
+ *     The XSD is derived from the metamodel (the root object's specification and the include paths) rather than from
+ *     the objects in the graph, and so is cached and shared by all snapshots of the same type.
+ * </p>
+ *
+ * <p>
+ * Typical use:
+ *
+ * <pre>
+ * StreamingXmlSnapshot snapshot = new StreamingXmlSnapshot(customerAdapter);
+ * snapshot.include(&quot;orders/product&quot;);
+ * snapshot.writeXml(outputStream);
+ * </pre>
+ */
+public class StreamingXmlSnapshot {
+
+    private static final Logger LOG = LoggerFactory.getLogger(StreamingXmlSnapshot.class);
+
+    private static final String ENCODING = "UTF-8";
+
+    /**
+     * XSDs (as strings, being immutable) keyed by {@link #xsdKey() uri, prefix and include paths}, for each
+     * specification.  Weakly keyed so that the entries are discarded if the metamodel is rebuilt.
+     */
+    private static final LoadingCache<ObjectSpecification, ConcurrentMap<String, String>> xsdBySpec =
+            CacheBuilder.newBuilder()
+                    .weakKeys()
+                    .build(new CacheLoader<ObjectSpecification, ConcurrentMap<String, String>>() {
+                        @Override
+                        public ConcurrentMap<String, String> load(final ObjectSpecification spec) {
+                            return Maps.newConcurrentMap();
+                        }
+                    });
+
+    private final ObjectAdapter rootAdapter;
+    private final XmlSchema schema;
+    private final IsisSchema isisMetaModel;
+    private final XsMetaModel xsMeta;
+
+    private final IncludeNode includes = new IncludeNode();
+
+    /**
+     * the suggested location for the schema (xsi:schemaLocation attribute)
+     */
+    private final String schemaLocationFileName;
+
+    private final Map<ObjectAdapter, String> viewModelFakeOids = Maps.newHashMap();
+
+    /**
+     * Start a snapshot at the root object, using own namespace manager.
+     */
+    public StreamingXmlSnapshot(final ObjectAdapter rootAdapter) {
+        this(rootAdapter, new XmlSchema());
+    }
+
+    /**
+     * Start a snapshot at the root object, using supplied namespace manager.
+     */
+    public StreamingXmlSnapshot(final ObjectAdapter rootAdapter, final XmlSchema schema) {
+        this.rootAdapter = rootAdapter;
+        this.schema = schema;
+        this.isisMetaModel = new IsisSchema();
+        this.xsMeta = new XsMetaModel();
+
+        final String fullyQualifiedClassName = rootAdapter.getSpecification().getFullIdentifier();
+        schema.setUri(fullyQualifiedClassName);
+        this.schemaLocationFileName = fullyQualifiedClassName + ".xsd";
+
+        for (final String path : getPathsFor(rootAdapter.getObject())) {
+            include(path);
+        }
+    }
+
+    private static List<String> getPathsFor(final Object object) {
+        if (!(object instanceof SnapshottableWithInclusions)) {
+            return Collections.emptyList();
+        }
+        final List<String> paths = ((SnapshottableWithInclusions) object).snapshotInclusions();
+        if (paths == null) {
+            return Collections.emptyList();
+        }
+        return paths;
+    }
+
+    public ObjectAdapter getObject() {
+        return rootAdapter;
+    }
+
+    public XmlSchema getSchema() {
+        return schema;
+    }
+
+    /**
+     * The name of the <code>xsi:schemaLocation</code> in the XML document.
+     */
+    public String getSchemaLocationFileName() {
+        return schemaLocationFileName;
+    }
+
+    public void include(final String path) {
+        include(path, null);
+    }
+
+    public void include(final String path, final String annotation) {
+        includes.add(path, annotation);
+    }
+
+    //region > XML
+
+    /**
+     * Writes the XML document (UTF-8 encoded) to the supplied stream; the stream is flushed but not closed.
+     */
+    public void writeXml(final OutputStream outputStream) {
+        XMLStreamWriter writer = null;
+        try {
+            writer = XMLOutputFactory.newInstance().createXMLStreamWriter(outputStream, ENCODING);
+            writer.writeStartDocument(ENCODING, "1.0");
+            writeObject(writer, rootAdapter, includes, true);
+            writer.writeEndDocument();
+            writer.flush();
+        } catch (final XMLStreamException e) {
+            throw new IsisException(e);
+        } finally {
+            if (writer != null) {
+                try {
+                    // does not close the underlying stream
+                    writer.close();
+                } catch (final XMLStreamException ignore) {
+                    // ignore
+                }
+            }
+        }
+    }
+
+    private void writeObject(
+            final XMLStreamWriter writer,
+            final ObjectAdapter adapter,
+            final IncludeNode node,
+            final boolean rootElement) throws XMLStreamException {
+
+        final ObjectSpecification nos = adapter.getSpecification();
+
+        writer.writeStartElement(schema.getPrefix(), nos.getShortIdentifier(), schema.getUri());
+        if (rootElement) {
+            writer.writeNamespace(schema.getPrefix(), schema.getUri());
+            writer.writeNamespace(IsisSchema.NS_PREFIX, IsisSchema.NS_URI);
+            writer.writeNamespace(XsMetaModel.W3_ORG_XSI_PREFIX, XsMetaModel.W3_ORG_XSI_URI);
+            writer.writeAttribute(
+                    XsMetaModel.W3_ORG_XSI_PREFIX, XsMetaModel.W3_ORG_XSI_URI, "schemaLocation",
+                    schema.getUri() + " " + schemaLocationFileName);
+        }
+        writeIsisAttribute(writer, "fqn", nos.getFullIdentifier());
+        writeIsisAttribute(writer, "singular", nos.getSingularName());
+        writeIsisAttribute(writer, "plural", nos.getPluralName());
+        writeIsisAttribute(writer, "feature", IsisSchema.FEATURE_CLASS);
+        writeIsisAttribute(writer, "oid", oidAsString(adapter));
+
+        writeIsisTitle(writer, adapter.titleString());
+
+        final Set<String> fieldIds = Sets.newHashSet();
+        for (final ObjectAssociation field : nos.getAssociations(Contributed.INCLUDED)) {
+            final String fieldName = field.getId();
+            if (!fieldIds.add(fieldName)) {
+                // as per XmlSnapshot, only the first field of any given name is rendered.
+                continue;
+            }
+
+            final IncludeNode fieldNode = node.getChild(fieldName);
+
+            if (field.getSpecification().containsFacet(ValueFacet.class)) {
+                writeValue(writer, adapter, (OneToOneAssociation) field, fieldNode);
+            } else if (field instanceof OneToOneAssociation) {
+                writeReference(writer, adapter, (OneToOneAssociation) field, fieldNode);
+            } else if (field instanceof OneToManyAssociation) {
+                writeCollection(writer, adapter, (OneToManyAssociation) field, fieldNode);
+            } else {
+                if (LOG.isInfoEnabled()) {
+                    LOG.info("writeObject: field '" + fieldName + "' is unknown type; ignored");
+                }
+            }
+        }
+
+        writer.writeEndElement();
+    }
+
+    private void writeValue(
+            final XMLStreamWriter writer,
+            final ObjectAdapter adapter,
+            final OneToOneAssociation valueAssociation,
+            final IncludeNode fieldNode) throws XMLStreamException {
+
+        final ObjectSpecification fieldNos = valueAssociation.getSpecification();
+        // skip fields of type XmlValue
+        if (fieldNos.getFullIdentifier() != null && fieldNos.getFullIdentifier().endsWith("XmlValue")) {
+            return;
+        }
+
+        String valueStr = null;
+        String datatype = null;
+        try {
+            final ObjectAdapter value = valueAssociation.get(adapter, InteractionInitiatedBy.FRAMEWORK);
+            if (value != null) {
+                datatype = value.getSpecification().getShortIdentifier();
+
+                // return parsed string, else encoded string, else title.
+                final ParseableFacet parseableFacet = fieldNos.getFacet(ParseableFacet.class);
+                final EncodableFacet encodeableFacet = fieldNos.getFacet(EncodableFacet.class);
+                if (parseableFacet != null) {
+                    valueStr = parseableFacet.parseableTitle(value);
+                } else if (encodeableFacet != null) {
+                    valueStr = encodeableFacet.toEncodedString(value);
+                } else {
+                    valueStr = value.titleString();
+                }
+            }
+            // as per XmlSnapshot, a null value is rendered as an element without any attributes
+        } catch (final Exception ex) {
+            LOG.warn("writeValue: field '" + valueAssociation.getId() + "': getField() threw exception - skipping XML generation");
+        }
+
+        writeFieldStartElement(writer, valueAssociation);
+        if (datatype != null) {
+            writeIsisAttribute(writer, "feature", IsisSchema.FEATURE_VALUE);
+            writeIsisAttribute(writer, "datatype", IsisSchema.NS_PREFIX + ":" + datatype);
+            final boolean notEmpty = valueStr != null && valueStr.length() > 0;
+            if (!notEmpty) {
+                writeIsisAttribute(writer, "isEmpty", "" + true);
+            }
+        }
+        writeAnnotationIfAny(writer, fieldNode);
+        if (valueStr != null && valueStr.length() > 0) {
+            writer.writeCharacters(valueStr);
+        }
+        writer.writeEndElement();
+    }
+
+    private void writeReference(
+            final XMLStreamWriter writer,
+            final ObjectAdapter adapter,
+            final OneToOneAssociation oneToOneAssociation,
+            final IncludeNode fieldNode) throws XMLStreamException {
+
+        ObjectAdapter referencedObjectAdapter = null;
+        boolean obtained = false;
+        try {
+            referencedObjectAdapter = oneToOneAssociation.get(adapter, InteractionInitiatedBy.FRAMEWORK);
+            obtained = true;
+        } catch (final Exception ex) {
+            LOG.warn("writeReference: field '" + oneToOneAssociation.getId() + "': getAssociation() threw exception - skipping XML generation");
+        }
+
+        writeFieldStartElement(writer, oneToOneAssociation);
+        if (obtained) {
+            writeIsisAttribute(writer, "feature", IsisSchema.FEATURE_REFERENCE);
+            // as per XmlSnapshot, the type is that of the owning object
+            writeIsisAttribute(writer, "type", schema.getPrefix() + ":" + adapter.getSpecification().getFullIdentifier());
+            if (referencedObjectAdapter == null) {
+                writeIsisAttribute(writer, "isEmpty", "" + true);
+            }
+        }
+        writeAnnotationIfAny(writer, fieldNode);
+
+        if (referencedObjectAdapter != null) {
+            writeIsisTitle(writer, referencedObjectAdapter.titleString());
+
+            if (fieldNode != null && isNavigable(oneToOneAssociation)) {
+                writeObject(writer, referencedObjectAdapter, fieldNode, false);
+            }
+        }
+        writer.writeEndElement();
+    }
+
+    private void writeCollection(
+            final XMLStreamWriter writer,
+            final ObjectAdapter adapter,
+            final OneToManyAssociation oneToManyAssociation,
+            final IncludeNode fieldNode) throws XMLStreamException {
+
+        ObjectAdapter collection = null;
+        try {
+            collection = oneToManyAssociation.get(adapter, InteractionInitiatedBy.FRAMEWORK);
+        } catch (final Exception ex) {
+            LOG.warn("writeCollection: field '" + oneToManyAssociation.getId() + "': get(obj) threw exception - skipping XML generation");
+        }
+
+        final CollectionFacet facet = collection != null
+                ? CollectionFacetUtils.getCollectionFacetFromSpec(collection)
+                : null;
+
+        writeFieldStartElement(writer, oneToManyAssociation);
+        if (facet != null) {
+            writeIsisAttribute(writer, "feature", IsisSchema.FEATURE_COLLECTION);
+            writeIsisAttribute(writer, "type", schema.getPrefix() + ":" + oneToManyAssociation.getSpecification().getFullIdentifier());
+            writeIsisAttribute(writer, "size", "" + facet.size(collection));
+        }
+        writeAnnotationIfAny(writer, fieldNode);
+
+        if (facet != null && fieldNode != null) {
+            // as per XmlSnapshot, any given object appears only once within the collection
+            final Set<String> oids = Sets.newHashSet();
+            for (final ObjectAdapter referencedObject : facet.iterable(collection)) {
+                if (!oids.add(oidAsString(referencedObject))) {
+                    continue;
+                }
+                writeObject(writer, referencedObject, fieldNode, false);
+            }
+        }
+        writer.writeEndElement();
+    }
+
+    private void writeFieldStartElement(
+            final XMLStreamWriter writer,
+            final ObjectAssociation field) throws XMLStreamException {
+        writer.writeStartElement(schema.getPrefix(), field.getId(), schema.getUri());
+    }
+
+    private static void writeAnnotationIfAny(
+            final XMLStreamWriter writer,
+            final IncludeNode fieldNode) throws XMLStreamException {
+        if (fieldNode != null && fieldNode.getAnnotation() != null) {
+            writeIsisAttribute(writer, "annotation", IsisSchema.NS_PREFIX + ":" + fieldNode.getAnnotation());
+        }
+    }
+
+    private static void writeIsisAttribute(
+            final XMLStreamWriter writer,
+            final String attributeName,
+            final String attributeValue) throws XMLStreamException {
+        if (attributeValue == null) {
+            return;
+        }
+        writer.writeAttribute(IsisSchema.NS_PREFIX, IsisSchema.NS_URI, attributeName, attributeValue);
+    }
+
+    private static void writeIsisTitle(
+            final XMLStreamWriter writer,
+            final String titleStr) throws XMLStreamException {
+        writer.writeStartElement(IsisSchema.NS_PREFIX, "title", IsisSchema.NS_URI);
+        if (titleStr != null) {
+            writer.writeCharacters(titleStr);
+        }
+        writer.writeEndElement();
+    }
+
+    /**
+     * As per {@link XmlSnapshot}, only references to objects that themselves have associations are navigated.
+     */
+    private static boolean isNavigable(final OneToOneAssociation association) {
+        return association.getSpecification().getAssociations(Contributed.INCLUDED).size() > 0;
+    }
+
+    private String oidAsString(final ObjectAdapter adapter) {
+        if(adapter.getObject() instanceof ViewModel) {
+            // return a fake oid for view models;
+            // a snapshot may be being used to create the memento/OID
+            String fakeOid = viewModelFakeOids.get(adapter);
+            if(fakeOid == null) {
+                fakeOid = "viewmodel-fakeoid-" + UUID.randomUUID().toString();
+                viewModelFakeOids.put(adapter, fakeOid);
+            }
+            return fakeOid;
+        } else {
+            return adapter.getOid().enString();
+        }
+    }
+
+    //endregion
+
+    //region > XSD
+
+    /**
+     * The XSD for the snapshot, cached for the root object's specification, namespace and include paths.
+     */
+    public String getXsdDocumentAsString() {
+        final ConcurrentMap<String, String> xsdByKey = xsdBySpec.getUnchecked(rootAdapter.getSpecification());
+        final String xsdKey = xsdKey();
+        final String xsd = xsdByKey.get(xsdKey);
+        if (xsd != null) {
+            return xsd;
+        }
+        final String newXsd = XmlSnapshot.asString(buildXsdDocument());
+        final String existingXsd = xsdByKey.putIfAbsent(xsdKey, newXsd);
+        return existingXsd != null ? existingXsd : newXsd;
+    }
+
+    /**
+     * A new copy of the (cached) XSD, as a DOM.
+     */
+    public Document getXsdDocument() {
+        try {
+            return newDocumentBuilder().parse(new InputSource(new StringReader(getXsdDocumentAsString())));
+        } catch (final SAXException | IOException e) {
+            throw new IsisException(e);
+        }
+    }
+
+    /**
+     * Writes the (cached) XSD to the supplied stream; the stream is flushed but not closed.
+     */
+    public void writeXsd(final OutputStream outputStream) {
+        try {
+            outputStream.write(getXsdDocumentAsString().getBytes(StandardCharsets.UTF_8));
+            outputStream.flush();
+        } catch (final IOException e) {
+            throw new IsisException(e);
+        }
+    }
+
+    private String xsdKey() {
+        return schema.getUri() + " " + schema.getPrefix() + " " + includes;
+    }
+
+    private Document buildXsdDocument() {
+        final ObjectSpecification nos = rootAdapter.getSpecification();
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("buildXsdDocument: " + nos.getFullIdentifier() + " " + includes);
+        }
+
+        final DocumentBuilder db = newDocumentBuilder();
+        final Document xsdDocument = db.newDocument();
+        // the XML elements are required only to pass details to the XmlSchema helper methods
+        final Document scratchXmlDocument = db.newDocument();
+
+        final Element xsdElement = xsMeta.createXsSchemaElement(xsdDocument);
+        final Element xsElement = xsElementFor(xsdDocument, scratchXmlDocument, nos, includes, false);
+        xsdElement.appendChild(xsElement);
+        schema.setTargetNamespace(xsdDocument, nos.getFullIdentifier());
+
+        return xsdDocument;
+    }
+
+    private Element xsElementFor(
+            final Document xsdDocument,
+            final Document scratchXmlDocument,
+            final ObjectSpecification nos,
+            final IncludeNode node,
+            final boolean addCardinality) {
+
+        final Element element = schema.createElement(scratchXmlDocument, nos.getShortIdentifier(), nos.getFullIdentifier(), nos.getSingularName(), nos.getPluralName());
+        final Element xsElement = schema.createXsElementForNofClass(xsdDocument, element, addCardinality, FacetUtil.getFacetsByType(nos));
+
+        final Set<String> fieldIds = Sets.newHashSet();
+        for (final ObjectAssociation field : nos.getAssociations(Contributed.INCLUDED)) {
+            final String fieldName = field.getId();
+            if (!fieldIds.add(fieldName)) {
+                continue;
+            }
+            final IncludeNode fieldNode = node.getChild(fieldName);
+            final ObjectSpecification fieldNos = field.getSpecification();
+            final Element xmlFieldElement = scratchXmlDocument.createElementNS(schema.getUri(), schema.getPrefix() + ":" + fieldName);
+
+            final Element xsdFieldElement;
+            if (fieldNos.containsFacet(ValueFacet.class)) {
+                if (fieldNos.getFullIdentifier() != null && fieldNos.getFullIdentifier().endsWith("XmlValue")) {
+                    continue;
+                }
+                isisMetaModel.setAttributesForValue(xmlFieldElement, fieldNos.getShortIdentifier());
+                xsdFieldElement = schema.createXsElementForNofValue(xsElement, xmlFieldElement, FacetUtil.getFacetsByType(field));
+
+            } else if (field instanceof OneToOneAssociation) {
+                xsdFieldElement = schema.createXsElementForNofReference(xsElement, xmlFieldElement, fieldNos.getFullIdentifier(), FacetUtil.getFacetsByType(field));
+                if (fieldNode != null && isNavigable((OneToOneAssociation) field)) {
+                    final Element referencedXsElement = xsElementFor(xsdDocument, scratchXmlDocument, fieldNos, fieldNode, true);
+                    schema.addXsElementIfNotPresent(xsdFieldElement, referencedXsElement);
+                }
+
+            } else if (field instanceof OneToManyAssociation) {
+                xsdFieldElement = schema.createXsElementForNofCollection(xsElement, xmlFieldElement, fieldNos.getFullIdentifier(), FacetUtil.getFacetsByType(field));
+                if (fieldNode != null) {
+                    final Element referencedXsElement = xsElementFor(xsdDocument, scratchXmlDocument, fieldNos, fieldNode, true);
+                    schema.addXsElementIfNotPresent(xsdFieldElement, referencedXsElement);
+                }
+
+            } else {
+                continue;
+            }
+
+            schema.addFieldXsElement(xsElement, xsdFieldElement);
+        }
+        return xsElement;
+    }
+
+    private static DocumentBuilder newDocumentBuilder() {
+        final DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
+        dbf.setNamespaceAware(true);
+        try {
+            return dbf.newDocumentBuilder();
+        } catch (final ParserConfigurationException e) {
+            LOG.error("unable to build snapshot", e);
+            throw new IsisException(e);
+        }
+    }
+
+    //endregion
+
+    //region > IncludeNode
+
+    /**
+     * The include paths, combined into a tree keyed by field name.
+     */
+    static final class IncludeNode {
+
+        private final Map<String, IncludeNode> childByFieldName = Maps.newTreeMap();
+        private String annotation;
+
+        /**
+         * Adds the path (of field names separated by <tt>/</tt>) to the tree, applying the annotation (if any) to
+         * the last field of the path.
+         */
+        void add(final String path, final String annotation) {
+            IncludeNode node = this;
+            for (final StringTokenizer tok = new StringTokenizer(path, "/"); tok.hasMoreTokens();) {
+                final String fieldName = tok.nextToken();
+                IncludeNode childNode = node.childByFieldName.get(fieldName);
+                if (childNode == null) {
+                    childNode = new IncludeNode();
+                    node.childByFieldName.put(fieldName, childNode);
+                }
+                node = childNode;
+            }
+            if (node != this && annotation != null) {
+                node.annotation = annotation;
+            }
+        }
+
+        /**
+         * The node for the specified field, or <tt>null</tt> if the field is not on any include path.
+         */
+        IncludeNode getChild(final String fieldName) {
+            return childByFieldName.get(fieldName);
+        }
+
+        String getAnnotation() {
+            return annotation;
+        }
+
+        /**
+         * Canonical representation of the (structure of the) tree, eg <tt>{orders{product},placeOfBirth}</tt>.
+         */
+        @Override
+        public String toString() {
+            final StringBuilder buf = new StringBuilder("{");
+            boolean first = true;
+            for (final Map.Entry<String, IncludeNode> entry : childByFieldName.entrySet()) {
+                if (!first) {
+                    buf.append(",");
+                }
+                first = false;
+                buf.append(entry.getKey());
+                if (!entry.getValue().childByFieldName.isEmpty()) {
+                    buf.append(entry.getValue());
+                }
+            }
+            return buf.append("}").toString();
+        }
+    }
+
+    //endregion
+
+}
@@ -861,7 +861,7 @@ public String getXsdDocumentAsString() {
         return asString(doc);
     }
     
-    private static String asString(final Document doc) {
+    static String asString(final Document doc) {
         try {
             final DOMSource domSource = new DOMSource(doc);
             final StringWriter writer = new StringWriter();
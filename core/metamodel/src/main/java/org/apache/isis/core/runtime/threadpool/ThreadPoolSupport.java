@@ -28,6 +28,7 @@
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.google.common.collect.Lists;
 
@@ -57,12 +58,50 @@ public final class ThreadPoolSupport {
                 maximumPoolSize,
                 keepAliveTimeSecs, TimeUnit.SECONDS,
                 workQueue,
-                new ThreadFactory() {
-                    @Override
-                    public Thread newThread(final Runnable r) {
-                        return new Thread(group, r);
-                    }
-                });
+                newThreadFactory(group, "isis-threadpool"));
+    }
+
+    /**
+     * Creates a new, separately sized pool, for a one-off burst of work (eg introspecting the metamodel at startup)
+     * that should neither compete for nor be limited by the queue capacity of the shared {@link #executor}.
+     *
+     * <p>
+     *     The pool's threads are named <tt>name-1</tt>, <tt>name-2</tt> etc, and belong to the {@link #group}.
+     *     The work queue is unbounded.  The caller is responsible for {@link ThreadPoolExecutor#shutdown() shutting}
+     *     the pool down once done; use {@link #statisticsOf(ThreadPoolExecutor)} to report on its usage.
+     * </p>
+     */
+    public static ThreadPoolExecutor newExecutor(final String name, final int poolSize) {
+        final int keepAliveTimeSecs = 5;
+        return new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                keepAliveTimeSecs, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(),
+                newThreadFactory(group, name));
+    }
+
+    private static ThreadFactory newThreadFactory(final ThreadGroup group, final String name) {
+        final AtomicInteger threadNumber = new AtomicInteger();
+        return new ThreadFactory() {
+            @Override
+            public Thread newThread(final Runnable r) {
+                return new Thread(group, r, name + "-" + threadNumber.incrementAndGet());
+            }
+        };
+    }
+
+    /**
+     * A one-line summary of the pool's usage so far, suitable for logging.
+     */
+    public static String statisticsOf(final ThreadPoolExecutor executor) {
+        return String.format(
+                "poolSize=%d, largestPoolSize=%d, activeCount=%d, queued=%d, completedTasks=%d",
+                executor.getPoolSize(),
+                executor.getLargestPoolSize(),
+                executor.getActiveCount(),
+                executor.getQueue().size(),
+                executor.getCompletedTaskCount());
     }
 
     public static List<Object> join(final List<Future<Object>> futures) {
@@ -93,6 +132,12 @@ public static Object join(final Future<Object> future) {
     }
 
     public static List<Future<Object>> invokeAll(final List<Callable<Object>> callables) {
+        return invokeAll(executor, callables);
+    }
+
+    public static List<Future<Object>> invokeAll(
+            final ThreadPoolExecutor executor,
+            final List<Callable<Object>> callables) {
         try {
             return executor.invokeAll(callables);
         } catch (InterruptedException e) {
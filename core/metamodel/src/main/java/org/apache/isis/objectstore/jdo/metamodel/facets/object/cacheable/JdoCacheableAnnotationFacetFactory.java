@@ -0,0 +1,86 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.objectstore.jdo.metamodel.facets.object.cacheable;
+
+import java.util.Set;
+
+import javax.jdo.annotations.Cacheable;
+
+import com.google.common.collect.ImmutableSet;
+
+import org.apache.isis.core.metamodel.facetapi.FacetUtil;
+import org.apache.isis.core.metamodel.facetapi.FeatureType;
+import org.apache.isis.core.metamodel.facets.Annotations;
+import org.apache.isis.core.metamodel.facets.FacetFactoryAbstract;
+
+/**
+ * Installs a {@link JdoCacheableFacet} for entities annotated with <tt>@javax.jdo.annotations.Cacheable</tt>, or
+ * listed (or whose superclass is listed) in the {@link #CACHEABLE_TYPES_KEY} configuration property.
+ *
+ * <p>
+ *     An explicit <tt>@Cacheable("false")</tt> overrides the configuration property.
+ * </p>
+ */
+public class JdoCacheableAnnotationFacetFactory extends FacetFactoryAbstract {
+
+    /**
+     * Comma-separated list of the fully qualified class names of entities to be held in the level-2 cache.
+     */
+    public static final String CACHEABLE_TYPES_KEY = "isis.persistor.datanucleus.cache.types";
+
+    private Set<String> cacheableTypeNames;
+
+    public JdoCacheableAnnotationFacetFactory() {
+        super(FeatureType.OBJECTS_ONLY);
+    }
+
+    @Override
+    public void process(final ProcessClassContext processClassContext) {
+        final Class<?> cls = processClassContext.getCls();
+
+        final Cacheable annotation = Annotations.getAnnotation(cls, Cacheable.class);
+        if (annotation != null) {
+            if ("true".equalsIgnoreCase(annotation.value().trim())) {
+                FacetUtil.addFacet(new JdoCacheableFacetFromAnnotation(processClassContext.getFacetHolder()));
+            }
+            return;
+        }
+
+        for (Class<?> each = cls; each != null; each = each.getSuperclass()) {
+            if (getCacheableTypeNames().contains(each.getName())) {
+                FacetUtil.addFacet(new JdoCacheableFacetFromConfiguration(processClassContext.getFacetHolder()));
+                return;
+            }
+        }
+    }
+
+    private Set<String> getCacheableTypeNames() {
+        if (cacheableTypeNames == null) {
+            final ImmutableSet.Builder<String> builder = ImmutableSet.builder();
+            for (final String typeName : getConfiguration().getList(CACHEABLE_TYPES_KEY)) {
+                if (!typeName.trim().isEmpty()) {
+                    builder.add(typeName.trim());
+                }
+            }
+            cacheableTypeNames = builder.build();
+        }
+        return cacheableTypeNames;
+    }
+
+}
@@ -60,7 +60,8 @@ public static SpecificationLoader createObjectReflector(
             programmingModel.refineMetaModelValidator(metaModelValidator, configuration);
         }
 
-        return new SpecificationLoader(programmingModel, metaModelValidator, layoutMetadataReaders, servicesInjector);
+        return new SpecificationLoader(
+                configuration, programmingModel, metaModelValidator, layoutMetadataReaders, servicesInjector);
     }
 
 }
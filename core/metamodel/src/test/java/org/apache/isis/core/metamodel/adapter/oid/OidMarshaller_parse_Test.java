@@ -0,0 +1,352 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.metamodel.adapter.oid;
+
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.google.common.base.Strings;
+import com.google.common.collect.Lists;
+
+import org.junit.Test;
+
+import org.apache.isis.core.metamodel.adapter.oid.Oid.State;
+import org.apache.isis.core.metamodel.adapter.version.Version;
+import org.apache.isis.core.metamodel.spec.ObjectSpecId;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Checks that the (hand-written) parser of {@link OidMarshaller} is equivalent to the regular expression it replaced,
+ * for large numbers of randomly generated (valid and invalid) oid strings.
+ */
+public class OidMarshaller_parse_Test {
+
+    private static final int ITERATIONS = 20000;
+
+    private final OidMarshaller oidMarshaller = OidMarshaller.INSTANCE;
+    private final Random random = new Random(20161019L);
+
+    @Test
+    public void equivalent_for_random_strings() throws Exception {
+        final String alphabet = "!*:~$^#0129aZ .\n\r ";
+        for (int i = 0; i < ITERATIONS; i++) {
+            final StringBuilder buf = new StringBuilder();
+            final int length = random.nextInt(16);
+            for (int j = 0; j < length; j++) {
+                buf.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            assertEquivalent(buf.toString());
+        }
+    }
+
+    @Test
+    public void equivalent_for_generated_oids_and_mutations_of_them() throws Exception {
+        for (int i = 0; i < ITERATIONS; i++) {
+            final String oidStr = generateOidStr();
+            assertEquivalent(oidStr);
+            assertEquivalent(mutate(oidStr));
+        }
+    }
+
+    @Test
+    public void equivalent_for_edge_cases() throws Exception {
+        for (final String oidStr : new String[] {
+                "", ":", "!", "*", "!:1", "*:1", "!!CUS:1", "**CUS:1", "!*CUS:1", "CUS:", ":123",
+                "CUS:123", "!CUS:123", "*CUS:123", "CUS:123$items", "!CUS:123$items", "CUS:123$",
+                "CUS:123~NME:2", "CUS:123~NME:2$items", "CUS:123~NME", "CUS:123~", "CUS:123#x",
+                "CUS:123^1::", "CUS:123^1:fred:", "CUS:123^1::98", "CUS:123^1:fred:98", "CUS:123^1:fred",
+                "CUS:123^:fred:98", "CUS:123^a::", "CUS:123^1::9a", "CUS:123$items^1:fred:98",
+                "CUS:123^1::98\n", "CUS:123^1::98\r\n", "CUS:123^1::98\n\n", "CUS:123^1:: ",
+                "CUS:123\n", "CUS:1:2", "CUS:1^99999999999999999999::"
+        }) {
+            assertEquivalent(oidStr);
+        }
+    }
+
+    @Test
+    public void marshal_roundtrips() throws Exception {
+        for (int i = 0; i < ITERATIONS; i++) {
+            final String oidStr = generateOidStr();
+            final Outcome outcome = Outcome.of(oidMarshaller, oidStr);
+            if(outcome.oid == null) {
+                continue;
+            }
+            final String marshalled = outcome.oid.enString();
+            assertThat(marshalled, is(RegexOidMarshaller.marshal(outcome.oid)));
+            assertThat(Outcome.of(oidMarshaller, marshalled).toString(), is(outcome.toString()));
+        }
+    }
+
+    @Test
+    public void object_spec_ids_are_interned() throws Exception {
+        final RootOid oid1 = oidMarshaller.unmarshal("CUS:123", RootOid.class);
+        final RootOid oid2 = oidMarshaller.unmarshal("CUS:456", RootOid.class);
+        assertThat(oid1.getObjectSpecId(), is(sameInstance(oid2.getObjectSpecId())));
+    }
+
+    @Test
+    public void cached_parse_still_returns_new_oids() throws Exception {
+        oidMarshaller.setCacheSize(10);
+        try {
+            final RootOid oid1 = oidMarshaller.unmarshal("CUS:123^1::", RootOid.class);
+            final RootOid oid2 = oidMarshaller.unmarshal("CUS:123^1::", RootOid.class);
+            assertThat(oid1 == oid2, is(false));
+            assertThat(oid1, is(oid2));
+
+            // since oids are mutable
+            oid1.setVersion(Version.create(2L));
+            assertThat(oidMarshaller.unmarshal("CUS:123^1::", RootOid.class).getVersion().getSequence(), is(1L));
+        } finally {
+            oidMarshaller.setCacheSize(0);
+        }
+    }
+
+    private void assertEquivalent(final String oidStr) {
+        final String expected = Outcome.of(new RegexOidMarshaller(), oidStr).toString();
+        final String actual = Outcome.of(oidMarshaller, oidStr).toString();
+        assertThat("for '" + oidStr + "'", actual, is(expected));
+    }
+
+    //region > generators
+
+    private String generateOidStr() {
+        final StringBuilder buf = new StringBuilder();
+        switch (random.nextInt(4)) {
+        case 0:
+            buf.append('!');
+            break;
+        case 1:
+            buf.append('*');
+            break;
+        default:
+        }
+        buf.append(word()).append(':').append(word());
+        if(random.nextInt(8) == 0) {
+            buf.append('~').append(word()).append(':').append(word());
+        }
+        if(random.nextInt(3) == 0) {
+            buf.append('$').append(word());
+        }
+        if(random.nextBoolean()) {
+            buf.append('^').append(random.nextInt(1000)).append(':');
+            if(random.nextBoolean()) {
+                buf.append(word());
+            }
+            buf.append(':');
+            if(random.nextBoolean()) {
+                buf.append(Math.abs(random.nextLong()));
+            }
+        }
+        return buf.toString();
+    }
+
+    private String word() {
+        final String alphabet = "abcXYZ0189!*-_. ";
+        final StringBuilder buf = new StringBuilder();
+        final int length = 1 + random.nextInt(6);
+        for (int i = 0; i < length; i++) {
+            buf.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return buf.toString();
+    }
+
+    private String mutate(final String str) {
+        final String alphabet = "!*:~$^#0a\n";
+        final StringBuilder buf = new StringBuilder(str);
+        final int pos = random.nextInt(buf.length() + 1);
+        switch (random.nextInt(3)) {
+        case 0: // insert
+            buf.insert(pos, alphabet.charAt(random.nextInt(alphabet.length())));
+            break;
+        case 1: // delete
+            if(pos < buf.length()) {
+                buf.deleteCharAt(pos);
+            }
+            break;
+        default: // replace
+            if(pos < buf.length()) {
+                buf.setCharAt(pos, alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+        }
+        return buf.toString();
+    }
+
+    //endregion
+
+    //region > Outcome
+
+    interface Unmarshaller {
+        <T extends Oid> T unmarshal(String oidStr, Class<T> requestedType);
+    }
+
+    /**
+     * The result of unmarshalling, or the exception thrown.
+     */
+    static class Outcome {
+
+        static Outcome of(final OidMarshaller oidMarshaller, final String oidStr) {
+            return of(new Unmarshaller() {
+                @Override
+                public <T extends Oid> T unmarshal(final String oidStr, final Class<T> requestedType) {
+                    return oidMarshaller.unmarshal(oidStr, requestedType);
+                }
+            }, oidStr);
+        }
+
+        static Outcome of(final Unmarshaller unmarshaller, final String oidStr) {
+            try {
+                return new Outcome(unmarshaller.unmarshal(oidStr, Oid.class), null);
+            } catch(final RuntimeException ex) {
+                return new Outcome(null, ex);
+            }
+        }
+
+        final Oid oid;
+        private final RuntimeException exception;
+
+        private Outcome(final Oid oid, final RuntimeException exception) {
+            this.oid = oid;
+            this.exception = exception;
+        }
+
+        @Override
+        public String toString() {
+            if(exception != null) {
+                return exception.getClass().getName() + ": " + exception.getMessage();
+            }
+            if(oid instanceof ParentedCollectionOid) {
+                final ParentedCollectionOid collectionOid = (ParentedCollectionOid) oid;
+                return toString(collectionOid.getRootOid()) + " $" + collectionOid.getName();
+            }
+            return toString((RootOid) oid);
+        }
+
+        private static String toString(final RootOid rootOid) {
+            final Version version = rootOid.getVersion();
+            return rootOid.getClass().getSimpleName() + " " + rootOid.isTransient() + " " + rootOid.isViewModel() + " "
+                    + rootOid.getObjectSpecId() + " " + rootOid.getIdentifier() + " "
+                    + (version != null
+                        ? version.getSequence() + "/" + version.getUser() + "/" + version.getUtcTimestamp()
+                        : "-");
+        }
+    }
+
+    //endregion
+
+    //region > RegexOidMarshaller
+
+    /**
+     * The previous (regular expression based) implementation of {@link OidMarshaller#unmarshal(String, Class)}.
+     */
+    static class RegexOidMarshaller implements Unmarshaller {
+
+        private static final Pattern OIDSTR_PATTERN =
+                Pattern.compile("^((([!*])?([^:~$\\^#]+):([^:~$\\^#]+))((~[^:~$\\^#]+:[^:~$\\^#]+)*))([$][^:~$\\^#]+)?([\\^](\\d+):([^:~$\\^#]+)?:(\\d+)?)?$");
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T extends Oid> T unmarshal(final String oidStr, final Class<T> requestedType) {
+            final Matcher matcher = OIDSTR_PATTERN.matcher(oidStr);
+            if (!matcher.matches()) {
+                throw new IllegalArgumentException("Could not parse OID '" + oidStr + "'; should match pattern: " + patternOfOidMarshaller());
+            }
+            final String isTransientOrViewModelStr = getGroup(matcher, 3);
+            final State state;
+            if("!".equals(isTransientOrViewModelStr)) {
+                state = State.TRANSIENT;
+            } else if("*".equals(isTransientOrViewModelStr)) {
+                state = State.VIEWMODEL;
+            } else {
+                state = State.PERSISTENT;
+            }
+            final String rootObjectType = getGroup(matcher, 4);
+            final String rootIdentifier = getGroup(matcher, 5);
+            final String aggregateOidPart = getGroup(matcher, 6);
+            final String collectionPart = getGroup(matcher, 8);
+            final String collectionName = collectionPart != null ? collectionPart.substring(1) : null;
+            final Version version = Version.create(getGroup(matcher, 10), getGroup(matcher, 11), getGroup(matcher, 12));
+
+            if(collectionName == null) {
+                if(aggregateOidPart == null) {
+                    ensureCorrectType(oidStr, requestedType, RootOid.class);
+                    return (T) new RootOid(ObjectSpecId.of(rootObjectType), rootIdentifier, state, version);
+                } else {
+                    throw new RuntimeException("Aggregated Oids are no longer supported");
+                }
+            } else {
+                final String parentOidStr = getGroup(matcher, 1) + marshal(version);
+                final RootOid parentOid = this.unmarshal(parentOidStr, RootOid.class);
+                ensureCorrectType(oidStr, requestedType, ParentedCollectionOid.class);
+                return (T)new ParentedCollectionOid(parentOid, collectionName);
+            }
+        }
+
+        private static String patternOfOidMarshaller() {
+            // the error message should be unchanged
+            final List<String> parts = Lists.newArrayList();
+            try {
+                OidMarshaller.INSTANCE.unmarshal("#", Oid.class);
+            } catch(final IllegalArgumentException ex) {
+                parts.add(ex.getMessage().substring(ex.getMessage().indexOf("pattern: ") + "pattern: ".length()));
+            }
+            return parts.get(0);
+        }
+
+        private static <T> void ensureCorrectType(
+                final String oidStr, final Class<T> requestedType, final Class<? extends Oid> actualType) {
+            if(!requestedType.isAssignableFrom(actualType)) {
+                throw new IllegalArgumentException("OID '" + oidStr + "' does not represent a " + actualType.getSimpleName());
+            }
+        }
+
+        private static String getGroup(final Matcher matcher, final int group) {
+            return Strings.emptyToNull(matcher.group(group));
+        }
+
+        static String marshal(final Oid oid) {
+            if(oid instanceof ParentedCollectionOid) {
+                final ParentedCollectionOid collectionOid = (ParentedCollectionOid) oid;
+                return marshalNoVersion(collectionOid.getRootOid()) + "$" + collectionOid.getName() + marshal(collectionOid.getVersion());
+            }
+            final RootOid rootOid = (RootOid) oid;
+            return marshalNoVersion(rootOid) + marshal(rootOid.getVersion());
+        }
+
+        private static String marshalNoVersion(final RootOid rootOid) {
+            final String transientIndicator = rootOid.isTransient()? "!" : "";
+            final String viewModelIndicator = rootOid.isViewModel()? "*" : "";
+            return transientIndicator + viewModelIndicator + rootOid.getObjectSpecId() + ":" + rootOid.getIdentifier();
+        }
+
+        private static String marshal(final Version version) {
+            if(version == null) {
+                return "";
+            }
+            return "^" + version.getSequence() + ":" + Strings.nullToEmpty(version.getUser()) + ":" + (version.getUtcTimestamp() == null ? "" : "" + version.getUtcTimestamp());
+        }
+    }
+
+    //endregion
+
+}
@@ -0,0 +1,117 @@
+/**
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.apache.isis.core.metamodel.facets;
+
+import java.lang.reflect.InvocationTargetException;
+
+import org.junit.Test;
+
+import org.apache.isis.applib.Identifier;
+import org.apache.isis.applib.services.eventbus.ActionDomainEvent;
+import org.apache.isis.applib.services.eventbus.PropertyDomainEvent;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class DomainEventHelper_eventConstructors_Test {
+
+    public static class SomeDomainObject {
+    }
+
+    public static class NoArgEvent extends ActionDomainEvent<SomeDomainObject> {
+        private static final long serialVersionUID = 1L;
+        public NoArgEvent() {
+        }
+        public NoArgEvent(final SomeDomainObject source, final Identifier identifier, final Object... arguments) {
+            super(source, identifier, arguments);
+            throw new AssertionError("no-arg constructor should be preferred");
+        }
+    }
+
+    public static class LegacyEvent extends PropertyDomainEvent<SomeDomainObject, String> {
+        private static final long serialVersionUID = 1L;
+        public LegacyEvent(
+                final SomeDomainObject source, final Identifier identifier, final String oldValue, final String newValue) {
+            super(source, identifier, oldValue, newValue);
+        }
+    }
+
+    public static class FailingEvent extends ActionDomainEvent<SomeDomainObject> {
+        private static final long serialVersionUID = 1L;
+        public FailingEvent() {
+            throw new IllegalStateException("boom");
+        }
+    }
+
+    private final Identifier identifier = Identifier.propertyOrCollectionIdentifier(SomeDomainObject.class, "name");
+
+    @Test
+    public void resolved_once_per_type() throws Exception {
+        final DomainEventHelper.EventConstructors constructors = DomainEventHelper.EventConstructors.of(NoArgEvent.class);
+        assertThat(DomainEventHelper.EventConstructors.of(NoArgEvent.class), is(sameInstance(constructors)));
+        assertThat(constructors.noArgConstructor, is(notNullValue()));
+        assertThat(constructors.threeArgConstructors.size(), is(1));
+    }
+
+    @Test
+    public void no_arg_constructor_then_setters() throws Exception {
+        final SomeDomainObject sdo = new SomeDomainObject();
+        final ActionDomainEvent<SomeDomainObject> ev =
+                DomainEventHelper.newActionDomainEvent(NoArgEvent.class, identifier, sdo, 1, "bar");
+        assertThat(ev, is(instanceOf(NoArgEvent.class)));
+        assertThat(ev.getSource(), is(sdo));
+        assertThat(ev.getArguments().size(), is(2));
+    }
+
+    @Test
+    public void legacy_constructor_with_null_old_value() throws Exception {
+        final SomeDomainObject sdo = new SomeDomainObject();
+        final PropertyDomainEvent<SomeDomainObject, String> ev =
+                DomainEventHelper.newPropertyDomainEvent(LegacyEvent.class, identifier, sdo, null, "new");
+        assertThat(ev, is(instanceOf(LegacyEvent.class)));
+        assertThat(ev.getSource(), is(sdo));
+        assertThat(ev.getOldValue(), is(nullValue()));
+        assertThat(ev.getNewValue(), is("new"));
+    }
+
+    @Test
+    public void legacy_constructor_not_matching_runtime_types() throws Exception {
+        try {
+            DomainEventHelper.newPropertyDomainEvent(
+                    (Class) LegacyEvent.class, identifier, new SomeDomainObject(), null, Integer.valueOf(1));
+            fail();
+        } catch(final NoSuchMethodException ex) {
+            // expected
+        }
+    }
+
+    @Test
+    public void exception_thrown_by_constructor_is_wrapped() throws Exception {
+        try {
+            DomainEventHelper.newActionDomainEvent(FailingEvent.class, identifier, new SomeDomainObject());
+            fail();
+        } catch(final InvocationTargetException ex) {
+            assertThat(ex.getCause(), is(instanceOf(IllegalStateException.class)));
+        }
+    }
+
+}
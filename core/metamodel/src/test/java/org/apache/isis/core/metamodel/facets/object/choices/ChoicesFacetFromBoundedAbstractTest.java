@@ -0,0 +1,258 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.metamodel.facets.object.choices;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.List;
+
+import com.google.common.collect.Lists;
+
+import org.jmock.Expectations;
+import org.jmock.auto.Mock;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.applib.Identifier;
+import org.apache.isis.applib.events.VisibilityEvent;
+import org.apache.isis.applib.filter.Filter;
+import org.apache.isis.applib.query.Query;
+import org.apache.isis.core.commons.authentication.AuthenticationSession;
+import org.apache.isis.core.commons.authentication.AuthenticationSessionProvider;
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.adapter.oid.RootOid;
+import org.apache.isis.core.metamodel.consent.InteractionInitiatedBy;
+import org.apache.isis.core.metamodel.deployment.DeploymentCategory;
+import org.apache.isis.core.metamodel.facetapi.Facet;
+import org.apache.isis.core.metamodel.facetapi.FacetAbstract;
+import org.apache.isis.core.metamodel.facetapi.FacetHolder;
+import org.apache.isis.core.metamodel.facets.ImperativeFacet;
+import org.apache.isis.core.metamodel.facets.object.hidden.HiddenObjectFacet;
+import org.apache.isis.core.metamodel.interactions.HidingInteractionAdvisor;
+import org.apache.isis.core.metamodel.interactions.VisibilityContext;
+import org.apache.isis.core.metamodel.services.ServicesInjector;
+import org.apache.isis.core.metamodel.services.choices.BoundedChoicesCacheServiceInternal;
+import org.apache.isis.core.metamodel.services.persistsession.PersistenceSessionServiceInternal;
+import org.apache.isis.core.metamodel.spec.ObjectSpecId;
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class ChoicesFacetFromBoundedAbstractTest {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private ObjectSpecification mockSpec;
+    @Mock
+    private ServicesInjector mockServicesInjector;
+    @Mock
+    private PersistenceSessionServiceInternal mockPersistenceSessionServiceInternal;
+    @Mock
+    private AuthenticationSessionProvider mockAuthenticationSessionProvider;
+    @Mock
+    private AuthenticationSession mockFredSession;
+    @Mock
+    private AuthenticationSession mockMarySession;
+    @Mock
+    private ObjectAdapter mockFredsAdapter;
+    @Mock
+    private ObjectAdapter mockMarysAdapter;
+
+    public static class Customer {
+        private final String owner;
+        public Customer(final String owner) {
+            this.owner = owner;
+        }
+    }
+
+    private final ObjectSpecId specId = ObjectSpecId.of("CUS");
+    private final Customer fredsCustomer = new Customer("fred");
+    private final Customer marysCustomer = new Customer("mary");
+    private final RootOid fredsOid = RootOid.create(specId, "1");
+    private final RootOid marysOid = RootOid.create(specId, "2");
+
+    private final List<Facet> hidingFacets = Lists.newArrayList();
+    private AuthenticationSession currentSession;
+
+    private BoundedChoicesCacheServiceInternal cacheService;
+    private ChoicesFacetFromBoundedAbstract facet;
+
+    @Before
+    public void setUp() throws Exception {
+        cacheService = new BoundedChoicesCacheServiceInternal();
+        cacheService.init(Collections.<String, String>emptyMap());
+
+        final List<String> roles = Lists.newArrayList("user_role");
+        context.checking(new Expectations() {{
+            allowing(mockServicesInjector).lookupService(BoundedChoicesCacheServiceInternal.class);
+            will(returnValue(cacheService));
+
+            allowing(mockSpec).getFullIdentifier();
+            will(returnValue(Customer.class.getName()));
+            allowing(mockSpec).getSpecId();
+            will(returnValue(specId));
+            allowing(mockSpec).getIdentifier();
+            will(returnValue(Identifier.classIdentifier(Customer.class)));
+            allowing(mockSpec).getFacets(with(any(Filter.class)));
+            will(returnValue(hidingFacets));
+
+            allowing(mockPersistenceSessionServiceInternal).allMatchingQuery(with(any(Query.class)));
+            will(returnValue(Lists.newArrayList(mockFredsAdapter, mockMarysAdapter)));
+            allowing(mockPersistenceSessionServiceInternal).getAdapterFor(fredsOid);
+            will(returnValue(mockFredsAdapter));
+            allowing(mockPersistenceSessionServiceInternal).getAdapterFor(marysOid);
+            will(returnValue(mockMarysAdapter));
+
+            allowing(mockFredSession).getUserName();
+            will(returnValue("fred"));
+            allowing(mockFredSession).getRoles();
+            will(returnValue(roles));
+            allowing(mockMarySession).getUserName();
+            will(returnValue("mary"));
+            allowing(mockMarySession).getRoles();
+            will(returnValue(roles));
+        }});
+        allowingAdapter(mockFredsAdapter, fredsOid, fredsCustomer);
+        allowingAdapter(mockMarysAdapter, marysOid, marysCustomer);
+
+        facet = new ChoicesFacetFromBoundedAbstract(
+                mockSpec, DeploymentCategory.PRODUCTION, new AuthenticationSessionProvider() {
+                    @Override
+                    public AuthenticationSession getAuthenticationSession() {
+                        return currentSession;
+                    }
+                }, mockPersistenceSessionServiceInternal, mockServicesInjector) {};
+    }
+
+    private void allowingAdapter(final ObjectAdapter mockAdapter, final RootOid oid, final Customer pojo) {
+        context.checking(new Expectations() {{
+            allowing(mockAdapter).getOid();
+            will(returnValue(oid));
+            allowing(mockAdapter).representsPersistent();
+            will(returnValue(true));
+            allowing(mockAdapter).isDestroyed();
+            will(returnValue(false));
+            allowing(mockAdapter).getSpecification();
+            will(returnValue(mockSpec));
+            allowing(mockAdapter).getObject();
+            will(returnValue(pojo));
+        }});
+    }
+
+    /**
+     * Hides each customer from all but its owner, irrespective of roles.
+     */
+    class HiddenUnlessOwnerFacet extends FacetAbstract implements HidingInteractionAdvisor {
+        HiddenUnlessOwnerFacet(final FacetHolder holder) {
+            super(HiddenObjectFacet.class, holder, Derivation.NOT_DERIVED);
+        }
+
+        @Override
+        public String hides(final VisibilityContext<? extends VisibilityEvent> ic) {
+            final Customer customer = (Customer) ic.getTarget().getObject();
+            return customer.owner.equals(currentSession.getUserName()) ? null : "Not yours";
+        }
+    }
+
+    class HiddenUnlessOwnerFacetViaMethod extends HiddenUnlessOwnerFacet implements ImperativeFacet {
+        HiddenUnlessOwnerFacetViaMethod(final FacetHolder holder) {
+            super(holder);
+        }
+
+        @Override
+        public List<Method> getMethods() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public Intent getIntent(final Method method) {
+            return Intent.CHECK_IF_HIDDEN;
+        }
+    }
+
+    @Test
+    public void users_with_same_roles_see_only_their_own_choices() throws Exception {
+
+        // given
+        hidingFacets.add(new HiddenUnlessOwnerFacet(mockSpec));
+
+        // when
+        currentSession = mockFredSession;
+        final Object[] fredsChoices = facet.getChoices(null, InteractionInitiatedBy.USER);
+
+        // then
+        assertThat(fredsChoices, is(new Object[] { fredsCustomer }));
+
+        // when
+        currentSession = mockMarySession;
+        final Object[] marysChoices = facet.getChoices(null, InteractionInitiatedBy.USER);
+
+        // then
+        assertThat(marysChoices, is(new Object[] { marysCustomer }));
+
+        // and when (served from cache)
+        currentSession = mockFredSession;
+        final Object[] fredsChoicesAgain = facet.getChoices(null, InteractionInitiatedBy.USER);
+
+        // then
+        assertThat(fredsChoicesAgain, is(new Object[] { fredsCustomer }));
+    }
+
+    @Test
+    public void visible_choices_not_cached_when_visibility_is_imperative() throws Exception {
+
+        // given
+        hidingFacets.add(new HiddenUnlessOwnerFacetViaMethod(mockSpec));
+        assertThat(ImperativeFacet.Util.isVisibilityImperative(mockSpec), is(true));
+
+        // when
+        currentSession = mockFredSession;
+        final Object[] fredsChoices = facet.getChoices(null, InteractionInitiatedBy.USER);
+
+        // then
+        assertThat(fredsChoices, is(new Object[] { fredsCustomer }));
+        assertThat(cacheService.getAllOids(mockSpec), is(notNullValue()));
+        assertThat(cacheService.getVisibleOids(mockSpec, "user:fred;roles:[user_role]"), is(nullValue()));
+    }
+
+    @Test
+    public void visible_choices_cached_when_visibility_is_not_imperative() throws Exception {
+
+        // given
+        hidingFacets.add(new HiddenUnlessOwnerFacet(mockSpec));
+        assertThat(ImperativeFacet.Util.isVisibilityImperative(mockSpec), is(false));
+
+        // when
+        currentSession = mockFredSession;
+        facet.getChoices(null, InteractionInitiatedBy.USER);
+
+        // then
+        assertThat(cacheService.getVisibleOids(mockSpec, "user:fred;roles:[user_role]"),
+                is((List<RootOid>) Lists.newArrayList(fredsOid)));
+    }
+
+}
@@ -0,0 +1,141 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.metamodel.facets.object.grid;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.google.common.collect.Lists;
+
+import org.jmock.Expectations;
+import org.jmock.auto.Mock;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.applib.layout.component.Grid;
+import org.apache.isis.applib.layout.grid.bootstrap3.BS3Grid;
+import org.apache.isis.applib.services.grid.GridService;
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class GridFacetDefault_getGrid_Test {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    GridService mockGridService;
+
+    @Mock
+    ObjectSpecification mockObjectSpecification;
+
+    public static class Customer {}
+
+    private BS3Grid grid;
+    private GridFacet gridFacet;
+
+    @Before
+    public void setUp() throws Exception {
+        grid = new BS3Grid();
+        context.checking(new Expectations() {{
+            allowing(mockObjectSpecification).getCorrespondingClass();
+            will(returnValue(Customer.class));
+        }});
+        gridFacet = GridFacetDefault.create(mockObjectSpecification, mockGridService);
+    }
+
+    @Test
+    public void when_not_reloading_then_loaded_and_normalized_only_once_even_if_concurrent() throws Exception {
+
+        // given
+        context.checking(new Expectations() {{
+            allowing(mockGridService).supportsReloading();
+            will(returnValue(false));
+
+            oneOf(mockGridService).load(Customer.class);
+            will(returnValue(grid));
+
+            oneOf(mockGridService).normalize(grid);
+            will(returnValue(grid));
+        }});
+
+        // when
+        final int numThreads = 8;
+        final CountDownLatch startSignal = new CountDownLatch(1);
+        final ExecutorService executorService = Executors.newFixedThreadPool(numThreads);
+        try {
+            final List<Future<Grid>> futures = Lists.newArrayList();
+            for (int i = 0; i < numThreads; i++) {
+                futures.add(executorService.submit(new Callable<Grid>() {
+                    @Override
+                    public Grid call() throws Exception {
+                        startSignal.await();
+                        return gridFacet.getGrid();
+                    }
+                }));
+            }
+            startSignal.countDown();
+
+            // then
+            for (final Future<Grid> future : futures) {
+                assertThat(future.get(), is(sameInstance((Grid) grid)));
+            }
+        } finally {
+            executorService.shutdown();
+        }
+
+        assertThat(gridFacet.getGrid(), is(sameInstance((Grid) grid)));
+    }
+
+    @Test
+    public void when_reloading_then_loaded_each_time() throws Exception {
+
+        // given
+        final BS3Grid reloadedGrid = new BS3Grid();
+        context.checking(new Expectations() {{
+            allowing(mockGridService).supportsReloading();
+            will(returnValue(true));
+
+            oneOf(mockGridService).load(Customer.class);
+            will(returnValue(grid));
+            oneOf(mockGridService).normalize(grid);
+            will(returnValue(grid));
+
+            oneOf(mockGridService).load(Customer.class);
+            will(returnValue(reloadedGrid));
+            oneOf(mockGridService).normalize(reloadedGrid);
+            will(returnValue(reloadedGrid));
+        }});
+
+        // when, then
+        assertThat(gridFacet.getGrid(), is(sameInstance((Grid) grid)));
+        assertThat(gridFacet.getGrid(), is(sameInstance((Grid) reloadedGrid)));
+    }
+
+}
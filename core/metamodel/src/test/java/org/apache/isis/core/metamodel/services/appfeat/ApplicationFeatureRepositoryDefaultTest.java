@@ -326,4 +326,66 @@ public void parentAlreadyEncountered() throws Exception {
 
     }
 
-}
\ No newline at end of file
+    public static class ClassNamesRecursivelyContainedIn extends ApplicationFeatureRepositoryDefaultTest {
+
+        @Before
+        public void setUp() throws Exception {
+            super.setUp();
+
+            context.checking(new Expectations() {{
+                allowing(mockServiceRegistry).getRegisteredServices();
+                will(returnValue(Lists.newArrayList()));
+
+                allowing(mockSpecificationLoader).allSpecifications();
+                will(returnValue(Lists.newArrayList()));
+            }});
+
+            givenPackage("com.mycompany");
+            givenPackage("com.mycompany.sub");
+            givenPackage("com.mycompanyx");
+            givenClass("com.mycompany.sub.Baz");
+            givenClass("com.mycompany.Bar");
+            givenClass("com.mycompanyx.Qux");
+            givenClass("com.mycompany.Abc");
+        }
+
+        private void givenPackage(final String packageFqn) {
+            final ApplicationFeatureId packageId = ApplicationFeatureId.newPackage(packageFqn);
+            applicationFeatureRepository.packageFeatures.put(packageId, new ApplicationFeature(packageId));
+        }
+
+        private void givenClass(final String classFqn) {
+            final ApplicationFeatureId classId = ApplicationFeatureId.newClass(classFqn);
+            applicationFeatureRepository.classFeatures.put(classId, new ApplicationFeature(classId));
+        }
+
+        @Test
+        public void includes_subpackages_in_feature_order() throws Exception {
+            assertThat(applicationFeatureRepository.classNamesRecursivelyContainedIn("com.mycompany"),
+                    contains("Abc", "Bar", "Baz"));
+        }
+
+        @Test
+        public void leaf_package() throws Exception {
+            assertThat(applicationFeatureRepository.classNamesRecursivelyContainedIn("com.mycompany.sub"),
+                    contains("Baz"));
+        }
+
+        @Test
+        public void unknown_package() throws Exception {
+            assertThat(applicationFeatureRepository.classNamesRecursivelyContainedIn("com.other").isEmpty(),
+                    is(true));
+        }
+
+        @Test
+        public void all_classes_are_sorted() throws Exception {
+            final List<String> classNames = Lists.newArrayList();
+            for (final ApplicationFeature feature : applicationFeatureRepository.allClasses()) {
+                classNames.add(feature.getFeatureId().getFullyQualifiedName());
+            }
+            assertThat(classNames, contains(
+                    "com.mycompany.Abc", "com.mycompany.Bar", "com.mycompany.sub.Baz", "com.mycompanyx.Qux"));
+        }
+    }
+
+}
@@ -0,0 +1,136 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.metamodel.services.choices;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+
+import org.jmock.Expectations;
+import org.jmock.auto.Mock;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.core.metamodel.adapter.oid.RootOid;
+import org.apache.isis.core.metamodel.spec.ObjectSpecId;
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class BoundedChoicesCacheServiceInternal_Test {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private ObjectSpecification mockSpec;
+    @Mock
+    private ObjectSpecification mockSuperSpec;
+
+    private BoundedChoicesCacheServiceInternal service;
+
+    private final ObjectSpecId specId = ObjectSpecId.of("CUS");
+    private final List<RootOid> allOids = Lists.newArrayList(
+            RootOid.create(specId, "1"), RootOid.create(specId, "2"));
+    private final List<RootOid> visibleOids = Lists.newArrayList(RootOid.create(specId, "1"));
+
+    @Before
+    public void setUp() throws Exception {
+        context.checking(new Expectations() {{
+            allowing(mockSpec).getSpecId();
+            will(returnValue(specId));
+            allowing(mockSpec).superclass();
+            will(returnValue(mockSuperSpec));
+
+            allowing(mockSuperSpec).getSpecId();
+            will(returnValue(ObjectSpecId.of("PTY")));
+            allowing(mockSuperSpec).superclass();
+            will(returnValue(null));
+        }});
+
+        service = new BoundedChoicesCacheServiceInternal();
+        service.init(Collections.<String, String>emptyMap());
+    }
+
+    @Test
+    public void when_put_then_cached_per_user() throws Exception {
+        service.put(mockSpec, service.generationOf(mockSpec), allOids, "user:fred;roles:[user]", visibleOids);
+
+        assertThat(service.getAllOids(mockSpec), is(allOids));
+        assertThat(service.getVisibleOids(mockSpec, "user:fred;roles:[user]"), is(visibleOids));
+        assertThat(service.getVisibleOids(mockSpec, "user:mary;roles:[user]"), is(nullValue()));
+    }
+
+    @Test
+    public void when_put_without_visible_then_only_all_cached() throws Exception {
+        service.put(mockSpec, service.generationOf(mockSpec), allOids);
+
+        assertThat(service.getAllOids(mockSpec), is(allOids));
+        assertThat(service.getVisibleOids(mockSpec, null), is(nullValue()));
+    }
+
+    @Test
+    public void when_invalidated_then_no_longer_cached() throws Exception {
+        service.put(mockSpec, service.generationOf(mockSpec), allOids, null, visibleOids);
+
+        service.invalidate(Collections.singletonList(mockSpec));
+
+        assertThat(service.getAllOids(mockSpec), is(nullValue()));
+        assertThat(service.getVisibleOids(mockSpec, null), is(nullValue()));
+    }
+
+    @Test
+    public void when_invalidated_while_loading_then_not_cached() throws Exception {
+        final long generation = service.generationOf(mockSpec);
+
+        service.invalidate(Collections.singletonList(mockSpec));
+        service.put(mockSpec, generation, allOids, null, visibleOids);
+
+        assertThat(service.getAllOids(mockSpec), is(nullValue()));
+    }
+
+    @Test
+    public void when_subtype_invalidated_then_supertype_invalidated_too() throws Exception {
+        final List<RootOid> superOids = Lists.newArrayList(RootOid.create(ObjectSpecId.of("PTY"), "9"));
+        service.put(mockSuperSpec, service.generationOf(mockSuperSpec), superOids, null, superOids);
+
+        service.invalidate(Collections.singletonList(mockSpec));
+
+        assertThat(service.getAllOids(mockSuperSpec), is(nullValue()));
+    }
+
+    @Test
+    public void when_disabled_then_nothing_cached() throws Exception {
+        final Map<String, String> properties = ImmutableMap.of(BoundedChoicesCacheServiceInternal.KEY_ENABLED, "false");
+        service.init(properties);
+
+        service.put(mockSpec, service.generationOf(mockSpec), allOids, null, visibleOids);
+
+        assertThat(service.getAllOids(mockSpec), is(nullValue()));
+    }
+
+}
@@ -0,0 +1,230 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.metamodel.services.repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.common.base.Predicate;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+
+import org.jmock.Expectations;
+import org.jmock.auto.Mock;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.applib.query.Query;
+import org.apache.isis.applib.services.xactn.TransactionService;
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.services.container.query.QueryFindAllInstancesInChunk;
+import org.apache.isis.core.metamodel.services.persistsession.PersistenceSessionServiceInternalNoop;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class RepositoryServiceInternalDefault_matches_Test {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private TransactionService mockTransactionService;
+
+    private RepositoryServiceInternalDefault repositoryService;
+
+    private List<ObjectAdapter> instances;
+    private List<String> queries;
+    private List<Integer> evicted;
+    private Set<Object> loaded;
+    private int loadedObjectsSnapshots;
+
+    private static final Predicate<Integer> EVEN = new Predicate<Integer>() {
+        @Override
+        public boolean apply(final Integer input) {
+            return input % 2 == 0;
+        }
+    };
+
+    @Before
+    public void setUp() throws Exception {
+        instances = Lists.newArrayList();
+        for (int i = 1; i <= 25; i++) {
+            final ObjectAdapter adapter = context.mock(ObjectAdapter.class, "adapter" + i);
+            final Integer pojo = i;
+            context.checking(new Expectations() {{
+                allowing(adapter).getObject();
+                will(returnValue(pojo));
+            }});
+            instances.add(adapter);
+        }
+        queries = Lists.newArrayList();
+        evicted = Lists.newArrayList();
+        loaded = Sets.newIdentityHashSet();
+
+        context.checking(new Expectations() {{
+            allowing(mockTransactionService).flushTransaction();
+        }});
+
+        repositoryService = new RepositoryServiceInternalDefault();
+        repositoryService.transactionService = mockTransactionService;
+        repositoryService.persistenceSessionServiceInternal = new PersistenceSessionServiceInternalNoop() {
+            @Override
+            public <T> List<ObjectAdapter> allMatchingQuery(final Query<T> query) {
+                assertThat(query, is(instanceOf(QueryFindAllInstancesInChunk.class)));
+                final int start = (int) query.getStart();
+                final int end = query.getCount() == 0
+                        ? instances.size()
+                        : (int) Math.min(instances.size(), query.getStart() + query.getCount());
+                queries.add(start + ".." + end);
+                return Lists.newArrayList(instances.subList(Math.min(start, instances.size()), end));
+            }
+
+            @Override
+            public void evict(final ObjectAdapter adapter) {
+                evicted.add((Integer) adapter.getObject());
+            }
+
+            @Override
+            public Set<Object> getLoadedObjects() {
+                loadedObjectsSnapshots++;
+                final Set<Object> loadedObjects = Sets.newIdentityHashSet();
+                loadedObjects.addAll(loaded);
+                return loadedObjects;
+            }
+        };
+        final Map<String, String> properties = ImmutableMap.of(
+                RepositoryServiceInternalDefault.KEY_PREDICATE_CHUNK_SIZE, "10");
+        repositoryService.init(properties);
+    }
+
+    @Test
+    public void firstMatch_stops_at_first_chunk_with_a_match() throws Exception {
+
+        // when
+        final Integer match = repositoryService.firstMatch(Integer.class, new Predicate<Integer>() {
+            @Override
+            public boolean apply(final Integer input) {
+                return input > 12;
+            }
+        });
+
+        // then
+        assertThat(match, is(13));
+        assertThat(queries, is((List<String>) Lists.newArrayList("0..10", "10..20")));
+        assertThat(evicted.size(), is(12));
+    }
+
+    @Test
+    public void does_not_evict_instances_loaded_beforehand() throws Exception {
+
+        // given
+        loaded.add(instances.get(2).getObject());
+        loaded.add(instances.get(4).getObject());
+
+        // when
+        final Integer match = repositoryService.firstMatch(Integer.class, new Predicate<Integer>() {
+            @Override
+            public boolean apply(final Integer input) {
+                return input > 12;
+            }
+        });
+
+        // then
+        assertThat(match, is(13));
+        assertThat(evicted, is((List<Integer>) Lists.newArrayList(1, 2, 4, 6, 7, 8, 9, 10, 11, 12)));
+    }
+
+    @Test
+    public void snapshot_of_instances_loaded_beforehand_taken_only_once() throws Exception {
+
+        // when
+        repositoryService.allMatches(Integer.class, EVEN);
+
+        // then
+        assertThat(queries, is((List<String>) Lists.newArrayList("0..10", "10..20", "20..25")));
+        assertThat(loadedObjectsSnapshots, is(1));
+    }
+
+    @Test
+    public void firstMatch_when_none() throws Exception {
+
+        // when
+        final Integer match = repositoryService.firstMatch(Integer.class, new Predicate<Integer>() {
+            @Override
+            public boolean apply(final Integer input) {
+                return false;
+            }
+        });
+
+        // then
+        assertThat(match, is(nullValue()));
+        assertThat(queries, is((List<String>) Lists.newArrayList("0..10", "10..20", "20..25")));
+        assertThat(evicted.size(), is(25));
+    }
+
+    @Test
+    public void allMatches_applies_range_to_matches() throws Exception {
+
+        // when
+        final List<Integer> matches = repositoryService.allMatches(Integer.class, EVEN, 3, 4);
+
+        // then
+        assertThat(matches, is((List<Integer>) Lists.newArrayList(8, 10, 12, 14)));
+        assertThat(queries, is((List<String>) Lists.newArrayList("0..10", "10..20")));
+    }
+
+    @Test
+    public void allMatches_without_range() throws Exception {
+
+        // when
+        final List<Integer> matches = repositoryService.allMatches(Integer.class, EVEN);
+
+        // then
+        assertThat(matches.size(), is(12));
+        assertThat(evicted.size(), is(13));
+    }
+
+    @Test
+    public void uniqueMatch_fetches_no_further_than_a_second_match() throws Exception {
+
+        // when
+        try {
+            repositoryService.uniqueMatch(Integer.class, new Predicate<Integer>() {
+                @Override
+                public boolean apply(final Integer input) {
+                    return input == 3 || input == 5 || input == 23;
+                }
+            });
+        } catch(final org.apache.isis.applib.RepositoryException ex) {
+            // then
+            assertThat(queries, is((List<String>) Lists.newArrayList("0..10")));
+            return;
+        }
+        throw new AssertionError("expected RepositoryException");
+    }
+
+}
@@ -0,0 +1,114 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.metamodel.specloader;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class IntrospectionLocksTest {
+
+    private IntrospectionLocks introspectionLocks;
+    private ExecutorService executorService;
+
+    @Before
+    public void setUp() throws Exception {
+        introspectionLocks = new IntrospectionLocks();
+        executorService = Executors.newFixedThreadPool(2);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    public void declines_when_already_owned_by_current_thread() throws Exception {
+        assertThat(introspectionLocks.acquire("Customer"), is(true));
+        assertThat(introspectionLocks.acquire("Customer"), is(false));
+
+        introspectionLocks.release("Customer");
+        assertThat(introspectionLocks.acquire("Customer"), is(true));
+    }
+
+    @Test
+    public void waits_until_released_by_other_thread() throws Exception {
+        assertThat(introspectionLocks.acquire("Customer"), is(true));
+
+        final Future<Boolean> acquiredByOther = executorService.submit(new Callable<Boolean>() {
+            @Override
+            public Boolean call() throws Exception {
+                final boolean acquired = introspectionLocks.acquire("Customer");
+                introspectionLocks.release("Customer");
+                return acquired;
+            }
+        });
+        Thread.sleep(100);
+        assertThat(acquiredByOther.isDone(), is(false));
+
+        introspectionLocks.release("Customer");
+        assertThat(acquiredByOther.get(5, TimeUnit.SECONDS), is(true));
+    }
+
+    @Test
+    public void declines_rather_than_deadlock() throws Exception {
+        final CountDownLatch bothOwned = new CountDownLatch(2);
+
+        final Future<Boolean> customerThenOrder = executorService.submit(acquireThenAcquire("Customer", "Order", bothOwned));
+        final Future<Boolean> orderThenCustomer = executorService.submit(acquireThenAcquire("Order", "Customer", bothOwned));
+
+        final boolean first = customerThenOrder.get(5, TimeUnit.SECONDS);
+        final boolean second = orderThenCustomer.get(5, TimeUnit.SECONDS);
+
+        // exactly one of the threads must have declined (and so been able to complete, and release its own lock)
+        assertThat(first ^ second, is(true));
+    }
+
+    private Callable<Boolean> acquireThenAcquire(
+            final String typeName, final String referencedTypeName, final CountDownLatch bothOwned) {
+        return new Callable<Boolean>() {
+            @Override
+            public Boolean call() throws Exception {
+                introspectionLocks.acquire(typeName);
+                bothOwned.countDown();
+                bothOwned.await();
+                try {
+                    final boolean acquired = introspectionLocks.acquire(referencedTypeName);
+                    if(acquired) {
+                        introspectionLocks.release(referencedTypeName);
+                    }
+                    return acquired;
+                } finally {
+                    introspectionLocks.release(typeName);
+                }
+            }
+        };
+    }
+
+}
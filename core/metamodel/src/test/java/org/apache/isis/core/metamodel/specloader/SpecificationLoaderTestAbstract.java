@@ -113,6 +113,7 @@ public void setUp() throws Exception {
 
         final SpecificationLoader specificationLoader =
                 new SpecificationLoader(
+                        stubConfiguration,
                         new ProgrammingModelFacetsJava5(stubConfiguration),
                         new MetaModelValidatorDefault(), Lists.<LayoutMetadataReader>newArrayList(
                                 new LayoutMetadataReaderFromJson()), stubServicesInjector);
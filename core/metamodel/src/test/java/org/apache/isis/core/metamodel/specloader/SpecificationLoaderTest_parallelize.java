@@ -0,0 +1,362 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.metamodel.specloader;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import com.google.common.collect.Lists;
+
+import org.jmock.Expectations;
+import org.jmock.auto.Mock;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.applib.annotation.DomainService;
+import org.apache.isis.applib.filter.Filters;
+import org.apache.isis.applib.services.grid.GridService;
+import org.apache.isis.applib.services.i18n.TranslationService;
+import org.apache.isis.core.commons.authentication.AuthenticationSessionProvider;
+import org.apache.isis.core.commons.config.IsisConfigurationDefault;
+import org.apache.isis.core.metamodel.deployment.DeploymentCategory;
+import org.apache.isis.core.metamodel.deployment.DeploymentCategoryProvider;
+import org.apache.isis.core.metamodel.facetapi.Facet;
+import org.apache.isis.core.metamodel.facetapi.FacetHolder;
+import org.apache.isis.core.metamodel.layoutmetadata.LayoutMetadataReader;
+import org.apache.isis.core.metamodel.layoutmetadata.json.LayoutMetadataReaderFromJson;
+import org.apache.isis.core.metamodel.metamodelvalidator.dflt.MetaModelValidatorDefault;
+import org.apache.isis.core.metamodel.services.ServicesInjector;
+import org.apache.isis.core.metamodel.services.msgbroker.MessageBrokerServiceInternal;
+import org.apache.isis.core.metamodel.services.persistsession.PersistenceSessionServiceInternal;
+import org.apache.isis.core.metamodel.services.transtate.TransactionStateProviderInternal;
+import org.apache.isis.core.metamodel.spec.ActionType;
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+import org.apache.isis.core.metamodel.spec.feature.Contributed;
+import org.apache.isis.core.metamodel.spec.feature.ObjectAction;
+import org.apache.isis.core.metamodel.spec.feature.ObjectActionParameter;
+import org.apache.isis.core.metamodel.spec.feature.ObjectAssociation;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+import org.apache.isis.progmodels.dflt.ProgrammingModelFacetsJava5;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Introspects a small domain (with cyclic references and a class hierarchy, reached from several services) both
+ * sequentially and in parallel, and compares dumps of the resultant metamodels.
+ */
+public class SpecificationLoaderTest_parallelize {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private DeploymentCategoryProvider mockDeploymentCategoryProvider;
+    @Mock
+    private AuthenticationSessionProvider mockAuthenticationSessionProvider;
+    @Mock
+    private GridService mockGridService;
+    @Mock
+    private PersistenceSessionServiceInternal mockPersistenceSessionServiceInternal;
+    @Mock
+    private TransactionStateProviderInternal mockTransactionStateProviderInternal;
+    @Mock
+    private MessageBrokerServiceInternal mockMessageBrokerServiceInternal;
+    @Mock
+    private TranslationService mockTranslationService;
+
+    @Before
+    public void setUp() throws Exception {
+        context.checking(new Expectations() {{
+            allowing(mockDeploymentCategoryProvider).getDeploymentCategory();
+            will(returnValue(DeploymentCategory.PRODUCTION));
+
+            ignoring(mockGridService).existsFor(with(any(Class.class)));
+
+            ignoring(mockPersistenceSessionServiceInternal);
+            ignoring(mockTransactionStateProviderInternal);
+            ignoring(mockMessageBrokerServiceInternal);
+
+            allowing(mockTranslationService).getMode();
+            will(returnValue(TranslationService.Mode.READ));
+            ignoring(mockTranslationService);
+        }});
+    }
+
+    @Test
+    public void parallel_introspection_yields_same_metamodel_as_sequential() throws Exception {
+
+        // given
+        final String sequentialDump = dumpMetaModel(false);
+        assertThat(sequentialDump, containsString("spec " + Customer.class.getName()));
+        assertThat(sequentialDump, containsString("subclasses=[" + Book.class.getName() + ", " + Music.class.getName() + "]"));
+
+        for (int i = 0; i < 10; i++) {
+
+            // when
+            final String parallelDump = dumpMetaModel(true);
+
+            // then
+            assertThat(parallelDump, is(sequentialDump));
+        }
+    }
+
+    private String dumpMetaModel(final boolean parallelize) {
+        final IsisConfigurationDefault configuration = new IsisConfigurationDefault(null);
+        configuration.add(SpecificationLoader.INTROSPECTOR_PARALLELIZE_KEY, "" + parallelize);
+        configuration.add(SpecificationLoader.INTROSPECTOR_THREADS_KEY, "4");
+
+        final ServicesInjector servicesInjector =
+                new ServicesInjector(
+                        Lists.newArrayList(
+                                mockAuthenticationSessionProvider,
+                                configuration,
+                                mockDeploymentCategoryProvider,
+                                mockPersistenceSessionServiceInternal,
+                                mockMessageBrokerServiceInternal,
+                                mockTransactionStateProviderInternal,
+                                mockGridService,
+                                mockTranslationService,
+                                new CustomerRepository(),
+                                new OrderRepository(),
+                                new ProductRepository()),
+                        configuration);
+
+        final SpecificationLoader specificationLoader =
+                new SpecificationLoader(
+                        configuration,
+                        new ProgrammingModelFacetsJava5(configuration),
+                        new MetaModelValidatorDefault(), Lists.<LayoutMetadataReader>newArrayList(
+                                new LayoutMetadataReaderFromJson()), servicesInjector);
+        servicesInjector.addFallbackIfRequired(SpecificationLoader.class, specificationLoader);
+
+        specificationLoader.init();
+        try {
+            return dump(specificationLoader);
+        } finally {
+            specificationLoader.shutdown();
+        }
+    }
+
+    private static String dump(final SpecificationLoader specificationLoader) {
+        final List<ObjectSpecification> specs = Lists.newArrayList(specificationLoader.allSpecifications());
+        Collections.sort(specs, new Comparator<ObjectSpecification>() {
+            @Override
+            public int compare(final ObjectSpecification o1, final ObjectSpecification o2) {
+                return o1.getFullIdentifier().compareTo(o2.getFullIdentifier());
+            }
+        });
+
+        final StringBuilder buf = new StringBuilder();
+        for (final ObjectSpecification spec : specs) {
+            if(!spec.getFullIdentifier().startsWith(SpecificationLoaderTest_parallelize.class.getName())) {
+                // the services provided by the framework (here, mocks) are not of interest
+                continue;
+            }
+            buf.append("spec ").append(spec.getFullIdentifier())
+               .append(" superclass=").append(spec.superclass() != null ? spec.superclass().getFullIdentifier() : null)
+               .append(" subclasses=").append(identifiersOf(spec.subclasses()))
+               .append(" facets=").append(facetsOf(spec)).append("\n");
+            for (final ObjectAssociation association : spec.getAssociations(Contributed.EXCLUDED)) {
+                buf.append("  association ").append(association.getId())
+                   .append(" type=").append(association.getSpecification().getFullIdentifier())
+                   .append(" facets=").append(facetsOf(association)).append("\n");
+            }
+            for (final ObjectAction action :
+                    spec.getObjectActions(ActionType.ALL, Contributed.EXCLUDED, Filters.<ObjectAction>any())) {
+                buf.append("  action ").append(action.getId())
+                   .append(" returns=").append(action.getReturnType().getFullIdentifier())
+                   .append(" facets=").append(facetsOf(action)).append("\n");
+                for (final ObjectActionParameter parameter : action.getParameters()) {
+                    buf.append("    parameter ").append(parameter.getId())
+                       .append(" type=").append(parameter.getSpecification().getFullIdentifier())
+                       .append(" facets=").append(facetsOf(parameter)).append("\n");
+                }
+            }
+        }
+        return buf.toString();
+    }
+
+    private static List<String> identifiersOf(final List<ObjectSpecification> specs) {
+        final List<String> identifiers = Lists.newArrayList();
+        for (final ObjectSpecification spec : specs) {
+            identifiers.add(spec.getFullIdentifier());
+        }
+        return identifiers;
+    }
+
+    private static SortedSet<String> facetsOf(final FacetHolder facetHolder) {
+        final SortedSet<String> facets = new TreeSet<>();
+        for (final Facet facet : facetHolder.getFacets(Filters.<Facet>any())) {
+            facets.add(facet.facetType().getSimpleName() + ":" + facet.getClass().getSimpleName());
+        }
+        return facets;
+    }
+
+    // //////////////////////////////////////
+
+    @DomainService
+    public static class CustomerRepository {
+        public List<Customer> findCustomers(final String name) {
+            return null;
+        }
+        public Customer newCustomer(final String name, final Address address) {
+            return null;
+        }
+    }
+
+    @DomainService
+    public static class OrderRepository {
+        public List<Order> findOrders(final Customer customer) {
+            return null;
+        }
+        public Order newOrder(final Customer customer, final Product product, final int quantity) {
+            return null;
+        }
+    }
+
+    @DomainService
+    public static class ProductRepository {
+        public Product findProduct(final String code) {
+            return null;
+        }
+        public List<Music> findMusic(final String artist) {
+            return null;
+        }
+        public List<Book> findBooks(final String author) {
+            return null;
+        }
+    }
+
+    public static class Customer {
+        public String getName() {
+            return null;
+        }
+        public void setName(final String name) {
+        }
+        public Address getAddress() {
+            return null;
+        }
+        public void setAddress(final Address address) {
+        }
+        public List<Order> getOrders() {
+            return null;
+        }
+        public void setOrders(final List<Order> orders) {
+        }
+        public Order placeOrder(final Product product, final int quantity) {
+            return null;
+        }
+    }
+
+    public static class Address {
+        public String getStreet() {
+            return null;
+        }
+        public void setStreet(final String street) {
+        }
+        public Customer getCustomer() {
+            return null;
+        }
+        public void setCustomer(final Customer customer) {
+        }
+    }
+
+    public static class Order {
+        public Customer getCustomer() {
+            return null;
+        }
+        public void setCustomer(final Customer customer) {
+        }
+        public List<OrderLine> getLines() {
+            return null;
+        }
+        public void setLines(final List<OrderLine> lines) {
+        }
+        public BigDecimal getAmount() {
+            return null;
+        }
+        public void setAmount(final BigDecimal amount) {
+        }
+        public OrderLine addLine(final Product product, final int quantity) {
+            return null;
+        }
+    }
+
+    public static class OrderLine {
+        public Order getOrder() {
+            return null;
+        }
+        public void setOrder(final Order order) {
+        }
+        public Product getProduct() {
+            return null;
+        }
+        public void setProduct(final Product product) {
+        }
+        public int getQuantity() {
+            return 0;
+        }
+        public void setQuantity(final int quantity) {
+        }
+    }
+
+    public static abstract class Product {
+        public String getCode() {
+            return null;
+        }
+        public void setCode(final String code) {
+        }
+        public List<OrderLine> getOrderLines() {
+            return null;
+        }
+        public void setOrderLines(final List<OrderLine> orderLines) {
+        }
+        public List<Customer> customers() {
+            return null;
+        }
+    }
+
+    public static class Music extends Product {
+        public String getArtist() {
+            return null;
+        }
+        public void setArtist(final String artist) {
+        }
+    }
+
+    public static class Book extends Product {
+        public String getAuthor() {
+            return null;
+        }
+        public void setAuthor(final String author) {
+        }
+        public List<Book> byTheSameAuthor() {
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,385 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.runtime.snapshot;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.List;
+
+import com.google.common.collect.Lists;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.jmock.Expectations;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.w3c.dom.Document;
+
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.adapter.oid.Oid;
+import org.apache.isis.core.metamodel.consent.InteractionInitiatedBy;
+import org.apache.isis.core.metamodel.facets.collections.modify.CollectionFacet;
+import org.apache.isis.core.metamodel.facets.object.encodeable.EncodableFacet;
+import org.apache.isis.core.metamodel.facets.object.parseable.ParseableFacet;
+import org.apache.isis.core.metamodel.facets.object.value.ValueFacet;
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+import org.apache.isis.core.metamodel.spec.feature.Contributed;
+import org.apache.isis.core.metamodel.spec.feature.ObjectAssociation;
+import org.apache.isis.core.metamodel.spec.feature.OneToManyAssociation;
+import org.apache.isis.core.metamodel.spec.feature.OneToOneAssociation;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Renders the same object graph with both {@link XmlSnapshot} and {@link StreamingXmlSnapshot}, and checks that the
+ * XML and XSD documents are the same.
+ */
+public class StreamingXmlSnapshot_Equivalence_Test {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    private ObjectSpecification stringSpec;
+    private ObjectSpecification customerSpec;
+    private ObjectSpecification addressSpec;
+    private ObjectSpecification orderSpec;
+    private ObjectSpecification productSpec;
+    private ObjectSpecification listSpec;
+
+    private ObjectAdapter customer;
+
+    @Before
+    public void setUp() throws Exception {
+        stringSpec = context.mock(ObjectSpecification.class, "stringSpec");
+        customerSpec = context.mock(ObjectSpecification.class, "customerSpec");
+        addressSpec = context.mock(ObjectSpecification.class, "addressSpec");
+        orderSpec = context.mock(ObjectSpecification.class, "orderSpec");
+        productSpec = context.mock(ObjectSpecification.class, "productSpec");
+        listSpec = context.mock(ObjectSpecification.class, "listSpec");
+
+        context.checking(new Expectations() {{
+            allowing(stringSpec).getFullIdentifier();
+            will(returnValue("java.lang.String"));
+            allowing(stringSpec).getShortIdentifier();
+            will(returnValue("string"));
+            allowing(stringSpec).containsFacet(ValueFacet.class);
+            will(returnValue(true));
+            allowing(stringSpec).getFacet(ParseableFacet.class);
+            will(returnValue(null));
+            allowing(stringSpec).getFacet(EncodableFacet.class);
+            will(returnValue(null));
+            allowing(stringSpec).getAssociations(Contributed.INCLUDED);
+            will(returnValue(Arrays.asList()));
+        }});
+    }
+
+    private void givenCustomer(final String nickname) {
+        final ObjectAdapter product = object("product", productSpec, "PRD:1", "Widget");
+        final ObjectAdapter address = object("address", addressSpec, "ADR:1", "1 High Street");
+        final ObjectAdapter order1 = object("order1", orderSpec, "ORD:1", "Order 1");
+        final ObjectAdapter order2 = object("order2", orderSpec, "ORD:2", "Order 2");
+        customer = object("customer", customerSpec, "CUS:1", "Joe Bloggs");
+
+        final ObjectAdapter orders = context.mock(ObjectAdapter.class, "orders");
+        final CollectionFacet collectionFacet = context.mock(CollectionFacet.class);
+        context.checking(new Expectations() {{
+            allowing(orders).getSpecification();
+            will(returnValue(listSpec));
+            allowing(listSpec).getFacet(CollectionFacet.class);
+            will(returnValue(collectionFacet));
+            allowing(collectionFacet).size(orders);
+            will(returnValue(2));
+            allowing(collectionFacet).iterable(orders);
+            will(returnValue(Arrays.asList(order1, order2)));
+        }});
+
+        spec(productSpec, "com.mycompany.Product", "Product",
+                value(productSpec, "code", "WDG-1"));
+        spec(addressSpec, "com.mycompany.Address", "Address",
+                value(addressSpec, "street", "High Street"));
+        spec(orderSpec, "com.mycompany.Order", "Order",
+                value(orderSpec, "reference", "ORD-1", "ORD-2"),
+                reference(orderSpec, "product", productSpec, product, product));
+        spec(customerSpec, "com.mycompany.Customer", "Customer",
+                value(customerSpec, "firstName", "Joe"),
+                value(customerSpec, "nickname", nickname),
+                reference(customerSpec, "address", addressSpec, address),
+                reference(customerSpec, "referredBy", customerSpec, (ObjectAdapter) null),
+                collection(customerSpec, "orders", orderSpec, orders));
+    }
+
+    @Test
+    public void without_includes() throws Exception {
+        givenCustomer("Jo");
+        assertEquivalent();
+    }
+
+    @Test
+    public void with_reference_included() throws Exception {
+        givenCustomer("Jo");
+        assertEquivalent("address");
+    }
+
+    @Test
+    public void with_collection_included() throws Exception {
+        givenCustomer("Jo");
+        assertEquivalent("orders");
+    }
+
+    @Test
+    public void with_references_within_collection_included() throws Exception {
+        givenCustomer("Jo");
+        assertEquivalent("orders/product", "address");
+    }
+
+    /**
+     * The XSD is not compared: {@link XmlSnapshot} derives the <tt>isis:datatype</tt> of a value from the value
+     * itself (so is empty for a null value), whereas {@link StreamingXmlSnapshot} derives it from the metamodel so
+     * that the XSD can be cached.
+     */
+    @Test
+    public void with_null_value() throws Exception {
+        givenCustomer(null);
+        final XmlSnapshot xmlSnapshot = new XmlSnapshot(customer);
+        xmlSnapshot.include("address");
+        final StreamingXmlSnapshot streamingSnapshot = new StreamingXmlSnapshot(customer);
+        streamingSnapshot.include("address");
+
+        final String streamingXml = streamingXmlOf(streamingSnapshot);
+        assertThat(streamingXml, containsString("<app:nickname/>"));
+        assertThat(streamingXml, is(xmlOf(xmlSnapshot)));
+    }
+
+    @Test
+    public void with_annotation() throws Exception {
+        givenCustomer("Jo");
+        final XmlSnapshot xmlSnapshot = new XmlSnapshot(customer);
+        xmlSnapshot.include("address", "important");
+        final StreamingXmlSnapshot streamingSnapshot = new StreamingXmlSnapshot(customer);
+        streamingSnapshot.include("address", "important");
+
+        final String streamingXml = streamingXmlOf(streamingSnapshot);
+        assertThat(streamingXml, containsString("annotation=\"isis:important\""));
+        assertThat(streamingXml, is(xmlOf(xmlSnapshot)));
+    }
+
+    private void assertEquivalent(final String... paths) throws Exception {
+        final XmlSnapshot xmlSnapshot = new XmlSnapshot(customer);
+        final StreamingXmlSnapshot streamingSnapshot = new StreamingXmlSnapshot(customer);
+        for (final String path : paths) {
+            xmlSnapshot.include(path);
+            streamingSnapshot.include(path);
+        }
+
+        assertThat(streamingSnapshot.getSchemaLocationFileName(), is(xmlSnapshot.getSchemaLocationFileName()));
+        assertThat(streamingXmlOf(streamingSnapshot), is(xmlOf(xmlSnapshot)));
+        assertThat(streamingSnapshot.getXsdDocumentAsString(), is(xmlSnapshot.getXsdDocumentAsString()));
+    }
+
+    /**
+     * Round-trips through a DOM so that both documents are serialized (attribute order, namespace declarations)
+     * in the same way.
+     */
+    private static String streamingXmlOf(final StreamingXmlSnapshot snapshot) throws Exception {
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        snapshot.writeXml(baos);
+        final DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
+        dbf.setNamespaceAware(true);
+        final Document document = dbf.newDocumentBuilder().parse(new ByteArrayInputStream(baos.toByteArray()));
+        return XmlSnapshot.asString(document);
+    }
+
+    private static String xmlOf(final XmlSnapshot snapshot) {
+        return XmlSnapshot.asString(snapshot.getXmlDocument());
+    }
+
+    //region > fixture
+
+    private ObjectAdapter object(
+            final String name,
+            final ObjectSpecification spec,
+            final String oidStr,
+            final String title) {
+        final ObjectAdapter adapter = context.mock(ObjectAdapter.class, name);
+        final Oid oid = context.mock(Oid.class, name + "Oid");
+        context.checking(new Expectations() {{
+            allowing(adapter).getSpecification();
+            will(returnValue(spec));
+            allowing(adapter).getObject();
+            will(returnValue(name));
+            allowing(adapter).getOid();
+            will(returnValue(oid));
+            allowing(oid).enString();
+            will(returnValue(oidStr));
+            allowing(adapter).titleString();
+            will(returnValue(title));
+        }});
+        return adapter;
+    }
+
+    private ObjectAdapter valueAdapter(final String name, final String title) {
+        final ObjectAdapter adapter = context.mock(ObjectAdapter.class, name);
+        context.checking(new Expectations() {{
+            allowing(adapter).getSpecification();
+            will(returnValue(stringSpec));
+            allowing(adapter).titleString();
+            will(returnValue(title));
+        }});
+        return adapter;
+    }
+
+    private void spec(
+            final ObjectSpecification spec,
+            final String fullIdentifier,
+            final String shortIdentifier,
+            final ObjectAssociation... associations) {
+        final List<ObjectAssociation> associationList = Arrays.asList(associations);
+        final List<String> associationIds = Lists.newArrayList();
+        for (final ObjectAssociation association : associationList) {
+            associationIds.add(association.getId());
+        }
+        context.checking(new Expectations() {{
+            allowing(spec).getFullIdentifier();
+            will(returnValue(fullIdentifier));
+            allowing(spec).getShortIdentifier();
+            will(returnValue(shortIdentifier));
+            allowing(spec).getSingularName();
+            will(returnValue(shortIdentifier));
+            allowing(spec).getPluralName();
+            will(returnValue(shortIdentifier + "s"));
+            allowing(spec).getFacetTypes();
+            will(returnValue(new Class[0]));
+            allowing(spec).containsFacet(ValueFacet.class);
+            will(returnValue(false));
+            allowing(spec).getAssociations(Contributed.INCLUDED);
+            will(returnValue(associationList));
+            for (int i = 0; i < associationList.size(); i++) {
+                allowing(spec).getAssociation(associationIds.get(i));
+                will(returnValue(associationList.get(i)));
+            }
+        }});
+    }
+
+    /**
+     * A value property; the owning objects (in iteration order of the collection) hold the supplied values.
+     */
+    private OneToOneAssociation value(
+            final ObjectSpecification ownerSpec,
+            final String id,
+            final String... values) {
+        final ObjectAdapter[] valueAdapters = new ObjectAdapter[values.length];
+        for (int i = 0; i < values.length; i++) {
+            valueAdapters[i] = values[i] != null ? valueAdapter(id + "Value" + i, values[i]) : null;
+        }
+        return oneToOne(ownerSpec, id, stringSpec, valueAdapters);
+    }
+
+    private OneToOneAssociation reference(
+            final ObjectSpecification ownerSpec,
+            final String id,
+            final ObjectSpecification referencedSpec,
+            final ObjectAdapter... referenced) {
+        return oneToOne(ownerSpec, id, referencedSpec, referenced);
+    }
+
+    private OneToOneAssociation oneToOne(
+            final ObjectSpecification ownerSpec,
+            final String id,
+            final ObjectSpecification spec,
+            final ObjectAdapter... returned) {
+        final OneToOneAssociation association = context.mock(OneToOneAssociation.class, ownerSpec + "#" + id);
+        context.checking(new Expectations() {{
+            allowing(association).getId();
+            will(returnValue(id));
+            allowing(association).getName();
+            will(returnValue(id.toUpperCase()));
+            allowing(association).getSpecification();
+            will(returnValue(spec));
+            allowing(association).getFacetTypes();
+            will(returnValue(new Class[0]));
+        }});
+        expectGet(association, ownerSpec, returned);
+        return association;
+    }
+
+    private OneToManyAssociation collection(
+            final ObjectSpecification ownerSpec,
+            final String id,
+            final ObjectSpecification elementSpec,
+            final ObjectAdapter collection) {
+        final OneToManyAssociation association = context.mock(OneToManyAssociation.class, ownerSpec + "#" + id);
+        context.checking(new Expectations() {{
+            allowing(association).getId();
+            will(returnValue(id));
+            allowing(association).getName();
+            will(returnValue(id.toUpperCase()));
+            allowing(association).getSpecification();
+            will(returnValue(elementSpec));
+            allowing(association).getFacetTypes();
+            will(returnValue(new Class[0]));
+        }});
+        expectGet(association, ownerSpec, collection);
+        return association;
+    }
+
+    /**
+     * The owners are identified by their spec; where there are several owners of the same spec (the orders), the
+     * returned adapters are matched up using the owner's pojo (its name).
+     */
+    private void expectGet(
+            final ObjectAssociation association,
+            final ObjectSpecification ownerSpec,
+            final ObjectAdapter... returned) {
+        context.checking(new Expectations() {{
+            if (returned.length <= 1) {
+                allowing(association).get(with(any(ObjectAdapter.class)), with(InteractionInitiatedBy.FRAMEWORK));
+                will(returnValue(returned.length == 0 ? null : returned[0]));
+            } else {
+                for (int i = 0; i < returned.length; i++) {
+                    allowing(association).get(with(ownerNamed("order" + (i + 1))), with(InteractionInitiatedBy.FRAMEWORK));
+                    will(returnValue(returned[i]));
+                }
+            }
+        }});
+    }
+
+    private static org.hamcrest.Matcher<ObjectAdapter> ownerNamed(final String name) {
+        return new org.hamcrest.TypeSafeMatcher<ObjectAdapter>() {
+            @Override
+            protected boolean matchesSafely(final ObjectAdapter item) {
+                return name.equals(item.getObject());
+            }
+
+            @Override
+            public void describeTo(final org.hamcrest.Description description) {
+                description.appendText("adapter for " + name);
+            }
+        };
+    }
+
+    //endregion
+
+}
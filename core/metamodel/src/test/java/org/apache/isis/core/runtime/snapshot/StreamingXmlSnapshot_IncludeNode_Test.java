@@ -0,0 +1,77 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.runtime.snapshot;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class StreamingXmlSnapshot_IncludeNode_Test {
+
+    private StreamingXmlSnapshot.IncludeNode root;
+
+    @Before
+    public void setUp() throws Exception {
+        root = new StreamingXmlSnapshot.IncludeNode();
+    }
+
+    @Test
+    public void paths_with_common_prefix_are_merged() throws Exception {
+        root.add("orders/product", null);
+        root.add("placeOfBirth", null);
+        root.add("orders/customer", null);
+
+        assertThat(root.toString(), is("{orders{customer,product},placeOfBirth}"));
+        assertThat(root.getChild("orders").getChild("product").getChild("anything"), is(nullValue()));
+        assertThat(root.getChild("unknown"), is(nullValue()));
+    }
+
+    @Test
+    public void canonical_form_is_independent_of_order_of_paths() throws Exception {
+        final StreamingXmlSnapshot.IncludeNode other = new StreamingXmlSnapshot.IncludeNode();
+
+        root.add("a/b", null);
+        root.add("c", null);
+        other.add("c", null);
+        other.add("a/b", null);
+
+        assertThat(root.toString(), is(other.toString()));
+    }
+
+    @Test
+    public void annotation_applies_to_last_field_of_path() throws Exception {
+        root.add("orders/product", "important");
+
+        assertThat(root.getChild("orders").getAnnotation(), is(nullValue()));
+        assertThat(root.getChild("orders").getChild("product").getAnnotation(), is("important"));
+    }
+
+    @Test
+    public void empty_path_is_ignored() throws Exception {
+        root.add("", "ignored");
+
+        assertThat(root.toString(), is("{}"));
+        assertThat(root.getAnnotation(), is(nullValue()));
+    }
+
+}
@@ -65,7 +65,7 @@ protected boolean matchesRange(final boolean ifMatches) {
         if (index++ < start){
             return false;
         }
-        if (countedSoFar++ < count){
+        if (count == 0 || countedSoFar++ < count){
             return true;
         }
         return false;
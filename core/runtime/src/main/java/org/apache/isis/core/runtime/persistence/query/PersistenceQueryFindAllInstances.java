@@ -30,14 +30,33 @@
  */
 public class PersistenceQueryFindAllInstances extends PersistenceQueryBuiltInAbstract {
 
+    private final boolean orderedByObjectId;
+
     public PersistenceQueryFindAllInstances(
             final ObjectSpecification specification,
             final SpecificationLoader specificationLoader,
             final long... range) {
+        this(specification, specificationLoader, false, range);
+    }
+
+    /**
+     * @param orderedByObjectId - whether the instances should be ordered by their object id, eg for
+     *                          {@link org.apache.isis.core.metamodel.services.container.query.QueryFindAllInstancesInChunk chunks}.
+     */
+    public PersistenceQueryFindAllInstances(
+            final ObjectSpecification specification,
+            final SpecificationLoader specificationLoader,
+            final boolean orderedByObjectId,
+            final long... range) {
         super(specification, specificationLoader, range);
+        this.orderedByObjectId = orderedByObjectId;
         index=0;
         countedSoFar=0;
     }
+
+    public boolean isOrderedByObjectId() {
+        return orderedByObjectId;
+    }
     
 
     /**
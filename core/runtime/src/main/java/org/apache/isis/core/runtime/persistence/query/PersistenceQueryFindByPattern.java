@@ -21,6 +21,8 @@
 
 import java.util.List;
 
+import com.google.common.collect.Lists;
+
 import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
 import org.apache.isis.core.metamodel.consent.InteractionInitiatedBy;
 import org.apache.isis.core.metamodel.services.container.query.QueryFindByPattern;
@@ -55,13 +57,13 @@ public boolean matches(final ObjectAdapter object) {
         return objectSpec.equals(requiredSpec) && matchesPattern(pattern, object);
     }
 
-    private boolean matchesPattern(final ObjectAdapter pattern, final ObjectAdapter instance) {
-        final ObjectAdapter object = instance;
-        final ObjectSpecification nc = object.getSpecification();
-        final List<ObjectAssociation> fields = nc.getAssociations(Contributed.EXCLUDED);
-
-        for (int f = 0; f < fields.size(); f++) {
-            final ObjectAssociation fld = fields.get(f);
+    /**
+     * The (persisted, one-to-one) fields of the pattern that constrain the match, namely those that are not empty.
+     */
+    public List<ObjectAssociation> getPatternFields() {
+        final List<ObjectAssociation> patternFields = Lists.newArrayList();
+        final List<ObjectAssociation> fields = pattern.getSpecification().getAssociations(Contributed.EXCLUDED);
+        for (final ObjectAssociation fld : fields) {
 
             // are ignoring internal collections - these probably should be
             // considered
@@ -79,39 +81,48 @@ private boolean matchesPattern(final ObjectAdapter pattern, final ObjectAdapter
             if (fld.isEmpty(pattern, InteractionInitiatedBy.FRAMEWORK)) {
                 continue;
             }
+            patternFields.add(fld);
+        }
+        return patternFields;
+    }
 
-            // find the object to match against, if any
-            final ObjectAdapter reqd = fld.get(pattern, InteractionInitiatedBy.FRAMEWORK);
-            if (reqd == null) {
-                continue;
-            }
-
-            // find the object; it's a bust if nothing
-            final ObjectAdapter search = fld.get(object, InteractionInitiatedBy.FRAMEWORK);
-            if (search == null) {
+    private boolean matchesPattern(final ObjectAdapter pattern, final ObjectAdapter instance) {
+        for (final ObjectAssociation fld : getPatternFields()) {
+            if (!matchesField(fld, instance)) {
                 return false;
             }
+        }
+        return matchesRange(true);
+    }
 
-            if (fld.getSpecification().isValue()) {
-                // compare values directly
-                if (!reqd.getObject().equals(search.getObject())) {
-                    return false;
-                }
-                
-            } else {
-
-                // compare the titles
-                final String r = reqd.titleString(null).toLowerCase();
-                final String s = search.titleString(null).toLowerCase();
-
-                // if the pattern does not occur in the object, then it's a bust
-                if (s.indexOf(r) == -1) {
-                    return false;
-                }
-            }
+    /**
+     * Whether the instance matches the pattern for the specified field.
+     */
+    public boolean matchesField(final ObjectAssociation fld, final ObjectAdapter instance) {
+
+        // find the object to match against, if any
+        final ObjectAdapter reqd = fld.get(pattern, InteractionInitiatedBy.FRAMEWORK);
+        if (reqd == null) {
+            return true;
         }
 
-        return matchesRange(true);
+        // find the object; it's a bust if nothing
+        final ObjectAdapter search = fld.get(instance, InteractionInitiatedBy.FRAMEWORK);
+        if (search == null) {
+            return false;
+        }
+
+        if (fld.getSpecification().isValue()) {
+            // compare values directly
+            return reqd.getObject().equals(search.getObject());
+        }
+
+        // compare the titles
+        final String r = reqd.titleString(null).toLowerCase();
+        final String s = search.titleString(null).toLowerCase();
+
+        // if the pattern does not occur in the object, then it's a bust
+        return s.indexOf(r) != -1;
     }
 
 }
@@ -0,0 +1,344 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.services.auditing;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.common.collect.Lists;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.apache.isis.applib.services.audit.AuditRecord;
+
+/**
+ * A bounded in-process queue of batches of {@link AuditRecord}s, written by a single background worker thread.
+ *
+ * <p>
+ *     If the queue is full then {@link #enqueue(List)} blocks (for up to the configured timeout), so that a worker
+ *     unable to keep up slows down the committing threads rather than the queue growing without limit.  If the batch
+ *     still cannot be queued then it is appended to the {@link AuditSpillFile spill file}, as is any batch that the
+ *     worker fails to write, and any batch still queued on {@link #shutdown(long)}.
+ * </p>
+ *
+ * <p>
+ *     The spill file is replayed by the worker: on the first batch enqueued after startup (by which time the
+ *     system is known to be available), and whenever the queue is idle after a batch has overflowed.  Batches
+ *     that could not be written are not retried until the next startup.
+ * </p>
+ *
+ * <p>
+ *     Batches that cannot even be spilled (eg the disk is full) are held in memory and retried by the worker
+ *     whenever the queue is idle; any still held on shutdown are logged, record by record, as lost.
+ * </p>
+ */
+class AuditQueue {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AuditQueue.class);
+
+    private static final long POLL_INTERVAL_MILLIS = 1000L;
+
+    /**
+     * Writes a batch; called from the worker thread.
+     */
+    interface Writer {
+        void write(List<AuditRecord> batch);
+    }
+
+    private final BlockingQueue<List<AuditRecord>> queue;
+    private final long enqueueTimeoutMillis;
+    private final AuditSpillFile spillFile;
+    private final Writer writer;
+
+    private final AtomicLong enqueuedCount = new AtomicLong();
+    private final AtomicLong writtenCount = new AtomicLong();
+    private final AtomicLong spilledCount = new AtomicLong();
+    private final AtomicLong lostCount = new AtomicLong();
+
+    /**
+     * Batches that could not be spilled, to be retried; guarded by itself.
+     */
+    private final List<List<AuditRecord>> unspilled = Lists.newArrayList();
+
+    private final Object lifecycleLock = new Object();
+    private Thread worker;
+    private boolean shutdown;
+    private volatile boolean running;
+    private volatile boolean replayRequired = true;
+
+    AuditQueue(
+            final int capacity,
+            final long enqueueTimeoutMillis,
+            final AuditSpillFile spillFile,
+            final Writer writer) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.enqueueTimeoutMillis = enqueueTimeoutMillis;
+        this.spillFile = spillFile;
+        this.writer = writer;
+    }
+
+    //region > enqueue
+
+    /**
+     * Queues the batch to be written by the worker thread (starting it if necessary), blocking if the queue is
+     * full, and spilling the batch to file if it remains full.
+     */
+    void enqueue(final List<AuditRecord> batch) {
+        if(batch.isEmpty()) {
+            return;
+        }
+        enqueuedCount.incrementAndGet();
+        if(!ensureRunning()) {
+            spill(batch, "queue has been shut down");
+            return;
+        }
+        try {
+            if(queue.offer(batch, enqueueTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                if(!running) {
+                    // raced with shutdown(), which may already have drained the queue
+                    spillQueued("shutdown");
+                }
+                return;
+            }
+            spill(batch, "queue full");
+            replayRequired = true;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            spill(batch, "interrupted while waiting for queue");
+        }
+    }
+
+    //endregion
+
+    //region > worker
+
+    private boolean ensureRunning() {
+        synchronized (lifecycleLock) {
+            if(shutdown) {
+                return false;
+            }
+            if(worker != null) {
+                return true;
+            }
+            running = true;
+            worker = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    work();
+                }
+            }, "isis-audit-queue");
+            worker.setDaemon(true);
+            worker.start();
+            return true;
+        }
+    }
+
+    private void work() {
+        while(running) {
+            final List<AuditRecord> batch;
+            try {
+                batch = queue.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (final InterruptedException e) {
+                // shutdown() interrupts the worker only if a write takes too long
+                break;
+            }
+            if(batch != null) {
+                writeElseSpill(batch);
+            } else {
+                retryUnspilled();
+                if(replayRequired) {
+                    replaySpilled();
+                }
+            }
+        }
+    }
+
+    private void replaySpilled() {
+        replayRequired = false;
+        if(spillFile.isEmpty()) {
+            return;
+        }
+        final List<List<AuditRecord>> batches;
+        try {
+            batches = spillFile.readAndDelete();
+        } catch (final IOException | RuntimeException e) {
+            LOG.error("Unable to read audit spill file {}", spillFile.getFile(), e);
+            return;
+        }
+        LOG.info("Replaying {} audit batch(es) from {}", batches.size(), spillFile.getFile());
+        for (final List<AuditRecord> batch : batches) {
+            writeElseSpill(batch);
+        }
+    }
+
+    private void writeElseSpill(final List<AuditRecord> batch) {
+        try {
+            writer.write(batch);
+            writtenCount.incrementAndGet();
+        } catch(final RuntimeException ex) {
+            LOG.error("Failed to write audit batch of {} record(s)", batch.size(), ex);
+            spill(batch, "write failed");
+        }
+    }
+
+    private void retryUnspilled() {
+        final List<List<AuditRecord>> batches;
+        synchronized (unspilled) {
+            if(unspilled.isEmpty()) {
+                return;
+            }
+            batches = Lists.newArrayList(unspilled);
+            unspilled.clear();
+        }
+        LOG.info("Retrying {} audit batch(es) that could not be spilled", batches.size());
+        for (final List<AuditRecord> batch : batches) {
+            writeElseSpill(batch);
+        }
+    }
+
+    //endregion
+
+    //region > spill
+
+    private void spill(final List<AuditRecord> batch, final String reason) {
+        spillAll(Collections.singletonList(batch), reason);
+    }
+
+    private void spillAll(final List<List<AuditRecord>> batches, final String reason) {
+        if(batches.isEmpty()) {
+            return;
+        }
+        try {
+            spillFile.append(batches);
+            spilledCount.addAndGet(batches.size());
+            LOG.warn("Spilled {} audit batch(es) to {} ({})", batches.size(), spillFile.getFile(), reason);
+        } catch (final IOException e) {
+            LOG.error("Unable to spill {} audit batch(es) to {} ({}), will retry",
+                    batches.size(), spillFile.getFile(), reason, e);
+            synchronized (unspilled) {
+                unspilled.addAll(batches);
+            }
+        }
+    }
+
+    /**
+     * On shutdown, a last attempt to spill the batches that could not previously be spilled.
+     */
+    private void spillUnspilledElseLose() {
+        final List<List<AuditRecord>> batches;
+        synchronized (unspilled) {
+            batches = Lists.newArrayList(unspilled);
+            unspilled.clear();
+        }
+        if(batches.isEmpty()) {
+            return;
+        }
+        try {
+            spillFile.append(batches);
+            spilledCount.addAndGet(batches.size());
+            LOG.warn("Spilled {} audit batch(es) to {} (shutdown)", batches.size(), spillFile.getFile());
+        } catch (final IOException e) {
+            // nothing more we can do
+            for (final List<AuditRecord> batch : batches) {
+                for (final AuditRecord record : batch) {
+                    LOG.error("Lost audit record: {}", record);
+                }
+            }
+            lostCount.addAndGet(batches.size());
+            LOG.error("Unable to spill audit batches to {}", spillFile.getFile(), e);
+        }
+    }
+
+    //endregion
+
+    //region > shutdown
+
+    /**
+     * Stops the worker (waiting up to the specified time for it to finish the batch it is writing), and spills any
+     * batches still queued.
+     */
+    void shutdown(final long timeoutMillis) {
+        final Thread workerToStop;
+        synchronized (lifecycleLock) {
+            shutdown = true;
+            running = false;
+            workerToStop = worker;
+        }
+        if(workerToStop != null) {
+            try {
+                workerToStop.join(timeoutMillis);
+                if(workerToStop.isAlive()) {
+                    workerToStop.interrupt();
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        spillQueued("shutdown");
+        spillUnspilledElseLose();
+    }
+
+    private void spillQueued(final String reason) {
+        final List<List<AuditRecord>> remaining = Lists.newArrayList();
+        queue.drainTo(remaining);
+        spillAll(remaining, reason);
+    }
+
+    //endregion
+
+    //region > statistics
+
+    long getEnqueuedCount() {
+        return enqueuedCount.get();
+    }
+
+    long getWrittenCount() {
+        return writtenCount.get();
+    }
+
+    long getSpilledCount() {
+        return spilledCount.get();
+    }
+
+    /**
+     * The number of batches that could not be spilled and that are held in memory to be retried.
+     */
+    int getUnspilledCount() {
+        synchronized (unspilled) {
+            return unspilled.size();
+        }
+    }
+
+    long getLostCount() {
+        return lostCount.get();
+    }
+
+    int getQueueSize() {
+        return queue.size();
+    }
+
+    //endregion
+
+}
@@ -0,0 +1,303 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.services.auditing;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.sql.Timestamp;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Splitter;
+import com.google.common.collect.Lists;
+
+import org.apache.isis.applib.services.audit.AuditRecord;
+import org.apache.isis.applib.services.bookmark.Bookmark;
+
+/**
+ * A local file to which batches of {@link AuditRecord}s are written if they cannot be queued (or written) by the
+ * {@link AuditQueue}, and from which they are subsequently replayed.
+ *
+ * <p>
+ *     Each record is written as a single line of tab-separated fields (tabs, newlines and backslashes within a field
+ *     being escaped), with an empty line terminating each batch.  Every append is synced to disk before returning.
+ * </p>
+ *
+ * <p>
+ *     The file is {@link #lock() locked} for the lifetime of the application, so that it cannot be shared with (and
+ *     its records replayed by) another application or another instance of the same application.
+ * </p>
+ */
+class AuditSpillFile {
+
+    private static final String NULL = "\\0";
+    private static final char SEPARATOR = '\t';
+
+    private final File file;
+
+    AuditSpillFile(final File file) {
+        this.file = file;
+    }
+
+    File getFile() {
+        return file;
+    }
+
+    //region > lock, release
+
+    private FileChannel lockChannel;
+    private FileLock lock;
+
+    /**
+     * Takes an exclusive lock on a companion <tt>.lock</tt> file, held until {@link #release() released}.
+     *
+     * @throws IOException if the file is already locked, by this or by another process.
+     */
+    synchronized void lock() throws IOException {
+        if(lock != null) {
+            return;
+        }
+        ensureParentExists();
+        final File lockFile = new File(file.getPath() + ".lock");
+        final FileChannel channel = new RandomAccessFile(lockFile, "rw").getChannel();
+        FileLock fileLock;
+        try {
+            fileLock = channel.tryLock();
+        } catch (final OverlappingFileLockException ex) {
+            // already locked within this JVM
+            fileLock = null;
+        } catch (final IOException ex) {
+            channel.close();
+            throw ex;
+        }
+        if(fileLock == null) {
+            channel.close();
+            throw new IOException("Spill file " + file + " is already in use");
+        }
+        this.lockChannel = channel;
+        this.lock = fileLock;
+    }
+
+    synchronized void release() {
+        if(lock == null) {
+            return;
+        }
+        try {
+            lock.release();
+            lockChannel.close();
+        } catch (final IOException ignore) {
+            // the lock is released when the channel is closed, or at the latest when the process exits
+        } finally {
+            lock = null;
+            lockChannel = null;
+        }
+    }
+
+    //endregion
+
+    synchronized boolean isEmpty() {
+        return !file.exists() || file.length() == 0;
+    }
+
+    synchronized void append(final List<List<AuditRecord>> batches) throws IOException {
+        if(batches.isEmpty()) {
+            return;
+        }
+        ensureParentExists();
+        try (final FileOutputStream fos = new FileOutputStream(file, true)) {
+            final Writer writer = new BufferedWriter(new OutputStreamWriter(fos, Charsets.UTF_8));
+            for (final List<AuditRecord> batch : batches) {
+                for (final AuditRecord record : batch) {
+                    writer.write(encode(record));
+                    writer.write('\n');
+                }
+                writer.write('\n');
+            }
+            writer.flush();
+            fos.getFD().sync();
+        }
+    }
+
+    private void ensureParentExists() throws IOException {
+        final File parent = file.getAbsoluteFile().getParentFile();
+        if(parent != null && !parent.exists() && !parent.mkdirs()) {
+            throw new IOException("Unable to create directory " + parent);
+        }
+    }
+
+    /**
+     * Reads all of the batches from the file, and then deletes it.
+     */
+    synchronized List<List<AuditRecord>> readAndDelete() throws IOException {
+        if(!file.exists()) {
+            return Collections.emptyList();
+        }
+        final List<List<AuditRecord>> batches = Lists.newArrayList();
+        try (final BufferedReader reader =
+                     new BufferedReader(new InputStreamReader(new FileInputStream(file), Charsets.UTF_8))) {
+            List<AuditRecord> batch = Lists.newArrayList();
+            String line;
+            while((line = reader.readLine()) != null) {
+                if(line.isEmpty()) {
+                    if(!batch.isEmpty()) {
+                        batches.add(batch);
+                        batch = Lists.newArrayList();
+                    }
+                    continue;
+                }
+                batch.add(decode(line));
+            }
+            // a batch without its terminating line (eg if the spill was interrupted) is still replayed
+            if(!batch.isEmpty()) {
+                batches.add(batch);
+            }
+        }
+        if(!file.delete()) {
+            throw new IOException("Unable to delete " + file);
+        }
+        return batches;
+    }
+
+    //region > encode, decode
+
+    static String encode(final AuditRecord record) {
+        final StringBuilder buf = new StringBuilder();
+        append(buf, record.getInteractionId() != null ? record.getInteractionId().toString() : null);
+        append(buf, String.valueOf(record.getSequence()));
+        append(buf, record.getTargetClassName());
+        append(buf, record.getTarget() != null ? record.getTarget().toString() : null);
+        append(buf, record.getMemberIdentifier());
+        append(buf, record.getPropertyName());
+        append(buf, record.getPreValue());
+        append(buf, record.getPostValue());
+        append(buf, record.getUser());
+        append(buf, record.getTimestamp() != null ? String.valueOf(record.getTimestamp().getTime()) : null);
+        append(buf, record.getTimestamp() != null ? String.valueOf(record.getTimestamp().getNanos()) : null);
+        return buf.toString();
+    }
+
+    static AuditRecord decode(final String line) {
+        final List<String> fields = Lists.newArrayList();
+        for (final String field : Splitter.on(SEPARATOR).split(line)) {
+            fields.add(unescape(field));
+        }
+        if(fields.size() != 11) {
+            throw new IllegalArgumentException("Malformed audit record: " + line);
+        }
+        final String interactionId = fields.get(0);
+        final String target = fields.get(3);
+        final String millis = fields.get(9);
+        final String nanos = fields.get(10);
+        Timestamp timestamp = null;
+        if(millis != null) {
+            timestamp = new Timestamp(Long.parseLong(millis));
+            if(nanos != null) {
+                timestamp.setNanos(Integer.parseInt(nanos));
+            }
+        }
+        return new AuditRecord(
+                interactionId != null ? UUID.fromString(interactionId) : null,
+                Integer.parseInt(fields.get(1)),
+                fields.get(2),
+                target != null ? new Bookmark(target) : null,
+                fields.get(4), fields.get(5),
+                fields.get(6), fields.get(7),
+                fields.get(8),
+                timestamp);
+    }
+
+    private static void append(final StringBuilder buf, final String field) {
+        if(buf.length() > 0) {
+            buf.append(SEPARATOR);
+        }
+        buf.append(escape(field));
+    }
+
+    private static String escape(final String field) {
+        if(field == null) {
+            return NULL;
+        }
+        final StringBuilder buf = new StringBuilder(field.length());
+        for (int i = 0; i < field.length(); i++) {
+            final char c = field.charAt(i);
+            switch (c) {
+            case '\\':
+                buf.append("\\\\");
+                break;
+            case '\t':
+                buf.append("\\t");
+                break;
+            case '\n':
+                buf.append("\\n");
+                break;
+            case '\r':
+                buf.append("\\r");
+                break;
+            default:
+                buf.append(c);
+            }
+        }
+        return buf.toString();
+    }
+
+    private static String unescape(final String field) {
+        if(NULL.equals(field)) {
+            return null;
+        }
+        final StringBuilder buf = new StringBuilder(field.length());
+        for (int i = 0; i < field.length(); i++) {
+            final char c = field.charAt(i);
+            if(c != '\\' || i == field.length() - 1) {
+                buf.append(c);
+                continue;
+            }
+            final char next = field.charAt(++i);
+            switch (next) {
+            case 't':
+                buf.append('\t');
+                break;
+            case 'n':
+                buf.append('\n');
+                break;
+            case 'r':
+                buf.append('\r');
+                break;
+            default:
+                buf.append(next);
+            }
+        }
+        return buf.toString();
+    }
+
+    //endregion
+
+}
@@ -0,0 +1,59 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.services.auditing;
+
+import java.util.List;
+
+import org.apache.isis.applib.services.audit.AuditRecord;
+import org.apache.isis.applib.services.audit.AuditerBatchService;
+import org.apache.isis.applib.services.audit.AuditerService;
+
+/**
+ * Adapts a (per-row) {@link AuditerService} to the {@link AuditerBatchService} SPI.
+ */
+class AuditerServiceBatchAdapter implements AuditerBatchService {
+
+    private final AuditerService auditerService;
+
+    AuditerServiceBatchAdapter(final AuditerService auditerService) {
+        this.auditerService = auditerService;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return auditerService.isEnabled();
+    }
+
+    @Override
+    public void audit(final List<AuditRecord> records) {
+        for (final AuditRecord record : records) {
+            auditerService.audit(
+                    record.getInteractionId(), record.getSequence(),
+                    record.getTargetClassName(), record.getTarget(),
+                    record.getMemberIdentifier(), record.getPropertyName(),
+                    record.getPreValue(), record.getPostValue(),
+                    record.getUser(), record.getTimestamp());
+        }
+    }
+
+    @Override
+    public String toString() {
+        return auditerService.toString();
+    }
+}
@@ -18,16 +18,31 @@
  */
 package org.apache.isis.core.runtime.services.auditing;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 
+import com.google.common.base.Charsets;
+import com.google.common.base.Strings;
+import com.google.common.collect.Lists;
+import com.google.common.hash.Hashing;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import org.apache.isis.applib.annotation.DomainService;
 import org.apache.isis.applib.annotation.NatureOfService;
 import org.apache.isis.applib.annotation.Programmatic;
+import org.apache.isis.applib.services.audit.AuditRecord;
+import org.apache.isis.applib.services.audit.AuditerBatchService;
 import org.apache.isis.applib.services.audit.AuditerService;
 import org.apache.isis.applib.services.audit.AuditingService3;
 import org.apache.isis.applib.services.bookmark.Bookmark;
@@ -42,51 +57,221 @@
 import org.apache.isis.core.runtime.services.changes.AdapterAndProperty;
 import org.apache.isis.core.runtime.services.changes.ChangedObjectsServiceInternal;
 import org.apache.isis.core.runtime.services.changes.PreAndPostValues;
+import org.apache.isis.core.runtime.system.SystemConstants;
+import org.apache.isis.core.runtime.system.session.IsisSessionFactory;
+import org.apache.isis.core.runtime.system.transaction.TransactionalClosure;
 
 /**
- * Wrapper around {@link org.apache.isis.applib.services.audit.AuditingService3}.  Is a no-op if there is no injected service.
+ * Wrapper around {@link org.apache.isis.applib.services.audit.AuditingService3}, {@link AuditerBatchService} and
+ * {@link AuditerService}.  Is a no-op if there is no injected service.
+ *
+ * <p>
+ *     The changed properties are collected into a single batch of {@link AuditRecord}s, passed to each
+ *     {@link AuditerBatchService} (with each {@link AuditerService} being adapted to that SPI).  By default this
+ *     is done within the transaction being committed; if {@link #KEY_ASYNC asynchronous} auditing is enabled then
+ *     the batch is instead handed to an {@link AuditQueue} once the transaction has committed.
+ * </p>
  */
 @DomainService(nature = NatureOfService.DOMAIN)
 public class AuditingServiceInternal {
 
+    private static final Logger LOG = LoggerFactory.getLogger(AuditingServiceInternal.class);
+
+    public static final String KEY_ASYNC = "isis.services.audit.async";
+    public static final String KEY_ASYNC_QUEUE_CAPACITY = "isis.services.audit.async.queueCapacity";
+    public static final int ASYNC_QUEUE_CAPACITY_DEFAULT = 1000;
+    public static final String KEY_ASYNC_ENQUEUE_TIMEOUT_MILLIS = "isis.services.audit.async.enqueueTimeoutMillis";
+    public static final long ASYNC_ENQUEUE_TIMEOUT_MILLIS_DEFAULT = 5000L;
+    public static final String KEY_ASYNC_SPILL_FILE = "isis.services.audit.async.spillFile";
+    public static final String KEY_ASYNC_SHUTDOWN_TIMEOUT_MILLIS = "isis.services.audit.async.shutdownTimeoutMillis";
+    public static final long ASYNC_SHUTDOWN_TIMEOUT_MILLIS_DEFAULT = 10000L;
+
+    //region > init, shutdown
+
+    private AuditSpillFile auditSpillFile;
+    private AuditQueue auditQueue;
+    private long shutdownTimeoutMillis;
+
+    @Programmatic
+    @PostConstruct
+    public void init(final Map<String, String> properties) {
+        if(!Boolean.parseBoolean(properties.get(KEY_ASYNC))) {
+            return;
+        }
+        final int queueCapacity = getInt(properties, KEY_ASYNC_QUEUE_CAPACITY, ASYNC_QUEUE_CAPACITY_DEFAULT);
+        final long enqueueTimeoutMillis =
+                getLong(properties, KEY_ASYNC_ENQUEUE_TIMEOUT_MILLIS, ASYNC_ENQUEUE_TIMEOUT_MILLIS_DEFAULT);
+        this.shutdownTimeoutMillis =
+                getLong(properties, KEY_ASYNC_SHUTDOWN_TIMEOUT_MILLIS, ASYNC_SHUTDOWN_TIMEOUT_MILLIS_DEFAULT);
+        final String spillFileName = properties.get(KEY_ASYNC_SPILL_FILE);
+        final File spillFile = !Strings.isNullOrEmpty(spillFileName)
+                ? new File(spillFileName)
+                : defaultSpillFile(properties);
+        this.auditSpillFile = new AuditSpillFile(spillFile);
+        try {
+            auditSpillFile.lock();
+        } catch (final IOException ex) {
+            throw new IllegalStateException(String.format(
+                    "Unable to lock audit spill file %s; if it is used by another application (or another instance "
+                            + "of this application) then specify a different file using '%s'",
+                    spillFile, KEY_ASYNC_SPILL_FILE), ex);
+        }
+
+        this.auditQueue = new AuditQueue(
+                queueCapacity, enqueueTimeoutMillis, auditSpillFile, new AuditQueue.Writer() {
+                    @Override
+                    public void write(final List<AuditRecord> batch) {
+                        writeInSession(batch);
+                    }
+                });
+        LOG.info("Asynchronous auditing enabled (queue capacity: {}, spill file: {})", queueCapacity, spillFile);
+    }
+
+    @Programmatic
+    @PreDestroy
+    public void shutdown() {
+        if(auditQueue != null) {
+            auditQueue.shutdown(shutdownTimeoutMillis);
+        }
+        if(auditSpillFile != null) {
+            auditSpillFile.release();
+        }
+    }
+
+    /**
+     * In <tt>java.io.tmpdir</tt>, named for the application (its {@link SystemConstants#APP_MANIFEST_KEY manifest})
+     * and its deployment (working directory), so that different applications on the same host do not replay each
+     * other's records.
+     */
+    static File defaultSpillFile(final Map<String, String> properties) {
+        final String appManifest = properties.get(SystemConstants.APP_MANIFEST_KEY);
+        final String appName = !Strings.isNullOrEmpty(appManifest) ? appManifest.trim() : "isis";
+        final String deployment = new File(System.getProperty("user.dir", ".")).getAbsolutePath();
+        final String hash = Hashing.sha1().hashString(appName + "|" + deployment, Charsets.UTF_8).toString();
+        final String simpleAppName = appName.substring(appName.lastIndexOf('.') + 1).replaceAll("[^A-Za-z0-9_-]", "_");
+        return new File(
+                System.getProperty("java.io.tmpdir"),
+                "isis-audit-spill-" + simpleAppName + "-" + hash.substring(0, 12) + ".txt");
+    }
+
+    private static int getInt(final Map<String, String> properties, final String key, final int defaultValue) {
+        final String value = properties.get(key);
+        return !Strings.isNullOrEmpty(value) ? Integer.parseInt(value.trim()) : defaultValue;
+    }
+
+    private static long getLong(final Map<String, String> properties, final String key, final long defaultValue) {
+        final String value = properties.get(key);
+        return !Strings.isNullOrEmpty(value) ? Long.parseLong(value.trim()) : defaultValue;
+    }
+
+    //endregion
+
+    //region > canAudit
+
     Boolean whetherCanAudit;
+    private List<AuditerBatchService> enabledAuditerBatchServices;
 
     private boolean canAudit() {
         if(whetherCanAudit == null) {
-            whetherCanAudit = determineWhetherCanAudit();
+            enabledAuditerBatchServices = determineEnabledAuditerBatchServices();
+            whetherCanAudit = auditingServiceIfAny != null || !enabledAuditerBatchServices.isEmpty();
         }
         return whetherCanAudit;
     }
 
-    private boolean determineWhetherCanAudit() {
-        if (auditingServiceIfAny != null) {
-            return true;
+    private List<AuditerBatchService> determineEnabledAuditerBatchServices() {
+        final List<AuditerBatchService> services = Lists.newArrayList();
+        if(auditerBatchServices != null) {
+            for (final AuditerBatchService auditerBatchService : auditerBatchServices) {
+                if (auditerBatchService.isEnabled()) {
+                    services.add(auditerBatchService);
+                }
+            }
         }
-        for (final AuditerService auditerService : auditerServices) {
-            if (auditerService.isEnabled()) {
-                return true;
+        if(auditerServices != null) {
+            for (final AuditerService auditerService : auditerServices) {
+                if (auditerService.isEnabled()) {
+                    services.add(new AuditerServiceBatchAdapter(auditerService));
+                }
             }
         }
-        return false;
+        return Collections.unmodifiableList(services);
     }
 
+    //endregion
+
+    //region > audit, auditAfterCommit
+
+    /**
+     * Audits the changed properties of the current transaction; called just before it commits.
+     *
+     * @return the records to be passed to {@link #auditAfterCommit(List)} once the transaction has committed; empty
+     *         unless auditing is asynchronous.
+     */
     @Programmatic
-    public void audit() {
+    public List<AuditRecord> audit() {
         if(!canAudit()) {
-            return;
+            return Collections.emptyList();
         }
         final Set<Map.Entry<AdapterAndProperty, PreAndPostValues>> changedObjectProperties =
                 changedObjectsServiceInternal.getChangedObjectProperties();
+        if(changedObjectProperties.isEmpty()) {
+            return Collections.emptyList();
+        }
 
         final String currentUser = userService.getUser().getName();
         final java.sql.Timestamp currentTime = clockService.nowAsJavaSqlTimestamp();
 
+        final Transaction transaction = transactionService.currentTransaction();
+        final UUID transactionId = transaction.getTransactionId();
+        final int sequence = transaction.getSequence();
+
+        final List<AuditRecord> records = Lists.newArrayListWithCapacity(changedObjectProperties.size());
         for (Map.Entry<AdapterAndProperty, PreAndPostValues> auditEntry : changedObjectProperties) {
-            auditChangedProperty(currentTime, currentUser, auditEntry);
+            final AuditRecord record = auditRecordFor(transactionId, sequence, currentTime, currentUser, auditEntry);
+            if(record != null) {
+                records.add(record);
+            }
+        }
+        if(records.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        if(auditingServiceIfAny != null) {
+            for (final AuditRecord record : records) {
+                auditingServiceIfAny.audit(
+                        record.getInteractionId(), record.getTargetClassName(), record.getTarget(),
+                        record.getMemberIdentifier(), record.getPropertyName(),
+                        record.getPreValue(), record.getPostValue(),
+                        record.getUser(), record.getTimestamp());
+            }
         }
+
+        if(enabledAuditerBatchServices.isEmpty()) {
+            return Collections.emptyList();
+        }
+        if(auditQueue != null) {
+            return records;
+        }
+        write(records);
+        return Collections.emptyList();
     }
 
-    private void auditChangedProperty(
+    /**
+     * Hands the records returned by {@link #audit()} to the asynchronous queue; called once the transaction has
+     * committed.
+     */
+    @Programmatic
+    public void auditAfterCommit(final List<AuditRecord> records) {
+        if(records == null || records.isEmpty() || auditQueue == null) {
+            return;
+        }
+        auditQueue.enqueue(Collections.unmodifiableList(records));
+    }
+
+    private AuditRecord auditRecordFor(
+            final UUID transactionId,
+            final int sequence,
             final java.sql.Timestamp timestamp,
             final String user,
             final Map.Entry<AdapterAndProperty, PreAndPostValues> auditEntry) {
@@ -96,7 +281,7 @@ private void auditChangedProperty(
 
         final AuditableFacet auditableFacet = adapter.getSpecification().getFacet(AuditableFacet.class);
         if(auditableFacet == null || auditableFacet.isDisabled()) {
-            return;
+            return null;
         }
 
         final Bookmark target = aap.getBookmark();
@@ -109,29 +294,46 @@ private void auditChangedProperty(
 
         final String targetClass = CommandUtil.targetClassNameFor(adapter);
 
-        Transaction transaction = transactionService.currentTransaction();
-        final UUID transactionId = transaction.getTransactionId();
-        final int sequence = transaction.getSequence();
-
+        return new AuditRecord(
+                transactionId, sequence, targetClass, target, memberId, propertyId, preValue, postValue,
+                user, timestamp);
+    }
 
-        if(auditingServiceIfAny != null) {
-            auditingServiceIfAny
-                    .audit(transactionId, targetClass, target, memberId, propertyId, preValue, postValue, user, timestamp);
+    private void write(final List<AuditRecord> records) {
+        for (final AuditerBatchService auditerBatchService : enabledAuditerBatchServices) {
+            auditerBatchService.audit(records);
         }
-        for (AuditerService auditerService : auditerServices) {
-            if (auditerService.isEnabled()) {
-                auditerService
-                        .audit(transactionId, sequence, targetClass, target, memberId, propertyId, preValue, postValue, user, timestamp);
+    }
+
+    /**
+     * Called by the {@link AuditQueue}'s worker thread, so runs in a session and transaction of its own.
+     */
+    private void writeInSession(final List<AuditRecord> records) {
+        isisSessionFactory.doInSession(new Runnable() {
+            @Override
+            public void run() {
+                isisSessionFactory.getCurrentSession().getPersistenceSession().getTransactionManager()
+                        .executeWithinTransaction(new TransactionalClosure() {
+                            @Override
+                            public void execute() {
+                                write(records);
+                            }
+                        });
             }
-        }
+        });
     }
 
+    //endregion
+
     /**
      * could be null if none has been registered.
      */
     @javax.inject.Inject
     private AuditingService3 auditingServiceIfAny;
 
+    @javax.inject.Inject
+    private List<AuditerBatchService> auditerBatchServices;
+
     @javax.inject.Inject
     private List<AuditerService> auditerServices;
 
@@ -150,4 +352,7 @@ private void auditChangedProperty(
     @javax.inject.Inject
     TransactionService transactionService;
 
+    @javax.inject.Inject
+    IsisSessionFactory isisSessionFactory;
+
 }
@@ -0,0 +1,275 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.services.email;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.mail.MessagingException;
+import javax.mail.Session;
+import javax.mail.Transport;
+import javax.mail.internet.MimeMessage;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListenableFutureTask;
+
+import org.apache.commons.mail.EmailException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sends {@link MimeMessage}s from a pool of worker threads, used by {@link EmailServiceDefault} when sending
+ * asynchronously.
+ *
+ * <p>
+ *     Messages are held on a bounded queue; if it is full then the message is sent by the calling thread instead,
+ *     so that a slow mail relay throttles callers rather than the queue growing without limit.  Connected SMTP
+ *     {@link Transport}s are pooled and reused across messages.  A message that fails to send is retried (on a new
+ *     connection) with exponential backoff, up to the configured number of attempts.
+ * </p>
+ */
+class EmailSenderAsync {
+
+    private static final Logger LOG = LoggerFactory.getLogger(EmailSenderAsync.class);
+
+    private final Session session;
+    private final int maxAttempts;
+    private final long retryBackoffMillis;
+
+    private final ThreadPoolExecutor executor;
+    private final ConcurrentLinkedQueue<Transport> idleTransports = new ConcurrentLinkedQueue<>();
+
+    private final AtomicLong sentCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong retryCount = new AtomicLong();
+    private final AtomicLong connectionCount = new AtomicLong();
+    private final AtomicLong totalSendMillis = new AtomicLong();
+    private final AtomicLong maxSendMillis = new AtomicLong();
+
+    EmailSenderAsync(
+            final Session session,
+            final int threads,
+            final int queueCapacity,
+            final int maxAttempts,
+            final long retryBackoffMillis) {
+        this.session = session;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryBackoffMillis = retryBackoffMillis;
+
+        final AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                threads, threads,
+                60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<Runnable>(queueCapacity),
+                new ThreadFactory() {
+                    @Override
+                    public Thread newThread(final Runnable r) {
+                        final Thread thread = new Thread(r, "isis-email-" + threadNumber.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                },
+                new RejectedExecutionHandler() {
+                    @Override
+                    public void rejectedExecution(final Runnable r, final ThreadPoolExecutor executor) {
+                        if(executor.isShutdown()) {
+                            // rather than (as per CallerRunsPolicy) silently discarding the message
+                            throw new RejectedExecutionException("Email sender has been shut down");
+                        }
+                        // queue is full, so send on the calling thread
+                        r.run();
+                    }
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * The session shared by all messages sent by this sender (and used to create its connections).
+     */
+    Session getSession() {
+        return session;
+    }
+
+    //region > submit
+
+    /**
+     * @return a future that completes once the message has been sent (<tt>true</tt>) or all attempts have failed
+     *         (<tt>false</tt>, or an {@link EmailServiceDefault.EmailServiceException} if <tt>throwExceptionOnFail</tt>).
+     * @throws RejectedExecutionException if the sender has been shut down.
+     */
+    ListenableFuture<Boolean> submit(final MimeMessage message, final boolean throwExceptionOnFail) {
+        final ListenableFutureTask<Boolean> task = ListenableFutureTask.create(new Callable<Boolean>() {
+            @Override
+            public Boolean call() throws Exception {
+                return sendWithRetries(message, throwExceptionOnFail);
+            }
+        });
+        executor.execute(task);
+        return task;
+    }
+
+    private boolean sendWithRetries(final MimeMessage message, final boolean throwExceptionOnFail) throws InterruptedException {
+        final long start = System.currentTimeMillis();
+        MessagingException lastException = null;
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            if(attempt > 1) {
+                retryCount.incrementAndGet();
+                Thread.sleep(retryBackoffMillis << (attempt - 2));
+            }
+            try {
+                send(message);
+                recordLatency(System.currentTimeMillis() - start);
+                sentCount.incrementAndGet();
+                return true;
+            } catch (final MessagingException ex) {
+                lastException = ex;
+                LOG.warn("Attempt {} of {} to send email failed: {}", attempt, maxAttempts, ex.getMessage());
+            }
+        }
+        failedCount.incrementAndGet();
+        LOG.error("An error occurred while trying to send an email", lastException);
+        if(throwExceptionOnFail) {
+            throw new EmailServiceDefault.EmailServiceException(new EmailException(lastException));
+        }
+        return false;
+    }
+
+    private void send(final MimeMessage message) throws MessagingException {
+        final Transport transport = acquireTransport();
+        boolean reusable = false;
+        try {
+            message.saveChanges();
+            transport.sendMessage(message, message.getAllRecipients());
+            reusable = true;
+        } finally {
+            if(reusable) {
+                idleTransports.offer(transport);
+            } else {
+                // the connection may be broken; the next attempt will open a new one
+                close(transport);
+            }
+        }
+    }
+
+    private Transport acquireTransport() throws MessagingException {
+        Transport transport;
+        while((transport = idleTransports.poll()) != null) {
+            if(transport.isConnected()) {
+                return transport;
+            }
+            close(transport);
+        }
+        transport = session.getTransport();
+        transport.connect();
+        connectionCount.incrementAndGet();
+        return transport;
+    }
+
+    private static void close(final Transport transport) {
+        try {
+            transport.close();
+        } catch (final MessagingException ex) {
+            // ignore
+        }
+    }
+
+    private void recordLatency(final long millis) {
+        totalSendMillis.addAndGet(millis);
+        long max;
+        while(millis > (max = maxSendMillis.get())) {
+            if(maxSendMillis.compareAndSet(max, millis)) {
+                break;
+            }
+        }
+    }
+
+    //endregion
+
+    //region > shutdown
+
+    /**
+     * Waits (up to the specified time) for queued messages to be sent, then closes all pooled connections.
+     */
+    void shutdown(final long timeoutMillis) {
+        executor.shutdown();
+        try {
+            if(!executor.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                final int unsent = executor.shutdownNow().size();
+                LOG.warn("Shut down with {} email(s) still queued", unsent);
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        Transport transport;
+        while((transport = idleTransports.poll()) != null) {
+            close(transport);
+        }
+    }
+
+    //endregion
+
+    //region > metrics
+
+    int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    long getSentCount() {
+        return sentCount.get();
+    }
+
+    long getFailedCount() {
+        return failedCount.get();
+    }
+
+    long getRetryCount() {
+        return retryCount.get();
+    }
+
+    /**
+     * The number of SMTP connections opened; less than the {@link #getSentCount() number sent} when connections
+     * are being reused.
+     */
+    long getConnectionCount() {
+        return connectionCount.get();
+    }
+
+    /**
+     * The average time taken to send a message (including any retries), excluding time spent queued.
+     */
+    long getAverageSendLatencyMillis() {
+        final long sent = sentCount.get();
+        return sent == 0 ? 0 : totalSendMillis.get() / sent;
+    }
+
+    long getMaxSendLatencyMillis() {
+        return maxSendMillis.get();
+    }
+
+    //endregion
+
+}
@@ -22,10 +22,20 @@
 import java.util.List;
 import java.util.Properties;
 
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+
 import javax.activation.DataSource;
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.mail.Session;
+import javax.mail.internet.MimeMessage;
 
 import com.google.common.base.Strings;
+import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.SettableFuture;
 
 import org.apache.commons.mail.DefaultAuthenticator;
 import org.apache.commons.mail.EmailException;
@@ -39,6 +49,8 @@
 import org.apache.isis.applib.annotation.Programmatic;
 import org.apache.isis.applib.services.email.EmailService;
 import org.apache.isis.core.commons.config.IsisConfiguration;
+import org.apache.isis.core.runtime.system.session.IsisSessionFactory;
+import org.apache.isis.core.runtime.system.transaction.IsisTransaction;
 
 /**
  * A service that sends email notifications when specific events occur
@@ -84,6 +96,24 @@ public EmailServiceException(final EmailException cause) {
     private static final String ISIS_SERVICE_EMAIL_OVERRIDE_CC = "isis.service.email.override.cc";
     private static final String ISIS_SERVICE_EMAIL_OVERRIDE_BCC = "isis.service.email.override.bcc";
 
+    private static final String ISIS_SERVICE_EMAIL_ASYNC = "isis.service.email.async";
+    private static final boolean ISIS_SERVICE_EMAIL_ASYNC_DEFAULT = false;
+
+    private static final String ISIS_SERVICE_EMAIL_ASYNC_THREADS = "isis.service.email.async.threads";
+    private static final int ISIS_SERVICE_EMAIL_ASYNC_THREADS_DEFAULT = 2;
+
+    private static final String ISIS_SERVICE_EMAIL_ASYNC_QUEUE_CAPACITY = "isis.service.email.async.queueCapacity";
+    private static final int ISIS_SERVICE_EMAIL_ASYNC_QUEUE_CAPACITY_DEFAULT = 100;
+
+    private static final String ISIS_SERVICE_EMAIL_ASYNC_MAX_ATTEMPTS = "isis.service.email.async.maxAttempts";
+    private static final int ISIS_SERVICE_EMAIL_ASYNC_MAX_ATTEMPTS_DEFAULT = 3;
+
+    private static final String ISIS_SERVICE_EMAIL_ASYNC_RETRY_BACKOFF = "isis.service.email.async.retryBackoff";
+    private static final int ISIS_SERVICE_EMAIL_ASYNC_RETRY_BACKOFF_DEFAULT = 1000;
+
+    private static final String ISIS_SERVICE_EMAIL_ASYNC_SHUTDOWN_TIMEOUT = "isis.service.email.async.shutdownTimeout";
+    private static final int ISIS_SERVICE_EMAIL_ASYNC_SHUTDOWN_TIMEOUT_DEFAULT = 10000;
+
     //endregion
 
     //region > init
@@ -153,6 +183,51 @@ protected String getEmailOverrideBcc() {
         return configuration.getString(ISIS_SERVICE_EMAIL_OVERRIDE_BCC);
     }
 
+    /**
+     * Whether {@link #send(List, List, List, String, String, DataSource...)} should queue the email to be sent in
+     * the background (returning immediately) rather than sending it on the calling thread.
+     */
+    protected boolean isAsync() {
+        return configuration.getBoolean(ISIS_SERVICE_EMAIL_ASYNC, ISIS_SERVICE_EMAIL_ASYNC_DEFAULT);
+    }
+
+    protected int getAsyncThreads() {
+        return configuration.getInteger(ISIS_SERVICE_EMAIL_ASYNC_THREADS, ISIS_SERVICE_EMAIL_ASYNC_THREADS_DEFAULT);
+    }
+
+    protected int getAsyncQueueCapacity() {
+        return configuration.getInteger(ISIS_SERVICE_EMAIL_ASYNC_QUEUE_CAPACITY, ISIS_SERVICE_EMAIL_ASYNC_QUEUE_CAPACITY_DEFAULT);
+    }
+
+    protected int getAsyncMaxAttempts() {
+        return configuration.getInteger(ISIS_SERVICE_EMAIL_ASYNC_MAX_ATTEMPTS, ISIS_SERVICE_EMAIL_ASYNC_MAX_ATTEMPTS_DEFAULT);
+    }
+
+    protected int getAsyncRetryBackoff() {
+        return configuration.getInteger(ISIS_SERVICE_EMAIL_ASYNC_RETRY_BACKOFF, ISIS_SERVICE_EMAIL_ASYNC_RETRY_BACKOFF_DEFAULT);
+    }
+
+    protected int getAsyncShutdownTimeout() {
+        return configuration.getInteger(ISIS_SERVICE_EMAIL_ASYNC_SHUTDOWN_TIMEOUT, ISIS_SERVICE_EMAIL_ASYNC_SHUTDOWN_TIMEOUT_DEFAULT);
+    }
+
+    //endregion
+
+    //region > shutdown
+
+    @PreDestroy
+    @Programmatic
+    public void shutdown() {
+        final EmailSenderAsync sender;
+        synchronized (this) {
+            sender = senderAsync;
+            senderAsync = null;
+        }
+        if(sender != null) {
+            sender.shutdown(getAsyncShutdownTimeout());
+        }
+    }
+
     //endregion
 
     //region > isConfigured
@@ -167,69 +242,25 @@ public boolean isConfigured() {
 
     //region > send
 
+    /**
+     * If {@link #isAsync() asynchronous}, then returns <tt>false</tt> (or, if so configured, throws an
+     * {@link EmailServiceException}) only if the email could not be built or queued; the email is only queued
+     * once the caller's transaction (if any) commits.  Any failure to subsequently queue or deliver it is only
+     * logged (use {@link #sendAsync(List, List, List, String, String, DataSource...)} to obtain
+     * the outcome).
+     */
     @Override
     public boolean send(final List<String> toList, final List<String> ccList, final List<String> bccList, final String subject, final String body,
                         final DataSource... attachments) {
 
-        try {
-            final ImageHtmlEmail email = new ImageHtmlEmail();
-
-            final String senderEmailAddress = getSenderEmailAddress();
-            final String senderEmailPassword = getSenderEmailPassword();
-            final String senderEmailHostName = getSenderEmailHostName();
-            final Integer senderEmailPort = getSenderEmailPort();
-            final Boolean senderEmailTlsEnabled = getSenderEmailTlsEnabled();
-            final int socketTimeout = getSocketTimeout();
-            final int socketConnectionTimeout = getSocketConnectionTimeout();
-
-            email.setAuthenticator(new DefaultAuthenticator(senderEmailAddress, senderEmailPassword));
-            email.setHostName(senderEmailHostName);
-            email.setSmtpPort(senderEmailPort);
-            email.setStartTLSEnabled(senderEmailTlsEnabled);
-            email.setDataSourceResolver(new DataSourceClassPathResolver("/", true));
-
-            email.setSocketTimeout(socketTimeout);
-            email.setSocketConnectionTimeout(socketConnectionTimeout);
-
-            final Properties properties = email.getMailSession().getProperties();
-
-            properties.put("mail.smtps.auth", "true");
-            properties.put("mail.debug", "true");
-            properties.put("mail.smtps.port", "" + senderEmailPort);
-            properties.put("mail.smtps.socketFactory.port", "" + senderEmailPort);
-            properties.put("mail.smtps.socketFactory.class", "javax.net.ssl.SSLSocketFactory");
-            properties.put("mail.smtps.socketFactory.fallback", "false");
-            properties.put("mail.smtp.starttls.enable", "" + senderEmailTlsEnabled);
-
-            email.setFrom(senderEmailAddress);
-
-            email.setSubject(subject);
-            email.setHtmlMsg(body);
-
-            if (attachments != null && attachments.length > 0) {
-                for (DataSource attachment : attachments) {
-                    email.attach(attachment, attachment.getName(), "");
-                }
-            }
-
-
-            final String overrideTo = getEmailOverrideTo();
-            final String overrideCc = getEmailOverrideCc();
-            final String overrideBcc = getEmailOverrideBcc();
-
-            final String[] toListElseOverride = actually(toList, overrideTo);
-            if(notEmpty(toListElseOverride)) {
-                email.addTo(toListElseOverride);
-            }
-            final String[] ccListElseOverride = actually(ccList, overrideCc);
-            if(notEmpty(ccListElseOverride)) {
-                email.addCc(ccListElseOverride);
-            }
-            final String[] bccListElseOverride = actually(bccList, overrideBcc);
-            if(notEmpty(bccListElseOverride)) {
-                email.addBcc(bccListElseOverride);
-            }
+        if(isAsync()) {
+            final Future<Boolean> future = sendAsync(toList, ccList, bccList, subject, body, attachments);
+            // done already if could not be queued, or if sent on this thread because the queue was full
+            return !future.isDone() || outcomeOf(future);
+        }
 
+        try {
+            final ImageHtmlEmail email = newEmail(null, toList, ccList, bccList, subject, body, attachments);
             email.send();
 
         } catch (EmailException ex) {
@@ -243,6 +274,254 @@ public boolean send(final List<String> toList, final List<String> ccList, final
 
         return true;
     }
+
+    /**
+     * Queues the email to be sent in the background, by a pool of worker threads reusing their SMTP connections.
+     *
+     * <p>
+     *     The email is built on the calling thread, so that (for example) invalid addresses are reported
+     *     immediately.  If called within a transaction then the email is only queued once that transaction has
+     *     committed, and is never sent if it aborts.  If the queue is full then the email is sent on the calling
+     *     thread (or, within a transaction, on the thread committing it).
+     * </p>
+     *
+     * @return completes with <tt>true</tt> once sent, or with <tt>false</tt> (or, if so configured, an
+     *         {@link EmailServiceException}) if it could not be sent after the configured number of attempts; is
+     *         cancelled if the caller's transaction aborts.
+     */
+    @Programmatic
+    public Future<Boolean> sendAsync(final List<String> toList, final List<String> ccList, final List<String> bccList, final String subject, final String body,
+                        final DataSource... attachments) {
+
+        final EmailSenderAsync sender;
+        final MimeMessage mimeMessage;
+        try {
+            sender = obtainSenderAsync();
+            final ImageHtmlEmail email = newEmail(sender.getSession(), toList, ccList, bccList, subject, body, attachments);
+            email.buildMimeMessage();
+            mimeMessage = email.getMimeMessage();
+        } catch (EmailException ex) {
+            return failed(ex);
+        }
+
+        final IsisTransaction transaction = currentTransaction();
+        if(transaction == null) {
+            try {
+                return sender.submit(mimeMessage, isThrowExceptionOnFail());
+            } catch (RejectedExecutionException ex) {
+                return failed(new EmailException("Email could not be queued to be sent", ex));
+            }
+        }
+
+        // the email may refer to (and so must not be sent unless) the caller's changes have been committed
+        final boolean throwExceptionOnFail = isThrowExceptionOnFail();
+        final SettableFuture<Boolean> future = SettableFuture.create();
+        transaction.registerCompletionCallback(new IsisTransaction.CompletionCallback() {
+            @Override
+            public void afterCommit() {
+                try {
+                    future.setFuture(sender.submit(mimeMessage, throwExceptionOnFail));
+                } catch (final RejectedExecutionException ex) {
+                    final EmailException cause = new EmailException("Email could not be queued to be sent", ex);
+                    LOG.error("An error occurred while trying to send an email", cause);
+                    if(throwExceptionOnFail) {
+                        future.setException(new EmailServiceException(cause));
+                    } else {
+                        future.set(false);
+                    }
+                }
+            }
+
+            @Override
+            public void afterAbort() {
+                future.cancel(false);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * The caller's transaction, if still in progress; emails
+     * {@link #sendAsync(List, List, List, String, String, DataSource...) sent asynchronously} are only queued once it
+     * has committed (and are discarded if it aborts).
+     */
+    protected IsisTransaction currentTransaction() {
+        if(isisSessionFactory == null || !isisSessionFactory.inSession()) {
+            return null;
+        }
+        final IsisTransaction transaction = isisSessionFactory.getCurrentSession().getPersistenceSession()
+                .getTransactionManager().getCurrentTransaction();
+        return transaction != null && !transaction.getState().isComplete() ? transaction : null;
+    }
+
+    private Future<Boolean> failed(final EmailException ex) {
+        LOG.error("An error occurred while trying to send an email", ex);
+        if(isThrowExceptionOnFail()) {
+            throw new EmailServiceException(ex);
+        }
+        return Futures.immediateFuture(false);
+    }
+
+    private static boolean outcomeOf(final Future<Boolean> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException ex) {
+            // only if throwExceptionOnFail
+            Throwables.propagateIfPossible(ex.getCause());
+            throw new RuntimeException(ex.getCause());
+        }
+    }
+
+    private ImageHtmlEmail newEmail(
+            final Session sessionIfAny,
+            final List<String> toList, final List<String> ccList, final List<String> bccList,
+            final String subject, final String body,
+            final DataSource... attachments) throws EmailException {
+
+        final ImageHtmlEmail email = new ImageHtmlEmail();
+
+        final String senderEmailAddress = getSenderEmailAddress();
+
+        if(sessionIfAny != null) {
+            email.setMailSession(sessionIfAny);
+        } else {
+            configureSession(email);
+            configureSessionProperties(email.getMailSession().getProperties());
+        }
+        email.setDataSourceResolver(new DataSourceClassPathResolver("/", true));
+
+        email.setFrom(senderEmailAddress);
+
+        email.setSubject(subject);
+        email.setHtmlMsg(body);
+
+        if (attachments != null && attachments.length > 0) {
+            for (DataSource attachment : attachments) {
+                email.attach(attachment, attachment.getName(), "");
+            }
+        }
+
+
+        final String overrideTo = getEmailOverrideTo();
+        final String overrideCc = getEmailOverrideCc();
+        final String overrideBcc = getEmailOverrideBcc();
+
+        final String[] toListElseOverride = actually(toList, overrideTo);
+        if(notEmpty(toListElseOverride)) {
+            email.addTo(toListElseOverride);
+        }
+        final String[] ccListElseOverride = actually(ccList, overrideCc);
+        if(notEmpty(ccListElseOverride)) {
+            email.addCc(ccListElseOverride);
+        }
+        final String[] bccListElseOverride = actually(bccList, overrideBcc);
+        if(notEmpty(bccListElseOverride)) {
+            email.addBcc(bccListElseOverride);
+        }
+        return email;
+    }
+
+    private void configureSession(final ImageHtmlEmail email) {
+        final String senderEmailAddress = getSenderEmailAddress();
+        final String senderEmailPassword = getSenderEmailPassword();
+        final String senderEmailHostName = getSenderEmailHostName();
+        final Integer senderEmailPort = getSenderEmailPort();
+        final Boolean senderEmailTlsEnabled = getSenderEmailTlsEnabled();
+        final int socketTimeout = getSocketTimeout();
+        final int socketConnectionTimeout = getSocketConnectionTimeout();
+
+        email.setAuthenticator(new DefaultAuthenticator(senderEmailAddress, senderEmailPassword));
+        email.setHostName(senderEmailHostName);
+        email.setSmtpPort(senderEmailPort);
+        email.setStartTLSEnabled(senderEmailTlsEnabled);
+
+        email.setSocketTimeout(socketTimeout);
+        email.setSocketConnectionTimeout(socketConnectionTimeout);
+    }
+
+    /**
+     * The mail session, configured exactly as for an email sent synchronously.
+     */
+    private Session newSession() throws EmailException {
+        final ImageHtmlEmail email = new ImageHtmlEmail();
+        configureSession(email);
+        final Session session = email.getMailSession();
+        configureSessionProperties(session.getProperties());
+        return session;
+    }
+
+    private void configureSessionProperties(final Properties properties) {
+        final Integer senderEmailPort = getSenderEmailPort();
+        final Boolean senderEmailTlsEnabled = getSenderEmailTlsEnabled();
+        properties.put("mail.smtps.auth", "true");
+        properties.put("mail.debug", "true");
+        properties.put("mail.smtps.port", "" + senderEmailPort);
+        properties.put("mail.smtps.socketFactory.port", "" + senderEmailPort);
+        properties.put("mail.smtps.socketFactory.class", "javax.net.ssl.SSLSocketFactory");
+        properties.put("mail.smtps.socketFactory.fallback", "false");
+        properties.put("mail.smtp.starttls.enable", "" + senderEmailTlsEnabled);
+    }
+
+    //endregion
+
+    //region > senderAsync, metrics
+
+    private volatile EmailSenderAsync senderAsync;
+
+    private synchronized EmailSenderAsync obtainSenderAsync() throws EmailException {
+        if(senderAsync == null) {
+            final Session session = newSession();
+            senderAsync = new EmailSenderAsync(
+                    session, getAsyncThreads(), getAsyncQueueCapacity(), getAsyncMaxAttempts(), getAsyncRetryBackoff());
+        }
+        return senderAsync;
+    }
+
+    /**
+     * The number of emails queued to be sent asynchronously (not including those currently being sent).
+     */
+    @Programmatic
+    public int getAsyncQueueDepth() {
+        final EmailSenderAsync sender = senderAsync;
+        return sender != null ? sender.getQueueDepth() : 0;
+    }
+
+    @Programmatic
+    public long getAsyncSentCount() {
+        final EmailSenderAsync sender = senderAsync;
+        return sender != null ? sender.getSentCount() : 0;
+    }
+
+    @Programmatic
+    public long getAsyncFailedCount() {
+        final EmailSenderAsync sender = senderAsync;
+        return sender != null ? sender.getFailedCount() : 0;
+    }
+
+    /**
+     * The number of SMTP connections opened to send emails asynchronously.
+     */
+    @Programmatic
+    public long getAsyncConnectionCount() {
+        final EmailSenderAsync sender = senderAsync;
+        return sender != null ? sender.getConnectionCount() : 0;
+    }
+
+    @Programmatic
+    public long getAsyncAverageSendLatencyMillis() {
+        final EmailSenderAsync sender = senderAsync;
+        return sender != null ? sender.getAverageSendLatencyMillis() : 0;
+    }
+
+    @Programmatic
+    public long getAsyncMaxSendLatencyMillis() {
+        final EmailSenderAsync sender = senderAsync;
+        return sender != null ? sender.getMaxSendLatencyMillis() : 0;
+    }
+
     //endregion
 
 
@@ -268,4 +547,7 @@ static boolean notEmpty(final String[] addresses) {
     @javax.inject.Inject
     IsisConfiguration configuration;
 
+    @javax.inject.Inject
+    IsisSessionFactory isisSessionFactory;
+
 }
@@ -23,8 +23,14 @@
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
 
 import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
@@ -35,15 +41,37 @@
 import org.apache.isis.applib.services.i18n.LocaleProvider;
 import org.apache.isis.applib.services.i18n.TranslationService;
 import org.apache.isis.applib.services.i18n.TranslationsResolver;
+import org.apache.isis.core.runtime.threadpool.ThreadPoolSupport;
 
+/**
+ * Reads translations from <i>.po</i> files.
+ *
+ * <p>
+ *     The translations for each locale are parsed once into an immutable {@link Translations table} (keyed by
+ *     context and then msgId, so that lookups allocate nothing).  The tables for the locales passed to
+ *     {@link #init(List)} are read eagerly (in parallel); those for any other locale are read on first use.  The
+ *     tables are published as a single immutable map, which is atomically replaced whenever a locale is added or the
+ *     translations are {@link #clearCache() reloaded}; requests in flight continue to use the previous map.
+ * </p>
+ */
 class PoReader extends PoAbstract {
 
     public static final String DASH = "-";
     public static final String UNDERSCORE = "_";
     public static Logger LOG = LoggerFactory.getLogger(PoReader.class);
 
-    private final Map<Locale, Map<ContextAndMsgId, String>> translationByKeyByLocale = Maps.newHashMap();
-    private final Map<Locale, Boolean> usesFallbackByLocale = Maps.newHashMap();
+    /**
+     * Replaced (never mutated) whenever a locale is added or the translations are reloaded.
+     */
+    private volatile Map<Locale, Translations> translationsByLocale = ImmutableMap.of();
+
+    /**
+     * Serializes the (infrequent) reading of translations, so that each locale's .po file is parsed only once.
+     */
+    private final Object readLock = new Object();
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
 
     /**
      * The basename of the translations file, hard-coded to <tt>translations</tt>.
@@ -64,6 +92,7 @@ class PoReader extends PoAbstract {
     private final LocaleProvider localeProvider;
 
     private List<String> fallback;
+    private List<Locale> preloadLocales = Collections.emptyList();
 
     public PoReader(final TranslationServicePo translationServicePo) {
         super(translationServicePo, TranslationService.Mode.READ);
@@ -80,6 +109,23 @@ public PoReader(final TranslationServicePo translationServicePo) {
      * Not API
      */
     void init() {
+        init(preloadLocales);
+    }
+
+    /**
+     * Not API
+     *
+     * @param preloadLocales - the locales whose translations are to be read eagerly.
+     */
+    void init(final List<Locale> preloadLocales) {
+        this.preloadLocales = Collections.unmodifiableList(Lists.newArrayList(preloadLocales));
+        synchronized (readLock) {
+            readFallback();
+            translationsByLocale = readAll(this.preloadLocales);
+        }
+    }
+
+    private void readFallback() {
         fallback = readUrl(basename + ".po");
         if(fallback == null) {
             LOG.info("No fallback translations found; i18n is in effect disabled for this application");
@@ -89,6 +135,9 @@ void init() {
 
     @Override
     void shutdown() {
+        if(LOG.isDebugEnabled()) {
+            LOG.debug("shutdown: translation hits: {}, misses: {}", hitCount.get(), missCount.get());
+        }
     }
     //endregion
 
@@ -116,10 +165,17 @@ String translate(final String context, final String msgId, final String msgIdPlu
         return translate(context, msgIdToUse, type);
     }
 
+    /**
+     * Re-reads the translations of all preloaded and previously used locales; the current translations continue
+     * to be used until the new ones have all been read.
+     */
     void clearCache() {
-        translationByKeyByLocale.clear();
-        usesFallbackByLocale.clear();
-        init();
+        synchronized (readLock) {
+            final Set<Locale> locales = Sets.newLinkedHashSet(preloadLocales);
+            locales.addAll(translationsByLocale.keySet());
+            readFallback();
+            translationsByLocale = readAll(locales);
+        }
     }
 
     private String translate(
@@ -137,22 +193,18 @@ private String translate(
             return msgId;
         }
 
+        final Translations translations = translationsFor(targetLocale);
 
-        final Map<ContextAndMsgId, String> translationsByKey = readAndCacheTranslationsIfRequired(targetLocale);
-
-        // search for translation with a context
-        final ContextAndMsgId key = new ContextAndMsgId(context, msgId, type);
-        final String translation = lookupTranslation(translationsByKey, key);
-        if (!Strings.isNullOrEmpty(translation)) {
-            return translation;
+        // search for translation with a context, else without a context
+        String translation = translations.lookup(context, msgId);
+        if(translation == null) {
+            translation = translations.lookup("", msgId);
         }
-
-        // else search for translation without a context
-        final ContextAndMsgId keyNoContext = new ContextAndMsgId("", msgId, type);
-        final String translationNoContext = lookupTranslation(translationsByKey, keyNoContext);
-        if (!Strings.isNullOrEmpty(translationNoContext)) {
-            return translationNoContext;
+        if (translation != null) {
+            hitCount.incrementAndGet();
+            return translation;
         }
+        missCount.incrementAndGet();
 
         // to avoid chattiness in the log, we only log if there are ANY translations at all for the target locale.
         // the algorithm for searching for translations looks for:
@@ -160,58 +212,141 @@ private String translate(
         // 2. language
         // 3. fallback
         // so this message is only ever displayed if the locale isn't using fallback (ie a translation is genuinely missing)
-        final Boolean usesFallback = usesFallbackByLocale.get(targetLocale);
-        if(usesFallback == null || !usesFallback) {
-            logInfoIfNotPreviously("No translation found for: " + key);
+        if(!translations.usesFallback()) {
+            logInfoIfNotPreviously("No translation found for: " + new ContextAndMsgId(context, msgId, type));
         }
 
         return msgId;
     }
 
+    //region > hit/miss statistics
+
+    /**
+     * The number of requests for which a translation was found.
+     */
+    long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * The number of requests for which no translation was found (so that the original msgId was returned).
+     */
+    long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * The locales whose translations have been read.
+     */
+    Set<Locale> getLocales() {
+        return translationsByLocale.keySet();
+    }
+
+    //endregion
+
+    //region > read translations
 
-    private String lookupTranslation(final Map<ContextAndMsgId, String> translationsByKey, final ContextAndMsgId key) {
-        final String s = translationsByKey.get(key);
-        return s != null? s.trim(): null;
+    private Translations translationsFor(final Locale locale) {
+        final Translations translations = translationsByLocale.get(locale);
+        if(translations != null) {
+            return translations;
+        }
+        synchronized (readLock) {
+            final Map<Locale, Translations> current = translationsByLocale;
+            final Translations readMeanwhile = current.get(locale);
+            if(readMeanwhile != null) {
+                return readMeanwhile;
+            }
+            final Translations read = read(locale);
+            translationsByLocale = ImmutableMap.<Locale, Translations>builder()
+                    .putAll(current)
+                    .put(locale, read)
+                    .build();
+            return read;
+        }
     }
 
-    private Map<ContextAndMsgId, String> readAndCacheTranslationsIfRequired(final Locale locale) {
-        Map<ContextAndMsgId, String> translationsByKey = translationByKeyByLocale.get(locale);
-        if(translationsByKey != null) {
-            return translationsByKey;
+    /**
+     * Reads the translations for each of the locales in parallel; any that cannot be read in the background are
+     * read in the calling thread.
+     */
+    private Map<Locale, Translations> readAll(final Iterable<Locale> locales) {
+        final List<Locale> localeList = Lists.newArrayList(locales);
+        if(localeList.isEmpty()) {
+            return ImmutableMap.of();
         }
 
-        translationsByKey = Maps.newHashMap();
-        read(locale, translationsByKey);
-        translationByKeyByLocale.put(locale, translationsByKey);
+        final List<Callable<Object>> callables = Lists.newArrayList();
+        for (final Locale locale : localeList) {
+            callables.add(new Callable<Object>() {
+                @Override
+                public Object call() throws Exception {
+                    return read(locale);
+                }
+            });
+        }
+        List<Object> results;
+        try {
+            final List<Future<Object>> futures = ThreadPoolSupport.invokeAll(callables);
+            results = Lists.newArrayList();
+            for (int i = 0; i < futures.size(); i++) {
+                results.add(resultElseNull(futures.get(i), localeList.get(i)));
+            }
+        } catch(final RejectedExecutionException ex) {
+            // thread pool saturated; read them all in this thread instead
+            LOG.warn("Thread pool saturated, reading translations in calling thread");
+            results = Collections.nCopies(localeList.size(), null);
+        }
 
-        return translationsByKey;
+        final Map<Locale, Translations> translationsByLocale = Maps.newLinkedHashMap();
+        for (int i = 0; i < localeList.size(); i++) {
+            final Locale locale = localeList.get(i);
+            final Object result = results.get(i);
+            translationsByLocale.put(locale, result != null ? (Translations) result : read(locale));
+        }
+        return ImmutableMap.copyOf(translationsByLocale);
     }
 
+    /**
+     * The translations read in the background, else <tt>null</tt> (logging the failure) if they could not be read
+     * there, in which case they are re-read in the calling thread; any failure when doing so then propagates.
+     */
+    private static Object resultElseNull(final Future<Object> future, final Locale locale) {
+        try {
+            return future.get();
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            LOG.warn("Interrupted reading translations for locale: " + locale + " in background");
+            return null;
+        } catch (final ExecutionException ex) {
+            LOG.warn("Could not read translations for locale: " + locale + " in background", ex.getCause());
+            return null;
+        }
+    }
 
     /**
      * @param locale - the .po file to load
-     * @param translationsByKey - the translations to be populated
      */
-    private void read(final Locale locale, final Map<ContextAndMsgId, String> translationsByKey) {
+    private Translations read(final Locale locale) {
         final List<String> contents = readPo(locale);
 
+        final Map<ContextAndMsgId, String> translationsByKey = Maps.newHashMap();
         Block block = new Block();
         for (final String line : contents) {
             block = block.parseLine(line, translationsByKey);
         }
+        return new Translations(translationsByKey, contents == fallback);
     }
 
     protected List<String> readPo(final Locale locale) {
         final List<String> lines = readPoElseNull(locale);
         if(lines != null) {
-            usesFallbackByLocale.put(locale, false);
             return lines;
         }
 
         // this is only ever logged the first time that a user using this particular locale is encountered
         logInfoIfNotPreviously("Could not locate translations for locale: " + locale + ", using fallback");
 
-        usesFallbackByLocale.put(locale, true);
         return fallback;
     }
 
@@ -244,6 +379,67 @@ private List<String> readUrl(final String candidate) {
         return translationsResolver.readLines(candidate);
     }
 
+    //endregion
+
+    //region > Translations
+
+    /**
+     * The (immutable) translations of a single locale, keyed by context and then by msgId.
+     *
+     * <p>
+     *     Translations are trimmed when read, and blank translations are discarded, so that a lookup is just two
+     *     hash lookups.
+     * </p>
+     */
+    static final class Translations {
+
+        private final Map<String, Map<String, String>> translationByMsgIdByContext;
+        private final boolean usesFallback;
+
+        Translations(final Map<ContextAndMsgId, String> translationsByKey, final boolean usesFallback) {
+            final Map<String, ImmutableMap.Builder<String, String>> buildersByContext = Maps.newHashMap();
+            for (final Map.Entry<ContextAndMsgId, String> entry : translationsByKey.entrySet()) {
+                final String translation = entry.getValue() != null ? entry.getValue().trim() : null;
+                if(Strings.isNullOrEmpty(translation)) {
+                    continue;
+                }
+                final ContextAndMsgId key = entry.getKey();
+                ImmutableMap.Builder<String, String> builder = buildersByContext.get(key.getContext());
+                if(builder == null) {
+                    builder = ImmutableMap.builder();
+                    buildersByContext.put(key.getContext(), builder);
+                }
+                builder.put(key.getMsgId(), translation);
+            }
+            final ImmutableMap.Builder<String, Map<String, String>> builder = ImmutableMap.builder();
+            for (final Map.Entry<String, ImmutableMap.Builder<String, String>> entry : buildersByContext.entrySet()) {
+                builder.put(entry.getKey(), entry.getValue().build());
+            }
+            this.translationByMsgIdByContext = builder.build();
+            this.usesFallback = usesFallback;
+        }
+
+        /**
+         * @return the translation, or <tt>null</tt> if there is none.
+         */
+        String lookup(final String context, final String msgId) {
+            if(msgId == null) {
+                return null;
+            }
+            final Map<String, String> translationByMsgId =
+                    translationByMsgIdByContext.get(context != null ? context : "");
+            return translationByMsgId != null ? translationByMsgId.get(msgId) : null;
+        }
+
+        /**
+         * Whether these are the fallback translations, ie no .po file was found specifically for the locale.
+         */
+        boolean usesFallback() {
+            return usesFallback;
+        }
+    }
+
+    //endregion
 
     // to avoid flooding the logs
     private void logInfoIfNotPreviously(final String infoMessage) {
@@ -18,12 +18,17 @@
  */
 package org.apache.isis.core.runtime.services.i18n.po;
 
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 
+import com.google.common.base.Splitter;
+import com.google.common.collect.Lists;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -45,6 +50,12 @@ public class TranslationServicePo implements TranslationService {
 
     public static final String KEY_PO_MODE = "isis.services.translation.po.mode";
 
+    /**
+     * The locales (CSV, eg <tt>en,fr,es-ES</tt>) whose translations should be read on startup rather than on first
+     * use.
+     */
+    public static final String KEY_PO_LOCALES = "isis.services.translation.po.locales";
+
     private PoAbstract po;
 
     /**
@@ -81,10 +92,21 @@ public void init(final Map<String,String> config) {
 
         // switch to read mode
         final PoReader poReader = new PoReader(this);
-        poReader.init();
+        poReader.init(parseLocales(config.get(KEY_PO_LOCALES)));
         po = poReader;
     }
 
+    static List<Locale> parseLocales(final String localesCsv) {
+        final List<Locale> locales = Lists.newArrayList();
+        if(localesCsv == null) {
+            return locales;
+        }
+        for (final String localeStr : Splitter.on(',').trimResults().omitEmptyStrings().split(localesCsv)) {
+            locales.add(Locale.forLanguageTag(localeStr.replace('_', '-')));
+        }
+        return locales;
+    }
+
     protected boolean isPrototypeOrTest() {
         return !getDeploymentCategory().isProduction();
     }
@@ -138,6 +160,26 @@ void clearCache() {
         ((PoReader)po).clearCache();
     }
 
+    /**
+     * Not API
+     *
+     * @return the number of translations found (since startup), or <tt>-1</tt> if not in read mode.
+     */
+    @Programmatic
+    public long getTranslationHitCount() {
+        return getMode().isRead() ? ((PoReader)po).getHitCount() : -1;
+    }
+
+    /**
+     * Not API
+     *
+     * @return the number of translations requested but not found (since startup), or <tt>-1</tt> if not in read mode.
+     */
+    @Programmatic
+    public long getTranslationMissCount() {
+        return getMode().isRead() ? ((PoReader)po).getMissCount() : -1;
+    }
+
     private PoReader previousPoReader;
     private PoWriter previousPoWriter;
 
@@ -26,16 +26,21 @@
 import javax.jdo.listener.InstanceLifecycleListener;
 import javax.jdo.listener.LoadLifecycleListener;
 
+import org.datanucleus.api.jdo.JDOPersistenceManagerFactory;
+import org.datanucleus.cache.Level2Cache;
+
 import org.apache.isis.applib.annotation.DomainService;
 import org.apache.isis.applib.annotation.NatureOfService;
 import org.apache.isis.applib.annotation.Programmatic;
-import org.apache.isis.applib.services.metrics.MetricsService;
-import org.apache.isis.core.runtime.services.changes.ChangedObjectsServiceInternal;
 import org.apache.isis.applib.services.WithTransactionScope;
+import org.apache.isis.applib.services.jdosupport.IsisJdoSupport;
+import org.apache.isis.applib.services.metrics.MetricsService2;
+import org.apache.isis.core.runtime.services.changes.ChangedObjectsServiceInternal;
+import org.apache.isis.objectstore.jdo.datanucleus.cache.IsisLevel2Cache;
 
 @RequestScoped
 @DomainService(nature = NatureOfService.DOMAIN)
-public class MetricsServiceDefault implements MetricsService, InstanceLifecycleListener, LoadLifecycleListener, WithTransactionScope {
+public class MetricsServiceDefault implements MetricsService2, InstanceLifecycleListener, LoadLifecycleListener, WithTransactionScope {
 
     private AtomicInteger numberLoaded = new AtomicInteger(0);
 
@@ -49,6 +54,31 @@ public int numberObjectsDirtied() {
         return changedObjectsServiceInternal.numberObjectsDirtied();
     }
 
+    @Override
+    public long level2CacheHitCount() {
+        final IsisLevel2Cache level2Cache = isisLevel2Cache();
+        return level2Cache != null ? level2Cache.getHitCount() : 0L;
+    }
+
+    @Override
+    public long level2CacheMissCount() {
+        final IsisLevel2Cache level2Cache = isisLevel2Cache();
+        return level2Cache != null ? level2Cache.getMissCount() : 0L;
+    }
+
+    @Override
+    public long level2CacheEvictionCount() {
+        final IsisLevel2Cache level2Cache = isisLevel2Cache();
+        return level2Cache != null ? level2Cache.getEvictionCount() : 0L;
+    }
+
+    private IsisLevel2Cache isisLevel2Cache() {
+        final JDOPersistenceManagerFactory pmf =
+                (JDOPersistenceManagerFactory) isisJdoSupport.getJdoPersistenceManager().getPersistenceManagerFactory();
+        final Level2Cache level2Cache = pmf.getNucleusContext().getLevel2Cache();
+        return level2Cache instanceof IsisLevel2Cache ? (IsisLevel2Cache) level2Cache : null;
+    }
+
     @Programmatic
     @Override
     public void postLoad(final InstanceLifecycleEvent event) {
@@ -68,4 +98,7 @@ public void resetForNextTransaction() {
     @javax.inject.Inject
     ChangedObjectsServiceInternal changedObjectsServiceInternal;
 
+    @javax.inject.Inject
+    IsisJdoSupport isisJdoSupport;
+
 }
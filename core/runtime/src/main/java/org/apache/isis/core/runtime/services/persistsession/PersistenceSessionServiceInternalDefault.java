@@ -19,6 +19,7 @@
 package org.apache.isis.core.runtime.services.persistsession;
 
 import java.util.List;
+import java.util.Set;
 
 import org.apache.isis.applib.annotation.DomainService;
 import org.apache.isis.applib.annotation.NatureOfService;
@@ -128,6 +129,16 @@ public Bookmark bookmarkFor(Class<?> cls, String identifier) {
         return new Bookmark(objectType, identifier);
     }
 
+    @Override
+    public void evict(final ObjectAdapter adapter) {
+        getPersistenceSession().evict(adapter);
+    }
+
+    @Override
+    public Set<Object> getLoadedObjects() {
+        return getPersistenceSession().getLoadedObjects();
+    }
+
     @Override
     public void resolve(final Object parent) {
         getPersistenceSession().resolve(parent);
@@ -16,12 +16,15 @@
  */
 package org.apache.isis.core.runtime.services.xmlsnapshot;
 
+import java.io.OutputStream;
+
 import org.apache.isis.applib.annotation.DomainService;
 import org.apache.isis.applib.annotation.NatureOfService;
 import org.apache.isis.applib.annotation.Programmatic;
 import org.apache.isis.applib.services.xmlsnapshot.XmlSnapshotService;
 import org.apache.isis.applib.services.xmlsnapshot.XmlSnapshotServiceAbstract;
 import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.runtime.snapshot.StreamingXmlSnapshot;
 import org.apache.isis.core.runtime.snapshot.XmlSnapshot;
 import org.apache.isis.core.runtime.snapshot.XmlSnapshotBuilder;
 import org.apache.isis.core.runtime.system.persistence.PersistenceSession;
@@ -85,6 +88,24 @@ public Builder builderFor(final Object domainObject) {
         return new XmlSnapshotServiceDefaultBuilder(domainObject);
     }
 
+    /**
+     * Writes a snapshot of the domain object, traversing the specified paths (as per
+     * {@link Builder#includePath(String)}), directly to the provided stream.
+     *
+     * <p>
+     * Unlike {@link #snapshotFor(Object)} and {@link #builderFor(Object)}, the snapshot is not built in memory as a
+     * DOM, making this suitable for large object graphs.  The corresponding XSD can be obtained using
+     * {@link StreamingXmlSnapshot#getXsdDocumentAsString()} of {@link XmlSnapshotBuilder#buildStreaming()}.
+     */
+    @Programmatic
+    public void writeSnapshot(final Object domainObject, final OutputStream outputStream, final String... includePaths) {
+        final XmlSnapshotBuilder builder = new XmlSnapshotBuilder(domainObject);
+        for (final String includePath : includePaths) {
+            builder.includePath(includePath);
+        }
+        builder.buildStreaming().writeXml(outputStream);
+    }
+
     
     // //////////////////////////////////////
 
@@ -83,6 +83,19 @@ public XmlSnapshot build() {
         return snapshot;
     }
 
+    /**
+     * Builds a {@link StreamingXmlSnapshot} rather than an {@link XmlSnapshot}, for large object graphs that should be
+     * written directly to an {@link java.io.OutputStream} rather than built in memory.
+     */
+    public StreamingXmlSnapshot buildStreaming() {
+        final ObjectAdapter adapter = getPersistenceSession().adapterFor(domainObject);
+        final StreamingXmlSnapshot snapshot = (schema != null) ? new StreamingXmlSnapshot(adapter, schema) : new StreamingXmlSnapshot(adapter);
+        for (final XmlSnapshotBuilder.PathAndAnnotation paa : paths) {
+            snapshot.include(paa.path, paa.annotation);
+        }
+        return snapshot;
+    }
+
     // ///////////////////////////////////////////////////////
     // Dependencies (from context)
     // ///////////////////////////////////////////////////////
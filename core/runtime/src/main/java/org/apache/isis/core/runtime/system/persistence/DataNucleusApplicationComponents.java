@@ -27,10 +27,13 @@
 
 import com.google.common.base.Joiner;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 
+import org.datanucleus.ClassLoaderResolver;
 import org.datanucleus.PersistenceNucleusContext;
 import org.datanucleus.PropertyNames;
 import org.datanucleus.api.jdo.JDOPersistenceManagerFactory;
+import org.datanucleus.metadata.AbstractClassMetaData;
 import org.datanucleus.metadata.MetaDataListener;
 import org.datanucleus.metadata.MetaDataManager;
 import org.datanucleus.store.StoreManager;
@@ -43,6 +46,8 @@
 import org.apache.isis.core.metamodel.specloader.SpecificationLoader;
 import org.apache.isis.objectstore.jdo.datanucleus.CreateSchemaObjectFromClassMetadata;
 import org.apache.isis.objectstore.jdo.datanucleus.DataNucleusPropertiesAware;
+import org.apache.isis.objectstore.jdo.datanucleus.cache.IsisLevel2Cache;
+import org.apache.isis.objectstore.jdo.metamodel.facets.object.cacheable.JdoCacheableFacet;
 import org.apache.isis.objectstore.jdo.metamodel.facets.object.query.JdoNamedQuery;
 import org.apache.isis.objectstore.jdo.metamodel.facets.object.query.JdoQueryFacet;
 
@@ -105,7 +110,11 @@ public DataNucleusApplicationComponents(
     }
 
     private void initialize() {
+        final Set<String> cacheableClassNameSet = catalogCacheableClasses(persistableClassNameSet);
+        configureLevel2CacheIfRequired(cacheableClassNameSet, datanucleusProps);
+
         persistenceManagerFactory = createPmfAndSchemaIfRequired(persistableClassNameSet, datanucleusProps);
+        markAsCacheable(persistenceManagerFactory, cacheableClassNameSet);
 
         namedQueryByName = catalogNamedQueries(persistableClassNameSet);
     }
@@ -210,6 +219,14 @@ private void registerMetadataListener(
             ((DataNucleusPropertiesAware) listener).setDataNucleusProperties(datanucleusProps);
         }
 
+        // DN reads the metadata of any entity classes already initialized (eg by the metamodel, to look for
+        // cacheable entities) as soon as the PMF is created, so notify the listener of these first...
+        for (final String className : metaDataManager.getClassesWithMetaData()) {
+            final AbstractClassMetaData cmd = metaDataManager.readMetaDataForClass(className);
+            if(cmd != null) {
+                listener.loaded(cmd);
+            }
+        }
 
         // and install the listener for any classes that are lazily loaded subsequently
         // (shouldn't be any, this is mostly backwards compatibility with previous design).
@@ -232,6 +249,60 @@ private static Properties asProperties(final Map<String, String> props) {
         return properties;
     }
 
+    //region > level-2 cache
+
+    private Set<String> catalogCacheableClasses(final Set<String> persistableClassNames) {
+        final Set<String> cacheableClassNames = Sets.newLinkedHashSet();
+        for (final String persistableClassName: persistableClassNames) {
+            final ObjectSpecification spec = specificationLoader.loadSpecification(persistableClassName);
+            if (spec.containsDoOpFacet(JdoCacheableFacet.class)) {
+                cacheableClassNames.add(persistableClassName);
+            }
+        }
+        return cacheableClassNames;
+    }
+
+    /**
+     * If any entities have been marked as cacheable, then (unless the level-2 cache type has been configured
+     * explicitly, including as <tt>none</tt>) use {@link IsisLevel2Cache}, caching only those entities.
+     */
+    static void configureLevel2CacheIfRequired(
+            final Set<String> cacheableClassNames,
+            final Map<String, String> datanucleusProps) {
+        if (cacheableClassNames.isEmpty()) {
+            return;
+        }
+        if (!datanucleusProps.containsKey(PropertyNames.PROPERTY_CACHE_L2_TYPE)) {
+            datanucleusProps.put(PropertyNames.PROPERTY_CACHE_L2_TYPE, IsisLevel2Cache.NAME);
+        }
+        if (!datanucleusProps.containsKey(PropertyNames.PROPERTY_CACHE_L2_MODE)) {
+            datanucleusProps.put(PropertyNames.PROPERTY_CACHE_L2_MODE, "ENABLE_SELECTIVE");
+        }
+    }
+
+    /**
+     * Entities listed in configuration (rather than annotated) need their DataNucleus metadata updating.
+     */
+    private static void markAsCacheable(
+            final PersistenceManagerFactory persistenceManagerFactory,
+            final Set<String> cacheableClassNames) {
+        if (cacheableClassNames.isEmpty()) {
+            return;
+        }
+        final PersistenceNucleusContext nucleusContext =
+                ((JDOPersistenceManagerFactory) persistenceManagerFactory).getNucleusContext();
+        final MetaDataManager metaDataManager = nucleusContext.getMetaDataManager();
+        final ClassLoaderResolver clr = nucleusContext.getClassLoaderResolver(null);
+        for (final String cacheableClassName : cacheableClassNames) {
+            final AbstractClassMetaData cmd = metaDataManager.getMetaDataForClass(cacheableClassName, clr);
+            if (cmd != null) {
+                cmd.setCacheable(true);
+            }
+        }
+    }
+
+    //endregion
+
     private Map<String, JdoNamedQuery> catalogNamedQueries(Set<String> persistableClassNames) {
         final Map<String, JdoNamedQuery> namedQueryByName = Maps.newHashMap();
         for (final String persistableClassName: persistableClassNames) {
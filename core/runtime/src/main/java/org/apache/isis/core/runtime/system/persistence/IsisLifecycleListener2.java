@@ -48,7 +48,7 @@
     interface PersistenceSessionLifecycleManagement extends AdapterManagerBase {
 
         void ensureRootObject(Persistable pojo);
-        void initializeMapAndCheckConcurrency(Persistable pojo);
+        void initializeMapAndCheckConcurrencyOrDefer(Persistable pojo);
 
         void enlistCreatedAndRemapIfRequiredThenInvokeIsisInvokePersistingOrUpdatedCallback(Persistable pojo);
         void invokeIsisPersistingCallback(Persistable pojo);
@@ -87,7 +87,7 @@ public void postAttach(final InstanceLifecycleEvent event) {
     @Override
     public void postLoad(final InstanceLifecycleEvent event) {
         final Persistable pojo = Utils.persistenceCapableFor(event);
-        persistenceSession.initializeMapAndCheckConcurrency(pojo);
+        persistenceSession.initializeMapAndCheckConcurrencyOrDefer(pojo);
     }
 
 	@Override
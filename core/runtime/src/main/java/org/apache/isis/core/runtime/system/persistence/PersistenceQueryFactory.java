@@ -28,6 +28,7 @@
 import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
 import org.apache.isis.core.metamodel.adapter.mgr.AdapterManager;
 import org.apache.isis.core.metamodel.services.container.query.QueryCardinality;
+import org.apache.isis.core.metamodel.services.container.query.QueryFindAllInstancesInChunk;
 import org.apache.isis.core.metamodel.services.container.query.QueryFindByPattern;
 import org.apache.isis.core.metamodel.services.container.query.QueryFindByTitle;
 import org.apache.isis.core.metamodel.spec.ObjectSpecification;
@@ -59,7 +60,8 @@ final PersistenceQuery createPersistenceQueryFor(final Query<?> query, final Que
         final ObjectSpecification noSpec = specFor(query);
         if (query instanceof QueryFindAllInstances) {
             final QueryFindAllInstances<?> queryFindAllInstances = (QueryFindAllInstances<?>) query;
-            return new PersistenceQueryFindAllInstances(noSpec, specificationLoader, queryFindAllInstances.getStart(), queryFindAllInstances.getCount());
+            final boolean orderedByObjectId = query instanceof QueryFindAllInstancesInChunk;
+            return new PersistenceQueryFindAllInstances(noSpec, specificationLoader, orderedByObjectId, queryFindAllInstances.getStart(), queryFindAllInstances.getCount());
         }
         if (query instanceof QueryFindByTitle) {
             final QueryFindByTitle<?> queryByTitle = (QueryFindByTitle<?>) query;
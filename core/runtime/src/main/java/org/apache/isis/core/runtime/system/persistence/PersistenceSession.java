@@ -22,18 +22,24 @@
 import java.lang.reflect.Modifier;
 import java.sql.Timestamp;
 import java.text.MessageFormat;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 import javax.jdo.FetchGroup;
 import javax.jdo.FetchPlan;
+import javax.jdo.JDOException;
 import javax.jdo.PersistenceManager;
 import javax.jdo.PersistenceManagerFactory;
 import javax.jdo.listener.InstanceLifecycleListener;
 
+import com.google.common.base.Optional;
 import com.google.common.collect.Lists;
+import com.google.common.collect.MapMaker;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 
 import org.datanucleus.enhancement.Persistable;
 import org.slf4j.Logger;
@@ -120,6 +126,8 @@
 import org.apache.isis.core.runtime.persistence.objectstore.transaction.PersistenceCommand;
 import org.apache.isis.core.runtime.persistence.objectstore.transaction.TransactionalResource;
 import org.apache.isis.core.runtime.persistence.query.PersistenceQueryFindAllInstances;
+import org.apache.isis.core.runtime.persistence.query.PersistenceQueryFindByPattern;
+import org.apache.isis.core.runtime.persistence.query.PersistenceQueryFindByTitle;
 import org.apache.isis.core.runtime.persistence.query.PersistenceQueryFindUsingApplibQueryDefault;
 import org.apache.isis.core.runtime.runner.opts.OptionHandlerFixtureAbstract;
 import org.apache.isis.core.runtime.services.RequestScopedService;
@@ -133,9 +141,14 @@
 import org.apache.isis.core.runtime.system.transaction.TransactionalClosureWithReturn;
 import org.apache.isis.objectstore.jdo.datanucleus.persistence.commands.DataNucleusCreateObjectCommand;
 import org.apache.isis.objectstore.jdo.datanucleus.persistence.commands.DataNucleusDeleteObjectCommand;
+import org.apache.isis.objectstore.jdo.datanucleus.persistence.queries.CollectionElementsQuery;
 import org.apache.isis.objectstore.jdo.datanucleus.persistence.queries.PersistenceQueryFindAllInstancesProcessor;
+import org.apache.isis.objectstore.jdo.datanucleus.persistence.queries.PersistenceQueryFindByPatternProcessor;
+import org.apache.isis.objectstore.jdo.datanucleus.persistence.queries.PersistenceQueryFindByTitleProcessor;
 import org.apache.isis.objectstore.jdo.datanucleus.persistence.queries.PersistenceQueryFindUsingApplibQueryProcessor;
 import org.apache.isis.objectstore.jdo.datanucleus.persistence.queries.PersistenceQueryProcessor;
+import org.apache.isis.objectstore.jdo.datanucleus.persistence.queries.PropertyAggregates;
+import org.apache.isis.objectstore.jdo.datanucleus.persistence.queries.PropertyAggregatesQuery;
 import org.apache.isis.objectstore.jdo.datanucleus.persistence.spi.JdoObjectIdSerializer;
 
 import static org.apache.isis.core.commons.ensure.Ensure.ensureThatArg;
@@ -265,6 +278,13 @@ public PersistenceSession(
                 this.configuration.getBoolean("isis.persistor.disableConcurrencyChecking", false);
         this.concurrencyCheckingGloballyEnabled = !concurrencyCheckingGloballyDisabled;
 
+        final int adapterMapExpectedSize =
+                this.configuration.getInteger(ADAPTER_MAP_EXPECTED_SIZE_KEY, ADAPTER_MAP_EXPECTED_SIZE_DEFAULT);
+        this.pojoAdapterMap = new PojoAdapterHashMap(adapterMapExpectedSize);
+        this.oidAdapterMap = new OidAdapterHashMap(adapterMapExpectedSize);
+
+        this.deferAdapterCreation =
+                this.configuration.getBoolean(DEFER_ADAPTER_CREATION_KEY, DEFER_ADAPTER_CREATION_DEFAULT);
     }
 
     @Override
@@ -311,6 +331,12 @@ public void open() {
         persistenceQueryProcessorByClass.put(
                 PersistenceQueryFindUsingApplibQueryDefault.class,
                 new PersistenceQueryFindUsingApplibQueryProcessor(this));
+        persistenceQueryProcessorByClass.put(
+                PersistenceQueryFindByPattern.class,
+                new PersistenceQueryFindByPatternProcessor(this));
+        persistenceQueryProcessorByClass.put(
+                PersistenceQueryFindByTitle.class,
+                new PersistenceQueryFindByTitleProcessor(this));
 
         initServices();
 
@@ -459,6 +485,12 @@ public void close() {
             LOG.error("close: pojoAdapterMap#close() failed; continuing to avoid memory leakage");
         }
 
+        datastoreVersionByDeferredPojo.clear();
+        if (LOG.isDebugEnabled() && numberOfAdaptersDeferred > 0) {
+            LOG.debug("close: adapter creation deferred for {} loaded objects; {} never required",
+                    numberOfAdaptersDeferred, getNumberOfAdaptersAvoided());
+        }
+
         this.state = State.CLOSED;
     }
 
@@ -807,11 +839,17 @@ public List<ObjectAdapter> getServices() {
     void postLifecycleEventIfRequired(
             final ObjectAdapter adapter,
             final Class<? extends LifecycleEventFacet> lifecycleEventFacetClass) {
-        final LifecycleEventFacet facet = adapter.getSpecification().getFacet(lifecycleEventFacetClass);
+        postLifecycleEventIfRequired(adapter.getSpecification(), adapter.getObject(), lifecycleEventFacetClass);
+    }
+
+    private void postLifecycleEventIfRequired(
+            final ObjectSpecification spec,
+            final Object pojo,
+            final Class<? extends LifecycleEventFacet> lifecycleEventFacetClass) {
+        final LifecycleEventFacet facet = spec.getFacet(lifecycleEventFacetClass);
         if(facet != null) {
             final Class<? extends AbstractLifecycleEvent<?>> eventType = facet.getEventType();
             final Object instance = InstanceUtil.createInstance(eventType);
-            final Object pojo = adapter.getObject();
             postEvent((AbstractLifecycleEvent) instance, pojo);
         }
     }
@@ -986,6 +1024,41 @@ public Object loadPojo(final RootOid rootOid) {
         return result;
     }
 
+    /**
+     * Loads the persistent objects with the provided oids (other than those already mapped) using a single query,
+     * and maps their adapters; subsequently {@link #adapterFor(RootOid) looking up} each by its oid does not need
+     * to query the datastore.
+     *
+     * <p>
+     *     If any of the objects cannot be loaded (for example because it has since been deleted) then none are; each
+     *     is instead loaded individually when looked up.
+     * </p>
+     */
+    public void loadPersistentPojos(final List<RootOid> rootOids) {
+        final List<Object> jdoObjectIds = Lists.newArrayList();
+        for (final RootOid rootOid : rootOids) {
+            if(rootOid == null || !rootOid.isPersistent() || rootOid.isViewModel() || getAdapterFor(rootOid) != null) {
+                continue;
+            }
+            final Class<?> cls = clsOf(rootOid);
+            jdoObjectIds.add(persistenceManager.newObjectIdInstance(cls, JdoObjectIdSerializer.toJdoObjectId(rootOid)));
+        }
+        if(jdoObjectIds.isEmpty()) {
+            return;
+        }
+
+        final Collection<?> pojos;
+        try {
+            pojos = persistenceManager.getObjectsById(jdoObjectIds, true);
+        } catch (final JDOException ex) {
+            LOG.debug("loadPersistentPojos: unable to load all of " + jdoObjectIds + ", will load individually", ex);
+            return;
+        }
+        for (final Object pojo : pojos) {
+            adapterFor(pojo);
+        }
+    }
+
     private Class<?> clsOf(final RootOid oid) {
         final ObjectSpecification objectSpec = getSpecificationLoader().lookupBySpecId(oid.getObjectSpecId());
         return objectSpec.getCorrespondingClass();
@@ -1069,6 +1142,43 @@ public void resolve(final Object parent) {
 
     //endregion
 
+    //region > evict
+
+    /**
+     * Removes the (persistent and unmodified) domain object wrapped in the {@link ObjectAdapter} from this session,
+     * for example having been loaded only to be discarded.
+     *
+     * <p>
+     *     The adapter is unmapped and the pojo is evicted (made hollow) by the persistence manager, so that neither
+     *     holds on to its state; any subsequent use of the pojo will reload it and map a new adapter.  Objects that
+     *     are new, modified or deleted in the current transaction are left alone.
+     * </p>
+     */
+    public void evict(final ObjectAdapter adapter) {
+        final Object domainObject = adapter.getObject();
+        if (!(domainObject instanceof Persistable)) {
+            return;
+        }
+        final Persistable persistable = (Persistable) domainObject;
+        if (!persistable.dnIsPersistent() || persistable.dnIsNew() || persistable.dnIsDirty() || persistable.dnIsDeleted()) {
+            return;
+        }
+        removeAdapter(adapter);
+        persistenceManager.evict(domainObject);
+    }
+
+    /**
+     * The domain objects (compared by identity, in case they override <tt>equals</tt>) managed by the persistence
+     * manager, that is, in its level 1 cache.
+     */
+    public Set<Object> getLoadedObjects() {
+        final Set<Object> loadedObjects = Sets.newIdentityHashSet();
+        loadedObjects.addAll(persistenceManager.getManagedObjects());
+        return loadedObjects;
+    }
+
+    //endregion
+
     //region > makePersistent
 
     /**
@@ -1357,18 +1467,91 @@ public javax.jdo.Query newJdoNamedQuery (Class<?> cls, String queryName) {
     public javax.jdo.Query newJdoQuery (Class<?> cls, String filter) {
         return persistenceManager.newQuery(cls, filter);
     }
+
+    /**
+     * The DataNucleus identity of the (persistent) pojo, or <tt>null</tt> if not persistent.
+     */
+    public Object getObjectIdFor(final Object pojo) {
+        return persistenceManager.getObjectId(pojo);
+    }
+
+    /**
+     * Evicts the objects with the provided DataNucleus identities from the level-2 cache (if any).
+     */
+    public void evictFromLevel2Cache(final Collection<Object> objectIds) {
+        persistenceManager.getPersistenceManagerFactory().getDataStoreCache().evictAll(objectIds);
+    }
     // endregion
 
+    //region > aggregates
+
+    /**
+     * Aggregates the (numeric) properties over the elements of a persistent parent's collection, using the
+     * datastore; returns <tt>null</tt> if this isn't possible.
+     *
+     * @see PropertyAggregatesQuery
+     */
+    public List<PropertyAggregates> aggregatesOf(
+            final ObjectAdapter parentAdapter,
+            final OneToManyAssociation collection,
+            final List<? extends ObjectAssociation> properties) {
+        return new PropertyAggregatesQuery(this, getSpecificationLoader()).aggregatesOf(parentAdapter, collection, properties);
+    }
+
+    /**
+     * Aggregates the (numeric) properties over the (distinct) persistent objects with the provided oids, using the
+     * datastore; returns <tt>null</tt> if this isn't possible.
+     *
+     * @see PropertyAggregatesQuery
+     */
+    public List<PropertyAggregates> aggregatesOf(
+            final ObjectSpecification elementSpec,
+            final List<RootOid> rootOids,
+            final List<? extends ObjectAssociation> properties) {
+        return new PropertyAggregatesQuery(this, getSpecificationLoader()).aggregatesOf(elementSpec, rootOids, properties);
+    }
+
+    //endregion
+
+    //region > collection elements
+
+    /**
+     * The elements of a persistent parent's collection from <tt>start</tt> (inclusive) to <tt>end</tt> (exclusive),
+     * in order of their identity, queried from the datastore; returns <tt>null</tt> if this isn't possible.
+     *
+     * @see CollectionElementsQuery
+     */
+    public List<ObjectAdapter> elementsOf(
+            final ObjectAdapter parentAdapter,
+            final OneToManyAssociation collection,
+            final long start,
+            final long end) {
+        return new CollectionElementsQuery(this).elementsOf(parentAdapter, collection, start, end);
+    }
+
+    //endregion
+
     //region > AdapterManager implementation
 
-    private final PojoAdapterHashMap pojoAdapterMap = new PojoAdapterHashMap();
-    private final OidAdapterHashMap oidAdapterMap = new OidAdapterHashMap();
+    /**
+     * The number of adapters that each of the {@link #pojoAdapterMap} and {@link #oidAdapterMap} are initially sized
+     * to hold; the maps grow if required.
+     */
+    public static final String ADAPTER_MAP_EXPECTED_SIZE_KEY = "isis.persistor.adapterMap.expectedSize";
+    public static final int ADAPTER_MAP_EXPECTED_SIZE_DEFAULT = OidAdapterHashMap.DEFAULT_OID_ADAPTER_MAP_SIZE;
+
+    private final PojoAdapterHashMap pojoAdapterMap;
+    private final OidAdapterHashMap oidAdapterMap;
 
     @Override
     public ObjectAdapter getAdapterFor(final Object pojo) {
         ensureThatArg(pojo, is(notNullValue()));
 
-        return pojoAdapterMap.getAdapter(pojo);
+        final ObjectAdapter adapter = pojoAdapterMap.getAdapter(pojo);
+        if(adapter != null || datastoreVersionByDeferredPojo.isEmpty()) {
+            return adapter;
+        }
+        return initializeMapForDeferredIfAny(pojo);
     }
 
     @Override
@@ -2055,15 +2238,110 @@ public void enlistDeletingAndInvokeIsisRemovingCallbackFacet(final Persistable p
     }
 
 
+    /**
+     * Whether the creation of adapters for objects loaded by DataNucleus is deferred until first required.
+     */
+    public static final String DEFER_ADAPTER_CREATION_KEY = "isis.persistor.adapterMap.deferAdapterCreation";
+    public static final boolean DEFER_ADAPTER_CREATION_DEFAULT = true;
+
+    private final boolean deferAdapterCreation;
+
+    /**
+     * Loaded pojos whose adapter has not yet been created, along with their version as loaded from the datastore.
+     *
+     * <p>
+     * Weak (identity) keys, so that any pojos subsequently evicted by DataNucleus are not retained.
+     */
+    private final Map<Persistable, Optional<Version>> datastoreVersionByDeferredPojo =
+            new MapMaker().weakKeys().makeMap();
+
+    private int numberOfAdaptersDeferred;
+    private int numberOfAdaptersMaterialized;
+
+    /**
+     * The number of loaded objects whose adapter creation was deferred, so far in this session.
+     */
+    public int getNumberOfAdaptersDeferred() {
+        return numberOfAdaptersDeferred;
+    }
+
+    /**
+     * The number of loaded objects whose adapter creation was deferred and (so far) has not been required.
+     */
+    public int getNumberOfAdaptersAvoided() {
+        return numberOfAdaptersDeferred - numberOfAdaptersMaterialized;
+    }
+
+    /**
+     * Called when DataNucleus has loaded the pojo; creating (and mapping) its adapter is deferred until the adapter
+     * is first looked up (by pojo, or by pojo's oid when it is {@link #mapRecreatedPojo(Oid, Object) mapped}).
+     *
+     * <p>
+     * The outcome is the same as if {@link #initializeMapAndCheckConcurrency(Persistable)} had been called
+     * immediately: the version is captured, and any {@link LoadedLifecycleEventFacet loaded event} posted, now.  The
+     * concurrency check only ever applies to pojos that already have an adapter, in which case the adapter is
+     * initialized immediately (as are those with a {@link LoadedCallbackFacet loaded callback}, which requires the
+     * adapter).  Any deferred pojo that is subsequently modified has its adapter created by the preDirty callback,
+     * so is still subject to the usual checks at flush.
+     *
+     * <p>
+     * Note that the {@link PersistenceQueryProcessor query processor}s still adapt every pojo that they return, so the
+     * saving applies only to pojos loaded by navigation (or by queries made directly by domain code).
+     */
+    public void initializeMapAndCheckConcurrencyOrDefer(final Persistable pojo) {
+        if(!deferAdapterCreation ||
+                pojoAdapterMap.getAdapter(pojo) != null ||
+                datastoreVersionByDeferredPojo.containsKey(pojo)) {
+            initializeMapAndCheckConcurrency(pojo);
+            return;
+        }
+        final ObjectSpecification spec = specificationLoader.loadSpecification(pojo.getClass());
+        if(spec.containsFacet(LoadedCallbackFacet.class)) {
+            initializeMapAndCheckConcurrency(pojo);
+            return;
+        }
+
+        // need to do eagerly, because the pojo may be used by domain code without ever requiring an adapter.
+        servicesInjector.injectInto(pojo);
+
+        datastoreVersionByDeferredPojo.put(pojo, Optional.fromNullable(getVersionIfAny(pojo)));
+        numberOfAdaptersDeferred++;
+
+        postLifecycleEventIfRequired(spec, pojo, LoadedLifecycleEventFacet.class);
+    }
+
+    private ObjectAdapter initializeMapForDeferredIfAny(final Object pojo) {
+        if(!(pojo instanceof Persistable)) {
+            return null;
+        }
+        final Optional<Version> datastoreVersion = datastoreVersionByDeferredPojo.remove(pojo);
+        if(datastoreVersion == null) {
+            return null;
+        }
+        numberOfAdaptersMaterialized++;
+        // the loaded event (if any) was posted when the pojo was deferred
+        final boolean postLoadedEvent = false;
+        return initializeMapAndCheckConcurrency((Persistable) pojo, datastoreVersion.orNull(), postLoadedEvent);
+    }
+
     public void initializeMapAndCheckConcurrency(final Persistable pojo) {
+        // a pojo reloaded before its adapter was required is treated as though its adapter was created when first loaded
+        initializeMapForDeferredIfAny(pojo);
+
+        final boolean postLoadedEvent = true;
+        initializeMapAndCheckConcurrency(pojo, getVersionIfAny(pojo), postLoadedEvent);
+    }
+
+    private ObjectAdapter initializeMapAndCheckConcurrency(
+            final Persistable pojo,
+            final Version datastoreVersion,
+            final boolean postLoadedEvent) {
         final Persistable pc = pojo;
 
         // need to do eagerly, because (if a viewModel then) a
         // viewModel's #viewModelMemento might need to use services
         servicesInjector.injectInto(pojo);
 
-        final Version datastoreVersion = getVersionIfAny(pc);
-
         final RootOid originalOid;
         ObjectAdapter adapter = getAdapterFor(pojo);
         if (adapter != null) {
@@ -2109,11 +2387,14 @@ public void initializeMapAndCheckConcurrency(final Persistable pojo) {
                 adapter = mapRecreatedPojo(originalOid, pojo);
 
                 CallbackFacet.Util.callCallback(adapter, LoadedCallbackFacet.class);
-                postLifecycleEventIfRequired(adapter, LoadedLifecycleEventFacet.class);
+                if(postLoadedEvent) {
+                    postLifecycleEventIfRequired(adapter, LoadedLifecycleEventFacet.class);
+                }
             }
         }
 
         adapter.setVersion(datastoreVersion);
+        return adapter;
     }
 
     //region > create...Oid (main API)
@@ -24,6 +24,7 @@
 import org.apache.isis.core.metamodel.specloader.validator.MetaModelValidatorComposite;
 import org.apache.isis.objectstore.jdo.metamodel.facets.object.auditable.AuditableAnnotationInJdoApplibFacetFactory;
 import org.apache.isis.objectstore.jdo.metamodel.facets.object.auditable.AuditableMarkerInterfaceInJdoApplibFacetFactory;
+import org.apache.isis.objectstore.jdo.metamodel.facets.object.cacheable.JdoCacheableAnnotationFacetFactory;
 import org.apache.isis.objectstore.jdo.metamodel.facets.object.datastoreidentity.JdoDatastoreIdentityAnnotationFacetFactory;
 import org.apache.isis.objectstore.jdo.metamodel.facets.object.discriminator.JdoDiscriminatorAnnotationFacetFactory;
 import org.apache.isis.objectstore.jdo.metamodel.facets.object.persistencecapable.JdoPersistenceCapableAnnotationFacetFactory;
@@ -48,6 +49,7 @@ public void refineProgrammingModel(ProgrammingModel programmingModel, IsisConfig
         programmingModel.addFactory(new JdoNotPersistentAnnotationFacetFactory());
         programmingModel.addFactory(new JdoDiscriminatorAnnotationFacetFactory());
         programmingModel.addFactory(new JdoVersionAnnotationFacetFactory());
+        programmingModel.addFactory(new JdoCacheableAnnotationFacetFactory());
 
         programmingModel.addFactory(new JdoQueryAnnotationFacetFactory());
 
@@ -0,0 +1,370 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.runtime.system.persistence.adaptermanager;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+
+/**
+ * Open-addressing (linear probing) hash table of {@link ObjectAdapter}s, used by {@link PojoAdapterHashMap} and
+ * {@link OidAdapterHashMap}.
+ *
+ * <p>
+ *     Keys, adapters and the (mixed) hashes of the keys are held in parallel arrays, so no entry or wrapper objects
+ *     are allocated on lookup or insertion.  Entries are removed using backward-shift deletion, so there are no
+ *     tombstones and probe sequences stay short however many adapters are added and removed over the course of a
+ *     session.
+ * </p>
+ *
+ * <p>
+ *     Not thread-safe; the table is owned by a single persistence session.
+ * </p>
+ */
+abstract class AdapterHashTable<K> {
+
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    private final int initialCapacity;
+
+    private Object[] keys;
+    private ObjectAdapter[] adapters;
+    private int[] hashes;
+
+    private int mask;
+    private int threshold;
+    private int size;
+    private int modCount;
+
+    private long lookupCount;
+    private long probeCount;
+    private int maxProbeLength;
+
+    AdapterHashTable(final int expectedSize) {
+        if(expectedSize < 0) {
+            throw new IllegalArgumentException("expectedSize cannot be negative: " + expectedSize);
+        }
+        this.initialCapacity = capacityFor(expectedSize);
+        allocate(initialCapacity);
+    }
+
+    /**
+     * The table is kept at most half full.
+     */
+    static int capacityFor(final int expectedSize) {
+        int capacity = 16;
+        while(capacity < MAXIMUM_CAPACITY && capacity / 2 < expectedSize) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private void allocate(final int capacity) {
+        keys = new Object[capacity];
+        adapters = new ObjectAdapter[capacity];
+        hashes = new int[capacity];
+        mask = capacity - 1;
+        threshold = capacity / 2;
+    }
+
+    //region > hashing, equality (hooks)
+
+    /**
+     * The (unmixed) hash of the key.
+     */
+    abstract int hashOf(K key);
+
+    /**
+     * Whether the provided key matches the key already held in the table (whose hash is known to be the same).
+     */
+    abstract boolean matches(K key, Object existingKey);
+
+    /**
+     * Spreads the bits of the hash (Fibonacci hashing), so that identity hashes and sequential ids distribute evenly
+     * across a power-of-two table.
+     */
+    private static int mix(final int hash) {
+        final int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    //endregion
+
+    //region > get, put, remove, clear
+
+    final ObjectAdapter get(final K key) {
+        final int index = indexOf(key);
+        return index >= 0 ? adapters[index] : null;
+    }
+
+    final boolean containsKey(final K key) {
+        return indexOf(key) >= 0;
+    }
+
+    /**
+     * @return the adapter previously held for this key, if any.
+     */
+    final ObjectAdapter put(final K key, final ObjectAdapter adapter) {
+        final int hash = mix(hashOf(key));
+        int index = hash & mask;
+        while(true) {
+            final Object existingKey = keys[index];
+            if(existingKey == null) {
+                break;
+            }
+            if(hashes[index] == hash && matches(key, existingKey)) {
+                final ObjectAdapter previous = adapters[index];
+                adapters[index] = adapter;
+                return previous;
+            }
+            index = (index + 1) & mask;
+        }
+        keys[index] = key;
+        adapters[index] = adapter;
+        hashes[index] = hash;
+        modCount++;
+        if(++size > threshold) {
+            resize(keys.length << 1);
+        }
+        return null;
+    }
+
+    /**
+     * @return the adapter that was removed, if any.
+     */
+    final ObjectAdapter remove(final K key) {
+        final int index = indexOf(key);
+        if(index < 0) {
+            return null;
+        }
+        final ObjectAdapter removed = adapters[index];
+        deleteAt(index);
+        size--;
+        modCount++;
+        return removed;
+    }
+
+    /**
+     * Removes all entries, releasing any extra capacity that was acquired while the table was in use.
+     */
+    final void clear() {
+        if(keys.length > initialCapacity) {
+            allocate(initialCapacity);
+        } else {
+            Arrays.fill(keys, null);
+            Arrays.fill(adapters, null);
+        }
+        size = 0;
+        modCount++;
+    }
+
+    private int indexOf(final K key) {
+        final int hash = mix(hashOf(key));
+        int index = hash & mask;
+        int probeLength = 1;
+        try {
+            while(true) {
+                final Object existingKey = keys[index];
+                if(existingKey == null) {
+                    return -1;
+                }
+                if(hashes[index] == hash && matches(key, existingKey)) {
+                    return index;
+                }
+                index = (index + 1) & mask;
+                probeLength++;
+            }
+        } finally {
+            lookupCount++;
+            probeCount += probeLength;
+            if(probeLength > maxProbeLength) {
+                maxProbeLength = probeLength;
+            }
+        }
+    }
+
+    /**
+     * Backward-shift deletion: moves any subsequent entries of the same probe run into the freed slot if that is
+     * nearer their home slot.
+     */
+    private void deleteAt(final int index) {
+        int free = index;
+        int next = index;
+        while(true) {
+            next = (next + 1) & mask;
+            if(keys[next] == null) {
+                break;
+            }
+            final int home = hashes[next] & mask;
+            // leave the entry where it is if its home slot lies cyclically within (free, next]
+            final boolean inPlace = free <= next
+                    ? free < home && home <= next
+                    : free < home || home <= next;
+            if(inPlace) {
+                continue;
+            }
+            keys[free] = keys[next];
+            adapters[free] = adapters[next];
+            hashes[free] = hashes[next];
+            free = next;
+        }
+        keys[free] = null;
+        adapters[free] = null;
+    }
+
+    private void resize(final int newCapacity) {
+        if(newCapacity > MAXIMUM_CAPACITY) {
+            throw new IllegalStateException("Too many adapters: " + size);
+        }
+        final Object[] oldKeys = keys;
+        final ObjectAdapter[] oldAdapters = adapters;
+        final int[] oldHashes = hashes;
+        allocate(newCapacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            final Object key = oldKeys[i];
+            if(key == null) {
+                continue;
+            }
+            int index = oldHashes[i] & mask;
+            while(keys[index] != null) {
+                index = (index + 1) & mask;
+            }
+            keys[index] = key;
+            adapters[index] = oldAdapters[i];
+            hashes[index] = oldHashes[i];
+        }
+    }
+
+    //endregion
+
+    //region > iterators
+
+    final Iterator<K> keyIterator() {
+        return new TableIterator<K>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            K elementAt(final int index) {
+                return (K) keys[index];
+            }
+        };
+    }
+
+    final Iterator<ObjectAdapter> adapterIterator() {
+        return new TableIterator<ObjectAdapter>() {
+            @Override
+            ObjectAdapter elementAt(final int index) {
+                return adapters[index];
+            }
+        };
+    }
+
+    private abstract class TableIterator<T> implements Iterator<T> {
+
+        private final int expectedModCount = modCount;
+        private int nextIndex = advanceFrom(0);
+
+        private int advanceFrom(final int index) {
+            int i = index;
+            while(i < keys.length && keys[i] == null) {
+                i++;
+            }
+            return i;
+        }
+
+        abstract T elementAt(int index);
+
+        @Override
+        public boolean hasNext() {
+            return nextIndex < keys.length;
+        }
+
+        @Override
+        public T next() {
+            if(modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if(!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final T element = elementAt(nextIndex);
+            nextIndex = advanceFrom(nextIndex + 1);
+            return element;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    //endregion
+
+    //region > statistics
+
+    /**
+     * The number of entries held.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * The number of slots currently allocated (always a power of two, at least twice the {@link #size()}).
+     */
+    int getCapacity() {
+        return keys.length;
+    }
+
+    /**
+     * The number of lookups (gets, removes and containment checks) performed since the table was created.
+     */
+    long getLookupCount() {
+        return lookupCount;
+    }
+
+    /**
+     * The total number of slots inspected by those lookups.
+     */
+    long getProbeCount() {
+        return probeCount;
+    }
+
+    /**
+     * The longest probe sequence encountered by any single lookup.
+     */
+    int getMaxProbeLength() {
+        return maxProbeLength;
+    }
+
+    double getAverageProbeLength() {
+        return lookupCount == 0 ? 0.0 : (double) probeCount / lookupCount;
+    }
+
+    String statistics() {
+        return String.format("size=%d, capacity=%d, lookups=%d, avgProbeLength=%.2f, maxProbeLength=%d",
+                size, getCapacity(), lookupCount, getAverageProbeLength(), maxProbeLength);
+    }
+
+    //endregion
+
+}
@@ -20,9 +20,6 @@
 package org.apache.isis.core.runtime.system.persistence.adaptermanager;
 
 import java.util.Iterator;
-import java.util.Map;
-
-import com.google.common.collect.Maps;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -33,13 +30,43 @@
 
 /**
  * A map of the objects' identities and the adapters' of the objects.
+ *
+ * <p>
+ *     Implemented as an open-addressing hash table that also records the hash of each {@link Oid}, so that
+ *     {@link Oid#equals(Object) equality} is only checked for oids whose hash matches.
+ * </p>
  */
 public class OidAdapterHashMap implements Iterable<Oid>, SessionScopedComponent {
 
     private static final Logger LOG = LoggerFactory.getLogger(OidAdapterHashMap.class);
     public static final int DEFAULT_OID_ADAPTER_MAP_SIZE = 100;
 
-    private final Map<Oid, ObjectAdapter> adapterByOidMap = Maps.newHashMapWithExpectedSize(DEFAULT_OID_ADAPTER_MAP_SIZE);
+    private final AdapterHashTable<Oid> adapterByOid;
+
+    //region > Constructors
+
+    public OidAdapterHashMap() {
+        this(DEFAULT_OID_ADAPTER_MAP_SIZE);
+    }
+
+    /**
+     * @param expectedSize - the number of oids expected to be held at any one time; the map grows if required.
+     */
+    public OidAdapterHashMap(final int expectedSize) {
+        adapterByOid = new AdapterHashTable<Oid>(expectedSize) {
+            @Override
+            int hashOf(final Oid oid) {
+                return oid.hashCode();
+            }
+
+            @Override
+            boolean matches(final Oid oid, final Object existingOid) {
+                return oid == existingOid || oid.equals(existingOid);
+            }
+        };
+    }
+
+    //endregion
 
     //region > open, close
 
@@ -49,9 +76,9 @@ public void open() {
 
     public void close() {
         if(LOG.isDebugEnabled()) {
-            LOG.debug("close");
+            LOG.debug("close: " + adapterByOid.statistics());
         }
-        adapterByOidMap.clear();
+        adapterByOid.clear();
     }
 
     //endregion
@@ -62,7 +89,7 @@ public void close() {
      */
     public void add(final Oid oid, final ObjectAdapter adapter) {
 
-        adapterByOidMap.put(oid, adapter);
+        adapterByOid.put(oid, adapter);
         // log at end so that if toString needs adapters they're in maps.
         if (LOG.isDebugEnabled()) {
             // do not call toString() on adapter because would call hashCode on
@@ -82,7 +109,7 @@ public boolean remove(final Oid oid) {
         if (LOG.isDebugEnabled()) {
             LOG.debug("remove oid: " + oid);
         }
-        return adapterByOidMap.remove(oid) != null;
+        return adapterByOid.remove(oid) != null;
     }
 
     //endregion
@@ -92,15 +119,44 @@ public boolean remove(final Oid oid) {
      * Get the adapter identified by the specified OID.
      */
     public ObjectAdapter getAdapter(final Oid oid) {
-        return adapterByOidMap.get(oid);
+        return adapterByOid.get(oid);
     }
 
     @Override
     public Iterator<Oid> iterator() {
-        return adapterByOidMap.keySet().iterator();
+        return adapterByOid.keyIterator();
     }
 
     //endregion
 
+    //region > statistics
+
+    public int size() {
+        return adapterByOid.size();
+    }
+
+    /**
+     * The number of slots currently allocated by the underlying hash table.
+     */
+    public int getCapacity() {
+        return adapterByOid.getCapacity();
+    }
+
+    /**
+     * The number of lookups made against this map (by {@link #getAdapter(Oid)} and {@link #remove(Oid)}).
+     */
+    public long getLookupCount() {
+        return adapterByOid.getLookupCount();
+    }
+
+    public double getAverageProbeLength() {
+        return adapterByOid.getAverageProbeLength();
+    }
+
+    public int getMaxProbeLength() {
+        return adapterByOid.getMaxProbeLength();
+    }
+
+    //endregion
 
 }
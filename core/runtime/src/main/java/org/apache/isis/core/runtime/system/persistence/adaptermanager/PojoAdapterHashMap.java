@@ -20,9 +20,6 @@
 package org.apache.isis.core.runtime.system.persistence.adaptermanager;
 
 import java.util.Iterator;
-import java.util.Map;
-
-import com.google.common.collect.Maps;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -30,38 +27,41 @@
 import org.apache.isis.core.commons.components.SessionScopedComponent;
 import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
 
+/**
+ * A map of the pojos (by identity) and their adapters.
+ *
+ * <p>
+ *     Implemented as an open-addressing identity hash table, so that (unlike a {@link java.util.HashMap} keyed by an
+ *     identity wrapper) lookups allocate nothing.
+ * </p>
+ */
 public class PojoAdapterHashMap implements Iterable<ObjectAdapter>, SessionScopedComponent {
 
-    private static class IdentityHashKey {
-        private final Object pojo;
-
-        public IdentityHashKey(final Object pojo) {
-            this.pojo = pojo;
-        }
-
-        @Override
-        public int hashCode() {
-            return System.identityHashCode(pojo);
-        }
-
-        @Override
-        public boolean equals(final Object obj) {
-            return obj == this || (obj instanceof IdentityHashKey && ((IdentityHashKey) obj).pojo == pojo);
-        }
-    }
-
     private static final Logger LOG = LoggerFactory.getLogger(PojoAdapterHashMap.class);
     public static final int DEFAULT_POJO_ADAPTER_MAP_SIZE = OidAdapterHashMap.DEFAULT_OID_ADAPTER_MAP_SIZE;
 
-    protected final Map<Object, ObjectAdapter> adapterByPojoMap;
+    private final AdapterHashTable<Object> adapterByPojo;
 
     //region > Constructors, finalize
     public PojoAdapterHashMap() {
         this(DEFAULT_POJO_ADAPTER_MAP_SIZE);
     }
 
-    public PojoAdapterHashMap(final int capacity) {
-        adapterByPojoMap = Maps.newHashMapWithExpectedSize(capacity);
+    /**
+     * @param expectedSize - the number of pojos expected to be held at any one time; the map grows if required.
+     */
+    public PojoAdapterHashMap(final int expectedSize) {
+        adapterByPojo = new AdapterHashTable<Object>(expectedSize) {
+            @Override
+            int hashOf(final Object pojo) {
+                return System.identityHashCode(pojo);
+            }
+
+            @Override
+            boolean matches(final Object pojo, final Object existingPojo) {
+                return pojo == existingPojo;
+            }
+        };
     }
 
     @Override
@@ -81,9 +81,9 @@ public void open() {
 
     public void close() {
         if(LOG.isDebugEnabled()) {
-            LOG.debug("close");
+            LOG.debug("close: " + adapterByPojo.statistics());
         }
-        adapterByPojoMap.clear();
+        adapterByPojo.clear();
     }
 
     //endregion
@@ -91,11 +91,10 @@ public void close() {
     //region > add, remove
 
     public void add(final Object pojo, final ObjectAdapter adapter) {
-        adapterByPojoMap.put(key(pojo), adapter);
+        adapterByPojo.put(pojo, adapter);
 
         if(LOG.isDebugEnabled()) {
-            LOG.debug("add adapter: #" + key(pojo) + " -> #" + Long.toHexString(adapter.hashCode()));
-
+            LOG.debug("add adapter: #" + Long.toHexString(System.identityHashCode(pojo)) + " -> #" + Long.toHexString(adapter.hashCode()));
         }
     }
 
@@ -103,7 +102,7 @@ public void remove(final ObjectAdapter object) {
         if(LOG.isDebugEnabled()) {
             LOG.debug("remove adapter: " + object);
         }
-        adapterByPojoMap.remove(key(object.getObject()));
+        adapterByPojo.remove(object.getObject());
     }
 
     //endregion
@@ -111,26 +110,52 @@ public void remove(final ObjectAdapter object) {
     //region > getAdapter, containsPojo
 
     public boolean containsPojo(final Object pojo) {
-        return adapterByPojoMap.containsKey(key(pojo));
+        return adapterByPojo.containsKey(pojo);
     }
 
     public ObjectAdapter getAdapter(final Object pojo) {
-        return adapterByPojoMap.get(key(pojo));
+        return adapterByPojo.get(pojo);
     }
 
     //endregion
 
-    //region > iterator, key
+    //region > iterator
     @Override
     public Iterator<ObjectAdapter> iterator() {
-        return adapterByPojoMap.values().iterator();
+        return adapterByPojo.adapterIterator();
     }
 
-    private Object key(final Object pojo) {
-        return new IdentityHashKey(pojo);
+    //endregion
+
+    //region > statistics
+
+    public int size() {
+        return adapterByPojo.size();
     }
 
-    //endregion
+    /**
+     * The number of slots currently allocated by the underlying hash table.
+     */
+    public int getCapacity() {
+        return adapterByPojo.getCapacity();
+    }
+
+    /**
+     * The number of lookups made against this map (by {@link #getAdapter(Object)}, {@link #containsPojo(Object)}
+     * and {@link #remove(ObjectAdapter)}).
+     */
+    public long getLookupCount() {
+        return adapterByPojo.getLookupCount();
+    }
+
+    public double getAverageProbeLength() {
+        return adapterByPojo.getAverageProbeLength();
+    }
 
+    public int getMaxProbeLength() {
+        return adapterByPojo.getMaxProbeLength();
+    }
+
+    //endregion
 
 }
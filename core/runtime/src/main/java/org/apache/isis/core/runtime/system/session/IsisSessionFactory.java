@@ -30,12 +30,14 @@
 
 import org.apache.isis.applib.annotation.Programmatic;
 import org.apache.isis.applib.fixtures.LogonFixture;
+import org.apache.isis.applib.services.grid.GridService;
 import org.apache.isis.applib.services.i18n.TranslationService;
 import org.apache.isis.applib.services.title.TitleService;
 import org.apache.isis.core.commons.authentication.AuthenticationSession;
 import org.apache.isis.core.commons.components.ApplicationScopedComponent;
 import org.apache.isis.core.commons.config.IsisConfiguration;
 import org.apache.isis.core.metamodel.deployment.DeploymentCategory;
+import org.apache.isis.core.metamodel.facets.object.grid.GridFacet;
 import org.apache.isis.core.metamodel.services.ServicesInjector;
 import org.apache.isis.core.metamodel.spec.ObjectSpecification;
 import org.apache.isis.core.metamodel.specloader.ServiceInitializer;
@@ -51,6 +53,7 @@
 import org.apache.isis.core.runtime.system.persistence.PersistenceSessionFactory;
 import org.apache.isis.core.runtime.system.transaction.IsisTransactionManager;
 import org.apache.isis.core.runtime.system.transaction.IsisTransactionManagerException;
+import org.apache.isis.core.runtime.threadpool.ThreadPoolSupport;
 
 /**
  * Is the factory of {@link IsisSession}s, also holding a reference to the current session using
@@ -68,7 +71,6 @@
  */
 public class IsisSessionFactory implements ApplicationScopedComponent {
 
-    @SuppressWarnings("unused")
     private final static Logger LOG = LoggerFactory.getLogger(IsisSessionFactory.class);
 
     //region > constructor, fields
@@ -172,11 +174,72 @@ public void constructServices() {
                 translationService.translate(context, message);
             }
 
+            //
+            // precomputeGridsIfRequired
+            //
+            precomputeGridsIfRequired();
+
         } finally {
             closeSession();
         }
     }
 
+    private static final String PRECOMPUTE_GRIDS_KEY = "isis.services.grid.precompute";
+
+    /**
+     * Loads and normalizes the grid of every domain class that has a <code>.layout.xml</code> file, in parallel,
+     * so that the first requests to render those classes need not do so.
+     *
+     * <p>
+     *     Only if enabled and if the grids would not be reloaded anyway (ie not in prototyping mode).
+     * </p>
+     */
+    private void precomputeGridsIfRequired() {
+        if(!configuration.getBoolean(PRECOMPUTE_GRIDS_KEY, false)) {
+            return;
+        }
+        final GridService gridService = servicesInjector.lookupService(GridService.class);
+        if(gridService == null || gridService.supportsReloading()) {
+            return;
+        }
+
+        final List<GridFacet> gridFacets = Lists.newArrayList();
+        for (final ObjectSpecification objSpec : Lists.newArrayList(specificationLoader.allSpecifications())) {
+            final GridFacet gridFacet = objSpec.getFacet(GridFacet.class);
+            if(gridFacet != null && gridService.existsFor(objSpec.getCorrespondingClass())) {
+                gridFacets.add(gridFacet);
+            }
+        }
+        if(gridFacets.isEmpty()) {
+            return;
+        }
+
+        // one task per partition (rather than per grid), so as not to exceed the thread pool's queue capacity
+        final int numPartitions = Runtime.getRuntime().availableProcessors();
+        final int partitionSize = (gridFacets.size() + numPartitions - 1) / numPartitions;
+        final List<Callable<Object>> callables = Lists.newArrayList();
+        for (final List<GridFacet> partition : Lists.partition(gridFacets, partitionSize)) {
+            callables.add(new Callable<Object>() {
+                @Override
+                public Object call() {
+                    for (final GridFacet gridFacet : partition) {
+                        try {
+                            gridFacet.getGrid();
+                        } catch(final RuntimeException ex) {
+                            // will be retried (and fail again) when first rendered
+                            LOG.warn("Failed to precompute grid for " + gridFacet.getFacetHolder(), ex);
+                        }
+                    }
+                    return null;
+                }
+            });
+        }
+
+        final long start = System.currentTimeMillis();
+        ThreadPoolSupport.join(ThreadPoolSupport.invokeAll(callables));
+        LOG.info("precomputed {} grids in {}ms", gridFacets.size(), System.currentTimeMillis() - start);
+    }
+
 
     @Programmatic
     public void destroyServicesAndShutdown() {
@@ -33,6 +33,7 @@
 import org.apache.isis.applib.services.fixturespec.FixtureScriptsDefault;
 import org.apache.isis.core.commons.config.IsisConfigurationDefault;
 import org.apache.isis.core.commons.lang.ListExtensions;
+import org.apache.isis.core.metamodel.adapter.oid.OidMarshaller;
 import org.apache.isis.core.metamodel.deployment.DeploymentCategory;
 import org.apache.isis.core.metamodel.deployment.DeploymentCategoryProvider;
 import org.apache.isis.core.metamodel.facetapi.MetaModelRefiner;
@@ -104,6 +105,9 @@ public IsisSessionFactory buildSessionFactory() {
         localeInitializer.initLocale(configuration);
         timeZoneInitializer.initTimeZone(configuration);
 
+        OidMarshaller.INSTANCE.setCacheSize(
+                configuration.getInteger(OidMarshaller.CACHE_SIZE_KEY, OidMarshaller.CACHE_SIZE_DEFAULT));
+
         // a bit of a workaround, but required if anything in the metamodel (for example, a
         // ValueSemanticsProvider for a date value type) needs to use the Clock singleton
         // we do this after loading the services to allow a service to prime a different clock
@@ -171,7 +175,9 @@ public IsisSessionFactory buildSessionFactory() {
 
 
             // time to initialize...
+            long start = System.currentTimeMillis();
             specificationLoader.init();
+            LOG.info("startup: initialized specificationLoader in {}ms", System.currentTimeMillis() - start);
 
             // we need to do this before checking if the metamodel is valid.
             //
@@ -193,9 +199,13 @@ public IsisSessionFactory buildSessionFactory() {
             authenticationManager.init(deploymentCategory);
             authorizationManager.init(deploymentCategory);
 
+            start = System.currentTimeMillis();
             persistenceSessionFactory.init(specificationLoader);
+            LOG.info("startup: initialized persistenceSessionFactory in {}ms", System.currentTimeMillis() - start);
 
+            start = System.currentTimeMillis();
             isisSessionFactory.constructServices();
+            LOG.info("startup: constructed services in {}ms", System.currentTimeMillis() - start);
 
 
             isisSessionFactory.doInSession(
@@ -19,17 +19,23 @@
 
 package org.apache.isis.core.runtime.system.transaction;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import org.apache.isis.applib.annotation.Programmatic;
+import org.apache.isis.applib.annotation.PublishedObject;
 import org.apache.isis.applib.services.HasTransactionId;
 import org.apache.isis.applib.services.WithTransactionScope;
+import org.apache.isis.applib.services.audit.AuditRecord;
 import org.apache.isis.applib.services.xactn.Transaction;
 import org.apache.isis.core.commons.authentication.AuthenticationSession;
 import org.apache.isis.core.commons.authentication.MessageBroker;
@@ -38,13 +44,17 @@
 import org.apache.isis.core.commons.util.ToString;
 import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
 import org.apache.isis.core.metamodel.services.ServicesInjector;
+import org.apache.isis.core.metamodel.services.choices.BoundedChoicesCacheServiceInternal;
 import org.apache.isis.core.metamodel.services.publishing.PublishingServiceInternal;
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
 import org.apache.isis.core.metamodel.transactions.TransactionState;
 import org.apache.isis.core.runtime.persistence.objectstore.transaction.CreateObjectCommand;
 import org.apache.isis.core.runtime.persistence.objectstore.transaction.DestroyObjectCommand;
 import org.apache.isis.core.runtime.persistence.objectstore.transaction.PersistenceCommand;
 import org.apache.isis.core.runtime.services.auditing.AuditingServiceInternal;
+import org.apache.isis.core.runtime.services.changes.ChangedObjectsServiceInternal;
 import org.apache.isis.core.runtime.services.persistsession.PersistenceSessionServiceInternalDefault;
+import org.apache.isis.objectstore.jdo.metamodel.facets.object.cacheable.JdoCacheableFacet;
 
 /**
  * Used by the {@link IsisTransactionManager} to captures a set of changes to be
@@ -171,11 +181,36 @@ public TransactionState getRuntimeContextState() {
     private final MessageBroker messageBroker;
     private final PublishingServiceInternal publishingServiceInternal;
     private final AuditingServiceInternal auditingServiceInternal;
+    private final ChangedObjectsServiceInternal changedObjectsServiceInternal;
+    private final BoundedChoicesCacheServiceInternal boundedChoicesCacheServiceInternal;
 
     private final List<WithTransactionScope> withTransactionScopes;
 
     private IsisException abortCause;
 
+    /**
+     * Populated in {@link #preCommit()} only if auditing is asynchronous, to be handed on in {@link #commit()}.
+     */
+    private List<AuditRecord> auditRecordsPendingCommit = Collections.emptyList();
+
+    /**
+     * Populated in {@link #preCommit()}, the types of the objects changed in this transaction, whose cached bounded
+     * choices are invalidated in {@link #commit()}.
+     */
+    private Set<ObjectSpecification> changedSpecsPendingCommit = Collections.emptySet();
+
+    /**
+     * Populated in {@link #preCommit()}, the (DataNucleus) ids of any updated or deleted objects that are held in the
+     * level-2 cache; these are evicted in {@link #commit()}.
+     */
+    private List<Object> level2CacheIdsPendingCommit = Collections.emptyList();
+
+    /**
+     * Registered using {@link #registerCompletionCallback(CompletionCallback)}, notified in {@link #commit()} or
+     * {@link #markAsAborted()}.
+     */
+    private final List<CompletionCallback> completionCallbacks = Lists.newArrayList();
+
     public IsisTransaction(
             final UUID interactionId,
             final int sequence,
@@ -193,6 +228,9 @@ public IsisTransaction(
         this.messageBroker = authenticationSession.getMessageBroker();
         this.publishingServiceInternal = servicesInjector.lookupServiceElseFail(PublishingServiceInternal.class);
         this.auditingServiceInternal = servicesInjector.lookupServiceElseFail(AuditingServiceInternal.class);
+        this.changedObjectsServiceInternal = servicesInjector.lookupService(ChangedObjectsServiceInternal.class);
+        this.boundedChoicesCacheServiceInternal =
+                servicesInjector.lookupService(BoundedChoicesCacheServiceInternal.class);
 
         withTransactionScopes = servicesInjector.lookupServices(WithTransactionScope.class);
 
@@ -413,7 +451,9 @@ void preCommit() {
         }
 
         try {
-            auditingServiceInternal.audit();
+            auditRecordsPendingCommit = auditingServiceInternal.audit();
+            changedSpecsPendingCommit = changedSpecs();
+            level2CacheIdsPendingCommit = changedLevel2CacheIds();
 
             publishingServiceInternal.publishObjects();
             doFlush();
@@ -445,8 +485,96 @@ void commit() {
         }
 
         setState(State.COMMITTED);
+
+        final List<AuditRecord> auditRecords = auditRecordsPendingCommit;
+        auditRecordsPendingCommit = Collections.emptyList();
+        auditingServiceInternal.auditAfterCommit(auditRecords);
+
+        final Set<ObjectSpecification> changedSpecs = changedSpecsPendingCommit;
+        changedSpecsPendingCommit = Collections.emptySet();
+        if(!changedSpecs.isEmpty()) {
+            boundedChoicesCacheServiceInternal.invalidate(changedSpecs);
+        }
+
+        final List<Object> level2CacheIds = level2CacheIdsPendingCommit;
+        level2CacheIdsPendingCommit = Collections.emptyList();
+        if(!level2CacheIds.isEmpty()) {
+            transactionManager.getPersistenceSession().evictFromLevel2Cache(level2CacheIds);
+        }
+
+        for (final CompletionCallback callback : takeCompletionCallbacks()) {
+            try {
+                callback.afterCommit();
+            } catch (final RuntimeException ex) {
+                // the transaction has committed regardless
+                LOG.error("completion callback failed after commit of transaction " + this, ex);
+            }
+        }
+    }
+
+    private Set<ObjectSpecification> changedSpecs() {
+        if(boundedChoicesCacheServiceInternal == null || changedObjectsServiceInternal == null) {
+            return Collections.emptySet();
+        }
+        final Set<ObjectSpecification> changedSpecs = Sets.newHashSet();
+        for (final ObjectAdapter adapter : changedObjectsServiceInternal.getChangeKindByEnlistedAdapter().keySet()) {
+            changedSpecs.add(adapter.getSpecification());
+        }
+        return changedSpecs;
     }
 
+    private List<Object> changedLevel2CacheIds() {
+        if(changedObjectsServiceInternal == null) {
+            return Collections.emptyList();
+        }
+        final List<Object> level2CacheIds = Lists.newArrayList();
+        final Map<ObjectAdapter, PublishedObject.ChangeKind> changeKindByEnlistedAdapter =
+                changedObjectsServiceInternal.getChangeKindByEnlistedAdapter();
+        for (final Map.Entry<ObjectAdapter, PublishedObject.ChangeKind> entry : changeKindByEnlistedAdapter.entrySet()) {
+            final ObjectAdapter adapter = entry.getKey();
+            if(entry.getValue() == PublishedObject.ChangeKind.CREATE ||
+               !adapter.getSpecification().containsDoOpFacet(JdoCacheableFacet.class)) {
+                continue;
+            }
+            final Object objectId = transactionManager.getPersistenceSession().getObjectIdFor(adapter.getObject());
+            if(objectId != null) {
+                level2CacheIds.add(objectId);
+            }
+        }
+        return level2CacheIds;
+    }
+
+
+    //endregion
+
+    //region > completion callbacks
+
+    /**
+     * Notified once the {@link IsisTransaction transaction} has completed, that is, either committed or aborted.
+     */
+    public interface CompletionCallback {
+        void afterCommit();
+        void afterAbort();
+    }
+
+    /**
+     * Registers a callback to be notified once this transaction has committed or aborted, for example to hand work
+     * over to another thread only once the changes made by this transaction are visible (and not at all if they are
+     * rolled back).
+     */
+    public void registerCompletionCallback(final CompletionCallback callback) {
+        synchronized (completionCallbacks) {
+            completionCallbacks.add(callback);
+        }
+    }
+
+    private List<CompletionCallback> takeCompletionCallbacks() {
+        synchronized (completionCallbacks) {
+            final List<CompletionCallback> callbacks = Lists.newArrayList(completionCallbacks);
+            completionCallbacks.clear();
+            return callbacks;
+        }
+    }
 
     //endregion
 
@@ -463,6 +591,15 @@ final void markAsAborted() {
         }
 
         setState(State.ABORTED);
+        auditRecordsPendingCommit = Collections.emptyList();
+
+        for (final CompletionCallback callback : takeCompletionCallbacks()) {
+            try {
+                callback.afterAbort();
+            } catch (final RuntimeException ex) {
+                LOG.error("completion callback failed after abort of transaction " + this, ex);
+            }
+        }
     }
 
 
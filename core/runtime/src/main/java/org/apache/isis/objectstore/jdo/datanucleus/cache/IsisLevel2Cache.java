@@ -0,0 +1,264 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.objectstore.jdo.datanucleus.cache;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalCause;
+import com.google.common.cache.RemovalListener;
+import com.google.common.cache.RemovalNotification;
+
+import org.datanucleus.NucleusContext;
+import org.datanucleus.cache.AbstractLevel2Cache;
+import org.datanucleus.cache.CachedPC;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A bounded DataNucleus level-2 cache, registered (in <tt>plugin.xml</tt>) under the name {@link #NAME}.
+ *
+ * <p>
+ *     The cache holds at most <tt>datanucleus.cache.level2.maxSize</tt> objects (defaulting to
+ *     {@link #MAX_SIZE_DEFAULT}), evicting the least recently used when full; if
+ *     <tt>datanucleus.cache.level2.timeout</tt> is set then entries also expire that many milliseconds after they were
+ *     written.
+ * </p>
+ *
+ * <p>
+ *     Hit, miss and eviction statistics are recorded, and exposed through JMX as
+ *     <tt>org.apache.isis:type=Level2Cache,name=<i>cacheName</i></tt>.  Pinning is not supported.
+ * </p>
+ */
+public class IsisLevel2Cache extends AbstractLevel2Cache implements IsisLevel2CacheMBean {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final Logger LOG = LoggerFactory.getLogger(IsisLevel2Cache.class);
+
+    public static final String NAME = "isis";
+    public static final int MAX_SIZE_DEFAULT = 10000;
+
+    private final transient Cache<Object, CachedPC> cachedPcById;
+    private final AtomicLong invalidationCount = new AtomicLong();
+
+    private transient ObjectName objectName;
+
+    public IsisLevel2Cache(final NucleusContext nucleusCtx) {
+        super(nucleusCtx);
+        if(maxSize <= 0) {
+            maxSize = MAX_SIZE_DEFAULT;
+        }
+
+        final CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .removalListener(new RemovalListener<Object, Object>() {
+                    @Override
+                    public void onRemoval(final RemovalNotification<Object, Object> notification) {
+                        if(notification.getCause() == RemovalCause.EXPLICIT) {
+                            invalidationCount.incrementAndGet();
+                        }
+                    }
+                });
+        if(timeout > 0) {
+            builder.expireAfterWrite(timeout, TimeUnit.MILLISECONDS);
+        }
+        cachedPcById = builder.build();
+
+        registerMBean();
+    }
+
+    //region > Level2Cache impl
+
+    @Override
+    public CachedPC get(final Object oid) {
+        return oid != null ? cachedPcById.getIfPresent(oid) : null;
+    }
+
+    @Override
+    public CachedPC put(final Object oid, final CachedPC pc) {
+        if(oid == null || pc == null) {
+            return null;
+        }
+        return cachedPcById.asMap().put(oid, pc);
+    }
+
+    @Override
+    public boolean containsOid(final Object oid) {
+        return oid != null && cachedPcById.asMap().containsKey(oid);
+    }
+
+    @Override
+    public int getSize() {
+        return (int) cachedPcById.size();
+    }
+
+    @Override
+    public void evict(final Object oid) {
+        if(oid != null) {
+            cachedPcById.invalidate(oid);
+        }
+    }
+
+    @Override
+    public void evictAll() {
+        cachedPcById.invalidateAll();
+    }
+
+    @Override
+    public void evictAll(final Object[] oids) {
+        if(oids == null) {
+            return;
+        }
+        for (final Object oid : oids) {
+            evict(oid);
+        }
+    }
+
+    @Override
+    public void evictAll(final Collection oids) {
+        if(oids == null) {
+            return;
+        }
+        for (final Object oid : oids) {
+            evict(oid);
+        }
+    }
+
+    @Override
+    public void evictAll(final Class cls, final boolean subclasses) {
+        if(cls == null) {
+            return;
+        }
+        final Iterator<Map.Entry<Object, CachedPC>> iterator = cachedPcById.asMap().entrySet().iterator();
+        while (iterator.hasNext()) {
+            final Class<?> objectClass = iterator.next().getValue().getObjectClass();
+            if(objectClass == cls || (subclasses && cls.isAssignableFrom(objectClass))) {
+                iterator.remove();
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        if(clearAtClose) {
+            evictAll();
+        }
+        unregisterMBean();
+    }
+
+    //endregion
+
+    //region > statistics (MBean impl)
+
+    @Override
+    public String getCacheName() {
+        return cacheName;
+    }
+
+    @Override
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    @Override
+    public long getTimeout() {
+        return timeout;
+    }
+
+    @Override
+    public long getHitCount() {
+        return cachedPcById.stats().hitCount();
+    }
+
+    @Override
+    public long getMissCount() {
+        return cachedPcById.stats().missCount();
+    }
+
+    @Override
+    public double getHitRate() {
+        return cachedPcById.stats().hitRate();
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return cachedPcById.stats().evictionCount();
+    }
+
+    @Override
+    public long getInvalidationCount() {
+        return invalidationCount.get();
+    }
+
+    @Override
+    public void clear() {
+        evictAll();
+    }
+
+    //endregion
+
+    //region > JMX registration
+
+    private void registerMBean() {
+        try {
+            final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+            final ObjectName objectName = new ObjectName(
+                    "org.apache.isis:type=Level2Cache,name=" + ObjectName.quote(String.valueOf(cacheName)));
+            if(mBeanServer.isRegistered(objectName)) {
+                // eg a previous persistence manager factory, not closed
+                mBeanServer.unregisterMBean(objectName);
+            }
+            mBeanServer.registerMBean(this, objectName);
+            this.objectName = objectName;
+        } catch (JMException | RuntimeException ex) {
+            LOG.warn("Unable to register level-2 cache '{}' with JMX", cacheName, ex);
+        }
+    }
+
+    private void unregisterMBean() {
+        if(objectName == null) {
+            return;
+        }
+        try {
+            final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+            if(mBeanServer.isRegistered(objectName)) {
+                mBeanServer.unregisterMBean(objectName);
+            }
+        } catch (JMException | RuntimeException ex) {
+            LOG.warn("Unable to unregister level-2 cache '{}' from JMX", cacheName, ex);
+        } finally {
+            objectName = null;
+        }
+    }
+
+    //endregion
+
+}
@@ -0,0 +1,101 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.objectstore.jdo.datanucleus.persistence.queries;
+
+import java.util.Collections;
+import java.util.List;
+
+import javax.jdo.Query;
+
+import com.google.common.collect.Lists;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.spec.feature.OneToManyAssociation;
+import org.apache.isis.core.runtime.system.persistence.PersistenceSession;
+
+/**
+ * Queries the elements of a (persistent) parent's collection a range at a time, rather than loading the whole
+ * collection through its getter.
+ *
+ * <p>
+ *     The elements are returned in order of their datastore identity, so that consecutive ranges neither overlap
+ *     nor miss any element; this need not be the order of the collection itself.
+ * </p>
+ */
+public class CollectionElementsQuery {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CollectionElementsQuery.class);
+
+    private final PersistenceSession persistenceSession;
+
+    public CollectionElementsQuery(final PersistenceSession persistenceSession) {
+        this.persistenceSession = persistenceSession;
+    }
+
+    /**
+     * The adapters of the elements of the collection from <tt>start</tt> (inclusive) to <tt>end</tt> (exclusive), or
+     * <tt>null</tt> if the collection is not persisted by the datastore (in which case the caller should use its
+     * getter instead).
+     */
+    public List<ObjectAdapter> elementsOf(
+            final ObjectAdapter parentAdapter,
+            final OneToManyAssociation collection,
+            final long start,
+            final long end) {
+
+        if(parentAdapter == null || !parentAdapter.representsPersistent()) {
+            return null;
+        }
+        final Object parent = parentAdapter.getObject();
+        final Class<?> parentCls = parent.getClass();
+        final Class<?> elementCls = collection.getSpecification().getCorrespondingClass();
+        if(!isPersistentMember(parentCls, collection.getId())) {
+            return null;
+        }
+
+        // the candidates are the elements (rather than the parent), so that each is fetched by this same query
+        final Query jdoQuery = persistenceSession.newJdoQuery(elementCls);
+        jdoQuery.setFilter("p == :parent && p." + collection.getId() + ".contains(this)");
+        jdoQuery.declareVariables(parentCls.getName() + " p");
+        jdoQuery.setOrdering(PersistenceQueryFindAllInstancesProcessor.ORDER_BY_OBJECT_ID);
+        jdoQuery.setRange(start, end);
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("elements: " + jdoQuery);
+        }
+        try {
+            final List<?> pojos = (List<?>) jdoQuery.executeWithMap(Collections.singletonMap("parent", parent));
+            final List<ObjectAdapter> adapters = Lists.newArrayList();
+            for (final Object pojo : pojos) {
+                adapters.add(persistenceSession.adapterFor(pojo));
+            }
+            return adapters;
+        } finally {
+            jdoQuery.closeAll();
+        }
+    }
+
+    protected boolean isPersistentMember(final Class<?> cls, final String memberName) {
+        return QueryUtil.isPersistentMember(persistenceSession.getPersistenceManager(), cls, memberName);
+    }
+
+}
@@ -34,6 +34,11 @@ public class PersistenceQueryFindAllInstancesProcessor extends PersistenceQueryP
 
     private static final Logger LOG = LoggerFactory.getLogger(PersistenceQueryFindAllInstancesProcessor.class);
 
+    /**
+     * Orders by the primary key, whether datastore or application identity.
+     */
+    static final String ORDER_BY_OBJECT_ID = "JDOHelper.getObjectId(this) ascending";
+
     public PersistenceQueryFindAllInstancesProcessor(final PersistenceSession persistenceSession) {
         super(persistenceSession);
     }
@@ -48,8 +53,19 @@ public List<ObjectAdapter> process(final PersistenceQueryFindAllInstances persis
         // http://www.datanucleus.org/servlet/jira/browse/NUCCORE-1103
         jdoQuery.addExtension("datanucleus.multivaluedFetch", "none");
         
+        final long start = persistenceQuery.getStart();
+        final long count = persistenceQuery.getCount();
+        if (persistenceQuery.isOrderedByObjectId()) {
+            // without an ordering, successive ranges (eg the chunks read by RepositoryServiceInternalDefault) could
+            // overlap or miss out instances
+            jdoQuery.setOrdering(ORDER_BY_OBJECT_ID);
+        }
+        if (start != 0 || count != 0) {
+            jdoQuery.setRange(start, count != 0 ? start + count : Long.MAX_VALUE);
+        }
+
         if (LOG.isDebugEnabled()) {
-            LOG.debug("allInstances(): class=" + specification.getFullIdentifier());
+            LOG.debug("allInstances(): class=" + specification.getFullIdentifier() + (start != 0 || count != 0 ? ", start=" + start + ", count=" + count : ""));
         }
 
         try {
@@ -0,0 +1,112 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.objectstore.jdo.datanucleus.persistence.queries;
+
+import java.util.List;
+import java.util.Map;
+
+import javax.jdo.PersistenceManager;
+import javax.jdo.Query;
+
+import com.google.common.base.Joiner;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.consent.InteractionInitiatedBy;
+import org.apache.isis.core.metamodel.spec.feature.ObjectAssociation;
+import org.apache.isis.core.runtime.persistence.query.PersistenceQueryFindByPattern;
+import org.apache.isis.core.runtime.system.persistence.PersistenceSession;
+
+/**
+ * Translates the (non-empty) value fields of the pattern into a parameterized JDOQL filter.
+ *
+ * <p>
+ *     Reference fields (which are matched on their title) and values whose equality cannot be relied upon in the
+ *     datastore are instead matched in memory, against the candidates selected by the filter.  Strings are both
+ *     filtered and then matched again in memory, because the datastore's collation may be case- or trailing
+ *     space-insensitive (as for MySQL or SQL Server, say).
+ * </p>
+ */
+public class PersistenceQueryFindByPatternProcessor extends PersistenceQueryProcessorAbstract<PersistenceQueryFindByPattern> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PersistenceQueryFindByPatternProcessor.class);
+
+    public PersistenceQueryFindByPatternProcessor(final PersistenceSession persistenceSession) {
+        super(persistenceSession);
+    }
+
+    public List<ObjectAdapter> process(final PersistenceQueryFindByPattern persistenceQuery) {
+
+        final ObjectAdapter pattern = persistenceQuery.getPattern();
+        final Class<?> cls = pattern.getSpecification().getCorrespondingClass();
+
+        final List<String> filters = Lists.newArrayList();
+        final Map<String, Object> parameters = Maps.newHashMap();
+        boolean exact = true;
+        for (final ObjectAssociation fld : persistenceQuery.getPatternFields()) {
+            final ObjectAdapter reqd = fld.get(pattern, InteractionInitiatedBy.FRAMEWORK);
+            final Object value = reqd != null ? reqd.getObject() : null;
+            if (fld.getSpecification().isValue() &&
+                isComparableForEquality(value) &&
+                isPersistentMember(cls, fld.getId())) {
+                final String parameterName = "p" + parameters.size();
+                filters.add("this." + fld.getId() + " == :" + parameterName);
+                parameters.put(parameterName, value);
+                if (value instanceof String) {
+                    exact = false;
+                }
+            } else {
+                exact = false;
+            }
+        }
+
+        // the pattern only matches instances of exactly the same type
+        final PersistenceManager persistenceManager = persistenceSession.getPersistenceManager();
+        final Query jdoQuery = persistenceManager.newQuery(persistenceManager.getExtent(cls, false));
+        if (!filters.isEmpty()) {
+            jdoQuery.setFilter(Joiner.on(" && ").join(filters));
+        }
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("findByPattern(): class=" + cls.getName() + ", filter=" + filters + (exact ? "" : " (then matched in memory)"));
+        }
+
+        return executeAndMatch(jdoQuery, parameters, persistenceQuery, exact);
+    }
+
+    /**
+     * Whether the datastore's notion of equality for the value is the same as {@link Object#equals(Object)}, or
+     * (for strings) at least selects every value that is equal.
+     */
+    private static boolean isComparableForEquality(final Object value) {
+        return value instanceof String ||
+               value instanceof Boolean ||
+               value instanceof Character ||
+               value instanceof Byte ||
+               value instanceof Short ||
+               value instanceof Integer ||
+               value instanceof Long ||
+               value instanceof Enum;
+    }
+
+}
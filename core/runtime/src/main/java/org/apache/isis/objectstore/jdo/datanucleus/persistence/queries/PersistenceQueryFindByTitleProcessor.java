@@ -0,0 +1,184 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.objectstore.jdo.datanucleus.persistence.queries;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+
+import javax.jdo.PersistenceManager;
+import javax.jdo.Query;
+
+import com.google.common.base.Joiner;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.apache.isis.applib.annotation.Title;
+import org.apache.isis.core.commons.lang.StringExtensions;
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.facets.Annotations;
+import org.apache.isis.core.metamodel.facets.object.title.TitleFacet;
+import org.apache.isis.core.metamodel.facets.object.title.annotation.TitleFacetViaTitleAnnotation;
+import org.apache.isis.core.metamodel.facets.object.title.annotation.TitleFacetViaTitleAnnotation.TitleComponent;
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+import org.apache.isis.core.metamodel.spec.feature.Contributed;
+import org.apache.isis.core.metamodel.spec.feature.ObjectAssociation;
+import org.apache.isis.core.runtime.persistence.query.PersistenceQueryFindByTitle;
+import org.apache.isis.core.runtime.system.persistence.PersistenceSession;
+
+/**
+ * Translates the title into a JDOQL filter if the title is derived (using {@link Title @Title}) from persisted
+ * string properties.
+ *
+ * <p>
+ *     The filter selects those instances where any of these properties contains the (case-insensitive) title;
+ *     the candidates are then matched in memory, because the datastore's collation may also ignore (for example)
+ *     accents or trailing spaces.  If the title is not derived in this way (for example, uses a <tt>title()</tt>
+ *     method) then all instances are matched in memory.
+ * </p>
+ */
+public class PersistenceQueryFindByTitleProcessor extends PersistenceQueryProcessorAbstract<PersistenceQueryFindByTitle> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PersistenceQueryFindByTitleProcessor.class);
+
+    public PersistenceQueryFindByTitleProcessor(final PersistenceSession persistenceSession) {
+        super(persistenceSession);
+    }
+
+    public List<ObjectAdapter> process(final PersistenceQueryFindByTitle persistenceQuery) {
+
+        final ObjectSpecification specification = persistenceQuery.getSpecification();
+        final Class<?> cls = specification.getCorrespondingClass();
+        final String title = persistenceQuery.getTitle();
+
+        final PersistenceManager persistenceManager = persistenceSession.getPersistenceManager();
+        final Query jdoQuery = persistenceManager.newQuery(persistenceManager.getExtent(cls, true));
+        final Map<String, Object> parameters = Maps.newHashMap();
+
+        // every title matches an empty title
+        final boolean exact = title.isEmpty();
+        if (!exact) {
+            final List<TitleComponent> components = translatableComponents(specification, title);
+            if (components != null) {
+                final List<String> filters = Lists.newArrayList();
+                for (final TitleComponent component : components) {
+                    filters.add("this." + memberNameOf(component) + ".toLowerCase().indexOf(:title) >= 0");
+                }
+                jdoQuery.setFilter(Joiner.on(" || ").join(filters));
+                parameters.put("title", title);
+            }
+        }
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("findByTitle(): class=" + cls.getName() + ", title=" + title + ", filter=" + jdoQuery + (exact ? "" : " (then matched in memory)"));
+        }
+
+        return executeAndMatch(jdoQuery, parameters, persistenceQuery, exact);
+    }
+
+    /**
+     * The components of the title, provided that the title is derived only from persisted string properties and
+     * that the title cannot match across the boundary between two of them; otherwise <tt>null</tt>.
+     */
+    private List<TitleComponent> translatableComponents(final ObjectSpecification specification, final String title) {
+
+        // subclasses might derive their titles differently
+        if (!specification.subclasses().isEmpty()) {
+            return null;
+        }
+        final TitleFacet titleFacet = specification.getFacet(TitleFacet.class);
+        if (!(titleFacet instanceof TitleFacetViaTitleAnnotation)) {
+            return null;
+        }
+        final List<TitleComponent> components = ((TitleFacetViaTitleAnnotation) titleFacet).getComponents();
+        if (components.isEmpty()) {
+            return null;
+        }
+
+        final Class<?> cls = specification.getCorrespondingClass();
+        for (int i = 0; i < components.size(); i++) {
+            final TitleComponent component = components.get(i);
+            final String memberName = memberNameOf(component);
+            if (memberName == null ||
+                !isPersistedStringProperty(specification, memberName) ||
+                !isPersistentMember(cls, memberName)) {
+                return null;
+            }
+            // the title must not be able to span (or include any of) the text between components
+            if (i > 0 && component.getPrepend().isEmpty()) {
+                return null;
+            }
+            // (leading and trailing whitespace is trimmed from the title)
+            final boolean first = i == 0;
+            final boolean last = i == components.size() - 1;
+            final String prepend = first ? component.getPrepend().trim() : component.getPrepend();
+            final String append = last ? component.getAppend().trim() : component.getAppend();
+            if (containsAnyOf(title, prepend) || containsAnyOf(title, append)) {
+                return null;
+            }
+            if (component.getAbbreviateTo() != Integer.MAX_VALUE && title.indexOf('.') != -1) {
+                return null;
+            }
+        }
+        return components;
+    }
+
+    private static String memberNameOf(final TitleComponent component) {
+        final Annotations.Evaluator<Title> evaluator = component.getTitleEvaluator();
+        if (evaluator instanceof Annotations.FieldEvaluator) {
+            return ((Annotations.FieldEvaluator<Title>) evaluator).getField().getName();
+        }
+        if (evaluator instanceof Annotations.MethodEvaluator) {
+            final Method method = ((Annotations.MethodEvaluator<Title>) evaluator).getMethod();
+            final String methodName = method.getName();
+            if (methodName.startsWith("get") && methodName.length() > 3) {
+                return StringExtensions.asLowerFirst(methodName.substring(3));
+            }
+            if (methodName.startsWith("is") && methodName.length() > 2) {
+                return StringExtensions.asLowerFirst(methodName.substring(2));
+            }
+        }
+        return null;
+    }
+
+    private static boolean isPersistedStringProperty(final ObjectSpecification specification, final String id) {
+        for (final ObjectAssociation association : specification.getAssociations(Contributed.EXCLUDED)) {
+            if (association.getId().equals(id)) {
+                return association.isOneToOneAssociation() &&
+                       !association.isNotPersisted() &&
+                       association.getSpecification().getCorrespondingClass() == String.class;
+            }
+        }
+        return false;
+    }
+
+    private static boolean containsAnyOf(final String str, final String chars) {
+        for (int i = 0; i < chars.length(); i++) {
+            if (str.indexOf(Character.toLowerCase(chars.charAt(i))) != -1 ||
+                str.indexOf(Character.toUpperCase(chars.charAt(i))) != -1) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
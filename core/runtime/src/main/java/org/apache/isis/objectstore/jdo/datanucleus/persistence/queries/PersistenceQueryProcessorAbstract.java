@@ -19,7 +19,9 @@
 package org.apache.isis.objectstore.jdo.datanucleus.persistence.queries;
 
 import java.util.List;
+import java.util.Map;
 
+import javax.jdo.Query;
 import javax.jdo.listener.InstanceLifecycleEvent;
 
 import com.google.common.collect.Lists;
@@ -28,6 +30,7 @@
 
 import org.apache.isis.core.commons.ensure.Assert;
 import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.runtime.persistence.query.PersistenceQueryBuiltIn;
 import org.apache.isis.core.runtime.system.persistence.PersistenceQuery;
 import org.apache.isis.core.runtime.system.persistence.PersistenceSession;
 import org.apache.isis.objectstore.jdo.datanucleus.persistence.IsisLifecycleListener;
@@ -51,22 +54,78 @@ protected PersistenceQueryProcessorAbstract(final PersistenceSession persistence
     protected List<ObjectAdapter> loadAdapters(final List<?> pojos) {
         final List<ObjectAdapter> adapters = Lists.newArrayList();
         for (final Object pojo : pojos) {
-        	// ought not to be necessary, however for some queries it seems that the 
-        	// lifecycle listener is not called
-            ObjectAdapter adapter;
-            if(pojo instanceof Persistable) {
-                // an entity
-                persistenceSession.initializeMapAndCheckConcurrency((Persistable) pojo);
-                adapter = persistenceSession.getAdapterFor(pojo);
-            } else {
-                // a value type
-                adapter = persistenceSession.adapterFor(pojo);
-            }
-            Assert.assertNotNull(adapter);
-            adapters.add(adapter);
+            adapters.add(loadAdapter(pojo));
         }
         return adapters;
     }
 
+    protected ObjectAdapter loadAdapter(final Object pojo) {
+        // ought not to be necessary, however for some queries it seems that the
+        // lifecycle listener is not called
+        ObjectAdapter adapter;
+        if(pojo instanceof Persistable) {
+            // an entity
+            persistenceSession.initializeMapAndCheckConcurrency((Persistable) pojo);
+            adapter = persistenceSession.getAdapterFor(pojo);
+        } else {
+            // a value type
+            adapter = persistenceSession.adapterFor(pojo);
+        }
+        Assert.assertNotNull(adapter);
+        return adapter;
+    }
+
+    /**
+     * Whether the member of the (persistence-capable) class is persisted by DataNucleus, and so can be referenced
+     * in a JDOQL filter.
+     */
+    protected boolean isPersistentMember(final Class<?> cls, final String memberName) {
+        return QueryUtil.isPersistentMember(persistenceSession.getPersistenceManager(), cls, memberName);
+    }
+
+    /**
+     * Executes the JDOQL query for the candidates of the (built-in) persistence query.
+     *
+     * <p>
+     *     If the JDOQL query selects exactly those instances that match then the persistence query's range is
+     *     applied by the datastore; otherwise each candidate is matched in memory (which also applies the range).
+     * </p>
+     */
+    protected List<ObjectAdapter> executeAndMatch(
+            final Query jdoQuery,
+            final Map<String, Object> parameters,
+            final PersistenceQueryBuiltIn persistenceQuery,
+            final boolean exact) {
+
+        // http://www.datanucleus.org/servlet/jira/browse/NUCCORE-1103
+        jdoQuery.addExtension("datanucleus.multivaluedFetch", "none");
+
+        final long start = persistenceQuery.getStart();
+        final long count = persistenceQuery.getCount();
+        try {
+            if (exact) {
+                if (start != 0 || count != 0) {
+                    jdoQuery.setRange(start, count != 0 ? start + count : Long.MAX_VALUE);
+                }
+                final List<?> pojos = (List<?>) jdoQuery.executeWithMap(parameters);
+                return loadAdapters(pojos);
+            }
+
+            final List<?> candidates = (List<?>) jdoQuery.executeWithMap(parameters);
+            final List<ObjectAdapter> adapters = Lists.newArrayList();
+            for (final Object candidate : candidates) {
+                if (count != 0 && adapters.size() >= count) {
+                    break;
+                }
+                final ObjectAdapter adapter = loadAdapter(candidate);
+                if (persistenceQuery.matches(adapter)) {
+                    adapters.add(adapter);
+                }
+            }
+            return adapters;
+        } finally {
+            jdoQuery.closeAll();
+        }
+    }
 
 }
@@ -0,0 +1,85 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.objectstore.jdo.datanucleus.persistence.queries;
+
+import java.math.BigDecimal;
+
+/**
+ * The count (of non-<tt>null</tt> values), sum, minimum and maximum of a numeric property over a set of objects, as
+ * computed by {@link PropertyAggregatesQuery}.
+ */
+public class PropertyAggregates {
+
+    private final long count;
+    private final BigDecimal sum;
+    private final BigDecimal min;
+    private final BigDecimal max;
+
+    public PropertyAggregates(final long count, final BigDecimal sum, final BigDecimal min, final BigDecimal max) {
+        this.count = count;
+        this.sum = sum != null ? sum : BigDecimal.ZERO;
+        this.min = min;
+        this.max = max;
+    }
+
+    /**
+     * The number of objects for which the property is not <tt>null</tt>.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * The sum of the non-<tt>null</tt> values; zero if there are none.
+     */
+    public BigDecimal getSum() {
+        return sum;
+    }
+
+    /**
+     * The smallest value, or <tt>null</tt> if there are none.
+     */
+    public BigDecimal getMin() {
+        return min;
+    }
+
+    /**
+     * The largest value, or <tt>null</tt> if there are none.
+     */
+    public BigDecimal getMax() {
+        return max;
+    }
+
+    /**
+     * Combines with the aggregates of a disjoint set of objects.
+     */
+    public PropertyAggregates combine(final PropertyAggregates other) {
+        return new PropertyAggregates(
+                count + other.count,
+                sum.add(other.sum),
+                min == null || other.min != null && other.min.compareTo(min) < 0 ? other.min : min,
+                max == null || other.max != null && other.max.compareTo(max) > 0 ? other.max : max);
+    }
+
+    @Override
+    public String toString() {
+        return "PropertyAggregates{count=" + count + ", sum=" + sum + ", min=" + min + ", max=" + max + "}";
+    }
+
+}
@@ -0,0 +1,263 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.objectstore.jdo.datanucleus.persistence.queries;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.jdo.JDOException;
+import javax.jdo.PersistenceManager;
+import javax.jdo.Query;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.adapter.oid.RootOid;
+import org.apache.isis.core.metamodel.facets.ImperativeFacet;
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+import org.apache.isis.core.metamodel.spec.feature.ObjectAssociation;
+import org.apache.isis.core.metamodel.spec.feature.OneToManyAssociation;
+import org.apache.isis.core.metamodel.specloader.SpecificationLoader;
+import org.apache.isis.core.runtime.system.persistence.PersistenceSession;
+import org.apache.isis.objectstore.jdo.datanucleus.persistence.spi.JdoObjectIdSerializer;
+
+/**
+ * Computes {@link PropertyAggregates aggregates} of numeric properties using a single JDOQL aggregate query, rather
+ * than loading each object.
+ *
+ * <p>
+ *     Each method returns <tt>null</tt> if the aggregates cannot be computed by the datastore (for example because a
+ *     property is not persisted), in which case the caller should compute them in memory.
+ * </p>
+ */
+public class PropertyAggregatesQuery {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PropertyAggregatesQuery.class);
+
+    /**
+     * The maximum number of objects passed as a parameter to any one query; larger sets of objects are
+     * aggregated in chunks.
+     */
+    static final int MAX_IDS_PER_QUERY = 1000;
+
+    private final PersistenceSession persistenceSession;
+    private final SpecificationLoader specificationLoader;
+
+    public PropertyAggregatesQuery(
+            final PersistenceSession persistenceSession,
+            final SpecificationLoader specificationLoader) {
+        this.persistenceSession = persistenceSession;
+        this.specificationLoader = specificationLoader;
+    }
+
+    /**
+     * Aggregates the properties over the elements of a (persistent) parent's collection.
+     *
+     * <p>
+     *     The collection's getter filters out any elements not visible to the user (if
+     *     <tt>isis.reflector.facet.filterVisibility</tt> is set, the default), which the query cannot do if their
+     *     visibility is determined {@link ImperativeFacet.Util#isVisibilityImperative(ObjectSpecification) imperatively};
+     *     in that case returns <tt>null</tt>.
+     * </p>
+     */
+    public List<PropertyAggregates> aggregatesOf(
+            final ObjectAdapter parentAdapter,
+            final OneToManyAssociation collection,
+            final List<? extends ObjectAssociation> properties) {
+
+        if(parentAdapter == null || !parentAdapter.representsPersistent()) {
+            return null;
+        }
+        final Object parent = parentAdapter.getObject();
+        final Class<?> parentCls = parent.getClass();
+        final ObjectSpecification elementSpec = collection.getSpecification();
+        if(isFilterVisibility() && ImperativeFacet.Util.isVisibilityImperative(elementSpec)) {
+            return null;
+        }
+        final Class<?> elementCls = elementSpec.getCorrespondingClass();
+        if(!isPersistentMember(parentCls, collection.getId()) || !arePersistentMembers(elementCls, properties)) {
+            return null;
+        }
+
+        final Query jdoQuery = persistenceSession.newJdoQuery(parentCls);
+        jdoQuery.setResult(resultFor("e.", properties));
+        jdoQuery.setFilter("this == :parent && " + collection.getId() + ".contains(e)");
+        jdoQuery.declareVariables(elementCls.getName() + " e");
+
+        return execute(jdoQuery, Collections.<String, Object>singletonMap("parent", parent), properties);
+    }
+
+    /**
+     * Aggregates the properties over the (persistent) instances of the element type with the provided oids.
+     *
+     * <p>
+     *     The oids must be distinct (otherwise the aggregates would differ from those computed in memory).  Unlike
+     *     {@link #aggregatesOf(ObjectAdapter, OneToManyAssociation, List) for a parented collection}, the objects'
+     *     visibility is not a concern: those aggregated are exactly those that the oids identify.
+     * </p>
+     */
+    public List<PropertyAggregates> aggregatesOf(
+            final ObjectSpecification elementSpec,
+            final List<RootOid> rootOids,
+            final List<? extends ObjectAssociation> properties) {
+
+        final Class<?> elementCls = elementSpec.getCorrespondingClass();
+        if(!arePersistentMembers(elementCls, properties)) {
+            return null;
+        }
+
+        // hollow instances (not validated, so not fetched); the query only uses their identities
+        final PersistenceManager persistenceManager = persistenceSession.getPersistenceManager();
+        final Set<Object> jdoObjectIds = Sets.newHashSet();
+        final List<Object> instances = Lists.newArrayList();
+        for (final RootOid rootOid : rootOids) {
+            if(rootOid == null || !rootOid.isPersistent() || rootOid.isViewModel()) {
+                return null;
+            }
+            final Class<?> cls = specificationLoader.lookupBySpecId(rootOid.getObjectSpecId()).getCorrespondingClass();
+            try {
+                final Object jdoObjectId = newObjectIdInstance(cls, rootOid);
+                if(!jdoObjectIds.add(jdoObjectId)) {
+                    return null;
+                }
+                instances.add(persistenceManager.getObjectById(jdoObjectId, false));
+            } catch (final JDOException ex) {
+                LOG.warn("Unable to obtain instance for " + rootOid + ", will compute aggregates in memory instead", ex);
+                return null;
+            }
+        }
+
+        List<PropertyAggregates> aggregates = null;
+        for (final List<Object> chunk : Lists.partition(instances, MAX_IDS_PER_QUERY)) {
+            final Query jdoQuery = persistenceSession.newJdoQuery(elementCls);
+            jdoQuery.setResult(resultFor("this.", properties));
+            jdoQuery.setFilter(":instances.contains(this)");
+
+            final List<PropertyAggregates> chunkAggregates =
+                    execute(jdoQuery, Collections.<String, Object>singletonMap("instances", chunk), properties);
+            if(chunkAggregates == null) {
+                return null;
+            }
+            aggregates = aggregates == null ? chunkAggregates : combine(aggregates, chunkAggregates);
+        }
+        return aggregates != null ? aggregates : empty(properties);
+    }
+
+    protected Object newObjectIdInstance(final Class<?> cls, final RootOid rootOid) {
+        return persistenceSession.getPersistenceManager().newObjectIdInstance(
+                cls, JdoObjectIdSerializer.toJdoObjectId(rootOid));
+    }
+
+    private boolean isFilterVisibility() {
+        return persistenceSession.getConfiguration().getBoolean("isis.reflector.facet.filterVisibility", true);
+    }
+
+    private boolean arePersistentMembers(final Class<?> cls, final List<? extends ObjectAssociation> properties) {
+        for (final ObjectAssociation property : properties) {
+            if(!isPersistentMember(cls, property.getId())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    protected boolean isPersistentMember(final Class<?> cls, final String memberName) {
+        return QueryUtil.isPersistentMember(persistenceSession.getPersistenceManager(), cls, memberName);
+    }
+
+    private static String resultFor(final String prefix, final List<? extends ObjectAssociation> properties) {
+        final StringBuilder buf = new StringBuilder();
+        for (final ObjectAssociation property : properties) {
+            final String member = prefix + property.getId();
+            if(buf.length() > 0) {
+                buf.append(", ");
+            }
+            buf.append("count(").append(member).append("), ")
+               .append("sum(").append(member).append("), ")
+               .append("min(").append(member).append("), ")
+               .append("max(").append(member).append(")");
+        }
+        return buf.toString();
+    }
+
+    private List<PropertyAggregates> execute(
+            final Query jdoQuery,
+            final Map<String, Object> parameters,
+            final List<? extends ObjectAssociation> properties) {
+
+        // any pending changes in this session must be taken into account
+        jdoQuery.addExtension("datanucleus.query.flushBeforeExecution", "true");
+        jdoQuery.setUnique(true);
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("aggregates: " + jdoQuery);
+        }
+        try {
+            final Object[] row = (Object[]) jdoQuery.executeWithMap(parameters);
+            final List<PropertyAggregates> aggregates = Lists.newArrayList();
+            for (int i = 0; i < properties.size(); i++) {
+                final Number count = row != null ? (Number) row[4 * i] : null;
+                aggregates.add(new PropertyAggregates(
+                        count != null ? count.longValue() : 0L,
+                        row != null ? asBigDecimal(row[4 * i + 1]) : null,
+                        row != null ? asBigDecimal(row[4 * i + 2]) : null,
+                        row != null ? asBigDecimal(row[4 * i + 3]) : null));
+            }
+            return aggregates;
+        } catch (final JDOException ex) {
+            LOG.warn("Unable to compute aggregates using datastore, will compute in memory instead", ex);
+            return null;
+        } finally {
+            jdoQuery.closeAll();
+        }
+    }
+
+    private static BigDecimal asBigDecimal(final Object value) {
+        if(value == null || value instanceof BigDecimal) {
+            return (BigDecimal) value;
+        }
+        return new BigDecimal(value.toString());
+    }
+
+    private static List<PropertyAggregates> combine(
+            final List<PropertyAggregates> aggregates,
+            final List<PropertyAggregates> other) {
+        final List<PropertyAggregates> combined = Lists.newArrayList();
+        for (int i = 0; i < aggregates.size(); i++) {
+            combined.add(aggregates.get(i).combine(other.get(i)));
+        }
+        return combined;
+    }
+
+    private static List<PropertyAggregates> empty(final List<? extends ObjectAssociation> properties) {
+        final List<PropertyAggregates> aggregates = Lists.newArrayList();
+        for (int i = 0; i < properties.size(); i++) {
+            aggregates.add(new PropertyAggregates(0L, null, null, null));
+        }
+        return aggregates;
+    }
+
+}
@@ -19,8 +19,15 @@
 package org.apache.isis.objectstore.jdo.datanucleus.persistence.queries;
 
 import javax.jdo.PersistenceManager;
+import javax.jdo.PersistenceManagerFactory;
 import javax.jdo.Query;
 
+import org.datanucleus.PersistenceNucleusContext;
+import org.datanucleus.api.jdo.JDOPersistenceManagerFactory;
+import org.datanucleus.metadata.AbstractClassMetaData;
+import org.datanucleus.metadata.AbstractMemberMetaData;
+import org.datanucleus.metadata.FieldPersistenceModifier;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -57,6 +64,29 @@ public static Query createQuery(
         return jdoQuery;
     }
 
+    /**
+     * Whether the member of the (persistence-capable) class is persisted by DataNucleus, and so can be referenced
+     * in a JDOQL query.
+     */
+    public static boolean isPersistentMember(
+            final PersistenceManager persistenceManager,
+            final Class<?> cls,
+            final String memberName) {
+        final PersistenceManagerFactory pmf = persistenceManager.getPersistenceManagerFactory();
+        if(!(pmf instanceof JDOPersistenceManagerFactory)) {
+            return false;
+        }
+        final PersistenceNucleusContext nucleusContext = ((JDOPersistenceManagerFactory) pmf).getNucleusContext();
+        final AbstractClassMetaData classMetaData = nucleusContext.getMetaDataManager().getMetaDataForClass(
+                cls, nucleusContext.getClassLoaderResolver(cls.getClassLoader()));
+        if(classMetaData == null) {
+            return false;
+        }
+        final AbstractMemberMetaData memberMetaData = classMetaData.getMetaDataForMember(memberName);
+        return memberMetaData != null &&
+               memberMetaData.getPersistenceModifier() == FieldPersistenceModifier.PERSISTENT;
+    }
+
     private static StringBuilder appendSelect(
             final StringBuilder buf,
             final String select, 
@@ -0,0 +1,54 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.persistence.query;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class PersistenceQueryFindAllInstances_matches_Test {
+
+    @Test
+    public void noRange() throws Exception {
+        assertThat(countMatches(new PersistenceQueryFindAllInstances(null, null), 10), is(10));
+    }
+
+    @Test
+    public void startAndCount() throws Exception {
+        assertThat(countMatches(new PersistenceQueryFindAllInstances(null, null, 3, 4), 10), is(4));
+        assertThat(countMatches(new PersistenceQueryFindAllInstances(null, null, 8, 4), 10), is(2));
+    }
+
+    @Test
+    public void startOnly() throws Exception {
+        assertThat(countMatches(new PersistenceQueryFindAllInstances(null, null, 3), 10), is(7));
+    }
+
+    private static int countMatches(final PersistenceQueryFindAllInstances query, final int numInstances) {
+        int matches = 0;
+        for (int i = 0; i < numInstances; i++) {
+            if (query.matches(null)) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+}
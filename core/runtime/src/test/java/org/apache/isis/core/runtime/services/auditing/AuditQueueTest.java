@@ -0,0 +1,232 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.services.auditing;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.collect.Sets;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.apache.isis.applib.services.audit.AuditRecord;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class AuditQueueTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private AuditSpillFile spillFile;
+    private final List<List<AuditRecord>> written = new CopyOnWriteArrayList<>();
+
+    @Before
+    public void setUp() throws Exception {
+        spillFile = new AuditSpillFile(new File(temporaryFolder.getRoot(), "spill.txt"));
+    }
+
+    private static List<AuditRecord> batch(final String value) {
+        return Collections.singletonList(AuditSpillFileTest.record(null, value));
+    }
+
+    @Test
+    public void writes_batches_in_background() throws Exception {
+
+        // given
+        final CountDownLatch latch = new CountDownLatch(2);
+        final AuditQueue queue = new AuditQueue(10, 1000L, spillFile, new AuditQueue.Writer() {
+            @Override
+            public void write(final List<AuditRecord> batch) {
+                written.add(batch);
+                latch.countDown();
+            }
+        });
+
+        // when
+        queue.enqueue(batch("1"));
+        queue.enqueue(batch("2"));
+
+        // then
+        assertThat(latch.await(10, TimeUnit.SECONDS), is(true));
+        assertThat(written.get(0).get(0).getPostValue(), is("1"));
+        assertThat(written.get(1).get(0).getPostValue(), is("2"));
+
+        queue.shutdown(1000L);
+        assertThat(spillFile.isEmpty(), is(true));
+        assertThat(queue.getWrittenCount(), is(2L));
+    }
+
+    @Test
+    public void spills_when_queue_full_and_on_shutdown() throws Exception {
+
+        // given a worker that blocks on the first batch
+        final CountDownLatch writing = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AuditQueue queue = new AuditQueue(1, 10L, spillFile, new AuditQueue.Writer() {
+            @Override
+            public void write(final List<AuditRecord> batch) {
+                writing.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                written.add(batch);
+            }
+        });
+        queue.enqueue(batch("1"));
+        assertThat(writing.await(10, TimeUnit.SECONDS), is(true));
+
+        // when
+        queue.enqueue(batch("2")); // queued
+        queue.enqueue(batch("3")); // queue full, so spilled
+
+        // then
+        assertThat(queue.getSpilledCount(), is(1L));
+
+        // when
+        release.countDown();
+        queue.shutdown(10000L);
+
+        // then (the spilled batch may have been replayed once the worker was idle; either way nothing is lost)
+        final Set<String> values = Sets.newTreeSet();
+        for (final List<AuditRecord> batch : written) {
+            values.add(batch.get(0).getPostValue());
+        }
+        for (final List<AuditRecord> batch : spillFile.readAndDelete()) {
+            values.add(batch.get(0).getPostValue());
+        }
+        assertThat(values, is((Set<String>) Sets.newTreeSet(Arrays.asList("1", "2", "3"))));
+    }
+
+    @Test
+    public void spills_if_write_fails() throws Exception {
+
+        // given
+        final CountDownLatch attempted = new CountDownLatch(1);
+        final AuditQueue queue = new AuditQueue(10, 1000L, spillFile, new AuditQueue.Writer() {
+            @Override
+            public void write(final List<AuditRecord> batch) {
+                attempted.countDown();
+                throw new RuntimeException("database unavailable");
+            }
+        });
+
+        // when
+        queue.enqueue(batch("1"));
+        assertThat(attempted.await(10, TimeUnit.SECONDS), is(true));
+        queue.shutdown(10000L);
+
+        // then
+        final List<List<AuditRecord>> spilled = spillFile.readAndDelete();
+        assertThat(spilled.size(), is(1));
+        assertThat(spilled.get(0).get(0).getPostValue(), is("1"));
+    }
+
+    @Test
+    public void retries_batch_that_could_not_be_spilled() throws Exception {
+
+        // given a spill file that cannot be written to, and a write that fails the first time
+        spillFile = new AuditSpillFile(temporaryFolder.newFolder("unwritable"));
+        final CountDownLatch latch = new CountDownLatch(1);
+        final AuditQueue queue = new AuditQueue(10, 1000L, spillFile, new AuditQueue.Writer() {
+            private boolean failed;
+            @Override
+            public void write(final List<AuditRecord> batch) {
+                if(!failed) {
+                    failed = true;
+                    throw new RuntimeException("database unavailable");
+                }
+                written.add(batch);
+                latch.countDown();
+            }
+        });
+
+        // when
+        queue.enqueue(batch("1"));
+
+        // then
+        assertThat(latch.await(10, TimeUnit.SECONDS), is(true));
+        queue.shutdown(1000L);
+        assertThat(written.get(0).get(0).getPostValue(), is("1"));
+        assertThat(queue.getUnspilledCount(), is(0));
+        assertThat(queue.getLostCount(), is(0L));
+    }
+
+    @Test
+    public void batch_that_cannot_be_spilled_is_lost_on_shutdown() throws Exception {
+
+        // given
+        spillFile = new AuditSpillFile(temporaryFolder.newFolder("unwritable"));
+        final CountDownLatch attempted = new CountDownLatch(1);
+        final AuditQueue queue = new AuditQueue(10, 1000L, spillFile, new AuditQueue.Writer() {
+            @Override
+            public void write(final List<AuditRecord> batch) {
+                attempted.countDown();
+                throw new RuntimeException("database unavailable");
+            }
+        });
+
+        // when
+        queue.enqueue(batch("1"));
+        assertThat(attempted.await(10, TimeUnit.SECONDS), is(true));
+        queue.shutdown(10000L);
+
+        // then
+        assertThat(queue.getUnspilledCount(), is(0));
+        assertThat(queue.getLostCount(), is(1L));
+    }
+
+    @Test
+    public void replays_spilled_batches_after_restart() throws Exception {
+
+        // given
+        spillFile.append(Collections.singletonList(batch("spilled")));
+        final CountDownLatch latch = new CountDownLatch(2);
+        final AuditQueue queue = new AuditQueue(10, 1000L, spillFile, new AuditQueue.Writer() {
+            @Override
+            public void write(final List<AuditRecord> batch) {
+                written.add(batch);
+                latch.countDown();
+            }
+        });
+
+        // when
+        queue.enqueue(batch("new"));
+
+        // then
+        assertThat(latch.await(10, TimeUnit.SECONDS), is(true));
+        queue.shutdown(1000L);
+        assertThat(written.get(0).get(0).getPostValue(), is("new"));
+        assertThat(written.get(1).get(0).getPostValue(), is("spilled"));
+        assertThat(spillFile.isEmpty(), is(true));
+    }
+
+}
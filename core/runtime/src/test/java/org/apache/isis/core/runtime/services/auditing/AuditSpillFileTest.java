@@ -0,0 +1,128 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.services.auditing;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.apache.isis.applib.services.audit.AuditRecord;
+import org.apache.isis.applib.services.bookmark.Bookmark;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class AuditSpillFileTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private AuditSpillFile spillFile;
+
+    @Before
+    public void setUp() throws Exception {
+        spillFile = new AuditSpillFile(new File(temporaryFolder.getRoot(), "audit/spill.txt"));
+    }
+
+    static AuditRecord record(final String preValue, final String postValue) {
+        final Timestamp timestamp = new Timestamp(1480000000123L);
+        timestamp.setNanos(123456789);
+        return new AuditRecord(
+                UUID.fromString("5a3f2e8c-9d1b-4b8e-a1c2-0123456789ab"), 2,
+                "com.mycompany.Customer", new Bookmark("CUS", "42"),
+                "com.mycompany.Customer#name", "name",
+                preValue, postValue,
+                "sven", timestamp);
+    }
+
+    @Test
+    public void round_trip() throws Exception {
+
+        // given
+        final List<AuditRecord> batch1 = Arrays.asList(record("a\tb", "c\nd\\e"), record(null, ""));
+        final List<AuditRecord> batch2 = Collections.singletonList(record("\\0", "x"));
+
+        // when
+        spillFile.append(Collections.singletonList(batch1));
+        spillFile.append(Collections.singletonList(batch2));
+        final List<List<AuditRecord>> batches = spillFile.readAndDelete();
+
+        // then
+        assertThat(batches.size(), is(2));
+        assertThat(batches.get(0).size(), is(2));
+        assertThat(batches.get(1).size(), is(1));
+
+        final AuditRecord first = batches.get(0).get(0);
+        assertThat(first.getInteractionId(), is(batch1.get(0).getInteractionId()));
+        assertThat(first.getSequence(), is(2));
+        assertThat(first.getTargetClassName(), is("com.mycompany.Customer"));
+        assertThat(first.getTarget(), is(new Bookmark("CUS", "42")));
+        assertThat(first.getMemberIdentifier(), is("com.mycompany.Customer#name"));
+        assertThat(first.getPropertyName(), is("name"));
+        assertThat(first.getPreValue(), is("a\tb"));
+        assertThat(first.getPostValue(), is("c\nd\\e"));
+        assertThat(first.getUser(), is("sven"));
+        assertThat(first.getTimestamp(), is(batch1.get(0).getTimestamp()));
+
+        assertThat(batches.get(0).get(1).getPreValue(), is(nullValue()));
+        assertThat(batches.get(0).get(1).getPostValue(), is(""));
+        assertThat(batches.get(1).get(0).getPreValue(), is("\\0"));
+
+        assertThat(spillFile.isEmpty(), is(true));
+        assertThat(spillFile.getFile().exists(), is(false));
+    }
+
+    @Test
+    public void cannot_be_locked_while_in_use() throws Exception {
+
+        // given
+        spillFile.lock();
+        final AuditSpillFile otherSpillFile = new AuditSpillFile(spillFile.getFile());
+
+        // when
+        try {
+            otherSpillFile.lock();
+            fail();
+        } catch (final IOException ex) {
+            // expected
+        }
+
+        // when released, then can be locked
+        spillFile.release();
+        otherSpillFile.lock();
+        otherSpillFile.release();
+    }
+
+    @Test
+    public void readAndDelete_when_no_file() throws Exception {
+        assertThat(spillFile.readAndDelete().isEmpty(), is(true));
+    }
+
+}
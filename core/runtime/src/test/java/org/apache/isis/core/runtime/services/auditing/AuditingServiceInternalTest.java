@@ -0,0 +1,58 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.runtime.services.auditing;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.Map;
+
+import com.google.common.collect.ImmutableMap;
+
+import org.junit.Test;
+
+import org.apache.isis.core.runtime.system.SystemConstants;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertThat;
+
+public class AuditingServiceInternalTest {
+
+    @Test
+    public void default_spill_file_is_per_application() throws Exception {
+
+        // given
+        final Map<String, String> app1 = ImmutableMap.of(SystemConstants.APP_MANIFEST_KEY, "com.mycompany.App1Manifest");
+        final Map<String, String> app2 = ImmutableMap.of(SystemConstants.APP_MANIFEST_KEY, "com.mycompany.App2Manifest");
+
+        // when
+        final File spillFile1 = AuditingServiceInternal.defaultSpillFile(app1);
+        final File spillFile2 = AuditingServiceInternal.defaultSpillFile(app2);
+
+        // then
+        assertThat(spillFile1, is(not(spillFile2)));
+        assertThat(spillFile1.getName().startsWith("isis-audit-spill-App1Manifest-"), is(true));
+        assertThat(spillFile1.getParentFile(), is(new File(System.getProperty("java.io.tmpdir"))));
+        assertThat(AuditingServiceInternal.defaultSpillFile(app1), is(spillFile1));
+        assertThat(AuditingServiceInternal.defaultSpillFile(Collections.<String, String>emptyMap()).getName()
+                .startsWith("isis-audit-spill-isis-"), is(true));
+    }
+
+}
@@ -0,0 +1,273 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.services.email;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import javax.mail.Session;
+import javax.mail.internet.MimeMessage;
+
+import com.google.common.collect.Lists;
+
+import org.jmock.Expectations;
+import org.jmock.api.Invocation;
+import org.jmock.auto.Mock;
+import org.jmock.lib.action.CustomAction;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.core.runtime.system.transaction.IsisTransaction;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class EmailServiceDefault_sendAsync_Test {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    IsisTransaction mockTransaction;
+
+    private SmtpServerStub smtpServer;
+    private EmailServiceDefault emailService;
+    private boolean throwExceptionOnFail;
+    private IsisTransaction transaction;
+    private IsisTransaction.CompletionCallback completionCallback;
+
+    @Before
+    public void setUp() throws Exception {
+        smtpServer = new SmtpServerStub();
+        emailService = new EmailServiceDefault() {
+            @Override protected String getSenderEmailAddress() { return "sender@example.com"; }
+            @Override protected String getSenderEmailPassword() { return "secret"; }
+            @Override protected String getSenderEmailHostName() { return "localhost"; }
+            @Override protected Integer getSenderEmailPort() { return smtpServer.getPort(); }
+            @Override protected Boolean getSenderEmailTlsEnabled() { return false; }
+            @Override protected Boolean isThrowExceptionOnFail() { return throwExceptionOnFail; }
+            @Override protected int getSocketTimeout() { return 5000; }
+            @Override protected int getSocketConnectionTimeout() { return 5000; }
+            @Override protected String getEmailOverrideTo() { return null; }
+            @Override protected String getEmailOverrideCc() { return null; }
+            @Override protected String getEmailOverrideBcc() { return null; }
+            @Override protected boolean isAsync() { return true; }
+            @Override protected int getAsyncThreads() { return 2; }
+            @Override protected int getAsyncQueueCapacity() { return 100; }
+            @Override protected int getAsyncMaxAttempts() { return 3; }
+            @Override protected int getAsyncRetryBackoff() { return 10; }
+            @Override protected int getAsyncShutdownTimeout() { return 5000; }
+            @Override protected IsisTransaction currentTransaction() { return transaction; }
+        };
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        emailService.shutdown();
+        smtpServer.close();
+    }
+
+    private Future<Boolean> sendAsync(final String subject) {
+        return emailService.sendAsync(
+                Collections.singletonList("to@example.com"), null, null, subject, "<p>Hello</p>");
+    }
+
+    @Test
+    public void sends_and_reuses_connections() throws Exception {
+
+        // when
+        final List<Future<Boolean>> futures = Lists.newArrayList();
+        for (int i = 0; i < 10; i++) {
+            futures.add(sendAsync("Message " + i));
+        }
+
+        // then
+        for (final Future<Boolean> future : futures) {
+            assertThat(future.get(10, TimeUnit.SECONDS), is(true));
+        }
+        assertThat(smtpServer.getMessages().size(), is(10));
+        assertThat(smtpServer.getMessages().get(0), containsString("Subject: Message"));
+        assertThat(emailService.getAsyncSentCount(), is(10L));
+        // at most one connection per worker thread
+        assertThat(smtpServer.getConnectionCount() <= 2, is(true));
+        assertThat(emailService.getAsyncConnectionCount() <= 2, is(true));
+        assertThat(emailService.getAsyncQueueDepth(), is(0));
+    }
+
+    @Test
+    public void retries_transient_failures() throws Exception {
+
+        // given
+        smtpServer.rejectNext(2);
+
+        // when
+        final Future<Boolean> future = sendAsync("Retried");
+
+        // then
+        assertThat(future.get(10, TimeUnit.SECONDS), is(true));
+        assertThat(smtpServer.getMessages().size(), is(1));
+        assertThat(emailService.getAsyncFailedCount(), is(0L));
+    }
+
+    @Test
+    public void gives_up_after_max_attempts() throws Exception {
+
+        // given
+        smtpServer.rejectNext(3);
+
+        // when
+        final Future<Boolean> future = sendAsync("Rejected");
+
+        // then
+        assertThat(future.get(10, TimeUnit.SECONDS), is(false));
+        assertThat(smtpServer.getMessages().size(), is(0));
+        assertThat(emailService.getAsyncFailedCount(), is(1L));
+    }
+
+    @Test
+    public void send_returns_false_if_email_cannot_be_built() throws Exception {
+
+        // when
+        final boolean sent = emailService.send(
+                Collections.singletonList("not@valid@example.com"), null, null, "Invalid", "<p>Hello</p>");
+
+        // then
+        assertThat(sent, is(false));
+        assertThat(smtpServer.getMessages().size(), is(0));
+    }
+
+    @Test
+    public void send_throws_if_email_cannot_be_built_and_so_configured() throws Exception {
+
+        // given
+        throwExceptionOnFail = true;
+
+        // when
+        try {
+            emailService.send(
+                    Collections.singletonList("not@valid@example.com"), null, null, "Invalid", "<p>Hello</p>");
+            fail();
+        } catch (final EmailServiceDefault.EmailServiceException ex) {
+            // expected
+        }
+    }
+
+    @Test
+    public void submit_rejected_once_shut_down() throws Exception {
+
+        // given
+        final EmailSenderAsync sender = new EmailSenderAsync(
+                Session.getInstance(new Properties()), 1, 1, 1, 10L);
+        sender.shutdown(1000L);
+
+        // when
+        try {
+            sender.submit(new MimeMessage(sender.getSession()), false);
+            fail();
+        } catch (final RejectedExecutionException ex) {
+            // expected, rather than the message being silently discarded
+        }
+    }
+
+    @Test
+    public void send_does_not_wait_for_slow_relay() throws Exception {
+
+        // given
+        smtpServer.setDelayMillis(500);
+
+        // when
+        final long start = System.currentTimeMillis();
+        final boolean sent = emailService.send(
+                Collections.singletonList("to@example.com"), null, null, "Slow", "<p>Hello</p>");
+        final long elapsed = System.currentTimeMillis() - start;
+
+        // then
+        assertThat(sent, is(true));
+        assertThat(elapsed < 500, is(true));
+
+        // and when shut down, then the queued message is still sent
+        emailService.shutdown();
+        assertThat(smtpServer.getMessages().size(), is(1));
+        assertThat(emailService.getAsyncMaxSendLatencyMillis() >= 0, is(true));
+    }
+
+    @Test
+    public void within_a_transaction_sent_only_once_committed() throws Exception {
+
+        // given
+        givenCallerTransaction();
+
+        // when
+        final Future<Boolean> future = sendAsync("Committed");
+
+        // then
+        assertThat(future.isDone(), is(false));
+        assertThat(emailService.getAsyncQueueDepth(), is(0));
+        assertThat(smtpServer.getMessages().size(), is(0));
+
+        // when
+        completionCallback.afterCommit();
+
+        // then
+        assertThat(future.get(10, TimeUnit.SECONDS), is(true));
+        assertThat(smtpServer.getMessages().size(), is(1));
+    }
+
+    @Test
+    public void within_a_transaction_not_sent_if_rolled_back() throws Exception {
+
+        // given
+        givenCallerTransaction();
+
+        // when
+        final Future<Boolean> future = sendAsync("Rolled back");
+        completionCallback.afterAbort();
+
+        // then
+        assertThat(future.isCancelled(), is(true));
+        emailService.shutdown();
+        assertThat(smtpServer.getMessages().size(), is(0));
+        assertThat(emailService.getAsyncSentCount(), is(0L));
+    }
+
+    private void givenCallerTransaction() {
+        transaction = mockTransaction;
+        context.checking(new Expectations() {{
+            oneOf(mockTransaction).registerCompletionCallback(with(any(IsisTransaction.CompletionCallback.class)));
+            will(new CustomAction("capture callback") {
+                @Override
+                public Object invoke(final Invocation invocation) throws Throwable {
+                    completionCallback = (IsisTransaction.CompletionCallback) invocation.getParameter(0);
+                    return null;
+                }
+            });
+        }});
+    }
+
+}
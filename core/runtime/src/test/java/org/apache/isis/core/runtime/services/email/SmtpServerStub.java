@@ -0,0 +1,156 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.services.email;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.common.base.Charsets;
+
+/**
+ * A minimal in-process SMTP server, just enough to accept messages from JavaMail (no TLS, no authentication).
+ *
+ * <p>
+ *     Records the messages received and the number of connections made, and can be told to reject the next
+ *     <i>n</i> messages with a transient (4xx) error.
+ * </p>
+ */
+class SmtpServerStub implements AutoCloseable {
+
+    private final ServerSocket serverSocket;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    private final List<String> messages = new CopyOnWriteArrayList<>();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+    private final AtomicInteger messagesToReject = new AtomicInteger();
+    private volatile long delayMillis;
+
+    SmtpServerStub() throws IOException {
+        serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        executor.submit(new Runnable() {
+            @Override
+            public void run() {
+                accept();
+            }
+        });
+    }
+
+    int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    List<String> getMessages() {
+        return messages;
+    }
+
+    int getConnectionCount() {
+        return connectionCount.get();
+    }
+
+    void rejectNext(final int numberOfMessages) {
+        messagesToReject.set(numberOfMessages);
+    }
+
+    /**
+     * Delays the response to each message (simulating a slow relay).
+     */
+    void setDelayMillis(final long delayMillis) {
+        this.delayMillis = delayMillis;
+    }
+
+    private void accept() {
+        while(!serverSocket.isClosed()) {
+            try {
+                final Socket socket = serverSocket.accept();
+                connectionCount.incrementAndGet();
+                executor.submit(new Runnable() {
+                    @Override
+                    public void run() {
+                        handle(socket);
+                    }
+                });
+            } catch (IOException e) {
+                // closed
+            }
+        }
+    }
+
+    private void handle(final Socket socket) {
+        try (final Socket s = socket) {
+            final BufferedReader in = new BufferedReader(new InputStreamReader(s.getInputStream(), Charsets.US_ASCII));
+            final Writer out = new OutputStreamWriter(s.getOutputStream(), Charsets.US_ASCII);
+            reply(out, "220 localhost SMTP stub");
+            String line;
+            while((line = in.readLine()) != null) {
+                final String command = line.toUpperCase();
+                if(command.startsWith("EHLO")) {
+                    reply(out, "250-localhost\r\n250 8BITMIME");
+                } else if(command.startsWith("HELO")) {
+                    reply(out, "250 localhost");
+                } else if(command.startsWith("DATA")) {
+                    reply(out, "354 end data with <CR><LF>.<CR><LF>");
+                    final StringBuilder data = new StringBuilder();
+                    while((line = in.readLine()) != null && !line.equals(".")) {
+                        data.append(line).append("\n");
+                    }
+                    if(delayMillis > 0) {
+                        Thread.sleep(delayMillis);
+                    }
+                    if(messagesToReject.getAndDecrement() > 0) {
+                        reply(out, "451 try again later");
+                    } else {
+                        messages.add(data.toString());
+                        reply(out, "250 OK");
+                    }
+                } else if(command.startsWith("QUIT")) {
+                    reply(out, "221 bye");
+                    return;
+                } else {
+                    // MAIL FROM, RCPT TO, RSET, NOOP
+                    reply(out, "250 OK");
+                }
+            }
+        } catch (IOException | InterruptedException e) {
+            // connection dropped
+        }
+    }
+
+    private static void reply(final Writer out, final String reply) throws IOException {
+        out.write(reply);
+        out.write("\r\n");
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        executor.shutdownNow();
+    }
+}
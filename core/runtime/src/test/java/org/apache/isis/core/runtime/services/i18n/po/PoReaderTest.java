@@ -18,9 +18,17 @@
  */
 package org.apache.isis.core.runtime.services.i18n.po;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import org.jmock.Expectations;
 import org.jmock.auto.Mock;
 import org.junit.Before;
@@ -232,4 +240,105 @@ protected List<String> readPo(final Locale locale) {
        }
     }
 
+
+    public static class Preload extends PoReaderTest {
+
+        final Map<Locale, AtomicInteger> readCountByLocale = Maps.newConcurrentMap();
+
+        Thread callingThread;
+        boolean readableOnlyInCallingThread;
+
+        @Before
+        public void setUp() throws Exception {
+            super.setUp();
+            callingThread = Thread.currentThread();
+            context.checking(new Expectations() {{
+                allowing(mockTranslationsResolver).readLines("translations.po");
+                will(returnValue(null));
+            }});
+
+            poReader = new PoReader(mockTranslationServicePo) {
+                @Override
+                protected List<String> readPo(final Locale locale) {
+                    if(readableOnlyInCallingThread && Thread.currentThread() != callingThread) {
+                        throw new IllegalStateException("not bound to this thread");
+                    }
+                    readCountByLocale.putIfAbsent(locale, new AtomicInteger());
+                    readCountByLocale.get(locale).incrementAndGet();
+                    final List<String> lines = Lists.newArrayList();
+                    lines.add("#: someContext");
+                    lines.add("msgid \"Hello\"");
+                    lines.add(String.format("msgstr \"Hello (%s)\"", locale));
+                    return lines;
+                }
+            };
+        }
+
+        @Test
+        public void reads_configured_locales_on_init() throws Exception {
+
+            // when
+            poReader.init(Arrays.asList(Locale.UK, Locale.FRANCE));
+
+            // then
+            assertThat(poReader.getLocales(), is(equalTo((Set<Locale>) Sets.newHashSet(Locale.UK, Locale.FRANCE))));
+            assertThat(readCountByLocale.get(Locale.UK).get(), is(1));
+            assertThat(readCountByLocale.get(Locale.FRANCE).get(), is(1));
+
+            // when
+            final String translated = poReader.translate("someContext", "Hello");
+
+            // then (not re-read)
+            assertThat(translated, is(equalTo("Hello (en_GB)")));
+            assertThat(readCountByLocale.get(Locale.UK).get(), is(1));
+        }
+
+        @Test
+        public void reads_in_calling_thread_if_cannot_read_in_background() throws Exception {
+
+            // given
+            readableOnlyInCallingThread = true;
+
+            // when
+            poReader.init(Arrays.asList(Locale.UK, Locale.FRANCE));
+
+            // then
+            assertThat(poReader.getLocales(), is(equalTo((Set<Locale>) Sets.newHashSet(Locale.UK, Locale.FRANCE))));
+            assertThat(readCountByLocale.get(Locale.UK).get(), is(1));
+            assertThat(readCountByLocale.get(Locale.FRANCE).get(), is(1));
+            assertThat(poReader.translate("someContext", "Hello"), is(equalTo("Hello (en_GB)")));
+        }
+
+        @Test
+        public void clearCache_rereads_all_locales() throws Exception {
+
+            // given
+            poReader.init(Arrays.asList(Locale.FRANCE));
+            poReader.translate("someContext", "Hello");
+
+            // when
+            poReader.clearCache();
+
+            // then
+            assertThat(readCountByLocale.get(Locale.FRANCE).get(), is(2));
+            assertThat(readCountByLocale.get(Locale.UK).get(), is(2));
+        }
+
+        @Test
+        public void hits_and_misses() throws Exception {
+
+            // given
+            poReader.init(Collections.<Locale>emptyList());
+
+            // when
+            poReader.translate("someContext", "Hello");
+            poReader.translate("otherContext", "Hello");
+            poReader.translate("someContext", "Goodbye");
+
+            // then
+            assertThat(poReader.getHitCount(), is(1L));
+            assertThat(poReader.getMissCount(), is(2L));
+        }
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,92 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.system.persistence;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+import org.datanucleus.PropertyNames;
+import org.junit.Test;
+
+import org.apache.isis.objectstore.jdo.datanucleus.cache.IsisLevel2Cache;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class DataNucleusApplicationComponentsTest_configureLevel2CacheIfRequired {
+
+    private final Set<String> cacheableClassNames = Sets.newHashSet("com.mycompany.Country");
+    private final Map<String, String> datanucleusProps = Maps.newHashMap();
+
+    @Test
+    public void when_no_cache_type_then_uses_isis_cache() throws Exception {
+
+        // when
+        DataNucleusApplicationComponents.configureLevel2CacheIfRequired(cacheableClassNames, datanucleusProps);
+
+        // then
+        assertThat(datanucleusProps.get(PropertyNames.PROPERTY_CACHE_L2_TYPE), is(IsisLevel2Cache.NAME));
+        assertThat(datanucleusProps.get(PropertyNames.PROPERTY_CACHE_L2_MODE), is("ENABLE_SELECTIVE"));
+    }
+
+    @Test
+    public void when_cache_type_none_then_respected() throws Exception {
+
+        // given
+        datanucleusProps.put(PropertyNames.PROPERTY_CACHE_L2_TYPE, "none");
+
+        // when
+        DataNucleusApplicationComponents.configureLevel2CacheIfRequired(cacheableClassNames, datanucleusProps);
+
+        // then
+        assertThat(datanucleusProps.get(PropertyNames.PROPERTY_CACHE_L2_TYPE), is("none"));
+    }
+
+    @Test
+    public void when_other_cache_type_then_respected() throws Exception {
+
+        // given
+        datanucleusProps.put(PropertyNames.PROPERTY_CACHE_L2_TYPE, "soft");
+        datanucleusProps.put(PropertyNames.PROPERTY_CACHE_L2_MODE, "ALL");
+
+        // when
+        DataNucleusApplicationComponents.configureLevel2CacheIfRequired(cacheableClassNames, datanucleusProps);
+
+        // then
+        assertThat(datanucleusProps.get(PropertyNames.PROPERTY_CACHE_L2_TYPE), is("soft"));
+        assertThat(datanucleusProps.get(PropertyNames.PROPERTY_CACHE_L2_MODE), is("ALL"));
+    }
+
+    @Test
+    public void when_nothing_cacheable_then_unchanged() throws Exception {
+
+        // when
+        DataNucleusApplicationComponents.configureLevel2CacheIfRequired(
+                Collections.<String>emptySet(), datanucleusProps);
+
+        // then
+        assertThat(datanucleusProps.get(PropertyNames.PROPERTY_CACHE_L2_TYPE), is(nullValue()));
+    }
+
+}
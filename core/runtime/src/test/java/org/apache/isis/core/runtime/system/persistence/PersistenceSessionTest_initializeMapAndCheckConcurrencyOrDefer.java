@@ -0,0 +1,351 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.system.persistence;
+
+import javax.jdo.PersistenceManager;
+import javax.jdo.PersistenceManagerFactory;
+import javax.jdo.identity.LongIdentity;
+import javax.jdo.listener.InstanceLifecycleEvent;
+
+import org.datanucleus.enhancement.Persistable;
+import org.jmock.Expectations;
+import org.jmock.api.Action;
+import org.jmock.api.Invocation;
+import org.jmock.auto.Mock;
+import org.jmock.lib.action.CustomAction;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.applib.annotation.Bulk;
+import org.apache.isis.applib.services.clock.ClockService;
+import org.apache.isis.applib.services.command.CommandContext;
+import org.apache.isis.applib.services.command.spi.CommandService;
+import org.apache.isis.applib.services.eventbus.EventBusService;
+import org.apache.isis.applib.services.eventbus.ObjectLoadedEvent;
+import org.apache.isis.applib.services.factory.FactoryService;
+import org.apache.isis.applib.services.iactn.InteractionContext;
+import org.apache.isis.applib.services.metrics.MetricsService;
+import org.apache.isis.applib.services.user.UserService;
+import org.apache.isis.core.commons.authentication.AuthenticationSession;
+import org.apache.isis.core.commons.config.IsisConfigurationDefault;
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.adapter.version.ConcurrencyException;
+import org.apache.isis.core.metamodel.facets.object.callbacks.LoadedCallbackFacet;
+import org.apache.isis.core.metamodel.facets.object.callbacks.LoadedLifecycleEventFacet;
+import org.apache.isis.core.metamodel.facets.object.viewmodel.ViewModelFacet;
+import org.apache.isis.core.metamodel.services.ServicesInjector;
+import org.apache.isis.core.metamodel.spec.ObjectSpecId;
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+import org.apache.isis.core.metamodel.specloader.SpecificationLoader;
+import org.apache.isis.core.runtime.services.changes.ChangedObjectsServiceInternal;
+import org.apache.isis.core.runtime.system.transaction.IsisTransaction;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class PersistenceSessionTest_initializeMapAndCheckConcurrencyOrDefer {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private ServicesInjector mockServicesInjector;
+    @Mock
+    private SpecificationLoader mockSpecificationLoader;
+    @Mock
+    private AuthenticationSession mockAuthenticationSession;
+    @Mock
+    private PersistenceManagerFactory mockPersistenceManagerFactory;
+    @Mock
+    private PersistenceManager mockPersistenceManager;
+    @Mock
+    private IsisTransaction mockTransaction;
+
+    @Mock
+    private CommandContext mockCommandContext;
+    @Mock
+    private CommandService mockCommandService;
+    @Mock
+    private InteractionContext mockInteractionContext;
+    @Mock
+    private EventBusService mockEventBusService;
+    @Mock
+    private ChangedObjectsServiceInternal mockChangedObjectsServiceInternal;
+    @Mock
+    private MetricsService mockMetricsService;
+    @Mock
+    private FactoryService mockFactoryService;
+    @Mock
+    private ClockService mockClockService;
+    @Mock
+    private UserService mockUserService;
+    @Mock
+    private Bulk.InteractionContext mockBulkInteractionContext;
+
+    @Mock
+    private ObjectSpecification mockSpec;
+    @Mock
+    private LoadedLifecycleEventFacet mockLoadedLifecycleEventFacet;
+    @Mock
+    private LoadedCallbackFacet mockLoadedCallbackFacet;
+    @Mock
+    private Persistable mockPojo;
+
+    private final IsisConfigurationDefault configuration = new IsisConfigurationDefault();
+
+    private long pojoVersion;
+
+    private PersistenceSession persistenceSession;
+    private IsisLifecycleListener2 lifecycleListener;
+
+    @Before
+    public void setUp() throws Exception {
+        context.checking(new Expectations() {{
+            allowing(mockServicesInjector).getConfigurationServiceInternal();
+            will(returnValue(configuration));
+            allowing(mockServicesInjector).getSpecificationLoader();
+            will(returnValue(mockSpecificationLoader));
+
+            allowing(mockServicesInjector).lookupServiceElseFail(CommandContext.class);
+            will(returnValue(mockCommandContext));
+            allowing(mockServicesInjector).lookupServiceElseFail(InteractionContext.class);
+            will(returnValue(mockInteractionContext));
+            allowing(mockServicesInjector).lookupService(CommandContext.class);
+            will(returnValue(mockCommandContext));
+            allowing(mockServicesInjector).lookupService(CommandService.class);
+            will(returnValue(mockCommandService));
+            allowing(mockServicesInjector).lookupService(InteractionContext.class);
+            will(returnValue(mockInteractionContext));
+            allowing(mockServicesInjector).lookupService(EventBusService.class);
+            will(returnValue(mockEventBusService));
+            allowing(mockServicesInjector).lookupService(ChangedObjectsServiceInternal.class);
+            will(returnValue(mockChangedObjectsServiceInternal));
+            allowing(mockServicesInjector).lookupService(MetricsService.class);
+            will(returnValue(mockMetricsService));
+            allowing(mockServicesInjector).lookupService(FactoryService.class);
+            will(returnValue(mockFactoryService));
+            allowing(mockServicesInjector).lookupService(ClockService.class);
+            will(returnValue(mockClockService));
+            allowing(mockServicesInjector).lookupService(UserService.class);
+            will(returnValue(mockUserService));
+            allowing(mockServicesInjector).lookupService(Bulk.InteractionContext.class);
+            will(returnValue(mockBulkInteractionContext));
+
+            allowing(mockServicesInjector).injectInto(mockPojo);
+            allowing(mockServicesInjector).injectServicesInto(mockPojo);
+
+            allowing(mockAuthenticationSession).getUserName();
+            will(returnValue("fred"));
+
+            allowing(mockSpecificationLoader).loadSpecification(with(any(Class.class)));
+            will(returnValue(mockSpec));
+
+            allowing(mockSpec).getSpecId();
+            will(returnValue(ObjectSpecId.of("CUS")));
+            allowing(mockSpec).getShortIdentifier();
+            will(returnValue("Customer"));
+            allowing(mockSpec).isService();
+            will(returnValue(false));
+            allowing(mockSpec).isImmutable();
+            will(returnValue(false));
+            allowing(mockSpec).getFacet(ViewModelFacet.class);
+            will(returnValue(null));
+            allowing(mockSpec).containsDoOpFacet(ViewModelFacet.class);
+            will(returnValue(false));
+            allowing(mockSpec).getFacet(LoadedLifecycleEventFacet.class);
+            will(returnValue(mockLoadedLifecycleEventFacet));
+            allowing(mockLoadedLifecycleEventFacet).getEventType();
+            will(returnValue(ObjectLoadedEvent.Default.class));
+
+            allowing(mockPersistenceManager).getObjectId(mockPojo);
+            will(returnValue(new LongIdentity(Object.class, 1L)));
+
+            allowing(mockPojo).dnGetVersion();
+            will(new CustomAction("current version") {
+                @Override
+                public Object invoke(final Invocation invocation) throws Throwable {
+                    return pojoVersion;
+                }
+            });
+        }});
+    }
+
+    private void givenPersistenceSession(final boolean withLoadedCallback) {
+        context.checking(new Expectations() {{
+            allowing(mockSpec).containsFacet(LoadedCallbackFacet.class);
+            will(returnValue(withLoadedCallback));
+            allowing(mockSpec).getFacet(LoadedCallbackFacet.class);
+            will(returnValue(withLoadedCallback ? mockLoadedCallbackFacet : null));
+        }});
+
+        persistenceSession = new PersistenceSession(
+                mockServicesInjector, mockAuthenticationSession, mockPersistenceManagerFactory, null) {
+            @Override
+            public PersistenceManager getPersistenceManager() {
+                return mockPersistenceManager;
+            }
+
+            @Override
+            protected IsisTransaction getCurrentTransaction() {
+                return mockTransaction;
+            }
+        };
+        lifecycleListener = new IsisLifecycleListener2(persistenceSession);
+    }
+
+    private void postLoad(final long version) {
+        pojoVersion = version;
+        lifecycleListener.postLoad(new InstanceLifecycleEvent(mockPojo, InstanceLifecycleEvent.LOAD));
+    }
+
+    @Test
+    public void deferred_when_loaded_then_adapted_with_loaded_version_when_first_looked_up() throws Exception {
+
+        // given
+        givenPersistenceSession(false);
+        context.checking(new Expectations() {{
+            oneOf(mockEventBusService).post(with(any(ObjectLoadedEvent.Default.class)));
+        }});
+
+        // when
+        postLoad(1L);
+
+        // then
+        assertThat(persistenceSession.getNumberOfAdaptersDeferred(), is(1));
+        assertThat(persistenceSession.getNumberOfAdaptersAvoided(), is(1));
+
+        // when
+        pojoVersion = 2L;
+        final ObjectAdapter adapter = persistenceSession.getAdapterFor(mockPojo);
+
+        // then
+        assertThat(adapter, is(notNullValue()));
+        assertThat(adapter.getObject(), is((Object) mockPojo));
+        assertThat(adapter.getVersion().getSequence(), is(1L));
+        assertThat(persistenceSession.getAdapterFor(adapter.getOid()), is(sameInstance(adapter)));
+        assertThat(persistenceSession.getNumberOfAdaptersDeferred(), is(1));
+        assertThat(persistenceSession.getNumberOfAdaptersAvoided(), is(0));
+
+        // and when
+        final ObjectAdapter adapterAgain = persistenceSession.getAdapterFor(mockPojo);
+
+        // then
+        assertThat(adapterAgain, is(sameInstance(adapter)));
+        assertThat(persistenceSession.getNumberOfAdaptersAvoided(), is(0));
+    }
+
+    @Test
+    public void when_deferred_and_reloaded_with_different_version_then_concurrency_checked_against_loaded_version()
+            throws Exception {
+
+        // given
+        givenPersistenceSession(false);
+        final ConcurrencyException[] abortCause = new ConcurrencyException[1];
+        context.checking(new Expectations() {{
+            oneOf(mockEventBusService).post(with(any(ObjectLoadedEvent.Default.class)));
+            oneOf(mockTransaction).setAbortCause(with(any(ConcurrencyException.class)));
+            will(capture(abortCause));
+        }});
+        postLoad(1L);
+
+        // when
+        postLoad(2L);
+
+        // then
+        assertThat(abortCause[0].getMessage(), containsString("[1 vs 2]"));
+        final ObjectAdapter adapter = persistenceSession.getAdapterFor(mockPojo);
+        assertThat(adapter.getVersion().getSequence(), is(2L));
+        assertThat(persistenceSession.getNumberOfAdaptersDeferred(), is(1));
+        assertThat(persistenceSession.getNumberOfAdaptersAvoided(), is(0));
+    }
+
+    @Test
+    public void when_deferred_and_reloaded_with_same_version_then_no_concurrency_exception() throws Exception {
+
+        // given
+        givenPersistenceSession(false);
+        context.checking(new Expectations() {{
+            oneOf(mockEventBusService).post(with(any(ObjectLoadedEvent.Default.class)));
+            never(mockTransaction).setAbortCause(with(any(ConcurrencyException.class)));
+        }});
+        postLoad(1L);
+
+        // when
+        postLoad(1L);
+
+        // then
+        assertThat(persistenceSession.getAdapterFor(mockPojo).getVersion().getSequence(), is(1L));
+    }
+
+    @Test
+    public void when_loaded_callback_then_adapted_immediately_and_called_back_once() throws Exception {
+
+        // given
+        givenPersistenceSession(true);
+        context.checking(new Expectations() {{
+            oneOf(mockLoadedCallbackFacet).invoke(with(any(ObjectAdapter.class)));
+            oneOf(mockEventBusService).post(with(any(ObjectLoadedEvent.Default.class)));
+        }});
+
+        // when
+        postLoad(1L);
+        final ObjectAdapter adapter = persistenceSession.getAdapterFor(mockPojo);
+
+        // then
+        assertThat(adapter.getVersion().getSequence(), is(1L));
+        assertThat(persistenceSession.getNumberOfAdaptersDeferred(), is(0));
+        assertThat(persistenceSession.getNumberOfAdaptersAvoided(), is(0));
+    }
+
+    @Test
+    public void when_deferral_disabled_then_adapted_immediately() throws Exception {
+
+        // given
+        configuration.add(PersistenceSession.DEFER_ADAPTER_CREATION_KEY, "false");
+        givenPersistenceSession(false);
+        context.checking(new Expectations() {{
+            oneOf(mockEventBusService).post(with(any(ObjectLoadedEvent.Default.class)));
+        }});
+
+        // when
+        postLoad(1L);
+
+        // then
+        assertThat(persistenceSession.getNumberOfAdaptersDeferred(), is(0));
+        final ObjectAdapter adapter = persistenceSession.getAdapterFor(mockPojo);
+        assertThat(adapter.getVersion().getSequence(), is(1L));
+    }
+
+    private static Action capture(final ConcurrencyException[] holder) {
+        return new CustomAction("capture abort cause") {
+            @Override
+            public Object invoke(final Invocation invocation) throws Throwable {
+                holder[0] = (ConcurrencyException) invocation.getParameter(0);
+                return null;
+            }
+        };
+    }
+
+}
@@ -0,0 +1,126 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.runtime.system.persistence.adaptermanager;
+
+import java.util.Map;
+import java.util.Random;
+
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+import org.jmock.auto.Mock;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.core.commons.authentication.AuthenticationSession;
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.adapter.oid.Oid;
+import org.apache.isis.core.metamodel.adapter.oid.ParentedCollectionOid;
+import org.apache.isis.core.metamodel.adapter.oid.RootOid;
+import org.apache.isis.core.metamodel.spec.ObjectSpecId;
+import org.apache.isis.core.metamodel.specloader.SpecificationLoader;
+import org.apache.isis.core.runtime.persistence.adapter.PojoAdapter;
+import org.apache.isis.core.runtime.system.persistence.PersistenceSession;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class OidAdapterHashMapTest {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private SpecificationLoader mockSpecificationLoader;
+    @Mock
+    private AuthenticationSession mockAuthenticationSession;
+    @Mock
+    private PersistenceSession mockPersistenceSession;
+
+    private OidAdapterHashMap map;
+
+    @Before
+    public void setUp() throws Exception {
+        map = new OidAdapterHashMap(4);
+    }
+
+    private ObjectAdapter adapterFor(final Oid oid) {
+        return new PojoAdapter(new Object(), oid, mockAuthenticationSession,
+                mockSpecificationLoader, mockPersistenceSession);
+    }
+
+    @Test
+    public void keyed_by_equality() throws Exception {
+        final RootOid oid = RootOid.create(ObjectSpecId.of("CUS"), "1");
+        final ParentedCollectionOid collectionOid = new ParentedCollectionOid(oid, "orders");
+        final ObjectAdapter adapter = adapterFor(oid);
+        final ObjectAdapter collectionAdapter = adapterFor(collectionOid);
+
+        map.add(oid, adapter);
+        map.add(collectionOid, collectionAdapter);
+
+        assertThat(map.getAdapter(RootOid.create(ObjectSpecId.of("CUS"), "1")), is(sameInstance(adapter)));
+        assertThat(map.getAdapter(new ParentedCollectionOid(oid, "orders")), is(sameInstance(collectionAdapter)));
+        assertThat(map.getAdapter(RootOid.create(ObjectSpecId.of("CUS"), "2")), is(nullValue()));
+        assertThat(map.getAdapter(RootOid.create(ObjectSpecId.of("ORD"), "1")), is(nullValue()));
+    }
+
+    @Test
+    public void remove() throws Exception {
+        final RootOid oid = RootOid.create(ObjectSpecId.of("CUS"), "1");
+        map.add(oid, adapterFor(oid));
+
+        assertThat(map.remove(RootOid.create(ObjectSpecId.of("CUS"), "1")), is(true));
+        assertThat(map.remove(oid), is(false));
+        assertThat(map.getAdapter(oid), is(nullValue()));
+        assertThat(map.size(), is(0));
+    }
+
+    @Test
+    public void remove_and_iterate_consistent_with_reference_map() throws Exception {
+        final Map<Oid, ObjectAdapter> reference = Maps.newHashMap();
+        final Random random = new Random(1L);
+
+        for (int i = 0; i < 5000; i++) {
+            // small id range, so that oids are frequently re-added after removal
+            final RootOid oid = RootOid.create(ObjectSpecId.of("CUS"), "" + random.nextInt(1000));
+            if(random.nextBoolean()) {
+                final ObjectAdapter adapter = adapterFor(oid);
+                map.add(oid, adapter);
+                reference.put(oid, adapter);
+            } else {
+                assertThat(map.remove(oid), is(reference.remove(oid) != null));
+            }
+        }
+
+        assertThat(map.size(), is(reference.size()));
+        for (final Map.Entry<Oid, ObjectAdapter> entry : reference.entrySet()) {
+            assertThat(map.getAdapter(entry.getKey()), is(sameInstance(entry.getValue())));
+        }
+        assertThat(Sets.newHashSet(map), is(reference.keySet()));
+        assertThat(map.getMaxProbeLength() >= 1, is(true));
+    }
+
+}
@@ -0,0 +1,157 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.runtime.system.persistence.adaptermanager;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+
+import org.jmock.auto.Mock;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.core.commons.authentication.AuthenticationSession;
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.adapter.oid.RootOid;
+import org.apache.isis.core.metamodel.spec.ObjectSpecId;
+import org.apache.isis.core.metamodel.specloader.SpecificationLoader;
+import org.apache.isis.core.runtime.persistence.adapter.PojoAdapter;
+import org.apache.isis.core.runtime.system.persistence.PersistenceSession;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class PojoAdapterHashMapTest {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private SpecificationLoader mockSpecificationLoader;
+    @Mock
+    private AuthenticationSession mockAuthenticationSession;
+    @Mock
+    private PersistenceSession mockPersistenceSession;
+
+    private PojoAdapterHashMap map;
+
+    @Before
+    public void setUp() throws Exception {
+        map = new PojoAdapterHashMap(4);
+    }
+
+    /**
+     * Equal but distinct pojos.
+     */
+    private static class Pojo {
+        private final int id;
+        Pojo(final int id) {
+            this.id = id;
+        }
+        @Override
+        public boolean equals(final Object obj) {
+            return obj instanceof Pojo && ((Pojo) obj).id == id;
+        }
+        @Override
+        public int hashCode() {
+            return id;
+        }
+    }
+
+    private ObjectAdapter adapterFor(final Object pojo, final int id) {
+        return new PojoAdapter(pojo, RootOid.create(ObjectSpecId.of("CUS"), "" + id), mockAuthenticationSession,
+                mockSpecificationLoader, mockPersistenceSession);
+    }
+
+    @Test
+    public void keyed_by_identity_not_equality() throws Exception {
+        final Pojo pojo = new Pojo(1);
+        final Pojo equalPojo = new Pojo(1);
+        final ObjectAdapter adapter = adapterFor(pojo, 1);
+
+        map.add(pojo, adapter);
+
+        assertThat(map.getAdapter(pojo), is(sameInstance(adapter)));
+        assertThat(map.containsPojo(pojo), is(true));
+        assertThat(map.getAdapter(equalPojo), is(nullValue()));
+        assertThat(map.containsPojo(equalPojo), is(false));
+    }
+
+    @Test
+    public void grows_beyond_expected_size_and_shrinks_on_close() throws Exception {
+        final int initialCapacity = map.getCapacity();
+        final List<Pojo> pojos = Lists.newArrayList();
+        for (int i = 0; i < 1000; i++) {
+            final Pojo pojo = new Pojo(i);
+            pojos.add(pojo);
+            map.add(pojo, adapterFor(pojo, i));
+        }
+
+        assertThat(map.size(), is(1000));
+        assertThat(map.getCapacity() >= 2000, is(true));
+        for (final Pojo pojo : pojos) {
+            assertThat(map.getAdapter(pojo).getObject(), is(sameInstance((Object) pojo)));
+        }
+        assertThat(map.getLookupCount(), is(1000L));
+        assertThat(map.getAverageProbeLength() >= 1.0, is(true));
+
+        map.close();
+
+        assertThat(map.size(), is(0));
+        assertThat(map.getCapacity(), is(initialCapacity));
+        assertThat(map.getAdapter(pojos.get(0)), is(nullValue()));
+    }
+
+    @Test
+    public void remove_and_iterate_consistent_with_reference_map() throws Exception {
+        final Map<Object, ObjectAdapter> reference = new IdentityHashMap<>();
+        final List<Pojo> pojos = Lists.newArrayList();
+        final Random random = new Random(1L);
+
+        for (int i = 0; i < 5000; i++) {
+            if(pojos.isEmpty() || random.nextInt(3) != 0) {
+                final Pojo pojo = new Pojo(i);
+                final ObjectAdapter adapter = adapterFor(pojo, i);
+                pojos.add(pojo);
+                map.add(pojo, adapter);
+                reference.put(pojo, adapter);
+            } else {
+                final Pojo pojo = pojos.remove(random.nextInt(pojos.size()));
+                map.remove(reference.remove(pojo));
+            }
+        }
+
+        assertThat(map.size(), is(reference.size()));
+        for (final Map.Entry<Object, ObjectAdapter> entry : reference.entrySet()) {
+            assertThat(map.getAdapter(entry.getKey()), is(sameInstance(entry.getValue())));
+        }
+        assertThat(Sets.newHashSet(map), is(Sets.newHashSet(reference.values())));
+    }
+
+}
@@ -0,0 +1,137 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.objectstore.jdo.datanucleus.cache;
+
+import org.datanucleus.Configuration;
+import org.datanucleus.NucleusContext;
+import org.datanucleus.cache.CachedPC;
+import org.jmock.Expectations;
+import org.jmock.auto.Mock;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class IsisLevel2Cache_Test {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(JUnitRuleMockery2.Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    NucleusContext mockNucleusContext;
+    @Mock
+    Configuration mockConfiguration;
+
+    IsisLevel2Cache cache;
+
+    static class Customer {}
+    static class PreferredCustomer extends Customer {}
+    static class Country {}
+
+    @Before
+    public void setUp() throws Exception {
+        context.checking(new Expectations() {{
+            allowing(mockNucleusContext).getConfiguration();
+            will(returnValue(mockConfiguration));
+
+            allowing(mockConfiguration).getIntProperty("datanucleus.cache.level2.maxSize");
+            will(returnValue(2));
+
+            allowing(mockConfiguration).getBooleanProperty("datanucleus.cache.level2.clearAtClose", true);
+            will(returnValue(true));
+
+            allowing(mockConfiguration).hasProperty("datanucleus.cache.level2.timeout");
+            will(returnValue(false));
+
+            allowing(mockConfiguration).getStringProperty("datanucleus.cache.level2.cacheName");
+            will(returnValue("IsisLevel2Cache_Test"));
+        }});
+
+        cache = new IsisLevel2Cache(mockNucleusContext);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        cache.close();
+    }
+
+    @Test
+    public void hits_and_misses() throws Exception {
+        final CachedPC uk = cachedPc(Country.class);
+        cache.put("uk", uk);
+
+        assertThat((Object) cache.get("uk"), is(sameInstance((Object) uk)));
+        assertThat(cache.get("fr"), is(nullValue()));
+
+        assertThat(cache.getHitCount(), is(1L));
+        assertThat(cache.getMissCount(), is(1L));
+        assertThat(cache.getSize(), is(1));
+    }
+
+    @Test
+    public void bounded_by_maxSize() throws Exception {
+        cache.put("uk", cachedPc(Country.class));
+        cache.put("fr", cachedPc(Country.class));
+        cache.put("de", cachedPc(Country.class));
+
+        assertThat(cache.getMaxSize(), is(2));
+        assertThat(cache.getSize(), is(2));
+        assertThat(cache.getEvictionCount(), is(1L));
+        assertThat(cache.getInvalidationCount(), is(0L));
+    }
+
+    @Test
+    public void evict() throws Exception {
+        cache.put("uk", cachedPc(Country.class));
+
+        cache.evict("uk");
+
+        assertThat(cache.containsOid("uk"), is(false));
+        assertThat(cache.getInvalidationCount(), is(1L));
+        assertThat(cache.getEvictionCount(), is(0L));
+    }
+
+    @Test
+    public void evictAll_by_class() throws Exception {
+        cache.put("joe", cachedPc(Customer.class));
+        cache.put("mary", cachedPc(PreferredCustomer.class));
+
+        cache.evictAll(Customer.class, false);
+
+        assertThat(cache.containsOid("joe"), is(false));
+        assertThat(cache.containsOid("mary"), is(true));
+
+        cache.evictAll(Customer.class, true);
+
+        assertThat(cache.containsOid("mary"), is(false));
+        assertThat(cache.getInvalidationCount(), is(2L));
+    }
+
+    private static <T> CachedPC<T> cachedPc(final Class<T> cls) {
+        return new CachedPC<>(cls, new boolean[0], null);
+    }
+
+}
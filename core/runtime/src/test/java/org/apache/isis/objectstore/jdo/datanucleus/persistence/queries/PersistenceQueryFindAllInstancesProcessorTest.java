@@ -0,0 +1,135 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.objectstore.jdo.datanucleus.persistence.queries;
+
+import java.util.Collections;
+import java.util.List;
+
+import javax.jdo.Query;
+
+import org.jmock.Expectations;
+import org.jmock.auto.Mock;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+import org.apache.isis.core.runtime.persistence.query.PersistenceQueryFindAllInstances;
+import org.apache.isis.core.runtime.system.persistence.PersistenceSession;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class PersistenceQueryFindAllInstancesProcessorTest {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private PersistenceSession mockPersistenceSession;
+    @Mock
+    private ObjectSpecification mockSpecification;
+    @Mock
+    private Query mockJdoQuery;
+
+    private PersistenceQueryFindAllInstancesProcessor processor;
+
+    public static class Customer {
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        context.checking(new Expectations() {{
+            allowing(mockSpecification).getCorrespondingClass();
+            will(returnValue(Customer.class));
+            allowing(mockSpecification).getFullIdentifier();
+            will(returnValue(Customer.class.getName()));
+
+            allowing(mockPersistenceSession).newJdoQuery(Customer.class);
+            will(returnValue(mockJdoQuery));
+
+            allowing(mockJdoQuery).addExtension("datanucleus.multivaluedFetch", "none");
+            oneOf(mockJdoQuery).execute();
+            will(returnValue(Collections.emptyList()));
+            oneOf(mockJdoQuery).closeAll();
+        }});
+
+        processor = new PersistenceQueryFindAllInstancesProcessor(mockPersistenceSession);
+    }
+
+    @Test
+    public void chunk_is_ordered_by_object_id() throws Exception {
+
+        // expect
+        context.checking(new Expectations() {{
+            oneOf(mockJdoQuery).setOrdering(PersistenceQueryFindAllInstancesProcessor.ORDER_BY_OBJECT_ID);
+            oneOf(mockJdoQuery).setRange(20L, 30L);
+        }});
+
+        // when
+        final List<ObjectAdapter> adapters =
+                processor.process(new PersistenceQueryFindAllInstances(mockSpecification, null, true, 20, 10));
+
+        // then
+        assertThat(adapters.isEmpty(), is(true));
+    }
+
+    @Test
+    public void ranged_query_is_not_ordered() throws Exception {
+
+        // expect
+        context.checking(new Expectations() {{
+            never(mockJdoQuery).setOrdering(with(any(String.class)));
+            oneOf(mockJdoQuery).setRange(20L, 30L);
+        }});
+
+        // when
+        processor.process(new PersistenceQueryFindAllInstances(mockSpecification, null, 20, 10));
+    }
+
+    @Test
+    public void start_only() throws Exception {
+
+        // expect
+        context.checking(new Expectations() {{
+            never(mockJdoQuery).setOrdering(with(any(String.class)));
+            oneOf(mockJdoQuery).setRange(20L, Long.MAX_VALUE);
+        }});
+
+        // when
+        processor.process(new PersistenceQueryFindAllInstances(mockSpecification, null, 20));
+    }
+
+    @Test
+    public void unranged_query_is_not_ordered() throws Exception {
+
+        // expect
+        context.checking(new Expectations() {{
+            never(mockJdoQuery).setOrdering(with(any(String.class)));
+            never(mockJdoQuery).setRange(with(any(Long.class)), with(any(Long.class)));
+        }});
+
+        // when
+        processor.process(new PersistenceQueryFindAllInstances(mockSpecification, null));
+    }
+
+}
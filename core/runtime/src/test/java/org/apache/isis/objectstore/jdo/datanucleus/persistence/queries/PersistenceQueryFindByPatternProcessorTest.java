@@ -0,0 +1,253 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.objectstore.jdo.datanucleus.persistence.queries;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import javax.jdo.Extent;
+import javax.jdo.PersistenceManager;
+import javax.jdo.Query;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+
+import org.jmock.Expectations;
+import org.jmock.auto.Mock;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.consent.InteractionInitiatedBy;
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+import org.apache.isis.core.metamodel.spec.feature.Contributed;
+import org.apache.isis.core.metamodel.spec.feature.ObjectAssociation;
+import org.apache.isis.core.runtime.persistence.query.PersistenceQueryFindByPattern;
+import org.apache.isis.core.runtime.system.persistence.PersistenceSession;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class PersistenceQueryFindByPatternProcessorTest {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private PersistenceSession mockPersistenceSession;
+    @Mock
+    private PersistenceManager mockPersistenceManager;
+    @Mock
+    private Extent mockExtent;
+    @Mock
+    private Query mockJdoQuery;
+    @Mock
+    private ObjectSpecification mockSpecification;
+    @Mock
+    private ObjectSpecification mockValueSpecification;
+
+    private ObjectAssociation nameAssociation;
+    private ObjectAssociation ageAssociation;
+
+    private PersistenceQueryFindByPatternProcessor processor;
+
+    public static class Customer {
+        private final String name;
+        private final Integer age;
+
+        public Customer(final String name, final Integer age) {
+            this.name = name;
+            this.age = age;
+        }
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        nameAssociation = context.mock(ObjectAssociation.class, "name");
+        ageAssociation = context.mock(ObjectAssociation.class, "age");
+
+        context.checking(new Expectations() {{
+            allowing(mockSpecification).getCorrespondingClass();
+            will(returnValue(Customer.class));
+            allowing(mockSpecification).getAssociations(Contributed.EXCLUDED);
+            will(returnValue(Lists.newArrayList(nameAssociation, ageAssociation)));
+
+            allowing(mockValueSpecification).isValue();
+            will(returnValue(true));
+
+            allowing(nameAssociation).getId();
+            will(returnValue("name"));
+            allowing(ageAssociation).getId();
+            will(returnValue("age"));
+            for (final ObjectAssociation association : Lists.newArrayList(nameAssociation, ageAssociation)) {
+                allowing(association).isNotPersisted();
+                will(returnValue(false));
+                allowing(association).isOneToOneAssociation();
+                will(returnValue(true));
+                allowing(association).getSpecification();
+                will(returnValue(mockValueSpecification));
+            }
+
+            allowing(mockPersistenceSession).getPersistenceManager();
+            will(returnValue(mockPersistenceManager));
+            allowing(mockPersistenceManager).getExtent(Customer.class, false);
+            will(returnValue(mockExtent));
+            allowing(mockPersistenceManager).newQuery(mockExtent);
+            will(returnValue(mockJdoQuery));
+
+            allowing(mockJdoQuery).addExtension("datanucleus.multivaluedFetch", "none");
+            oneOf(mockJdoQuery).closeAll();
+        }});
+
+        processor = new PersistenceQueryFindByPatternProcessor(mockPersistenceSession) {
+            @Override
+            protected boolean isPersistentMember(final Class<?> cls, final String memberName) {
+                return true;
+            }
+        };
+    }
+
+    @Test
+    public void strings_are_matched_again_in_memory() throws Exception {
+
+        // given
+        final ObjectAdapter pattern = adapterFor(new Customer("Fred", null));
+        final List<Customer> candidates = candidates(
+                new Customer("Fred", 30), new Customer("FRED", 40), new Customer("Fred ", 50), new Customer("Fred", 60));
+
+        // expect
+        context.checking(new Expectations() {{
+            oneOf(mockJdoQuery).setFilter("this.name == :p0");
+            oneOf(mockJdoQuery).executeWithMap(ImmutableMap.of("p0", "Fred"));
+            will(returnValue(candidates));
+            never(mockJdoQuery).setRange(with(any(Long.class)), with(any(Long.class)));
+        }});
+
+        // when
+        final List<ObjectAdapter> adapters =
+                processor.process(new PersistenceQueryFindByPattern(mockSpecification, pattern, null, 1, 1));
+
+        // then
+        assertThat(adapters.size(), is(1));
+        assertThat(adapters.get(0).getObject(), is((Object) candidates.get(3)));
+    }
+
+    @Test
+    public void other_values_are_matched_exactly_by_the_datastore() throws Exception {
+
+        // given
+        final ObjectAdapter pattern = adapterFor(new Customer(null, 30));
+        final List<Customer> candidates = candidates(new Customer("Fred", 30), new Customer("Mary", 30));
+
+        // expect
+        context.checking(new Expectations() {{
+            oneOf(mockJdoQuery).setFilter("this.age == :p0");
+            oneOf(mockJdoQuery).setRange(2L, 4L);
+            oneOf(mockJdoQuery).executeWithMap(ImmutableMap.of("p0", 30));
+            will(returnValue(candidates));
+        }});
+
+        // when
+        final List<ObjectAdapter> adapters =
+                processor.process(new PersistenceQueryFindByPattern(mockSpecification, pattern, null, 2, 2));
+
+        // then
+        assertThat(adapters.size(), is(2));
+        assertThat(adapters.get(0).getObject(), is((Object) candidates.get(0)));
+        assertThat(adapters.get(1).getObject(), is((Object) candidates.get(1)));
+    }
+
+    @Test
+    public void empty_pattern() throws Exception {
+
+        // given
+        final ObjectAdapter pattern = adapterFor(new Customer(null, null));
+
+        // expect
+        context.checking(new Expectations() {{
+            never(mockJdoQuery).setFilter(with(any(String.class)));
+            oneOf(mockJdoQuery).executeWithMap(Collections.emptyMap());
+            will(returnValue(Collections.emptyList()));
+        }});
+
+        // when
+        final List<ObjectAdapter> adapters =
+                processor.process(new PersistenceQueryFindByPattern(mockSpecification, pattern, null));
+
+        // then
+        assertThat(adapters.isEmpty(), is(true));
+    }
+
+    //region > helpers
+
+    private int adapterCount;
+
+    private List<Customer> candidates(final Customer... customers) {
+        for (final Customer customer : customers) {
+            adapterFor(customer);
+        }
+        return Lists.newArrayList(customers);
+    }
+
+    /**
+     * Mocks the adapter for the customer (also provided for the pojo by the persistence session), with the
+     * customer's name and age.
+     */
+    private ObjectAdapter adapterFor(final Customer customer) {
+        final ObjectAdapter adapter = context.mock(ObjectAdapter.class, "customer" + adapterCount++);
+        context.checking(new Expectations() {{
+            allowing(mockPersistenceSession).adapterFor(customer);
+            will(returnValue(adapter));
+            allowing(adapter).getObject();
+            will(returnValue(customer));
+            allowing(adapter).getSpecification();
+            will(returnValue(mockSpecification));
+
+            allowing(nameAssociation).isEmpty(adapter, InteractionInitiatedBy.FRAMEWORK);
+            will(returnValue(customer.name == null));
+            allowing(nameAssociation).get(adapter, InteractionInitiatedBy.FRAMEWORK);
+            will(returnValue(valueAdapterFor(customer.name)));
+
+            allowing(ageAssociation).isEmpty(adapter, InteractionInitiatedBy.FRAMEWORK);
+            will(returnValue(customer.age == null));
+            allowing(ageAssociation).get(adapter, InteractionInitiatedBy.FRAMEWORK);
+            will(returnValue(valueAdapterFor(customer.age)));
+        }});
+        return adapter;
+    }
+
+    private ObjectAdapter valueAdapterFor(final Object value) {
+        if (value == null) {
+            return null;
+        }
+        final ObjectAdapter adapter = context.mock(ObjectAdapter.class, "value" + adapterCount++);
+        context.checking(new Expectations() {{
+            allowing(adapter).getObject();
+            will(returnValue(value));
+        }});
+        return adapter;
+    }
+
+    //endregion
+
+}
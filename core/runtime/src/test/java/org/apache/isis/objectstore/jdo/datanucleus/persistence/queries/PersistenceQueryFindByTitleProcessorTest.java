@@ -0,0 +1,243 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.objectstore.jdo.datanucleus.persistence.queries;
+
+import java.util.Collections;
+import java.util.List;
+
+import javax.jdo.Extent;
+import javax.jdo.PersistenceManager;
+import javax.jdo.Query;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+
+import org.jmock.Expectations;
+import org.jmock.auto.Mock;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.applib.annotation.Title;
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.facetapi.FacetHolder;
+import org.apache.isis.core.metamodel.facets.Annotations;
+import org.apache.isis.core.metamodel.facets.object.title.TitleFacet;
+import org.apache.isis.core.metamodel.facets.object.title.annotation.TitleFacetViaTitleAnnotation;
+import org.apache.isis.core.metamodel.facets.object.title.annotation.TitleFacetViaTitleAnnotation.TitleComponent;
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+import org.apache.isis.core.metamodel.spec.feature.Contributed;
+import org.apache.isis.core.metamodel.spec.feature.ObjectAssociation;
+import org.apache.isis.core.runtime.persistence.query.PersistenceQueryFindByTitle;
+import org.apache.isis.core.runtime.system.persistence.PersistenceSession;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class PersistenceQueryFindByTitleProcessorTest {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private PersistenceSession mockPersistenceSession;
+    @Mock
+    private PersistenceManager mockPersistenceManager;
+    @Mock
+    private Extent mockExtent;
+    @Mock
+    private Query mockJdoQuery;
+    @Mock
+    private ObjectSpecification mockSpecification;
+    @Mock
+    private ObjectSpecification mockStringSpecification;
+    @Mock
+    private ObjectAssociation mockNameAssociation;
+    @Mock
+    private FacetHolder mockFacetHolder;
+    @Mock
+    private TitleFacet mockTitleFacet;
+
+    private PersistenceQueryFindByTitleProcessor processor;
+
+    public static class Customer {
+        private final String name;
+
+        public Customer(final String name) {
+            this.name = name;
+        }
+
+        @Title
+        public String getName() {
+            return name;
+        }
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        context.checking(new Expectations() {{
+            allowing(mockSpecification).getCorrespondingClass();
+            will(returnValue(Customer.class));
+            allowing(mockSpecification).subclasses();
+            will(returnValue(Collections.emptyList()));
+            allowing(mockSpecification).getAssociations(Contributed.EXCLUDED);
+            will(returnValue(Lists.newArrayList(mockNameAssociation)));
+
+            allowing(mockNameAssociation).getId();
+            will(returnValue("name"));
+            allowing(mockNameAssociation).isOneToOneAssociation();
+            will(returnValue(true));
+            allowing(mockNameAssociation).isNotPersisted();
+            will(returnValue(false));
+            allowing(mockNameAssociation).getSpecification();
+            will(returnValue(mockStringSpecification));
+            allowing(mockStringSpecification).getCorrespondingClass();
+            will(returnValue(String.class));
+
+            allowing(mockPersistenceSession).getPersistenceManager();
+            will(returnValue(mockPersistenceManager));
+            allowing(mockPersistenceManager).getExtent(Customer.class, true);
+            will(returnValue(mockExtent));
+            allowing(mockPersistenceManager).newQuery(mockExtent);
+            will(returnValue(mockJdoQuery));
+
+            allowing(mockJdoQuery).addExtension("datanucleus.multivaluedFetch", "none");
+            oneOf(mockJdoQuery).closeAll();
+        }});
+
+        processor = new PersistenceQueryFindByTitleProcessor(mockPersistenceSession) {
+            @Override
+            protected boolean isPersistentMember(final Class<?> cls, final String memberName) {
+                return true;
+            }
+        };
+    }
+
+    @Test
+    public void title_from_annotated_property_is_filtered_then_matched_again_in_memory() throws Exception {
+
+        // given
+        titledUsing(new TitleFacetViaTitleAnnotation(titleComponentsOf(Customer.class), mockFacetHolder, null));
+        final List<Customer> candidates = candidates(
+                new Customer("Fred"), new Customer("Frédéric"), new Customer("Alfred"), new Customer("Freddie"));
+
+        // expect
+        context.checking(new Expectations() {{
+            oneOf(mockJdoQuery).setFilter("this.name.toLowerCase().indexOf(:title) >= 0");
+            oneOf(mockJdoQuery).executeWithMap(ImmutableMap.of("title", "fred"));
+            will(returnValue(candidates));
+            never(mockJdoQuery).setRange(with(any(Long.class)), with(any(Long.class)));
+        }});
+
+        // when
+        final List<ObjectAdapter> adapters =
+                processor.process(new PersistenceQueryFindByTitle(mockSpecification, "Fred", null, 1, 5));
+
+        // then
+        assertThat(adapters.size(), is(2));
+        assertThat(adapters.get(0).getObject(), is((Object) candidates.get(2)));
+        assertThat(adapters.get(1).getObject(), is((Object) candidates.get(3)));
+    }
+
+    @Test
+    public void title_otherwise_is_matched_in_memory() throws Exception {
+
+        // given
+        titledUsing(mockTitleFacet);
+        final List<Customer> candidates = candidates(new Customer("Fred"), new Customer("Mary"));
+
+        // expect
+        context.checking(new Expectations() {{
+            never(mockJdoQuery).setFilter(with(any(String.class)));
+            oneOf(mockJdoQuery).executeWithMap(Collections.emptyMap());
+            will(returnValue(candidates));
+        }});
+
+        // when
+        final List<ObjectAdapter> adapters =
+                processor.process(new PersistenceQueryFindByTitle(mockSpecification, "mar", null));
+
+        // then
+        assertThat(adapters.size(), is(1));
+        assertThat(adapters.get(0).getObject(), is((Object) candidates.get(1)));
+    }
+
+    @Test
+    public void empty_title_matches_all_with_range_applied_by_datastore() throws Exception {
+
+        // given
+        final List<Customer> candidates = candidates(new Customer("Fred"), new Customer("Mary"));
+
+        // expect
+        context.checking(new Expectations() {{
+            never(mockJdoQuery).setFilter(with(any(String.class)));
+            oneOf(mockJdoQuery).setRange(0L, 2L);
+            oneOf(mockJdoQuery).executeWithMap(Collections.emptyMap());
+            will(returnValue(candidates));
+        }});
+
+        // when
+        final List<ObjectAdapter> adapters =
+                processor.process(new PersistenceQueryFindByTitle(mockSpecification, "", null, 0, 2));
+
+        // then
+        assertThat(adapters.size(), is(2));
+    }
+
+    //region > helpers
+
+    private void titledUsing(final TitleFacet titleFacet) {
+        context.checking(new Expectations() {{
+            allowing(mockSpecification).getFacet(TitleFacet.class);
+            will(returnValue(titleFacet));
+        }});
+    }
+
+    private static List<TitleComponent> titleComponentsOf(final Class<?> cls) {
+        return Lists.newArrayList(
+                Iterables.transform(Annotations.getEvaluators(cls, Title.class), TitleComponent.FROM_EVALUATORS));
+    }
+
+    private int adapterCount;
+
+    /**
+     * Mocks the adapter for each customer, as provided for the pojo by the persistence session; its title is the
+     * customer's name.
+     */
+    private List<Customer> candidates(final Customer... customers) {
+        for (final Customer customer : customers) {
+            final ObjectAdapter adapter = context.mock(ObjectAdapter.class, "customer" + adapterCount++);
+            context.checking(new Expectations() {{
+                allowing(mockPersistenceSession).adapterFor(customer);
+                will(returnValue(adapter));
+                allowing(adapter).getObject();
+                will(returnValue(customer));
+                allowing(adapter).titleString();
+                will(returnValue(customer.getName()));
+            }});
+        }
+        return Lists.newArrayList(customers);
+    }
+
+    //endregion
+
+}
@@ -0,0 +1,316 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.objectstore.jdo.datanucleus.persistence.queries;
+
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.jdo.PersistenceManager;
+import javax.jdo.Query;
+
+import com.google.common.collect.Lists;
+
+import org.jmock.Expectations;
+import org.jmock.api.Invocation;
+import org.jmock.auto.Mock;
+import org.jmock.lib.action.CustomAction;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.applib.events.VisibilityEvent;
+import org.apache.isis.applib.filter.Filter;
+import org.apache.isis.core.commons.config.IsisConfiguration;
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.adapter.oid.Oid;
+import org.apache.isis.core.metamodel.adapter.oid.RootOid;
+import org.apache.isis.core.metamodel.facetapi.Facet;
+import org.apache.isis.core.metamodel.facetapi.FacetAbstract;
+import org.apache.isis.core.metamodel.facetapi.FacetHolder;
+import org.apache.isis.core.metamodel.facets.ImperativeFacet;
+import org.apache.isis.core.metamodel.facets.object.hidden.HiddenObjectFacet;
+import org.apache.isis.core.metamodel.interactions.HidingInteractionAdvisor;
+import org.apache.isis.core.metamodel.interactions.VisibilityContext;
+import org.apache.isis.core.metamodel.spec.ObjectSpecId;
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+import org.apache.isis.core.metamodel.spec.feature.ObjectAssociation;
+import org.apache.isis.core.metamodel.spec.feature.OneToManyAssociation;
+import org.apache.isis.core.metamodel.specloader.SpecificationLoader;
+import org.apache.isis.core.runtime.system.persistence.PersistenceSession;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class PropertyAggregatesQueryTest {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private PersistenceSession mockPersistenceSession;
+    @Mock
+    private PersistenceManager mockPersistenceManager;
+    @Mock
+    private IsisConfiguration mockConfiguration;
+    @Mock
+    private SpecificationLoader mockSpecificationLoader;
+    @Mock
+    private ObjectSpecification mockElementSpec;
+    @Mock
+    private ObjectAdapter mockParentAdapter;
+    @Mock
+    private OneToManyAssociation mockCollection;
+    @Mock
+    private ObjectAssociation mockAmountProperty;
+    @Mock
+    private Query mockQuery;
+
+    public static class Order {}
+    public static class OrderLine {}
+
+    private final Order order = new Order();
+    private final OrderLine line1 = new OrderLine();
+    private final OrderLine line2 = new OrderLine();
+    private final List<Facet> hidingFacets = Lists.newArrayList();
+    private boolean filterVisibility;
+
+    private PropertyAggregatesQuery query;
+
+    @Before
+    public void setUp() throws Exception {
+        context.checking(new Expectations() {{
+            allowing(mockPersistenceSession).getPersistenceManager();
+            will(returnValue(mockPersistenceManager));
+            allowing(mockPersistenceSession).getConfiguration();
+            will(returnValue(mockConfiguration));
+            allowing(mockConfiguration).getBoolean("isis.reflector.facet.filterVisibility", true);
+            will(new CustomAction("filterVisibility") {
+                @Override
+                public Object invoke(final Invocation invocation) throws Throwable {
+                    return filterVisibility;
+                }
+            });
+
+            allowing(mockParentAdapter).representsPersistent();
+            will(returnValue(true));
+            allowing(mockParentAdapter).getObject();
+            will(returnValue(order));
+
+            allowing(mockCollection).getId();
+            will(returnValue("lines"));
+            allowing(mockCollection).getSpecification();
+            will(returnValue(mockElementSpec));
+
+            allowing(mockElementSpec).getCorrespondingClass();
+            will(returnValue(OrderLine.class));
+            allowing(mockElementSpec).getFacets(with(any(Filter.class)));
+            will(returnValue(hidingFacets));
+            allowing(mockSpecificationLoader).lookupBySpecId(ObjectSpecId.of("ORDER_LINE"));
+            will(returnValue(mockElementSpec));
+
+            allowing(mockAmountProperty).getId();
+            will(returnValue("amount"));
+
+            allowing(mockPersistenceManager).getObjectById("1", false);
+            will(returnValue(line1));
+            allowing(mockPersistenceManager).getObjectById("2", false);
+            will(returnValue(line2));
+
+            allowing(mockQuery).addExtension("datanucleus.query.flushBeforeExecution", "true");
+            allowing(mockQuery).setUnique(true);
+        }});
+
+        query = new PropertyAggregatesQuery(mockPersistenceSession, mockSpecificationLoader) {
+            @Override
+            protected boolean isPersistentMember(final Class<?> cls, final String memberName) {
+                return true;
+            }
+
+            @Override
+            protected Object newObjectIdInstance(final Class<?> cls, final RootOid rootOid) {
+                return rootOid.getIdentifier();
+            }
+        };
+    }
+
+    @Test
+    public void parented_queries_when_visibility_is_not_imperative() throws Exception {
+
+        // given
+        filterVisibility = true;
+        hidingFacets.add(new HiddenFacet(mockElementSpec));
+
+        // expecting
+        expectingParentedQuery();
+
+        // when
+        final List<PropertyAggregates> aggregates =
+                query.aggregatesOf(mockParentAdapter, mockCollection, Arrays.asList(mockAmountProperty));
+
+        // then
+        assertAggregates(aggregates);
+    }
+
+    @Test
+    public void parented_queries_when_visibility_is_imperative_but_not_filtered() throws Exception {
+
+        // given
+        filterVisibility = false;
+        hidingFacets.add(new HiddenFacetViaMethod(mockElementSpec));
+
+        // expecting
+        expectingParentedQuery();
+
+        // when
+        final List<PropertyAggregates> aggregates =
+                query.aggregatesOf(mockParentAdapter, mockCollection, Arrays.asList(mockAmountProperty));
+
+        // then
+        assertAggregates(aggregates);
+    }
+
+    @Test
+    public void parented_does_not_query_when_visibility_is_imperative_and_filtered() throws Exception {
+
+        // given
+        filterVisibility = true;
+        hidingFacets.add(new HiddenFacetViaMethod(mockElementSpec));
+
+        // expecting
+        context.checking(new Expectations() {{
+            never(mockPersistenceSession).newJdoQuery(with(any(Class.class)));
+        }});
+
+        // when
+        final List<PropertyAggregates> aggregates =
+                query.aggregatesOf(mockParentAdapter, mockCollection, Arrays.asList(mockAmountProperty));
+
+        // then (computed in memory instead)
+        assertThat(aggregates, is(nullValue()));
+    }
+
+    private void expectingParentedQuery() {
+        context.checking(new Expectations() {{
+            oneOf(mockPersistenceSession).newJdoQuery(Order.class);
+            will(returnValue(mockQuery));
+
+            oneOf(mockQuery).setResult("count(e.amount), sum(e.amount), min(e.amount), max(e.amount)");
+            oneOf(mockQuery).setFilter("this == :parent && lines.contains(e)");
+            oneOf(mockQuery).declareVariables(OrderLine.class.getName() + " e");
+            oneOf(mockQuery).executeWithMap(Collections.singletonMap("parent", order));
+            will(returnValue(aggregatesRow()));
+            oneOf(mockQuery).closeAll();
+        }});
+    }
+
+    @Test
+    public void standalone_queries_by_identity_even_when_visibility_is_imperative() throws Exception {
+
+        // given
+        filterVisibility = true;
+        hidingFacets.add(new HiddenFacetViaMethod(mockElementSpec));
+
+        // expecting
+        context.checking(new Expectations() {{
+            oneOf(mockPersistenceSession).newJdoQuery(OrderLine.class);
+            will(returnValue(mockQuery));
+
+            oneOf(mockQuery).setResult("count(this.amount), sum(this.amount), min(this.amount), max(this.amount)");
+            oneOf(mockQuery).setFilter(":instances.contains(this)");
+            oneOf(mockQuery).executeWithMap(
+                    Collections.singletonMap("instances", Arrays.<Object>asList(line1, line2)));
+            will(returnValue(aggregatesRow()));
+            oneOf(mockQuery).closeAll();
+        }});
+
+        // when
+        final List<PropertyAggregates> aggregates = query.aggregatesOf(
+                mockElementSpec, Arrays.asList(oidFor("1"), oidFor("2")), Arrays.asList(mockAmountProperty));
+
+        // then
+        assertAggregates(aggregates);
+    }
+
+    @Test
+    public void standalone_does_not_query_when_an_object_is_listed_twice() throws Exception {
+
+        // expecting
+        context.checking(new Expectations() {{
+            never(mockPersistenceSession).newJdoQuery(with(any(Class.class)));
+        }});
+
+        // when
+        final List<PropertyAggregates> aggregates = query.aggregatesOf(
+                mockElementSpec, Arrays.asList(oidFor("1"), oidFor("1")), Arrays.asList(mockAmountProperty));
+
+        // then (computed in memory instead)
+        assertThat(aggregates, is(nullValue()));
+    }
+
+    private RootOid oidFor(final String identifier) {
+        return new RootOid(ObjectSpecId.of("ORDER_LINE"), identifier, Oid.State.PERSISTENT);
+    }
+
+    static Object[] aggregatesRow() {
+        return new Object[] { 3L, new BigDecimal("60.00"), new BigDecimal("10.00"), new BigDecimal("30.00") };
+    }
+
+    static void assertAggregates(final List<PropertyAggregates> aggregates) {
+        assertThat(aggregates.size(), is(1));
+        final PropertyAggregates amountAggregates = aggregates.get(0);
+        assertThat(amountAggregates.getCount(), is(3L));
+        assertThat(amountAggregates.getSum(), is(new BigDecimal("60.00")));
+        assertThat(amountAggregates.getMin(), is(new BigDecimal("10.00")));
+        assertThat(amountAggregates.getMax(), is(new BigDecimal("30.00")));
+    }
+
+    static class HiddenFacet extends FacetAbstract implements HidingInteractionAdvisor {
+        HiddenFacet(final FacetHolder holder) {
+            super(HiddenObjectFacet.class, holder, Derivation.NOT_DERIVED);
+        }
+
+        @Override
+        public String hides(final VisibilityContext<? extends VisibilityEvent> ic) {
+            return null;
+        }
+    }
+
+    static class HiddenFacetViaMethod extends HiddenFacet implements ImperativeFacet {
+        HiddenFacetViaMethod(final FacetHolder holder) {
+            super(holder);
+        }
+
+        @Override
+        public List<Method> getMethods() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public Intent getIntent(final Method method) {
+            return Intent.CHECK_IF_HIDDEN;
+        }
+    }
+
+}
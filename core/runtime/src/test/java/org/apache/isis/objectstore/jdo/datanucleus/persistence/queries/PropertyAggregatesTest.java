@@ -0,0 +1,66 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.objectstore.jdo.datanucleus.persistence.queries;
+
+import java.math.BigDecimal;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class PropertyAggregatesTest {
+
+    @Test
+    public void sum_of_none_is_zero() throws Exception {
+        final PropertyAggregates aggregates = new PropertyAggregates(0L, null, null, null);
+
+        assertThat(aggregates.getSum(), is(BigDecimal.ZERO));
+        assertThat(aggregates.getMin(), is(nullValue()));
+        assertThat(aggregates.getMax(), is(nullValue()));
+    }
+
+    @Test
+    public void combine() throws Exception {
+        final PropertyAggregates first =
+                new PropertyAggregates(2L, new BigDecimal("3.50"), new BigDecimal("1.00"), new BigDecimal("2.50"));
+        final PropertyAggregates second =
+                new PropertyAggregates(3L, new BigDecimal("10.00"), new BigDecimal("0.50"), new BigDecimal("6.00"));
+
+        final PropertyAggregates combined = first.combine(second);
+
+        assertThat(combined.getCount(), is(5L));
+        assertThat(combined.getSum(), is(new BigDecimal("13.50")));
+        assertThat(combined.getMin(), is(new BigDecimal("0.50")));
+        assertThat(combined.getMax(), is(new BigDecimal("6.00")));
+    }
+
+    @Test
+    public void combine_with_none() throws Exception {
+        final PropertyAggregates some =
+                new PropertyAggregates(1L, new BigDecimal("4.00"), new BigDecimal("4.00"), new BigDecimal("4.00"));
+        final PropertyAggregates none = new PropertyAggregates(0L, null, null, null);
+
+        assertThat(some.combine(none).getMin(), is(new BigDecimal("4.00")));
+        assertThat(none.combine(some).getMax(), is(new BigDecimal("4.00")));
+        assertThat(none.combine(none).getMin(), is(nullValue()));
+    }
+
+}
@@ -55,6 +55,7 @@
 import org.apache.wicket.request.cycle.PageRequestHandlerTracker;
 import org.apache.wicket.request.cycle.RequestCycleListenerCollection;
 import org.apache.wicket.request.resource.CssResourceReference;
+import org.apache.wicket.request.resource.JavaScriptResourceReference;
 import org.apache.wicket.settings.RequestCycleSettings;
 import org.apache.wicket.util.time.Duration;
 import org.slf4j.Logger;
@@ -88,9 +89,13 @@
 import org.apache.isis.viewer.wicket.ui.app.registry.ComponentFactoryRegistry;
 import org.apache.isis.viewer.wicket.ui.app.registry.ComponentFactoryRegistryAccessor;
 import org.apache.isis.viewer.wicket.ui.components.actionmenu.entityactions.AdditionalLinksPanel;
+import org.apache.isis.viewer.wicket.ui.components.bookmarkedpages.BookmarkedPagesPanel;
+import org.apache.isis.viewer.wicket.ui.components.scalars.datepicker.TextFieldWithDateTimePicker;
 import org.apache.isis.viewer.wicket.ui.components.scalars.string.MultiLineStringPanel;
 import org.apache.isis.viewer.wicket.ui.components.widgets.select2.Select2BootstrapCssReference;
 import org.apache.isis.viewer.wicket.ui.components.widgets.select2.Select2JsReference;
+import org.apache.isis.viewer.wicket.ui.errors.JGrowlBehaviour;
+import org.apache.isis.viewer.wicket.ui.pages.PageAbstract;
 import org.apache.isis.viewer.wicket.ui.pages.PageClassRegistry;
 import org.apache.isis.viewer.wicket.ui.pages.PageClassRegistryAccessor;
 import org.apache.isis.viewer.wicket.ui.pages.accmngt.AccountConfirmationMap;
@@ -150,6 +155,8 @@
     private static final boolean AJAX_DEBUG_MODE_DEFAULT = false;
     private static final String WICKET_SOURCE_PLUGIN_KEY = "isis.viewer.wicket.wicketSourcePlugin";
     private static final boolean WICKET_SOURCE_PLUGIN_DEFAULT = false;
+    private static final String BUNDLE_RESOURCES_KEY = "isis.viewer.wicket.bundleResources";
+    private static final boolean BUNDLE_RESOURCES_DEFAULT = true;
 
     private static final String WICKET_REMEMBER_ME_COOKIE_KEY = "isis.viewer.wicket.rememberMe.cookieKey";
     private static final String WICKET_REMEMBER_ME_COOKIE_KEY_DEFAULT = "isisWicketRememberMe";
@@ -299,6 +306,9 @@ protected void init() {
 
             // must be done after injected componentFactoryRegistry into the app itself
             buildCssBundle();
+            if(usesDeploymentConfig() && isBundleResourcesEnabled(configuration)) {
+                buildJavaScriptBundle();
+            }
 
             filterJavascriptContributions();
 
@@ -590,6 +600,47 @@ protected void addSpecialCasesToCssBundle(final Set<CssResourceReference> refere
 
         // non-conforming component factories
         references.add(PanelUtil.cssResourceReferenceFor(MultiLineStringPanel.class));
+
+        // rendered explicitly (neither has any relative url(...)s, which would break once served from the bundle)
+        references.add(new CssResourceReference(BookmarkedPagesPanel.class, "BookmarkedPagesPanel.css"));
+        references.add(new CssResourceReference(TextFieldWithDateTimePicker.class, "css/bootstrap-datetimepicker.css"));
+    }
+
+    /**
+     * Combines the {@link #javaScriptResourceReferencesForBundle() viewer's own JavaScript} into a single bundle.
+     *
+     * <p>
+     * Only called when running in production (Wicket's <tt>DEPLOYMENT</tt> configuration, which already serves
+     * minified resources under fingerprinted URLs), and unless disabled using
+     * <tt>isis.viewer.wicket.bundleResources</tt>.
+     *
+     * <p>
+     * Made protected visibility for easy (informal) pluggability.
+     */
+    protected void buildJavaScriptBundle() {
+        final List<JavaScriptResourceReference> references = javaScriptResourceReferencesForBundle();
+
+        getResourceBundles().addJavaScriptBundle(
+                IsisWicketApplication.class, "isis-wicket-viewer-bundle.js",
+                references.toArray(new JavaScriptResourceReference[]{}));
+    }
+
+    /**
+     * The viewer's own JavaScript, in the order in which it is to be concatenated.
+     *
+     * <p>
+     * These are rendered by pages, panels and behaviours; each is reconstructed here so that (being equal) it is
+     * replaced by the bundle when rendered.  All rely on jQuery, which is always rendered first.
+     */
+    protected List<JavaScriptResourceReference> javaScriptResourceReferencesForBundle() {
+        return Lists.newArrayList(
+                new JavaScriptResourceReference(PageAbstract.class, "jquery.livequery.js"),
+                new JavaScriptResourceReference(PageAbstract.class, "jquery.isis.wicket.viewer.js"),
+                new JavaScriptResourceReference(JGrowlBehaviour.class, "js/bootstrap-growl.js"),
+                new JavaScriptResourceReference(BookmarkedPagesPanel.class, "slide-panel.js"),
+                new JavaScriptResourceReference(TextFieldWithDateTimePicker.class, "js/moment.js"),
+                new JavaScriptResourceReference(TextFieldWithDateTimePicker.class, "js/bootstrap-datetimepicker.js")
+        );
     }
 
     protected final static Function<ComponentFactory, Iterable<CssResourceReference>> getCssResourceReferences =
@@ -720,6 +771,18 @@ private boolean isWicketSourcePluginEnabled(IsisConfiguration configuration) {
         return pluginEnabled;
     }
 
+    /**
+     * Whether the viewer's JavaScript should be bundled (when running in production), as specified by
+     * configuration settings.
+     *
+     * <p>
+     * If the <tt>isis.viewer.wicket.bundleResources</tt> is set, then this is used, otherwise the default is to enable.
+     */
+    private boolean isBundleResourcesEnabled(IsisConfiguration configuration) {
+        final boolean bundleResources = configuration.getBoolean(BUNDLE_RESOURCES_KEY, BUNDLE_RESOURCES_DEFAULT);
+        return bundleResources;
+    }
+
     // //////////////////////////////////////
 
     @Override
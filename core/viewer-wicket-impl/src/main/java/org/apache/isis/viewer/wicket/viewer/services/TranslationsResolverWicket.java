@@ -80,8 +80,20 @@ static File newFile(final String dir, final String file) {
         return resolve.toFile();
     }
 
+    /**
+     * Captured the first time that translations are read (at startup, in the thread initializing the application),
+     * because the {@link IsisWicketApplication} is only bound to request threads; translations may subsequently be
+     * read in background threads (eg when preloaded in parallel).
+     */
+    private volatile ServletContext servletContext;
+
     protected ServletContext getServletContext() {
-        return getIsisWicketApplication().getServletContext();
+        ServletContext servletContext = this.servletContext;
+        if(servletContext == null) {
+            servletContext = getIsisWicketApplication().getServletContext();
+            this.servletContext = servletContext;
+        }
+        return servletContext;
     }
 
     private static final Pattern nonEmpty = Pattern.compile("^(#:|msgid|msgstr).+$");
@@ -95,4 +95,44 @@ public boolean isUseIndicatorForFormSubmit() {
     public boolean isUseIndicatorForNoArgAction() {
         return getConfiguration().getBoolean("isis.viewer.wicket.useIndicatorForNoArgAction", true);
     }
+
+    @Override
+    public int getAutoCompleteMinLength() {
+        return getConfiguration().getInteger("isis.viewer.wicket.autoComplete.minLength", 0);
+    }
+
+    @Override
+    public int getAutoCompleteDelay() {
+        return getConfiguration().getInteger("isis.viewer.wicket.autoComplete.delay", 250);
+    }
+
+    @Override
+    public boolean isAutoCompleteCacheEnabled() {
+        return getConfiguration().getBoolean("isis.viewer.wicket.autoComplete.cache", false);
+    }
+
+    @Override
+    public boolean isAutoCompleteCacheShared() {
+        return getConfiguration().getBoolean("isis.viewer.wicket.autoComplete.cache.shared", false);
+    }
+
+    @Override
+    public int getAutoCompleteCacheMaxSize() {
+        return getConfiguration().getInteger("isis.viewer.wicket.autoComplete.cache.maxSize", 1000);
+    }
+
+    @Override
+    public int getAutoCompleteCacheTimeToLive() {
+        return getConfiguration().getInteger("isis.viewer.wicket.autoComplete.cache.timeToLive", 60);
+    }
+
+    @Override
+    public boolean isCollectionExportEnabled() {
+        return getConfiguration().getBoolean("isis.viewer.wicket.collectionExport", true);
+    }
+
+    @Override
+    public int getCollectionExportChunkSize() {
+        return getConfiguration().getInteger("isis.viewer.wicket.collectionExport.chunkSize", 100);
+    }
 }
@@ -0,0 +1,145 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.viewer.wicket.viewer;
+
+import java.io.InputStream;
+import java.util.List;
+
+import com.google.common.base.Charsets;
+import com.google.common.io.ByteStreams;
+import com.google.common.collect.Lists;
+
+import org.apache.wicket.MarkupContainer;
+import org.apache.wicket.Page;
+import org.apache.wicket.RuntimeConfigurationType;
+import org.apache.wicket.markup.IMarkupResourceStreamProvider;
+import org.apache.wicket.markup.head.IHeaderResponse;
+import org.apache.wicket.markup.head.JavaScriptHeaderItem;
+import org.apache.wicket.markup.head.JavaScriptReferenceHeaderItem;
+import org.apache.wicket.markup.html.WebPage;
+import org.apache.wicket.request.resource.JavaScriptResourceReference;
+import org.apache.wicket.request.resource.ResourceReference;
+import org.apache.wicket.util.resource.IResourceStream;
+import org.apache.wicket.util.resource.StringResourceStream;
+import org.apache.wicket.util.tester.WicketTester;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.Assert.assertThat;
+
+public class IsisWicketApplication_javaScriptBundle_Test {
+
+    private WicketTester tester;
+    private List<JavaScriptResourceReference> references;
+
+    @Before
+    public void setUp() throws Exception {
+        final IsisWicketApplication application = new IsisWicketApplication() {
+            @Override
+            protected void init() {
+                buildJavaScriptBundle();
+            }
+
+            @Override
+            public RuntimeConfigurationType getConfigurationType() {
+                return RuntimeConfigurationType.DEVELOPMENT;
+            }
+
+            @Override
+            public Class<? extends Page> getHomePage() {
+                return PageRenderingInReverse.class;
+            }
+        };
+        tester = new WicketTester(application);
+        references = application.javaScriptResourceReferencesForBundle();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        tester.destroy();
+    }
+
+    @Test
+    public void bundle_replaces_its_members() throws Exception {
+
+        // when
+        tester.startPage(PageRenderingInReverse.class);
+
+        // then
+        final String page = tester.getLastResponseAsString();
+        assertThat(page, containsString("isis-wicket-viewer-bundle"));
+        assertThat(page.indexOf("<script"), is(page.lastIndexOf("<script")));
+        for (final JavaScriptResourceReference reference : references) {
+            final String name = reference.getName();
+            assertThat(page, not(containsString(name.substring(0, name.lastIndexOf('.')))));
+        }
+    }
+
+    @Test
+    public void bundle_keeps_the_order_of_its_members() throws Exception {
+
+        // when
+        final JavaScriptReferenceHeaderItem bundleItem = (JavaScriptReferenceHeaderItem) tester.getApplication()
+                .getResourceBundles().findBundle(JavaScriptHeaderItem.forReference(references.get(0)));
+        final ResourceReference bundleReference = bundleItem.getReference();
+        tester.startResourceReference(bundleReference);
+
+        // then
+        final String bundle = tester.getLastResponseAsString();
+        int previous = -1;
+        for (final JavaScriptResourceReference reference : references) {
+            final int index = bundle.indexOf(contentOf(reference));
+            assertThat(reference.getName(), index, is(greaterThan(previous)));
+            previous = index;
+        }
+    }
+
+    private static String contentOf(final JavaScriptResourceReference reference) throws Exception {
+        try (final InputStream is = reference.getScope().getResourceAsStream(reference.getName())) {
+            return new String(ByteStreams.toByteArray(is), Charsets.UTF_8).trim();
+        }
+    }
+
+    /**
+     * Renders each member of the bundle, last first.
+     */
+    public static class PageRenderingInReverse extends WebPage implements IMarkupResourceStreamProvider {
+
+        @Override
+        public void renderHead(final IHeaderResponse response) {
+            super.renderHead(response);
+            final IsisWicketApplication application = (IsisWicketApplication) getApplication();
+            for (final JavaScriptResourceReference reference :
+                    Lists.reverse(application.javaScriptResourceReferencesForBundle())) {
+                response.render(JavaScriptHeaderItem.forReference(reference));
+            }
+        }
+
+        @Override
+        public IResourceStream getMarkupResourceStream(final MarkupContainer container, final Class<?> containerClass) {
+            return new StringResourceStream("<html><head></head><body></body></html>");
+        }
+    }
+
+}
@@ -19,11 +19,35 @@
 package org.apache.isis.viewer.wicket.viewer.services;
 
 import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.servlet.ServletContext;
+
+import com.google.common.base.Charsets;
+import com.google.common.io.Files;
+
+import org.apache.wicket.WicketRuntimeException;
+import org.jmock.Expectations;
+import org.jmock.lib.concurrent.Synchroniser;
+import org.junit.After;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.webapp.WebAppConstants;
+import org.apache.isis.viewer.wicket.viewer.IsisWicketApplication;
 
+import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
 import static org.junit.Assume.assumeThat;
 
 public class TranslationsResolverWicketTest {
@@ -51,5 +75,89 @@ public void nestedChild() throws Exception {
 
     }
 
+    public static class ReadLines extends TranslationsResolverWicketTest {
+
+        @Rule
+        public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(JUnitRuleMockery2.Mode.INTERFACES_AND_CLASSES);
+
+        @Rule
+        public TemporaryFolder configDir = new TemporaryFolder();
+
+        private IsisWicketApplication mockApplication;
+        private ServletContext mockServletContext;
+
+        private Thread requestThread;
+        private ExecutorService backgroundThread;
+        private TranslationsResolverWicket resolver;
+
+        @Before
+        public void setUp() throws Exception {
+            // the mocks are called from more than one thread
+            context.setThreadingPolicy(new Synchroniser());
+            mockApplication = context.mock(IsisWicketApplication.class);
+            mockServletContext = context.mock(ServletContext.class);
+
+            context.checking(new Expectations() {{
+                allowing(mockApplication).getServletContext();
+                will(returnValue(mockServletContext));
+                allowing(mockServletContext).getInitParameter(WebAppConstants.CONFIG_DIR_PARAM);
+                will(returnValue(configDir.getRoot().getAbsolutePath()));
+            }});
+            Files.write("msgid \"Hello\"\nmsgstr \"Bonjour\"\n", configDir.newFile("translations-fr.po"), Charsets.UTF_8);
+
+            requestThread = Thread.currentThread();
+            backgroundThread = Executors.newSingleThreadExecutor();
+
+            // as per Wicket, the application is only available to the thread to which it is bound
+            resolver = new TranslationsResolverWicket() {
+                @Override
+                protected IsisWicketApplication getIsisWicketApplication() {
+                    if(Thread.currentThread() != requestThread) {
+                        throw new WicketRuntimeException("There is no application attached to current thread " + Thread.currentThread().getName());
+                    }
+                    return mockApplication;
+                }
+            };
+        }
+
+        @After
+        public void tearDown() throws Exception {
+            backgroundThread.shutdownNow();
+        }
+
+        @Test
+        public void in_background_thread_once_read_in_request_thread() throws Exception {
+
+            // given
+            final List<String> expected = Arrays.asList("msgid \"Hello\"", "msgstr \"Bonjour\"");
+            assertThat(resolver.readLines("translations-fr.po"), is(expected));
+
+            // when
+            final List<String> lines = readLinesInBackground("translations-fr.po");
+
+            // then
+            assertThat(lines, is(expected));
+        }
+
+        @Test
+        public void in_background_thread_fails_if_never_read_in_request_thread() throws Exception {
+            try {
+                readLinesInBackground("translations-fr.po");
+                fail();
+            } catch(final ExecutionException ex) {
+                // rather than returning null, indistinguishable from the file not existing
+                assertThat(ex.getCause(), instanceOf(WicketRuntimeException.class));
+            }
+        }
+
+        private List<String> readLinesInBackground(final String file) throws Exception {
+            return backgroundThread.submit(new Callable<List<String>>() {
+                @Override
+                public List<String> call() throws Exception {
+                    return resolver.readLines(file);
+                }
+            }).get();
+        }
+    }
 
-}
\ No newline at end of file
+}
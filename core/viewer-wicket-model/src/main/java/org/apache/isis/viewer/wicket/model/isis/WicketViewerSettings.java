@@ -101,4 +101,61 @@ public interface WicketViewerSettings extends Serializable {
      */
     boolean isUseIndicatorForNoArgAction();
 
+    /**
+     * The minimum number of characters that must be entered before any autoComplete query is run; the larger of this
+     * and the minimum length specified for the autoComplete itself is used.
+     */
+    int getAutoCompleteMinLength();
+
+    /**
+     * The delay (in milliseconds) after the last keystroke before an autoComplete query is sent to the server.
+     *
+     * <p>
+     *     Any keystrokes within this delay are coalesced into a single query; any superseded query still in flight is
+     *     aborted by the browser.
+     * </p>
+     */
+    int getAutoCompleteDelay();
+
+    /**
+     * Whether the results of autoComplete queries should be cached (per session, unless
+     * {@link #isAutoCompleteCacheShared() shared}).
+     *
+     * <p>
+     *     As well as avoiding repeated queries for the same term, results for a term are filtered by title to provide
+     *     the results of any longer term starting with it, but only if the autoComplete is declared (using
+     *     {@link org.apache.isis.applib.annotation.MatchesTitle}) to match on title and returned fewer than its
+     *     maximum number of results.
+     * </p>
+     *
+     * This behaviour is disabled by default, but can be enabled using this flag.
+     */
+    boolean isAutoCompleteCacheEnabled();
+
+    /**
+     * Whether cached autoComplete results are shared across all sessions; only appropriate if the results do not
+     * depend upon the current user.
+     */
+    boolean isAutoCompleteCacheShared();
+
+    /**
+     * The maximum number of autoComplete results (one per search term) held in the cache.
+     */
+    int getAutoCompleteCacheMaxSize();
+
+    /**
+     * The number of seconds for which autoComplete results are cached.
+     */
+    int getAutoCompleteCacheTimeToLive();
+
+    /**
+     * Whether collections (standalone and parented) provide links to export their contents (as CSV or Excel).
+     */
+    boolean isCollectionExportEnabled();
+
+    /**
+     * The number of objects resolved (and then evicted from the session) at a time while a collection is exported.
+     */
+    int getCollectionExportChunkSize();
+
 }
@@ -21,15 +21,18 @@
 
 import com.google.common.base.Function;
 import com.google.common.base.Predicates;
+import com.google.common.collect.AbstractIterator;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import org.apache.isis.applib.layout.component.CollectionLayoutData;
+import org.apache.isis.applib.services.bookmark.Bookmark;
 import org.apache.isis.core.commons.factory.InstanceUtil;
 import org.apache.isis.core.commons.lang.ClassUtil;
 import org.apache.isis.core.commons.lang.Closure;
 import org.apache.isis.core.commons.lang.IterableExtensions;
 import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
 import org.apache.isis.core.metamodel.adapter.mgr.AdapterManager.ConcurrencyChecking;
+import org.apache.isis.core.metamodel.adapter.oid.RootOid;
 import org.apache.isis.core.metamodel.consent.InteractionInitiatedBy;
 import org.apache.isis.core.metamodel.facets.collections.sortedby.SortedByFacet;
 import org.apache.isis.core.metamodel.facets.object.paged.PagedFacet;
@@ -37,8 +40,10 @@
 import org.apache.isis.core.metamodel.spec.ObjectSpecId;
 import org.apache.isis.core.metamodel.spec.ObjectSpecification;
 import org.apache.isis.core.metamodel.spec.feature.ObjectAction;
+import org.apache.isis.core.metamodel.spec.feature.ObjectAssociation;
 import org.apache.isis.core.metamodel.spec.feature.OneToManyAssociation;
 import org.apache.isis.core.runtime.system.session.IsisSessionFactory;
+import org.apache.isis.objectstore.jdo.datanucleus.persistence.queries.PropertyAggregates;
 import org.apache.isis.viewer.wicket.model.hints.UiHintContainer;
 import org.apache.isis.viewer.wicket.model.links.LinkAndLabel;
 import org.apache.isis.viewer.wicket.model.links.LinksProvider;
@@ -49,6 +54,7 @@
 import java.io.Serializable;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -87,6 +93,59 @@ List<ObjectAdapter> load(final EntityCollectionModel entityCollectionModel) {
                                 Predicates.notNull()));
             }
 
+            @Override
+            Iterable<ObjectAdapter> iterate(final EntityCollectionModel entityCollectionModel, final int chunkSize) {
+                final Iterable<List<ObjectAdapterMemento>> chunks =
+                        Iterables.partition(entityCollectionModel.mementoList, chunkSize);
+                return Iterables.concat(Iterables.transform(chunks,
+                        new Function<List<ObjectAdapterMemento>, Iterable<ObjectAdapter>>() {
+                            @Override
+                            public Iterable<ObjectAdapter> apply(final List<ObjectAdapterMemento> chunk) {
+                                return load(entityCollectionModel, chunk);
+                            }
+                        }));
+            }
+
+            /**
+             * Loads the persistent objects of the chunk using a single query, rather than one query per object.
+             */
+            private List<ObjectAdapter> load(
+                    final EntityCollectionModel entityCollectionModel,
+                    final List<ObjectAdapterMemento> chunk) {
+                final List<RootOid> rootOids = Lists.newArrayList();
+                for (final ObjectAdapterMemento memento : chunk) {
+                    final Bookmark bookmark = memento.asBookmark();
+                    if(bookmark != null) {
+                        rootOids.add(RootOid.create(bookmark));
+                    }
+                }
+                entityCollectionModel.getPersistenceSession().loadPersistentPojos(rootOids);
+
+                return Lists.newArrayList(
+                        Iterables.filter(
+                                Iterables.transform(chunk,
+                                        ObjectAdapterMemento.Functions.fromMemento(ConcurrencyChecking.NO_CHECK,
+                                                entityCollectionModel.getPersistenceSession(), entityCollectionModel.getSpecificationLoader())),
+                                Predicates.notNull()));
+            }
+
+            @Override
+            List<PropertyAggregates> aggregatesOf(
+                    final EntityCollectionModel entityCollectionModel,
+                    final List<? extends ObjectAssociation> properties) {
+                final List<RootOid> rootOids = Lists.newArrayList();
+                for (final ObjectAdapterMemento memento : entityCollectionModel.mementoList) {
+                    final Bookmark bookmark = memento.asBookmark();
+                    if(bookmark == null) {
+                        // not persistent
+                        return null;
+                    }
+                    rootOids.add(RootOid.create(bookmark));
+                }
+                return entityCollectionModel.getPersistenceSession().aggregatesOf(
+                        entityCollectionModel.getTypeOfSpecification(), rootOids, properties);
+            }
+
             @Override
             void setObject(final EntityCollectionModel entityCollectionModel, final List<ObjectAdapter> list) {
                 entityCollectionModel.mementoList = Lists.newArrayList(
@@ -136,6 +195,76 @@ List<ObjectAdapter> load(final EntityCollectionModel entityCollectionModel) {
                 return adapterList;
             }
 
+            /**
+             * Queries the elements of a persisted collection a chunk at a time (in order of their identity), rather
+             * than calling its getter, which would load them all; otherwise (or if sorted) as per
+             * {@link #load(EntityCollectionModel)}.
+             */
+            @Override
+            Iterable<ObjectAdapter> iterate(final EntityCollectionModel entityCollectionModel, final int chunkSize) {
+                if(entityCollectionModel.sortedBy != null) {
+                    return load(entityCollectionModel);
+                }
+                final ObjectAdapter adapter = entityCollectionModel.getParentObjectAdapterMemento().getObjectAdapter(
+                        ConcurrencyChecking.NO_CHECK, entityCollectionModel.getPersistenceSession(),
+                        entityCollectionModel.getSpecificationLoader());
+                final OneToManyAssociation collection = entityCollectionModel.collectionMemento.getCollection(
+                        entityCollectionModel.getSpecificationLoader());
+
+                final List<ObjectAdapter> firstChunk =
+                        entityCollectionModel.getPersistenceSession().elementsOf(adapter, collection, 0, chunkSize);
+                if(firstChunk == null) {
+                    return load(entityCollectionModel);
+                }
+
+                // the getter (were it called) would have filtered the elements for visibility
+                final boolean filterForVisibility = entityCollectionModel.getIsisSessionFactory().getConfiguration()
+                        .getBoolean("isis.reflector.facet.filterVisibility", true);
+                return new Iterable<ObjectAdapter>() {
+                    @Override
+                    public Iterator<ObjectAdapter> iterator() {
+                        return new AbstractIterator<ObjectAdapter>() {
+                            private List<ObjectAdapter> chunk = firstChunk;
+                            private long chunkStart = 0;
+                            private int index = 0;
+
+                            @Override
+                            protected ObjectAdapter computeNext() {
+                                while(true) {
+                                    if(index >= chunk.size()) {
+                                        if(chunk.size() < chunkSize) {
+                                            return endOfData();
+                                        }
+                                        chunkStart += chunkSize;
+                                        chunk = entityCollectionModel.getPersistenceSession().elementsOf(
+                                                adapter, collection, chunkStart, chunkStart + chunkSize);
+                                        index = 0;
+                                        continue;
+                                    }
+                                    final ObjectAdapter element = chunk.get(index++);
+                                    if(!filterForVisibility ||
+                                            ObjectAdapter.Util.isVisible(element, InteractionInitiatedBy.USER)) {
+                                        return element;
+                                    }
+                                }
+                            }
+                        };
+                    }
+                };
+            }
+
+            @Override
+            List<PropertyAggregates> aggregatesOf(
+                    final EntityCollectionModel entityCollectionModel,
+                    final List<? extends ObjectAssociation> properties) {
+                final ObjectAdapter adapter = entityCollectionModel.getParentObjectAdapterMemento().getObjectAdapter(
+                        ConcurrencyChecking.NO_CHECK, entityCollectionModel.getPersistenceSession(),
+                        entityCollectionModel.getSpecificationLoader());
+                final OneToManyAssociation collection = entityCollectionModel.collectionMemento.getCollection(
+                        entityCollectionModel.getSpecificationLoader());
+                return entityCollectionModel.getPersistenceSession().aggregatesOf(adapter, collection, properties);
+            }
+
             @SuppressWarnings("unchecked")
             private List<Object> asIterable(final ObjectAdapter collectionAsAdapter) {
                 final Iterable<Object> objects = (Iterable<Object>) collectionAsAdapter.getObject();
@@ -161,6 +290,19 @@ public int getCount(EntityCollectionModel model) {
 
         abstract List<ObjectAdapter> load(EntityCollectionModel entityCollectionModel);
 
+        /**
+         * As {@link #load(EntityCollectionModel)}, but loading the objects a chunk at a time, as they are iterated
+         * over.
+         */
+        abstract Iterable<ObjectAdapter> iterate(EntityCollectionModel entityCollectionModel, int chunkSize);
+
+        /**
+         * Aggregates of the (numeric) properties computed by the datastore, or <tt>null</tt> if this isn't possible.
+         */
+        abstract List<PropertyAggregates> aggregatesOf(
+                EntityCollectionModel entityCollectionModel,
+                List<? extends ObjectAssociation> properties);
+
         abstract void setObject(EntityCollectionModel entityCollectionModel, List<ObjectAdapter> list);
 
         public abstract String getName(EntityCollectionModel entityCollectionModel);
@@ -393,6 +535,28 @@ protected List<ObjectAdapter> load() {
         return type.load(this);
     }
 
+    /**
+     * The objects of the collection, loaded a chunk at a time as they are iterated over (rather than
+     * {@link #load() loading} them all up-front), eg to export a large collection.
+     *
+     * <p>
+     *     The objects of a (persisted, unsorted) parented collection are iterated over in order of their identity,
+     *     which need not be the order in which the collection itself holds them.
+     * </p>
+     */
+    public Iterable<ObjectAdapter> iterateObjects(final int chunkSize) {
+        return type.iterate(this, Math.max(chunkSize, 1));
+    }
+
+    /**
+     * Aggregates of the (numeric) properties of the objects in the collection, computed by the datastore without
+     * loading the objects; returns <tt>null</tt> if this isn't possible, eg if the objects aren't persistent or a
+     * property isn't persisted.
+     */
+    public List<PropertyAggregates> aggregatesOf(final List<? extends ObjectAssociation> properties) {
+        return type.aggregatesOf(this, properties);
+    }
+
     public ObjectSpecification getTypeOfSpecification() {
         if (typeOfSpec == null) {
             typeOfSpec = getSpecificationLoader().loadSpecification(typeOf);
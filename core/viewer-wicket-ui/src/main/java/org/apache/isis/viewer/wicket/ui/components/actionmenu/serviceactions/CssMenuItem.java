@@ -36,8 +36,6 @@
 import org.apache.isis.core.commons.authentication.AuthenticationSession;
 import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
 import org.apache.isis.core.metamodel.adapter.mgr.AdapterManager.ConcurrencyChecking;
-import org.apache.isis.core.metamodel.consent.Consent;
-import org.apache.isis.core.metamodel.consent.InteractionInitiatedBy;
 import org.apache.isis.core.metamodel.facets.all.describedas.DescribedAsFacet;
 import org.apache.isis.core.metamodel.facets.members.cssclassfa.CssClassFaPosition;
 import org.apache.isis.core.metamodel.spec.feature.ObjectAction;
@@ -47,7 +45,6 @@
 import org.apache.isis.core.runtime.system.session.IsisSessionFactory;
 import org.apache.isis.viewer.wicket.model.links.LinkAndLabel;
 import org.apache.isis.viewer.wicket.model.mementos.ObjectAdapterMemento;
-import org.apache.isis.viewer.wicket.model.models.ActionModel;
 import org.apache.isis.viewer.wicket.ui.components.actionmenu.CssClassFaBehavior;
 import org.apache.isis.viewer.wicket.ui.components.widgets.linkandlabel.ActionLinkFactory;
 import org.apache.isis.viewer.wicket.ui.pages.PageAbstract;
@@ -304,20 +301,24 @@ public void setDescription(String description) {
     // //////////////////////////////////////////////////////////////
 
     /**
-     * Creates a {@link Builder} for a submenu item invoking an action on the provided {@link ObjectAdapterMemento
-     * target adapter}.
+     * Creates a {@link Builder} for a submenu item invoking the action of the provided (possibly cached)
+     * {@link ServiceActionsMenuCache.ServiceMenuEntry entry} on its service.
+     *
+     * <p>
+     *     Returns <tt>null</tt> if the action is not visible.
+     * </p>
      */
-    public Builder newSubMenuItem(
-            final ObjectAdapterMemento targetAdapterMemento,
-            final ObjectAction objectAction,
-            final boolean separator,
+    Builder newSubMenuItem(
+            final ServiceActionsMenuCache.ServiceMenuEntry entry,
             final ActionLinkFactory actionLinkFactory) {
 
+        final ObjectAdapterMemento targetAdapterMemento = entry.getServiceAdapterMemento();
+        final ObjectAction objectAction = entry.getObjectAction();
+
         // check visibility
         final ObjectAdapter adapter = targetAdapterMemento.getObjectAdapter(ConcurrencyChecking.CHECK,
                 getPersistenceSession(), getSpecificationLoader());
-        final Consent visibility = objectAction.isVisible(adapter, InteractionInitiatedBy.USER, ActionModel.WHERE_FOR_ACTION_INVOCATION);
-        if (visibility.isVetoed()) {
+        if (!entry.isVisible(adapter)) {
             return null;
         }
 
@@ -332,11 +333,7 @@ public Builder newSubMenuItem(
         final AbstractLink link = linkAndLabel.getLink();
         final String actionLabel = linkAndLabel.getLabel();
 
-        final Consent usability = objectAction.isUsable(
-                adapter, InteractionInitiatedBy.USER,
-                ActionModel.WHERE_FOR_ACTION_INVOCATION
-        );
-        final String reasonDisabledIfAny = usability.getReason();
+        final String reasonDisabledIfAny = entry.disabledReasonIfAny(adapter);
 
         final DescribedAsFacet describedAsFacet = objectAction.getFacet(DescribedAsFacet.class);
         final String descriptionIfAny = describedAsFacet != null ? describedAsFacet.value() : null;
@@ -347,9 +344,9 @@ public Builder newSubMenuItem(
                 .enabled(reasonDisabledIfAny)
                 .returnsBlobOrClob(ObjectAction.Utils.returnsBlobOrClob(objectAction))
                 .prototyping(objectAction.isPrototype())
-                .requiresSeparator(separator)
+                .requiresSeparator(entry.isSeparator())
                 .withActionIdentifier(ObjectAction.Utils.actionIdentifierFor(objectAction))
-                .withCssClass(ObjectAction.Utils.cssClassFor(objectAction, adapter))
+                .withCssClass(entry.cssClassIfAny(adapter))
                 .withCssClassFa(ObjectAction.Utils.cssClassFaFor(objectAction))
                 .withCssClassFaPosition(ObjectAction.Utils.cssClassFaPositionFor(objectAction));
 
@@ -20,6 +20,7 @@
 package org.apache.isis.viewer.wicket.ui.components.actionmenu.serviceactions;
 
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 
@@ -38,6 +39,9 @@
 
 import org.apache.isis.applib.annotation.NatureOfService;
 import org.apache.isis.applib.filter.Filters;
+import org.apache.isis.applib.services.eventbus.EventBusService;
+import org.apache.isis.applib.services.i18n.LocaleProvider;
+import org.apache.isis.core.commons.authentication.AuthenticationSession;
 import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
 import org.apache.isis.core.metamodel.facets.actions.notinservicemenu.NotInServiceMenuFacet;
 import org.apache.isis.core.metamodel.facets.all.named.NamedFacet;
@@ -47,6 +51,9 @@
 import org.apache.isis.core.metamodel.spec.ObjectSpecification;
 import org.apache.isis.core.metamodel.spec.feature.Contributed;
 import org.apache.isis.core.metamodel.spec.feature.ObjectAction;
+import org.apache.isis.core.metamodel.specloader.SpecificationLoader;
+import org.apache.isis.core.runtime.system.context.IsisContext;
+import org.apache.isis.core.runtime.system.session.IsisSessionFactory;
 import org.apache.isis.viewer.wicket.model.mementos.ObjectAdapterMemento;
 import org.apache.isis.viewer.wicket.model.models.ServiceActionsModel;
 import org.apache.isis.viewer.wicket.ui.components.actionmenu.CssClassFaBehavior;
@@ -187,8 +194,50 @@ public String toString() {
         }
     }
 
+    /**
+     * Whether the static structure of the service menus should be cached (per menu bar, set of roles and locale).
+     */
+    private static final String CACHE_SERVICE_MENUS_KEY = "isis.viewer.wicket.serviceMenus.cache";
+    private static final boolean CACHE_SERVICE_MENUS_DEFAULT = true;
+
+    private final static ServiceActionsMenuCache menuCache = new ServiceActionsMenuCache();
+
     public static List<CssMenuItem> buildMenu(final ServiceActionsModel appActionsModel) {
 
+        final IsisSessionFactory isisSessionFactory = IsisContext.getSessionFactory();
+        final boolean cacheable = isisSessionFactory.getConfiguration()
+                .getBoolean(CACHE_SERVICE_MENUS_KEY, CACHE_SERVICE_MENUS_DEFAULT);
+        if(!cacheable) {
+            return buildMenuItems(buildServiceMenus(appActionsModel, false), linkAndLabelFactory);
+        }
+
+        final ServiceActionsMenuCache.Key key = new ServiceActionsMenuCache.Key(
+                appActionsModel.getMenuBar(), rolesOf(isisSessionFactory), localeOf(isisSessionFactory));
+        final SpecificationLoader specificationLoader = isisSessionFactory.getSpecificationLoader();
+
+        final int metaModelVersion = specificationLoader.getMetaModelVersion();
+        List<ServiceActionsMenuCache.ServiceMenu> serviceMenus =
+                menuCache.get(key, specificationLoader, metaModelVersion);
+        if(serviceMenus == null) {
+            final int generation = menuCache.getGeneration();
+            serviceMenus = buildServiceMenus(appActionsModel, true);
+            menuCache.put(key, serviceMenus, specificationLoader, metaModelVersion, generation);
+        }
+
+        return buildMenuItems(serviceMenus, linkAndLabelFactory);
+    }
+
+    /**
+     * Spins through all services, grouping their actions by service name and evaluating their declarative business
+     * rules.
+     *
+     * @param cacheable - whether the resultant structure will be cached; if not then every action's business rules
+     *                  will be re-evaluated whenever the menu is rendered.
+     */
+    private static List<ServiceActionsMenuCache.ServiceMenu> buildServiceMenus(
+            final ServiceActionsModel appActionsModel,
+            final boolean cacheable) {
+
         final List<ObjectAdapter> serviceAdapters = appActionsModel.getObject();
 
         final List<LogicalServiceAction> serviceActions = Lists.newArrayList();
@@ -203,20 +252,12 @@ public static List<CssMenuItem> buildMenu(final ServiceActionsModel appActionsMo
         // prune any service names that have no service actions
         serviceNamesInOrder.retainAll(serviceActionsByName.keySet());
 
-        return buildMenuItems(serviceNamesInOrder, serviceActionsByName, linkAndLabelFactory);
-    }
-
-    /**
-     * Builds a hierarchy of {@link CssMenuItem}s, following the provided map of {@link LogicalServiceAction}s (keyed by their service Name).
-     */
-    private static List<CssMenuItem> buildMenuItems(
-            final Set<String> serviceNamesInOrder,
-            final Map<String, List<LogicalServiceAction>> serviceActionsByName,
-            final ActionLinkFactory actionLinkFactory) {
+        final EventBusService eventBusService =
+                IsisContext.getSessionFactory().getServicesInjector().lookupService(EventBusService.class);
 
-        final List<CssMenuItem> menuItems = Lists.newArrayList();
+        final List<ServiceActionsMenuCache.ServiceMenu> serviceMenus = Lists.newArrayList();
         for (String serviceName : serviceNamesInOrder) {
-            final CssMenuItem serviceMenuItem = CssMenuItem.newMenuItem(serviceName).build();
+            final ServiceActionsMenuCache.ServiceMenu serviceMenu = new ServiceActionsMenuCache.ServiceMenu(serviceName);
             final List<LogicalServiceAction> serviceActionsForName = serviceActionsByName.get(serviceName);
             for (LogicalServiceAction logicalServiceAction : serviceActionsForName) {
                 final ObjectAdapter serviceAdapter = logicalServiceAction.serviceAdapter;
@@ -224,10 +265,40 @@ private static List<CssMenuItem> buildMenuItems(
                 if (serviceSpec.isHidden()) {
                     continue;
                 }
-                final ObjectAdapterMemento serviceAdapterMemento = logicalServiceAction.serviceAdapterMemento;
-                final ObjectAction objectAction = logicalServiceAction.objectAction;
-                final boolean separator = logicalServiceAction.separator;
-                final CssMenuItem.Builder subMenuItemBuilder = serviceMenuItem.newSubMenuItem(serviceAdapterMemento, objectAction, separator, actionLinkFactory);
+                final ServiceActionsMenuCache.ServiceMenuEntry entry =
+                        ServiceActionsMenuCache.ServiceMenuEntry.createIfVisible(
+                                serviceAdapter,
+                                logicalServiceAction.serviceAdapterMemento,
+                                logicalServiceAction.objectAction,
+                                logicalServiceAction.separator,
+                                cacheable,
+                                eventBusService);
+                if (entry == null) {
+                    // not visible
+                    continue;
+                }
+                serviceMenu.addEntry(entry);
+            }
+            if (!serviceMenu.getEntries().isEmpty()) {
+                serviceMenus.add(serviceMenu);
+            }
+        }
+        return serviceMenus;
+    }
+
+    /**
+     * Builds a hierarchy of {@link CssMenuItem}s, following the provided (possibly cached)
+     * {@link ServiceActionsMenuCache.ServiceMenu}s.
+     */
+    private static List<CssMenuItem> buildMenuItems(
+            final List<ServiceActionsMenuCache.ServiceMenu> serviceMenus,
+            final ActionLinkFactory actionLinkFactory) {
+
+        final List<CssMenuItem> menuItems = Lists.newArrayList();
+        for (ServiceActionsMenuCache.ServiceMenu serviceMenu : serviceMenus) {
+            final CssMenuItem serviceMenuItem = CssMenuItem.newMenuItem(serviceMenu.getServiceName()).build();
+            for (ServiceActionsMenuCache.ServiceMenuEntry entry : serviceMenu.getEntries()) {
+                final CssMenuItem.Builder subMenuItemBuilder = serviceMenuItem.newSubMenuItem(entry, actionLinkFactory);
                 if (subMenuItemBuilder == null) {
                     // not visible
                     continue;
@@ -241,6 +312,18 @@ private static List<CssMenuItem> buildMenuItems(
         return menuItems;
     }
 
+    private static List<String> rolesOf(final IsisSessionFactory isisSessionFactory) {
+        final AuthenticationSession authenticationSession =
+                isisSessionFactory.getCurrentSession().getAuthenticationSession();
+        return authenticationSession != null ? authenticationSession.getRoles() : null;
+    }
+
+    private static Locale localeOf(final IsisSessionFactory isisSessionFactory) {
+        final LocaleProvider localeProvider =
+                isisSessionFactory.getServicesInjector().lookupService(LocaleProvider.class);
+        return localeProvider != null ? localeProvider.getLocale() : null;
+    }
+
 
     // //////////////////////////////////////
 
@@ -0,0 +1,404 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.viewer.wicket.ui.components.actionmenu.serviceactions;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.SortedSet;
+import java.util.concurrent.ConcurrentMap;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.google.common.eventbus.Subscribe;
+import com.google.common.reflect.TypeToken;
+
+import org.apache.isis.applib.annotation.DomainServiceLayout;
+import org.apache.isis.applib.services.eventbus.EventBusService;
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.consent.Consent;
+import org.apache.isis.core.metamodel.consent.InteractionInitiatedBy;
+import org.apache.isis.core.metamodel.facetapi.Facet;
+import org.apache.isis.core.metamodel.facetapi.FacetFilters;
+import org.apache.isis.core.metamodel.facets.ImperativeFacet;
+import org.apache.isis.core.metamodel.facets.actions.action.invocation.ActionDomainEventFacet;
+import org.apache.isis.core.metamodel.facets.members.cssclass.CssClassFacet;
+import org.apache.isis.core.metamodel.interactions.DisablingInteractionAdvisor;
+import org.apache.isis.core.metamodel.interactions.HidingInteractionAdvisor;
+import org.apache.isis.core.metamodel.spec.feature.ObjectAction;
+import org.apache.isis.viewer.wicket.model.mementos.ObjectAdapterMemento;
+import org.apache.isis.viewer.wicket.model.models.ActionModel;
+
+/**
+ * Caches the static structure of the service action menus (grouping by service name, ordering, separators, and the
+ * visibility, usability and CSS classes of those actions whose business rules are purely declarative), keyed by
+ * {@link Key menu bar, roles and locale}.
+ *
+ * <p>
+ *     Actions whose hide/disable logic is imperative - supporting <tt>hideXxx()</tt>/<tt>disableXxx()</tt> methods,
+ *     or a domain event that some subscriber registered with the {@link EventBusService} is able to receive - are
+ *     re-evaluated on every request.
+ * </p>
+ *
+ * <p>
+ *     The cache is discarded whenever the metamodel is reloaded (as reported by
+ *     {@link org.apache.isis.core.metamodel.specloader.SpecificationLoader#getMetaModelVersion()}).
+ * </p>
+ */
+final class ServiceActionsMenuCache {
+
+    private final ConcurrentMap<Key, List<ServiceMenu>> menusByKey = Maps.newConcurrentMap();
+
+    private Object specificationLoader;
+    private int metaModelVersion;
+    /**
+     * Incremented whenever the cache is cleared, so that menus built beforehand are not {@link #put(Key, List, Object, int, int) put}
+     * afterwards.
+     */
+    private int generation;
+
+    /**
+     * Returns the cached menus for the specified key, or <tt>null</tt> if none (or if the cache is stale relative
+     * to the provided metamodel).
+     */
+    List<ServiceMenu> get(final Key key, final Object specificationLoader, final int metaModelVersion) {
+        synchronized (this) {
+            if(this.specificationLoader != specificationLoader || this.metaModelVersion != metaModelVersion) {
+                menusByKey.clear();
+                generation++;
+                this.specificationLoader = specificationLoader;
+                this.metaModelVersion = metaModelVersion;
+                return null;
+            }
+        }
+        return menusByKey.get(key);
+    }
+
+    /**
+     * To be called (after {@link #get(Key, Object, int)}) before building the menus to be {@link #put(Key, List, Object, int, int) put}.
+     */
+    synchronized int getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Caches the menus, unless they were built against a metamodel or {@link #getGeneration() generation} other than
+     * the current one (because the cache was cleared meanwhile).
+     */
+    void put(
+            final Key key,
+            final List<ServiceMenu> menus,
+            final Object specificationLoader,
+            final int metaModelVersion,
+            final int generation) {
+        synchronized (this) {
+            if(this.specificationLoader != specificationLoader ||
+               this.metaModelVersion != metaModelVersion ||
+               this.generation != generation) {
+                return;
+            }
+            menusByKey.putIfAbsent(key, Collections.unmodifiableList(menus));
+        }
+    }
+
+    int size() {
+        return menusByKey.size();
+    }
+
+    //region > Key
+
+    static final class Key {
+
+        private final DomainServiceLayout.MenuBar menuBar;
+        private final SortedSet<String> roles;
+        private final Locale locale;
+
+        Key(
+                final DomainServiceLayout.MenuBar menuBar,
+                final Collection<String> roles,
+                final Locale locale) {
+            this.menuBar = menuBar;
+            this.roles = roles != null
+                    ? Collections.unmodifiableSortedSet(Sets.newTreeSet(roles))
+                    : Collections.unmodifiableSortedSet(Sets.<String>newTreeSet());
+            this.locale = locale;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            final Key other = (Key) o;
+            return menuBar == other.menuBar &&
+                    roles.equals(other.roles) &&
+                    Objects.equals(locale, other.locale);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(menuBar, roles, locale);
+        }
+
+        @Override
+        public String toString() {
+            return menuBar + " " + roles + " " + locale;
+        }
+    }
+
+    //endregion
+
+    //region > ServiceMenu, ServiceMenuEntry
+
+    /**
+     * The (cached) actions appearing under a single service name.
+     */
+    static final class ServiceMenu {
+
+        private final String serviceName;
+        private final List<ServiceMenuEntry> entries = Lists.newArrayList();
+
+        ServiceMenu(final String serviceName) {
+            this.serviceName = serviceName;
+        }
+
+        String getServiceName() {
+            return serviceName;
+        }
+
+        List<ServiceMenuEntry> getEntries() {
+            return Collections.unmodifiableList(entries);
+        }
+
+        void addEntry(final ServiceMenuEntry entry) {
+            entries.add(entry);
+        }
+    }
+
+    /**
+     * A (cached) service action.
+     *
+     * <p>
+     *     If the action's business rules are {@link #isImperative() imperative} then its visibility, usability and
+     *     CSS class are evaluated on each call; otherwise the values captured when the entry was created are used.
+     * </p>
+     */
+    static final class ServiceMenuEntry {
+
+        private final ObjectAdapterMemento serviceAdapterMemento;
+        private final ObjectAction objectAction;
+        private final boolean separator;
+        private final boolean imperative;
+        private final boolean cssClassImperative;
+        private final String disabledReasonIfAny;
+        private final String cssClassIfAny;
+
+        /**
+         * Evaluates the action's declarative rules against the provided service adapter; returns <tt>null</tt> if
+         * the action is hidden (and so should not be cached at all).
+         */
+        static ServiceMenuEntry createIfVisible(
+                final ObjectAdapter serviceAdapter,
+                final ObjectAdapterMemento serviceAdapterMemento,
+                final ObjectAction objectAction,
+                final boolean separator,
+                final boolean cacheable,
+                final EventBusService eventBusService) {
+
+            final boolean imperative = !cacheable || isImperative(objectAction, eventBusService);
+            final boolean cssClassImperative = !cacheable || isCssClassImperative(objectAction);
+
+            String disabledReasonIfAny = null;
+            if(!imperative) {
+                final Consent visibility = objectAction.isVisible(
+                        serviceAdapter, InteractionInitiatedBy.USER, ActionModel.WHERE_FOR_ACTION_INVOCATION);
+                if (visibility.isVetoed()) {
+                    return null;
+                }
+                final Consent usability = objectAction.isUsable(
+                        serviceAdapter, InteractionInitiatedBy.USER, ActionModel.WHERE_FOR_ACTION_INVOCATION);
+                disabledReasonIfAny = usability.getReason();
+            }
+            final String cssClassIfAny = !cssClassImperative
+                    ? ObjectAction.Utils.cssClassFor(objectAction, serviceAdapter)
+                    : null;
+
+            return new ServiceMenuEntry(
+                    serviceAdapterMemento, objectAction, separator,
+                    imperative, cssClassImperative, disabledReasonIfAny, cssClassIfAny);
+        }
+
+        private ServiceMenuEntry(
+                final ObjectAdapterMemento serviceAdapterMemento,
+                final ObjectAction objectAction,
+                final boolean separator,
+                final boolean imperative,
+                final boolean cssClassImperative,
+                final String disabledReasonIfAny,
+                final String cssClassIfAny) {
+            this.serviceAdapterMemento = serviceAdapterMemento;
+            this.objectAction = objectAction;
+            this.separator = separator;
+            this.imperative = imperative;
+            this.cssClassImperative = cssClassImperative;
+            this.disabledReasonIfAny = disabledReasonIfAny;
+            this.cssClassIfAny = cssClassIfAny;
+        }
+
+        ObjectAdapterMemento getServiceAdapterMemento() {
+            return serviceAdapterMemento;
+        }
+
+        ObjectAction getObjectAction() {
+            return objectAction;
+        }
+
+        boolean isSeparator() {
+            return separator;
+        }
+
+        /**
+         * Whether the visibility and usability of this action must be re-evaluated for every request.
+         */
+        boolean isImperative() {
+            return imperative;
+        }
+
+        boolean isVisible(final ObjectAdapter serviceAdapter) {
+            if(!imperative) {
+                // statically hidden actions are never cached
+                return true;
+            }
+            final Consent visibility = objectAction.isVisible(
+                    serviceAdapter, InteractionInitiatedBy.USER, ActionModel.WHERE_FOR_ACTION_INVOCATION);
+            return visibility.isAllowed();
+        }
+
+        String disabledReasonIfAny(final ObjectAdapter serviceAdapter) {
+            if(!imperative) {
+                return disabledReasonIfAny;
+            }
+            final Consent usability = objectAction.isUsable(
+                    serviceAdapter, InteractionInitiatedBy.USER, ActionModel.WHERE_FOR_ACTION_INVOCATION);
+            return usability.getReason();
+        }
+
+        String cssClassIfAny(final ObjectAdapter serviceAdapter) {
+            if(!cssClassImperative) {
+                return cssClassIfAny;
+            }
+            return ObjectAction.Utils.cssClassFor(objectAction, serviceAdapter);
+        }
+
+        static boolean isImperative(
+                final ObjectAction objectAction,
+                final EventBusService eventBusService) {
+            final List<Facet> facets = Lists.newArrayList();
+            facets.addAll(objectAction.getFacets(FacetFilters.isA(HidingInteractionAdvisor.class)));
+            facets.addAll(objectAction.getFacets(FacetFilters.isA(DisablingInteractionAdvisor.class)));
+            for (final Facet facet : facets) {
+                if(ImperativeFacet.Util.isImperativeFacet(facet)) {
+                    return true;
+                }
+            }
+            final ActionDomainEventFacet domainEventFacet = objectAction.getFacet(ActionDomainEventFacet.class);
+            if(domainEventFacet != null && !domainEventFacet.isNoop()) {
+                return eventBusService == null || anySubscriberFor(domainEventFacet.value(), eventBusService);
+            }
+            return false;
+        }
+
+        /**
+         * Whether any of the registered subscribers has a handler method (annotated with Guava's {@link Subscribe} or
+         * Axon's <tt>@EventHandler</tt>, and declared by the subscriber's class or any of its supertypes) that would
+         * receive an event of the specified type.
+         *
+         * <p>
+         *     Note that this is the case for every action, including those whose domain event is the default
+         *     {@link org.apache.isis.applib.services.eventbus.ActionDomainEvent.Default}, if any subscriber handles
+         *     action domain events in general.
+         * </p>
+         */
+        static boolean anySubscriberFor(final Class<?> eventType, final EventBusService eventBusService) {
+            if(eventType == null) {
+                return false;
+            }
+            for (final Object subscriber : eventBusService.getSubscribers()) {
+                for (final Class<?> supertype : TypeToken.of(subscriber.getClass()).getTypes().rawTypes()) {
+                    for (final Method method : supertype.getDeclaredMethods()) {
+                        if(!isHandler(method)) {
+                            continue;
+                        }
+                        final Class<?> parameterType = method.getParameterTypes()[0];
+                        if(parameterType.isAssignableFrom(eventType)) {
+                            return true;
+                        }
+                    }
+                }
+            }
+            return false;
+        }
+
+        private static boolean isHandler(final Method method) {
+            if(method.isSynthetic() || method.getParameterTypes().length != 1) {
+                return false;
+            }
+            if(method.isAnnotationPresent(Subscribe.class)) {
+                return true;
+            }
+            return axonEventHandler != null && method.isAnnotationPresent(axonEventHandler);
+        }
+
+        /**
+         * Axon is an optional dependency, so its annotation is looked up reflectively; <tt>null</tt> if not on the
+         * classpath.
+         */
+        private static final Class<? extends Annotation> axonEventHandler = axonEventHandler();
+
+        private static Class<? extends Annotation> axonEventHandler() {
+            try {
+                return Class.forName("org.axonframework.eventhandling.annotation.EventHandler")
+                        .asSubclass(Annotation.class);
+            } catch (ClassNotFoundException | LinkageError ex) {
+                return null;
+            }
+        }
+
+        private static boolean isCssClassImperative(final ObjectAction objectAction) {
+            final CssClassFacet cssClassFacet = objectAction.getFacet(CssClassFacet.class);
+            return cssClassFacet != null && ImperativeFacet.Util.isImperativeFacet(cssClassFacet);
+        }
+
+        @Override
+        public String toString() {
+            return objectAction.getIdentifier().toFullIdentityString() + (imperative ? " (imperative)" : "");
+        }
+    }
+
+    //endregion
+}
@@ -0,0 +1,68 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.viewer.wicket.ui.components.collection.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * The formats in which a collection can be exported.
+ */
+public enum CollectionExportFormat {
+
+    CSV("CSV", "text/csv; charset=UTF-8", "csv") {
+        @Override
+        public TableWriter newTableWriter(final OutputStream outputStream, final String name) throws IOException {
+            return new CsvTableWriter(outputStream);
+        }
+    },
+    XLSX("Excel", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "xlsx") {
+        @Override
+        public TableWriter newTableWriter(final OutputStream outputStream, final String name) throws IOException {
+            return new XlsxTableWriter(outputStream, name);
+        }
+    };
+
+    private final String title;
+    private final String contentType;
+    private final String fileExtension;
+
+    CollectionExportFormat(final String title, final String contentType, final String fileExtension) {
+        this.title = title;
+        this.contentType = contentType;
+        this.fileExtension = fileExtension;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getFileExtension() {
+        return fileExtension;
+    }
+
+    /**
+     * @param name - of the collection, used (if the format supports it) to name the worksheet.
+     */
+    public abstract TableWriter newTableWriter(OutputStream outputStream, String name) throws IOException;
+}
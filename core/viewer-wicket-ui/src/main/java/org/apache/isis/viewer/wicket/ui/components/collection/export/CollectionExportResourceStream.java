@@ -0,0 +1,67 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.viewer.wicket.ui.components.collection.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.apache.wicket.util.resource.AbstractResourceStreamWriter;
+
+import org.apache.isis.viewer.wicket.model.models.EntityCollectionModel;
+
+/**
+ * Streams the export of a collection directly to the response.
+ */
+public class CollectionExportResourceStream extends AbstractResourceStreamWriter {
+
+    private static final long serialVersionUID = 1L;
+
+    private final EntityCollectionModel model;
+    private final CollectionExportFormat format;
+    private final int chunkSize;
+
+    public CollectionExportResourceStream(
+            final EntityCollectionModel model,
+            final CollectionExportFormat format,
+            final int chunkSize) {
+        this.model = model;
+        this.format = format;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public void write(final OutputStream output) throws IOException {
+        final TableWriter tableWriter = format.newTableWriter(output, model.getName());
+        new CollectionExporter(model, chunkSize).export(tableWriter);
+    }
+
+    @Override
+    public String getContentType() {
+        return format.getContentType();
+    }
+
+    /**
+     * The name of the downloaded file, derived from the name of the collection.
+     */
+    public String getFileName() {
+        final String name = model.getName();
+        final String baseName = name != null ? name.replaceAll("[^A-Za-z0-9_\\-]+", "_") : "";
+        return (baseName.isEmpty() ? "export" : baseName) + "." + format.getFileExtension();
+    }
+}
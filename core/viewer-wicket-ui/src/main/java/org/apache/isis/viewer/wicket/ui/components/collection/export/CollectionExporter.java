@@ -0,0 +1,136 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.viewer.wicket.ui.components.collection.export;
+
+import java.io.IOException;
+import java.util.List;
+
+import com.google.common.collect.Lists;
+
+import org.apache.isis.applib.annotation.Where;
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.consent.InteractionInitiatedBy;
+import org.apache.isis.core.metamodel.facets.object.parseable.ParseableFacet;
+import org.apache.isis.core.metamodel.facets.object.value.ValueFacet;
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+import org.apache.isis.core.metamodel.spec.feature.ObjectAssociation;
+import org.apache.isis.core.runtime.system.persistence.PersistenceSession;
+import org.apache.isis.viewer.wicket.model.models.EntityCollectionModel;
+import org.apache.isis.viewer.wicket.ui.components.collectioncontents.ajaxtable.TablePropertiesHelper;
+
+/**
+ * Writes the objects of an {@link EntityCollectionModel} to a {@link TableWriter}, with the same columns as the
+ * table that renders the collection.
+ *
+ * <p>
+ *     The objects are {@link EntityCollectionModel#iterateObjects(int) loaded} and written one chunk at a time; once
+ *     written, the objects of each chunk are evicted from the persistence session, so that the memory used does not
+ *     depend on the size of the collection.
+ * </p>
+ */
+public class CollectionExporter {
+
+    private final EntityCollectionModel model;
+    private final int chunkSize;
+
+    public CollectionExporter(final EntityCollectionModel model, final int chunkSize) {
+        this.model = model;
+        this.chunkSize = Math.max(chunkSize, 1);
+    }
+
+    public void export(final TableWriter tableWriter) throws IOException {
+        final TablePropertiesHelper helper = new TablePropertiesHelper(model);
+        final Where where = helper.getWhere();
+        final List<ObjectAssociation> properties = helper.getProperties();
+
+        tableWriter.writeRow(header(properties));
+
+        final PersistenceSession persistenceSession = model.getPersistenceSession();
+        final List<ObjectAdapter> chunk = Lists.newArrayListWithCapacity(chunkSize);
+        for (final ObjectAdapter adapter : model.iterateObjects(chunkSize)) {
+            tableWriter.writeRow(row(adapter, properties, where));
+            chunk.add(adapter);
+            if(chunk.size() >= chunkSize) {
+                tableWriter.flush();
+                evict(persistenceSession, chunk);
+            }
+        }
+        evict(persistenceSession, chunk);
+        tableWriter.close();
+    }
+
+    private List<Object> header(final List<ObjectAssociation> properties) {
+        final List<Object> header = Lists.newArrayListWithCapacity(properties.size() + 1);
+        header.add((model.isParented() ? "Related " : "") + "Object"); // i18n, same as the title column
+        for (final ObjectAssociation property : properties) {
+            header.add(property.getName());
+        }
+        return header;
+    }
+
+    private static List<Object> row(
+            final ObjectAdapter adapter,
+            final List<ObjectAssociation> properties,
+            final Where where) {
+        final List<Object> row = Lists.newArrayListWithCapacity(properties.size() + 1);
+        row.add(adapter.titleString(null));
+        for (final ObjectAssociation property : properties) {
+            if(property.isVisible(adapter, InteractionInitiatedBy.USER, where).isVetoed()) {
+                row.add(null);
+                continue;
+            }
+            final ObjectAdapter valueAdapter = property.get(adapter, InteractionInitiatedBy.USER);
+            row.add(cellFor(valueAdapter));
+        }
+        return row;
+    }
+
+    /**
+     * Numbers and booleans are passed through as is (so can be typed by the {@link TableWriter}); otherwise
+     * values are encoded using their {@link ParseableFacet} if any, and references using their title.
+     */
+    static Object cellFor(final ObjectAdapter valueAdapter) {
+        if(valueAdapter == null) {
+            return null;
+        }
+        final Object value = valueAdapter.getObject();
+        if(value == null) {
+            return null;
+        }
+        if(value instanceof Number || value instanceof Boolean) {
+            return value;
+        }
+        final ObjectSpecification valueSpec = valueAdapter.getSpecification();
+        if(valueSpec.containsFacet(ValueFacet.class)) {
+            final ParseableFacet parseableFacet = valueSpec.getFacet(ParseableFacet.class);
+            if(parseableFacet != null) {
+                return parseableFacet.parseableTitle(valueAdapter);
+            }
+        }
+        return valueAdapter.titleString(null);
+    }
+
+    private static void evict(final PersistenceSession persistenceSession, final List<ObjectAdapter> chunk) {
+        for (final ObjectAdapter adapter : chunk) {
+            persistenceSession.evict(adapter);
+        }
+        chunk.clear();
+    }
+
+}
@@ -0,0 +1,118 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.viewer.wicket.ui.components.collection.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Writes rows as comma-separated values (per RFC 4180), encoded as UTF-8 with a byte order mark (so that the file
+ * is opened correctly by Excel).
+ *
+ * <p>
+ *     Any text that a spreadsheet would interpret as a formula (starting with <tt>=</tt>, <tt>+</tt>, <tt>-</tt>,
+ *     <tt>@</tt>, a tab or a carriage return) is prefixed with a single quote, so that it is displayed as text
+ *     instead (guarding against CSV injection).  Numbers are written as is.
+ * </p>
+ */
+public class CsvTableWriter implements TableWriter {
+
+    private static final String LINE_SEPARATOR = "\r\n";
+
+    private final Writer writer;
+
+    public CsvTableWriter(final OutputStream outputStream) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        writer.write('\uFEFF');
+    }
+
+    @Override
+    public void writeRow(final List<Object> cells) throws IOException {
+        for (int i = 0; i < cells.size(); i++) {
+            if(i > 0) {
+                writer.write(',');
+            }
+            final Object cell = cells.get(i);
+            if(cell instanceof Number) {
+                writeEscaped(cell.toString());
+            } else if(cell != null) {
+                writeEscaped(neutralized(cell.toString()));
+            }
+        }
+        writer.write(LINE_SEPARATOR);
+    }
+
+    private static String neutralized(final String value) {
+        if(value.isEmpty()) {
+            return value;
+        }
+        switch (value.charAt(0)) {
+            case '=':
+            case '+':
+            case '-':
+            case '@':
+            case '\t':
+            case '\r':
+                return "'" + value;
+            default:
+                return value;
+        }
+    }
+
+    private void writeEscaped(final String value) throws IOException {
+        if(!requiresQuoting(value)) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if(c == '"') {
+                writer.write('"');
+            }
+            writer.write(c);
+        }
+        writer.write('"');
+    }
+
+    private static boolean requiresQuoting(final String value) {
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if(c == ',' || c == '"' || c == '\r' || c == '\n') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.flush();
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.viewer.wicket.ui.components.collection.export;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Writes the rows of a table to an underlying stream, as they are provided.
+ *
+ * <p>
+ *     Each cell is either <tt>null</tt> (empty), a {@link Number}, a {@link Boolean} or (otherwise) a {@link String}.
+ * </p>
+ */
+public interface TableWriter extends Closeable {
+
+    void writeRow(List<Object> cells) throws IOException;
+
+    /**
+     * Flushes any buffered rows to the underlying stream.
+     */
+    void flush() throws IOException;
+
+    /**
+     * Completes the document; does <i>not</i> close the underlying stream.
+     */
+    @Override
+    void close() throws IOException;
+}
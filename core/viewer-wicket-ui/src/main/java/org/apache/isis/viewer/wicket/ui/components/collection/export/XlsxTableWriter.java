@@ -0,0 +1,208 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.viewer.wicket.ui.components.collection.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Writes rows as an Office Open XML (<tt>.xlsx</tt>) workbook with a single worksheet.
+ *
+ * <p>
+ *     The fixed parts of the package are written up-front, and the worksheet (the last entry of the zip) is then
+ *     streamed row by row, so that the memory used does not depend on the number of rows.  Strings are written
+ *     inline (rather than to a shared strings table) for the same reason.
+ * </p>
+ */
+public class XlsxTableWriter implements TableWriter {
+
+    private static final String XML_DECLARATION = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n";
+
+    private static final String CONTENT_TYPES =
+            XML_DECLARATION +
+            "<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">" +
+            "<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>" +
+            "<Default Extension=\"xml\" ContentType=\"application/xml\"/>" +
+            "<Override PartName=\"/xl/workbook.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/>" +
+            "<Override PartName=\"/xl/worksheets/sheet1.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml\"/>" +
+            "</Types>";
+
+    private static final String ROOT_RELS =
+            XML_DECLARATION +
+            "<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">" +
+            "<Relationship Id=\"rId1\" Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/officeDocument\" Target=\"xl/workbook.xml\"/>" +
+            "</Relationships>";
+
+    private static final String WORKBOOK_RELS =
+            XML_DECLARATION +
+            "<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">" +
+            "<Relationship Id=\"rId1\" Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/worksheet\" Target=\"worksheets/sheet1.xml\"/>" +
+            "</Relationships>";
+
+    private static final String SHEET_START =
+            XML_DECLARATION +
+            "<worksheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\"><sheetData>";
+
+    private static final String SHEET_END = "</sheetData></worksheet>";
+
+    /**
+     * Excel's limit on the length of a sheet name.
+     */
+    private static final int SHEET_NAME_MAX_LENGTH = 31;
+
+    private final ZipOutputStream zipOutputStream;
+    private final Writer writer;
+
+    public XlsxTableWriter(final OutputStream outputStream, final String sheetName) throws IOException {
+        this.zipOutputStream = new ZipOutputStream(outputStream, StandardCharsets.UTF_8);
+        this.writer = new BufferedWriter(new OutputStreamWriter(zipOutputStream, StandardCharsets.UTF_8));
+
+        writeEntry("[Content_Types].xml", CONTENT_TYPES);
+        writeEntry("_rels/.rels", ROOT_RELS);
+        writeEntry("xl/workbook.xml", workbook(sheetName));
+        writeEntry("xl/_rels/workbook.xml.rels", WORKBOOK_RELS);
+
+        zipOutputStream.putNextEntry(new ZipEntry("xl/worksheets/sheet1.xml"));
+        writer.write(SHEET_START);
+    }
+
+    private static String workbook(final String sheetName) {
+        final StringBuilder buf = new StringBuilder();
+        buf.append(XML_DECLARATION)
+           .append("<workbook xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\"")
+           .append(" xmlns:r=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships\">")
+           .append("<sheets><sheet name=\"");
+        appendEscaped(buf, asSheetName(sheetName));
+        buf.append("\" sheetId=\"1\" r:id=\"rId1\"/></sheets></workbook>");
+        return buf.toString();
+    }
+
+    /**
+     * Excel does not allow certain characters in a sheet name, and limits its length.
+     */
+    static String asSheetName(final String name) {
+        if(name == null || name.trim().isEmpty()) {
+            return "Sheet1";
+        }
+        final String sheetName = name.replaceAll("[\\\\/?*\\[\\]:]", " ").trim();
+        return sheetName.length() > SHEET_NAME_MAX_LENGTH
+                ? sheetName.substring(0, SHEET_NAME_MAX_LENGTH)
+                : sheetName;
+    }
+
+    private void writeEntry(final String name, final String content) throws IOException {
+        zipOutputStream.putNextEntry(new ZipEntry(name));
+        writer.write(content);
+        writer.flush();
+        zipOutputStream.closeEntry();
+    }
+
+    @Override
+    public void writeRow(final List<Object> cells) throws IOException {
+        final StringBuilder buf = new StringBuilder("<row>");
+        for (final Object cell : cells) {
+            appendCell(buf, cell);
+        }
+        buf.append("</row>");
+        writer.write(buf.toString());
+    }
+
+    private static void appendCell(final StringBuilder buf, final Object cell) {
+        if(cell == null) {
+            buf.append("<c/>");
+            return;
+        }
+        if(cell instanceof Boolean) {
+            buf.append("<c t=\"b\"><v>").append((Boolean) cell ? '1' : '0').append("</v></c>");
+            return;
+        }
+        if(cell instanceof Number) {
+            final String number = asNumber((Number) cell);
+            if(number != null) {
+                buf.append("<c><v>").append(number).append("</v></c>");
+                return;
+            }
+        }
+        buf.append("<c t=\"inlineStr\"><is><t xml:space=\"preserve\">");
+        appendEscaped(buf, cell.toString());
+        buf.append("</t></is></c>");
+    }
+
+    /**
+     * The number in a form acceptable to Excel, or <tt>null</tt> if not representable (eg NaN).
+     */
+    private static String asNumber(final Number number) {
+        if(number instanceof BigDecimal) {
+            return ((BigDecimal) number).toPlainString();
+        }
+        if(number instanceof Double || number instanceof Float) {
+            final double d = number.doubleValue();
+            return Double.isNaN(d) || Double.isInfinite(d) ? null : Double.toString(d);
+        }
+        return number.toString();
+    }
+
+    /**
+     * Escapes the XML special characters, and drops any characters that are not allowed in XML at all.
+     */
+    private static void appendEscaped(final StringBuilder buf, final String str) {
+        for (int i = 0; i < str.length(); i++) {
+            final char c = str.charAt(i);
+            switch (c) {
+            case '<':
+                buf.append("&lt;");
+                break;
+            case '>':
+                buf.append("&gt;");
+                break;
+            case '&':
+                buf.append("&amp;");
+                break;
+            case '"':
+                buf.append("&quot;");
+                break;
+            default:
+                if(c >= 0x20 || c == '\t' || c == '\n' || c == '\r') {
+                    buf.append(c);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.write(SHEET_END);
+        writer.flush();
+        zipOutputStream.closeEntry();
+        zipOutputStream.finish();
+    }
+}
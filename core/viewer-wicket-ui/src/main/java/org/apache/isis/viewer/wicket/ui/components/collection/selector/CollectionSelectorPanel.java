@@ -19,6 +19,7 @@
 
 package org.apache.isis.viewer.wicket.ui.components.collection.selector;
 
+import java.util.Arrays;
 import java.util.List;
 
 import org.apache.wicket.AttributeModifier;
@@ -29,19 +30,26 @@
 import org.apache.wicket.markup.html.WebMarkupContainer;
 import org.apache.wicket.markup.html.basic.Label;
 import org.apache.wicket.markup.html.link.AbstractLink;
+import org.apache.wicket.markup.html.link.Link;
 import org.apache.wicket.markup.html.list.ListItem;
 import org.apache.wicket.markup.html.list.ListView;
 import org.apache.wicket.model.IModel;
 import org.apache.wicket.model.Model;
+import org.apache.wicket.request.handler.resource.ResourceStreamRequestHandler;
+import org.apache.wicket.request.resource.ContentDisposition;
+import org.apache.wicket.util.time.Duration;
 
 import org.apache.isis.applib.services.bookmark.Bookmark;
 import org.apache.isis.core.commons.lang.StringExtensions;
 import org.apache.isis.viewer.wicket.model.hints.IsisSelectorEvent;
+import org.apache.isis.viewer.wicket.model.isis.WicketViewerSettings;
 import org.apache.isis.viewer.wicket.model.models.EntityCollectionModel;
 import org.apache.isis.viewer.wicket.model.models.EntityModel;
 import org.apache.isis.viewer.wicket.model.util.ComponentHintKey;
 import org.apache.isis.viewer.wicket.ui.CollectionContentsAsFactory;
 import org.apache.isis.viewer.wicket.ui.ComponentFactory;
+import org.apache.isis.viewer.wicket.ui.components.collection.export.CollectionExportFormat;
+import org.apache.isis.viewer.wicket.ui.components.collection.export.CollectionExportResourceStream;
 import org.apache.isis.viewer.wicket.ui.panels.PanelAbstract;
 import org.apache.isis.viewer.wicket.ui.util.CssClassAppender;
 
@@ -66,6 +74,11 @@ public class CollectionSelectorPanel extends PanelAbstract<EntityCollectionModel
     private static final String ID_VIEW_BUTTON_TITLE = "viewButtonTitle";
     private static final String ID_VIEW_BUTTON_ICON = "viewButtonIcon";
 
+    private static final String ID_EXPORTS = "exports";
+    private static final String ID_EXPORT_ITEM = "exportItem";
+    private static final String ID_EXPORT_LINK = "exportLink";
+    private static final String ID_EXPORT_ITEM_TITLE = "exportItemTitle";
+
     private final CollectionSelectorHelper selectorHelper;
     private final ComponentHintKey componentHintKey;
 
@@ -94,6 +107,7 @@ public CollectionSelectorPanel(
     public void onInitialize() {
         super.onInitialize();
         addDropdown();
+        addExportDropdown();
     }
 
 
@@ -220,13 +234,59 @@ private IModel<String> nameFor(final ComponentFactory componentFactory) {
     }
 
 
+    private void addExportDropdown() {
+        if(!getSettings().isCollectionExportEnabled()) {
+            permanentlyHide(ID_EXPORTS);
+            return;
+        }
+
+        final WebMarkupContainer exports = new WebMarkupContainer(ID_EXPORTS);
+        final ListView<CollectionExportFormat> listView = new ListView<CollectionExportFormat>(
+                ID_EXPORT_ITEM, Arrays.asList(CollectionExportFormat.values())) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected void populateItem(final ListItem<CollectionExportFormat> item) {
+                final CollectionExportFormat format = item.getModelObject();
+                final Link<Void> link = new Link<Void>(ID_EXPORT_LINK) {
+                    private static final long serialVersionUID = 1L;
+
+                    @Override
+                    public void onClick() {
+                        final CollectionExportResourceStream resourceStream = new CollectionExportResourceStream(
+                                CollectionSelectorPanel.this.getModel(), format,
+                                getSettings().getCollectionExportChunkSize());
+                        final ResourceStreamRequestHandler handler =
+                                new ResourceStreamRequestHandler(resourceStream, resourceStream.getFileName());
+                        handler.setContentDisposition(ContentDisposition.ATTACHMENT);
+                        handler.setCacheDuration(Duration.NONE);
+                        getRequestCycle().scheduleRequestHandlerAfterCurrent(handler);
+                    }
+                };
+                link.add(new Label(ID_EXPORT_ITEM_TITLE, format.getTitle()));
+                item.add(link);
+            }
+        };
+        exports.add(listView);
+        addOrReplace(exports);
+    }
+
     protected void setViewHintAndBroadcast(String viewName, AjaxRequestTarget target) {
         final CollectionSelectorPanel component = CollectionSelectorPanel.this;
         final IsisSelectorEvent selectorEvent =
                 new IsisSelectorEvent(component, CollectionSelectorHelper.UIHINT_EVENT_VIEW_KEY, viewName, target);
         send(getPage(), Broadcast.EXACT, selectorEvent);
     }
-}
 
+    //region > dependencies
 
+    @com.google.inject.Inject
+    private WicketViewerSettings settings;
+    protected WicketViewerSettings getSettings() {
+        return settings;
+    }
 
+    //endregion
+
+}
@@ -20,10 +20,8 @@
 package org.apache.isis.viewer.wicket.ui.components.collectioncontents.ajaxtable;
 
 import java.util.List;
-import java.util.Map;
 
 import com.google.common.collect.Lists;
-import com.google.common.collect.Maps;
 
 import org.apache.wicket.Component;
 import org.apache.wicket.ajax.AjaxRequestTarget;
@@ -31,20 +29,10 @@
 import org.apache.wicket.extensions.markup.html.repeater.data.table.IColumn;
 import org.apache.wicket.model.Model;
 
-import org.apache.isis.applib.annotation.Where;
-import org.apache.isis.applib.filter.Filter;
-import org.apache.isis.applib.filter.Filters;
-import org.apache.isis.applib.layout.component.Grid;
-import org.apache.isis.applib.services.tablecol.TableColumnOrderService;
 import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
-import org.apache.isis.core.metamodel.adapter.mgr.AdapterManager.ConcurrencyChecking;
 import org.apache.isis.core.metamodel.adapter.version.ConcurrencyException;
-import org.apache.isis.core.metamodel.facets.all.hide.HiddenFacet;
 import org.apache.isis.core.metamodel.facets.all.named.NamedFacet;
-import org.apache.isis.core.metamodel.facets.object.grid.GridFacet;
 import org.apache.isis.core.metamodel.services.ServicesInjector;
-import org.apache.isis.core.metamodel.spec.ObjectSpecification;
-import org.apache.isis.core.metamodel.spec.feature.Contributed;
 import org.apache.isis.core.metamodel.spec.feature.ObjectAssociation;
 import org.apache.isis.viewer.wicket.model.common.OnConcurrencyExceptionHandler;
 import org.apache.isis.viewer.wicket.model.isis.WicketViewerSettings;
@@ -156,103 +144,13 @@ private void addTitleColumn(
     }
 
     private void addPropertyColumnsIfRequired(final List<IColumn<ObjectAdapter,String>> columns) {
-        final ObjectSpecification typeOfSpec = getModel().getTypeOfSpecification();
-
-        // same code also appears in EntityPage.
-        // we need to do this here otherwise any tables will render the columns in the wrong order until at least
-        // one object of that type has been rendered via EntityPage.
-        final GridFacet gridFacet = typeOfSpec.getFacet(GridFacet.class);
-        if(gridFacet != null) {
-            // the facet should always exist, in fact
-            // just enough to ask for the metadata.
-            // This will cause the current ObjectSpec to be updated as a side effect.
-            final Grid unused = gridFacet.getGrid();
-        }
-
-        final Where whereContext =
-                getModel().isParented()
-                    ? Where.PARENTED_TABLES
-                    : Where.STANDALONE_TABLES;
-        
-        final ObjectSpecification parentSpecIfAny = 
-                getModel().isParented() 
-                    ? getModel().getParentObjectAdapterMemento().getObjectAdapter(ConcurrencyChecking.NO_CHECK,
-                        getPersistenceSession(), getSpecificationLoader()).getSpecification()
-                    : null;
-        
-        @SuppressWarnings("unchecked")
-        final Filter<ObjectAssociation> filter = Filters.and(
-                ObjectAssociation.Filters.PROPERTIES, 
-                ObjectAssociation.Filters.staticallyVisible(whereContext),
-                associationDoesNotReferenceParent(parentSpecIfAny));
-        
-        final List<? extends ObjectAssociation> propertyList = typeOfSpec.getAssociations(Contributed.INCLUDED, filter);
-        final Map<String, ObjectAssociation> propertyById = Maps.newLinkedHashMap();
-        for (final ObjectAssociation property : propertyList) {
-            propertyById.put(property.getId(), property);
-        }
-        List<String> propertyIds = Lists.newArrayList(propertyById.keySet());
-
-        // optional SPI to reorder
-        final List<TableColumnOrderService> tableColumnOrderServices =
-                getServicesInjector().lookupServices(TableColumnOrderService.class);
-
-        for (final TableColumnOrderService tableColumnOrderService : tableColumnOrderServices) {
-            final List<String> propertyReorderedIds = reordered(tableColumnOrderService, propertyIds);
-            if(propertyReorderedIds != null) {
-                propertyIds = propertyReorderedIds;
-                break;
-            }
-        }
-
-        for (final String propertyId : propertyIds) {
-            final ObjectAssociation property = propertyById.get(propertyId);
+        final List<ObjectAssociation> properties = new TablePropertiesHelper(getModel()).getProperties();
+        for (final ObjectAssociation property : properties) {
             final ColumnAbstract<ObjectAdapter> nopc = createObjectAdapterPropertyColumn(property);
             columns.add(nopc);
         }
     }
 
-    private List<String> reordered(
-            final TableColumnOrderService tableColumnOrderService,
-            final List<String> propertyIds) {
-
-        final Class<?> collectionType = getModel().getTypeOfSpecification().getCorrespondingClass();
-
-        final ObjectAdapterMemento parentObjectAdapterMemento = getModel().getParentObjectAdapterMemento();
-        if(parentObjectAdapterMemento != null) {
-            final ObjectAdapter parentObjectAdapter = parentObjectAdapterMemento
-                    .getObjectAdapter(ConcurrencyChecking.NO_CHECK, getPersistenceSession(), getSpecificationLoader());
-            final Object parent = parentObjectAdapter.getObject();
-            final String collectionId = getModel().getCollectionMemento().getId();
-
-            return tableColumnOrderService.orderParented(parent, collectionId, collectionType, propertyIds);
-        } else {
-            return tableColumnOrderService.orderStandalone(collectionType, propertyIds);
-        }
-    }
-
-    static Filter<ObjectAssociation> associationDoesNotReferenceParent(final ObjectSpecification parentSpec) {
-        if(parentSpec == null) {
-            return Filters.any();
-        }
-        return new Filter<ObjectAssociation>() {
-            @Override
-            public boolean accept(ObjectAssociation association) {
-                final HiddenFacet facet = association.getFacet(HiddenFacet.class);
-                if(facet == null) {
-                    return true;
-                }
-                if (facet.where() != Where.REFERENCES_PARENT) {
-                    return true;
-                }
-                final ObjectSpecification assocSpec = association.getSpecification();
-                final boolean associationSpecIsOfParentSpec = parentSpec.isOfType(assocSpec);
-                final boolean isVisible = !associationSpecIsOfParentSpec;
-                return isVisible;
-            }
-        };
-    }
-
     private ObjectAdapterPropertyColumn createObjectAdapterPropertyColumn(final ObjectAssociation property) {
 
         final NamedFacet facet = property.getFacet(NamedFacet.class);
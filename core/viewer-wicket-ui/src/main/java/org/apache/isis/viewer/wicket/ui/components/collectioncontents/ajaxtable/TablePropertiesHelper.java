@@ -0,0 +1,165 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.viewer.wicket.ui.components.collectioncontents.ajaxtable;
+
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import org.apache.isis.applib.annotation.Where;
+import org.apache.isis.applib.filter.Filter;
+import org.apache.isis.applib.filter.Filters;
+import org.apache.isis.applib.layout.component.Grid;
+import org.apache.isis.applib.services.tablecol.TableColumnOrderService;
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.adapter.mgr.AdapterManager.ConcurrencyChecking;
+import org.apache.isis.core.metamodel.facets.all.hide.HiddenFacet;
+import org.apache.isis.core.metamodel.facets.object.grid.GridFacet;
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+import org.apache.isis.core.metamodel.spec.feature.Contributed;
+import org.apache.isis.core.metamodel.spec.feature.ObjectAssociation;
+import org.apache.isis.viewer.wicket.model.mementos.ObjectAdapterMemento;
+import org.apache.isis.viewer.wicket.model.models.EntityCollectionModel;
+
+/**
+ * Determines the properties of the objects of an {@link EntityCollectionModel} that are rendered as the columns of a
+ * table (and their order), both by {@link CollectionContentsAsAjaxTablePanel} and when the collection is exported.
+ */
+public class TablePropertiesHelper {
+
+    private final EntityCollectionModel model;
+
+    public TablePropertiesHelper(final EntityCollectionModel model) {
+        this.model = model;
+    }
+
+    /**
+     * The context in which the properties are rendered, for the purpose of (static or dynamic) visibility.
+     */
+    public Where getWhere() {
+        return model.isParented()
+                ? Where.PARENTED_TABLES
+                : Where.STANDALONE_TABLES;
+    }
+
+    public List<ObjectAssociation> getProperties() {
+        final ObjectSpecification typeOfSpec = model.getTypeOfSpecification();
+
+        // same code also appears in EntityPage.
+        // we need to do this here otherwise any tables will render the columns in the wrong order until at least
+        // one object of that type has been rendered via EntityPage.
+        final GridFacet gridFacet = typeOfSpec.getFacet(GridFacet.class);
+        if(gridFacet != null) {
+            // the facet should always exist, in fact
+            // just enough to ask for the metadata.
+            // This will cause the current ObjectSpec to be updated as a side effect.
+            final Grid unused = gridFacet.getGrid();
+        }
+
+        final ObjectAdapter parentAdapterIfAny = parentAdapterIfAny();
+        final ObjectSpecification parentSpecIfAny =
+                parentAdapterIfAny != null
+                    ? parentAdapterIfAny.getSpecification()
+                    : null;
+
+        @SuppressWarnings("unchecked")
+        final Filter<ObjectAssociation> filter = Filters.and(
+                ObjectAssociation.Filters.PROPERTIES,
+                ObjectAssociation.Filters.staticallyVisible(getWhere()),
+                associationDoesNotReferenceParent(parentSpecIfAny));
+
+        final List<? extends ObjectAssociation> propertyList = typeOfSpec.getAssociations(Contributed.INCLUDED, filter);
+        final Map<String, ObjectAssociation> propertyById = Maps.newLinkedHashMap();
+        for (final ObjectAssociation property : propertyList) {
+            propertyById.put(property.getId(), property);
+        }
+        List<String> propertyIds = Lists.newArrayList(propertyById.keySet());
+
+        // optional SPI to reorder
+        final List<TableColumnOrderService> tableColumnOrderServices =
+                model.getIsisSessionFactory().getServicesInjector().lookupServices(TableColumnOrderService.class);
+
+        for (final TableColumnOrderService tableColumnOrderService : tableColumnOrderServices) {
+            final List<String> propertyReorderedIds = reordered(tableColumnOrderService, parentAdapterIfAny, propertyIds);
+            if(propertyReorderedIds != null) {
+                propertyIds = propertyReorderedIds;
+                break;
+            }
+        }
+
+        final List<ObjectAssociation> properties = Lists.newArrayList();
+        for (final String propertyId : propertyIds) {
+            final ObjectAssociation property = propertyById.get(propertyId);
+            if(property != null) {
+                properties.add(property);
+            }
+        }
+        return properties;
+    }
+
+    private ObjectAdapter parentAdapterIfAny() {
+        final ObjectAdapterMemento parentObjectAdapterMemento = model.getParentObjectAdapterMemento();
+        return parentObjectAdapterMemento != null
+                ? parentObjectAdapterMemento.getObjectAdapter(
+                        ConcurrencyChecking.NO_CHECK, model.getPersistenceSession(), model.getSpecificationLoader())
+                : null;
+    }
+
+    private List<String> reordered(
+            final TableColumnOrderService tableColumnOrderService,
+            final ObjectAdapter parentAdapterIfAny,
+            final List<String> propertyIds) {
+
+        final Class<?> collectionType = model.getTypeOfSpecification().getCorrespondingClass();
+
+        if(parentAdapterIfAny != null) {
+            final Object parent = parentAdapterIfAny.getObject();
+            final String collectionId = model.getCollectionMemento().getId();
+
+            return tableColumnOrderService.orderParented(parent, collectionId, collectionType, propertyIds);
+        } else {
+            return tableColumnOrderService.orderStandalone(collectionType, propertyIds);
+        }
+    }
+
+    static Filter<ObjectAssociation> associationDoesNotReferenceParent(final ObjectSpecification parentSpec) {
+        if(parentSpec == null) {
+            return Filters.any();
+        }
+        return new Filter<ObjectAssociation>() {
+            @Override
+            public boolean accept(ObjectAssociation association) {
+                final HiddenFacet facet = association.getFacet(HiddenFacet.class);
+                if(facet == null) {
+                    return true;
+                }
+                if (facet.where() != Where.REFERENCES_PARENT) {
+                    return true;
+                }
+                final ObjectSpecification assocSpec = association.getSpecification();
+                final boolean associationSpecIsOfParentSpec = parentSpec.isOfType(assocSpec);
+                final boolean isVisible = !associationSpecIsOfParentSpec;
+                return isVisible;
+            }
+        };
+    }
+
+}
@@ -39,6 +39,7 @@
 import org.apache.isis.core.metamodel.spec.ObjectSpecification;
 import org.apache.isis.core.metamodel.spec.feature.Contributed;
 import org.apache.isis.core.metamodel.spec.feature.ObjectAssociation;
+import org.apache.isis.objectstore.jdo.datanucleus.persistence.queries.PropertyAggregates;
 import org.apache.isis.viewer.wicket.model.models.EntityCollectionModel;
 import org.apache.isis.viewer.wicket.ui.components.collection.count.CollectionCountProvider;
 import org.apache.isis.viewer.wicket.ui.panels.PanelAbstract;
@@ -89,7 +90,12 @@ private void buildGui() {
         RepeatingView repeating = new RepeatingView(ID_REPEATING_SUMMARY);
         addOrReplace(repeating);
 
-        for (ObjectAssociation numberAssociation : numberAssociations) {
+        // computed by the database if possible, otherwise falls back to loading every object
+        final List<PropertyAggregates> aggregates =
+                !numberAssociations.isEmpty() ? model.aggregatesOf(numberAssociations) : null;
+
+        for (int i = 0; i < numberAssociations.size(); i++) {
+            final ObjectAssociation numberAssociation = numberAssociations.get(i);
             AbstractItem item = new AbstractItem(repeating.newChildId());
 
             repeating.add(item);
@@ -98,8 +104,13 @@ private void buildGui() {
             item.add(new Label(ID_PROPERTY_NAME, new Model<String>(propertyName)));
 
 
-            List<ObjectAdapter> adapters = model.getObject();
-            Summary summary = new Summary(propertyName, adapters, numberAssociation);
+            final Summary summary;
+            if(aggregates != null) {
+                summary = new Summary(propertyName, aggregates.get(i));
+            } else {
+                List<ObjectAdapter> adapters = model.getObject();
+                summary = new Summary(propertyName, adapters, numberAssociation);
+            }
             addItem(item, ID_SUM, summary.getTotal());
             addItem(item, ID_AVG, summary.getAverage());
             addItem(item, ID_MIN, summary.getMin());
@@ -144,7 +155,23 @@ public Summary(String propertyName, List<ObjectAdapter> adapters, ObjectAssociat
                 max = max != null && max.compareTo(value) > 0 ? max : value;
                 values.add(value);
             }
-            average = nonNullCount != 0 ? sum.divide(BigDecimal.valueOf(nonNullCount), 2, RoundingMode.HALF_UP) : null;
+            average = averageOf(sum, nonNullCount);
+        }
+
+        /**
+         * From aggregates computed by the database; the {@link #getTitles() titles} and {@link #getValues() values}
+         * of the individual objects are not available.
+         */
+        public Summary(String propertyName, PropertyAggregates aggregates) {
+            this.propertyName = propertyName;
+            sum = aggregates.getSum();
+            min = aggregates.getMin();
+            max = aggregates.getMax();
+            average = averageOf(sum, aggregates.getCount());
+        }
+
+        private static BigDecimal averageOf(final BigDecimal sum, final long nonNullCount) {
+            return nonNullCount != 0 ? sum.divide(BigDecimal.valueOf(nonNullCount), 2, RoundingMode.HALF_UP) : null;
         }
         
         public String getPropertyName() {
@@ -218,14 +218,16 @@ private Select2 createSelect2() {
         } else if(getModel().hasAutoComplete()) {
 
             final int minLength = getModel().getAutoCompleteMinLength();
-            settings.setMinimumInputLength(minLength);
+            settings.setMinimumInputLength(Math.max(minLength, wicketViewerSettings.getAutoCompleteMinLength()));
             settings.setPlaceholder(getModel().getName());
+            settings.getAjax(true).setDelay(wicketViewerSettings.getAutoCompleteDelay());
 
         } else if(hasObjectAutoComplete()) {
             final ObjectSpecification typeOfSpecification = getModel().getTypeOfSpecification();
             final AutoCompleteFacet autoCompleteFacet = typeOfSpecification.getFacet(AutoCompleteFacet.class);
             final int minLength = autoCompleteFacet.getMinLength();
-            settings.setMinimumInputLength(minLength);
+            settings.setMinimumInputLength(Math.max(minLength, wicketViewerSettings.getAutoCompleteMinLength()));
+            settings.getAjax(true).setDelay(wicketViewerSettings.getAutoCompleteDelay());
         }
 
         return select2;
@@ -0,0 +1,296 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.viewer.wicket.ui.components.widgets.select2.providers;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import org.apache.isis.viewer.wicket.model.mementos.ObjectAdapterMemento;
+
+/**
+ * Caches the results of autoComplete queries, so that the same or a longer search term need not hit the database
+ * again.
+ *
+ * <p>
+ *     The results for a term are reused (filtered by title) for any longer term that starts with it only if they are
+ *     {@link Entry#isRefinable() refinable}, that is, if the autoComplete query is declared (using
+ *     {@link org.apache.isis.applib.annotation.MatchesTitle}) to match on the title of the returned objects, and
+ *     returned fewer than its maximum number of results.  Otherwise the query is run for every (new) term.
+ * </p>
+ *
+ * <p>
+ *     Concurrent requests for the same term in the same scope are coalesced: only one of them runs the query, the
+ *     others wait for its result.
+ * </p>
+ *
+ * <p>
+ *     Results are cached per session unless the cache is configured to be shared; a shared cache should only be
+ *     used if the results of the autoComplete queries do not depend upon the current user.
+ * </p>
+ */
+public class AutoCompleteResultCache {
+
+    /**
+     * Runs the underlying autoComplete query, returning the matches and their titles.
+     */
+    public interface Query {
+        Entry execute(String term);
+    }
+
+    private final Cache<Key, Entry> entryByKey;
+    private final ConcurrentMap<Key, FutureTask<Entry>> inFlightByKey = Maps.newConcurrentMap();
+
+    private final boolean shared;
+
+    public AutoCompleteResultCache(
+            final boolean shared,
+            final int maxSize,
+            final int timeToLiveSeconds) {
+        this.shared = shared;
+        this.entryByKey = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(timeToLiveSeconds, TimeUnit.SECONDS)
+                .build();
+    }
+
+    /**
+     * Whether cached results are shared across all sessions.
+     */
+    public boolean isShared() {
+        return shared;
+    }
+
+    /**
+     * Returns the mementos matching the term, either from the cache or by running the provided query.
+     *
+     * @param sessionId - identifies the current session; ignored if the cache is {@link #isShared() shared}.
+     * @param scope - identifies the autoComplete (eg type, or property/parameter of a particular object).
+     * @param term - the search term entered by the user.
+     * @param query - the underlying query to run if no cached results are available.
+     */
+    public List<ObjectAdapterMemento> obtainMementos(
+            final String sessionId,
+            final String scope,
+            final String term,
+            final Query query) {
+
+        final String sessionIdIfAny = shared ? null : sessionId;
+        final String searchTerm = term != null ? term : "";
+        final Key key = new Key(sessionIdIfAny, scope, searchTerm);
+
+        final Entry cached = entryByKey.getIfPresent(key);
+        if(cached != null) {
+            return cached.getMementos();
+        }
+
+        final Entry refined = refineFromShorterTerm(sessionIdIfAny, scope, searchTerm);
+        if(refined != null) {
+            entryByKey.put(key, refined);
+            return refined.getMementos();
+        }
+
+        final Entry entry = executeCoalesced(key, query);
+        entryByKey.put(key, entry);
+        return entry.getMementos();
+    }
+
+    /**
+     * Searches for the longest shorter term with cached results, and (if refinable) filters those results.
+     */
+    private Entry refineFromShorterTerm(final String sessionIdIfAny, final String scope, final String term) {
+        for (int length = term.length() - 1; length >= 0; length--) {
+            final Key prefixKey = new Key(sessionIdIfAny, scope, term.substring(0, length));
+            final Entry prefixEntry = entryByKey.getIfPresent(prefixKey);
+            if(prefixEntry == null) {
+                continue;
+            }
+            if(!prefixEntry.isRefinable()) {
+                // nor will any shorter prefix be
+                return null;
+            }
+            return prefixEntry.refine(term);
+        }
+        return null;
+    }
+
+    private Entry executeCoalesced(final Key key, final Query query) {
+        final FutureTask<Entry> task = new FutureTask<>(new Callable<Entry>() {
+            @Override
+            public Entry call() throws Exception {
+                return query.execute(key.term);
+            }
+        });
+        final FutureTask<Entry> inFlight = inFlightByKey.putIfAbsent(key, task);
+        if(inFlight == null) {
+            try {
+                task.run();
+            } finally {
+                inFlightByKey.remove(key, task);
+            }
+            return getResult(task);
+        }
+
+        try {
+            return getResult(inFlight);
+        } catch(RuntimeException ex) {
+            // the other request failed; run the query ourselves so that the error (if any) is our own
+            return query.execute(key.term);
+        }
+    }
+
+    private static Entry getResult(final FutureTask<Entry> task) {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            throw Throwables.propagate(e.getCause());
+        }
+    }
+
+    public void invalidateAll() {
+        entryByKey.invalidateAll();
+    }
+
+    public long size() {
+        return entryByKey.size();
+    }
+
+    /**
+     * Creates an {@link Entry} for the results of an autoComplete query.
+     *
+     * @param matchesTitleMaxResults - the maximum number of results returned by the query, if it is declared to match
+     *                               on title; <tt>0</tt> otherwise.  The entry is only
+     *                               {@link Entry#isRefinable() refinable} if it has fewer results than this.
+     */
+    public Entry newEntry(
+            final List<ObjectAdapterMemento> mementos,
+            final List<String> titles,
+            final int matchesTitleMaxResults) {
+        return new Entry(mementos, titles, matchesTitleMaxResults > 0 && mementos.size() < matchesTitleMaxResults);
+    }
+
+    //region > Entry
+
+    public static class Entry {
+
+        private final List<ObjectAdapterMemento> mementos;
+        private final List<String> titlesLowerCase;
+        private final boolean refinable;
+
+        Entry(final List<ObjectAdapterMemento> mementos, final List<String> titles, final boolean refinable) {
+            if(mementos.size() != titles.size()) {
+                throw new IllegalArgumentException("mementos and titles must have the same size");
+            }
+            this.mementos = Collections.unmodifiableList(Lists.newArrayList(mementos));
+            final List<String> titlesLowerCase = Lists.newArrayList();
+            for (String title : titles) {
+                titlesLowerCase.add(title != null ? title.toLowerCase() : "");
+            }
+            this.titlesLowerCase = Collections.unmodifiableList(titlesLowerCase);
+            this.refinable = refinable;
+        }
+
+        public List<ObjectAdapterMemento> getMementos() {
+            return mementos;
+        }
+
+        /**
+         * Whether these are all the objects whose title contains the term, so can be filtered to provide the results
+         * for a longer term.
+         */
+        public boolean isRefinable() {
+            return refinable;
+        }
+
+        /**
+         * Those mementos whose title contains the (longer) term.
+         */
+        Entry refine(final String term) {
+            final String termLowerCase = term.toLowerCase();
+            final List<ObjectAdapterMemento> refinedMementos = Lists.newArrayList();
+            final List<String> refinedTitles = Lists.newArrayList();
+            for (int i = 0; i < mementos.size(); i++) {
+                final String title = titlesLowerCase.get(i);
+                if(title.contains(termLowerCase)) {
+                    refinedMementos.add(mementos.get(i));
+                    refinedTitles.add(title);
+                }
+            }
+            return new Entry(refinedMementos, refinedTitles, true);
+        }
+    }
+
+    //endregion
+
+    //region > Key
+
+    static final class Key {
+
+        private final String sessionId;
+        private final String scope;
+        private final String term;
+
+        Key(final String sessionId, final String scope, final String term) {
+            this.sessionId = sessionId;
+            this.scope = scope;
+            this.term = term;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            final Key other = (Key) o;
+            return Objects.equals(sessionId, other.sessionId) &&
+                    Objects.equals(scope, other.scope) &&
+                    Objects.equals(term, other.term);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(sessionId, scope, term);
+        }
+
+        @Override
+        public String toString() {
+            return (sessionId != null ? sessionId + ":" : "") + scope + ":'" + term + "'";
+        }
+    }
+
+    //endregion
+
+}
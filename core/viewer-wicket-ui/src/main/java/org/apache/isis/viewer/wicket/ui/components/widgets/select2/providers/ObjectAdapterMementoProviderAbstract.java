@@ -20,6 +20,7 @@
 import java.util.List;
 import java.util.Locale;
 
+import com.google.common.base.Function;
 import com.google.common.collect.Lists;
 import org.wicketstuff.select2.ChoiceProvider;
 import org.apache.wicket.Session;
@@ -30,6 +31,8 @@
 import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
 import org.apache.isis.core.metamodel.adapter.mgr.AdapterManager.ConcurrencyChecking;
 import org.apache.isis.core.metamodel.deployment.DeploymentCategory;
+import org.apache.isis.core.metamodel.facets.ImperativeFacet;
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
 import org.apache.isis.core.metamodel.specloader.SpecificationLoader;
 import org.apache.isis.core.runtime.system.context.IsisContext;
 import org.apache.isis.core.runtime.system.persistence.PersistenceSession;
@@ -122,6 +125,79 @@ protected final List<ObjectAdapterMemento> obtainMementos(String term, Collectio
     }
 
 
+    /**
+     * Runs the autoComplete query for the term (unless it is shorter than the minimum length), using the
+     * {@link AutoCompleteResultCache} if {@link WicketViewerSettings#isAutoCompleteCacheEnabled() enabled}.
+     *
+     * @param scope - identifies the autoComplete within the {@link AutoCompleteResultCache cache}
+     * @param minLength - the minimum length specified for the autoComplete itself
+     * @param matchesTitleMaxResults - the maximum number of results, if the autoComplete is declared to match on
+     *                               title; <tt>0</tt> otherwise
+     * @param query - the underlying autoComplete query
+     */
+    protected final List<ObjectAdapterMemento> obtainAutoCompleteMementos(
+            final String term,
+            final String scope,
+            final int minLength,
+            final int matchesTitleMaxResults,
+            final Function<String, List<ObjectAdapter>> query) {
+
+        final int effectiveMinLength = Math.max(minLength, wicketViewerSettings.getAutoCompleteMinLength());
+        if((term != null ? term.length() : 0) < effectiveMinLength) {
+            return Lists.newArrayList();
+        }
+
+        final AutoCompleteResultCache cache = getAutoCompleteResultCache();
+        final String sessionId = Session.exists() ? Session.get().getId() : null;
+        if (cache == null || (sessionId == null && !cache.isShared())) {
+            // take a copy otherwise so is eagerly evaluated and memento objects correctly built
+            return Lists.newArrayList(
+                    Lists.transform(query.apply(term), ObjectAdapterMemento.Functions.fromAdapter()));
+        }
+
+        // objects may be filtered out of the results as not visible, so the number returned no longer indicates
+        // whether the query's own results were truncated
+        final ObjectSpecification typeOfSpecification = scalarModel.getTypeOfSpecification();
+        final int maxResults = typeOfSpecification != null && ImperativeFacet.Util.isVisibilityImperative(typeOfSpecification)
+                ? 0
+                : matchesTitleMaxResults;
+
+        return cache.obtainMementos(sessionId, scope, term, new AutoCompleteResultCache.Query() {
+            @Override
+            public AutoCompleteResultCache.Entry execute(final String term) {
+                final List<ObjectAdapter> adapters = query.apply(term);
+                final List<ObjectAdapterMemento> mementos = Lists.newArrayList();
+                final List<String> titles = Lists.newArrayList();
+                for (ObjectAdapter adapter : adapters) {
+                    mementos.add(ObjectAdapterMemento.createOrNull(adapter));
+                    titles.add(adapter.titleString(null));
+                }
+                return cache.newEntry(mementos, titles, maxResults);
+            }
+        });
+    }
+
+    private static AutoCompleteResultCache autoCompleteResultCache;
+
+    /**
+     * The application-wide {@link AutoCompleteResultCache}, or <tt>null</tt> if not
+     * {@link WicketViewerSettings#isAutoCompleteCacheEnabled() enabled}.
+     */
+    protected AutoCompleteResultCache getAutoCompleteResultCache() {
+        if(!wicketViewerSettings.isAutoCompleteCacheEnabled()) {
+            return null;
+        }
+        synchronized (ObjectAdapterMementoProviderAbstract.class) {
+            if(autoCompleteResultCache == null) {
+                autoCompleteResultCache = new AutoCompleteResultCache(
+                        wicketViewerSettings.isAutoCompleteCacheShared(),
+                        wicketViewerSettings.getAutoCompleteCacheMaxSize(),
+                        wicketViewerSettings.getAutoCompleteCacheTimeToLive());
+            }
+            return autoCompleteResultCache;
+        }
+    }
+
     protected ScalarModel getScalarModel() {
         return scalarModel;
     }
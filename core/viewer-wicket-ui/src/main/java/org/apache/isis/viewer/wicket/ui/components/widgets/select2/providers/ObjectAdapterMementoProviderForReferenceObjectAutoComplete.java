@@ -41,7 +41,6 @@
 
 import com.google.common.base.Function;
 import com.google.common.collect.Collections2;
-import com.google.common.collect.Lists;
 
 import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
 import org.apache.isis.core.metamodel.adapter.oid.RootOid;
@@ -67,12 +66,15 @@ public ObjectAdapterMementoProviderForReferenceObjectAutoComplete(
     protected List<ObjectAdapterMemento> obtainMementos(String term) {
         final ObjectSpecification typeOfSpecification = getScalarModel().getTypeOfSpecification();
         final AutoCompleteFacet autoCompleteFacet = typeOfSpecification.getFacet(AutoCompleteFacet.class);
-        final List<ObjectAdapter> autoCompleteAdapters =
-                autoCompleteFacet.execute(term,
-                        InteractionInitiatedBy.USER);
-        // take a copy otherwise so is eagerly evaluated and memento objects correctly built
-        return Lists.newArrayList(
-                Lists.transform(autoCompleteAdapters, ObjectAdapterMemento.Functions.fromAdapter()));
+        final String scope = typeOfSpecification.getSpecId().asString();
+        return obtainAutoCompleteMementos(
+                term, scope, autoCompleteFacet.getMinLength(), autoCompleteFacet.getMatchesTitleMaxResults(),
+                new Function<String, List<ObjectAdapter>>() {
+                    @Override
+                    public List<ObjectAdapter> apply(final String term) {
+                        return autoCompleteFacet.execute(term, InteractionInitiatedBy.USER);
+                    }
+                });
     }
 
     @Override
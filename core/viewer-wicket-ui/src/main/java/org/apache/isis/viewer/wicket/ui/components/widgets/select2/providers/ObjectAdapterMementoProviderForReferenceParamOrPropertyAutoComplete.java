@@ -45,7 +45,11 @@
 
 import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
 import org.apache.isis.core.metamodel.adapter.oid.RootOid;
+import org.apache.isis.core.metamodel.facets.param.autocomplete.ActionParameterAutoCompleteFacet;
+import org.apache.isis.core.metamodel.facets.properties.autocomplete.PropertyAutoCompleteFacet;
 import org.apache.isis.viewer.wicket.model.isis.WicketViewerSettings;
+import org.apache.isis.viewer.wicket.model.mementos.ActionMemento;
+import org.apache.isis.viewer.wicket.model.mementos.ActionParameterMemento;
 import org.apache.isis.viewer.wicket.model.mementos.ObjectAdapterMemento;
 import org.apache.isis.viewer.wicket.model.models.ScalarModel;
 
@@ -61,15 +65,44 @@ public ObjectAdapterMementoProviderForReferenceParamOrPropertyAutoComplete(
 
     @Override
     protected List<ObjectAdapterMemento> obtainMementos(String term) {
-        final List<ObjectAdapter> autoCompleteChoices = Lists.newArrayList();
-        if (getScalarModel().hasAutoComplete()) {
-            final List<ObjectAdapter> autoCompleteAdapters =
-                    getScalarModel().getAutoComplete(term, getAuthenticationSession(), getDeploymentCategory());
-            autoCompleteChoices.addAll(autoCompleteAdapters);
+        if (!getScalarModel().hasAutoComplete()) {
+            return Lists.newArrayList();
         }
-        // take a copy otherwise so is eagerly evaluated and memento objects correctly built
-        return Lists.newArrayList(
-                Lists.transform(autoCompleteChoices, ObjectAdapterMemento.Functions.fromAdapter()));
+        return obtainAutoCompleteMementos(
+                term, autoCompleteScope(), getScalarModel().getAutoCompleteMinLength(), matchesTitleMaxResults(),
+                new Function<String, List<ObjectAdapter>>() {
+                    @Override
+                    public List<ObjectAdapter> apply(final String term) {
+                        return getScalarModel().getAutoComplete(term, getAuthenticationSession(), getDeploymentCategory());
+                    }
+                });
+    }
+
+    private int matchesTitleMaxResults() {
+        final ScalarModel scalarModel = getScalarModel();
+        if(scalarModel.getKind() == ScalarModel.Kind.PROPERTY) {
+            final PropertyAutoCompleteFacet facet = scalarModel.getFacet(PropertyAutoCompleteFacet.class);
+            return facet != null ? facet.getMatchesTitleMaxResults() : 0;
+        }
+        final ActionParameterAutoCompleteFacet facet = scalarModel.getFacet(ActionParameterAutoCompleteFacet.class);
+        return facet != null ? facet.getMatchesTitleMaxResults() : 0;
+    }
+
+    /**
+     * The results of the autoComplete depend upon the object owning the property or action, as well as the
+     * property or action parameter itself.
+     */
+    private String autoCompleteScope() {
+        final ScalarModel scalarModel = getScalarModel();
+        final ObjectAdapterMemento parentMemento = scalarModel.getParentObjectAdapterMemento();
+        final String parent = parentMemento != null ? parentMemento.asString() : "";
+        if(scalarModel.getKind() == ScalarModel.Kind.PROPERTY) {
+            return parent + ":" + scalarModel.getPropertyMemento().getIdentifier();
+        }
+        final ActionParameterMemento parameterMemento = scalarModel.getParameterMemento();
+        final ActionMemento actionMemento = parameterMemento.getActionMemento();
+        return parent + ":" + actionMemento.getOwningType().asString() + "#" + actionMemento.getNameParmsId()
+                + ":" + parameterMemento.getNumber();
     }
 
     @Override
@@ -0,0 +1,231 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.viewer.wicket.ui.components.actionmenu.serviceactions;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import com.google.common.collect.Sets;
+import com.google.common.eventbus.Subscribe;
+
+import org.jmock.Expectations;
+import org.jmock.auto.Mock;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.applib.annotation.DomainServiceLayout;
+import org.apache.isis.applib.services.eventbus.ActionDomainEvent;
+import org.apache.isis.applib.services.eventbus.EventBusService;
+import org.apache.isis.core.metamodel.facetapi.Facet;
+import org.apache.isis.core.metamodel.facets.actions.action.invocation.ActionDomainEventFacet;
+import org.apache.isis.core.metamodel.spec.feature.ObjectAction;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class ServiceActionsMenuCacheTest {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private ObjectAction mockObjectAction;
+    @Mock
+    private ActionDomainEventFacet mockActionDomainEventFacet;
+
+    private ServiceActionsMenuCache cache;
+    private Object specificationLoader;
+    private List<ServiceActionsMenuCache.ServiceMenu> menus;
+
+    @Before
+    public void setUp() throws Exception {
+        cache = new ServiceActionsMenuCache();
+        specificationLoader = new Object();
+        menus = Collections.singletonList(new ServiceActionsMenuCache.ServiceMenu("Customers"));
+    }
+
+    @Test
+    public void key_is_independent_of_role_order() throws Exception {
+        final ServiceActionsMenuCache.Key key1 = new ServiceActionsMenuCache.Key(
+                DomainServiceLayout.MenuBar.PRIMARY, Arrays.asList("admin", "user"), Locale.UK);
+        final ServiceActionsMenuCache.Key key2 = new ServiceActionsMenuCache.Key(
+                DomainServiceLayout.MenuBar.PRIMARY, Arrays.asList("user", "admin"), Locale.UK);
+
+        assertThat(key1, is(equalTo(key2)));
+        assertThat(key1.hashCode(), is(equalTo(key2.hashCode())));
+    }
+
+    @Test
+    public void key_distinguishes_menu_bar_roles_and_locale() throws Exception {
+        final ServiceActionsMenuCache.Key key = new ServiceActionsMenuCache.Key(
+                DomainServiceLayout.MenuBar.PRIMARY, Arrays.asList("user"), Locale.UK);
+
+        assertThat(key, is(not(equalTo(new ServiceActionsMenuCache.Key(
+                DomainServiceLayout.MenuBar.SECONDARY, Arrays.asList("user"), Locale.UK)))));
+        assertThat(key, is(not(equalTo(new ServiceActionsMenuCache.Key(
+                DomainServiceLayout.MenuBar.PRIMARY, Arrays.asList("admin"), Locale.UK)))));
+        assertThat(key, is(not(equalTo(new ServiceActionsMenuCache.Key(
+                DomainServiceLayout.MenuBar.PRIMARY, Arrays.asList("user"), Locale.FRANCE)))));
+    }
+
+    @Test
+    public void cached_until_metamodel_version_changes() throws Exception {
+        final ServiceActionsMenuCache.Key key = new ServiceActionsMenuCache.Key(
+                DomainServiceLayout.MenuBar.PRIMARY, null, null);
+
+        assertThat(cache.get(key, specificationLoader, 1), is(nullValue()));
+        cache.put(key, menus, specificationLoader, 1, cache.getGeneration());
+        assertThat(cache.get(key, specificationLoader, 1), is(notNullValue()));
+
+        assertThat(cache.get(key, specificationLoader, 2), is(nullValue()));
+        assertThat(cache.size(), is(0));
+    }
+
+    @Test
+    public void discarded_if_metamodel_replaced() throws Exception {
+        final ServiceActionsMenuCache.Key key = new ServiceActionsMenuCache.Key(
+                DomainServiceLayout.MenuBar.PRIMARY, null, null);
+
+        cache.get(key, specificationLoader, 1);
+        cache.put(key, menus, specificationLoader, 1, cache.getGeneration());
+
+        assertThat(cache.get(key, new Object(), 1), is(nullValue()));
+    }
+
+    @Test
+    public void put_ignored_if_built_against_previous_metamodel_version() throws Exception {
+        final ServiceActionsMenuCache.Key key = new ServiceActionsMenuCache.Key(
+                DomainServiceLayout.MenuBar.PRIMARY, null, null);
+
+        cache.get(key, specificationLoader, 1);
+        final int generation = cache.getGeneration();
+        cache.get(key, specificationLoader, 2);
+        cache.put(key, menus, specificationLoader, 1, generation);
+
+        assertThat(cache.get(key, specificationLoader, 2), is(nullValue()));
+    }
+
+    //region > isImperative
+
+    public static class CustomerCreateEvent extends ActionDomainEvent<Object> {}
+    public static class OrderCreateEvent extends ActionDomainEvent<Object> {}
+
+    public static class SubscriberToAllActionEvents {
+        @Subscribe
+        public void on(final ActionDomainEvent<?> ev) {}
+    }
+    public static class SubscriberToDefaultActionEvents {
+        @Subscribe
+        public void on(final ActionDomainEvent.Default ev) {}
+    }
+    public static class SubscriberToOrderEvents {
+        @Subscribe
+        public void on(final OrderCreateEvent ev) {}
+        public void notAHandler(final CustomerCreateEvent ev) {}
+    }
+    public static class SubscriberToCustomerEventsViaSuperclass extends SubscriberToOrderEvents {
+        @Subscribe
+        private void on(final CustomerCreateEvent ev) {}
+    }
+    public static class SubclassOfSubscriberToCustomerEvents extends SubscriberToCustomerEventsViaSuperclass {
+    }
+
+    @Test
+    public void default_event_imperative_if_subscriber_to_all_action_events() throws Exception {
+        givenActionWithDomainEvent(ActionDomainEvent.Default.class);
+
+        assertThat(isImperative(new SubscriberToAllActionEvents()), is(true));
+    }
+
+    @Test
+    public void default_event_not_imperative_if_no_subscriber_can_receive_it() throws Exception {
+        givenActionWithDomainEvent(ActionDomainEvent.Default.class);
+
+        assertThat(isImperative(new SubscriberToOrderEvents()), is(false));
+    }
+
+    @Test
+    public void default_event_imperative_if_subscriber_to_default_events() throws Exception {
+        givenActionWithDomainEvent(ActionDomainEvent.Default.class);
+
+        assertThat(isImperative(new SubscriberToDefaultActionEvents()), is(true));
+    }
+
+    @Test
+    public void custom_event_imperative_if_some_subscriber_can_receive_it() throws Exception {
+        givenActionWithDomainEvent(CustomerCreateEvent.class);
+
+        assertThat(isImperative(new SubscriberToAllActionEvents()), is(true));
+    }
+
+    @Test
+    public void custom_event_not_imperative_if_no_subscriber_can_receive_it() throws Exception {
+        givenActionWithDomainEvent(CustomerCreateEvent.class);
+
+        assertThat(isImperative(new SubscriberToOrderEvents()), is(false));
+        assertThat(isImperative(), is(false));
+    }
+
+    @Test
+    public void custom_event_imperative_if_non_public_handler_declared_by_superclass() throws Exception {
+        givenActionWithDomainEvent(CustomerCreateEvent.class);
+
+        assertThat(isImperative(new SubclassOfSubscriberToCustomerEvents()), is(true));
+    }
+
+    private void givenActionWithDomainEvent(final Class<?> eventType) {
+        context.checking(new Expectations() {{
+            allowing(mockObjectAction).getFacets(with(any(org.apache.isis.applib.filter.Filter.class)));
+            will(returnValue(Collections.<Facet>emptyList()));
+
+            allowing(mockObjectAction).getFacet(ActionDomainEventFacet.class);
+            will(returnValue(mockActionDomainEventFacet));
+
+            allowing(mockActionDomainEventFacet).isNoop();
+            will(returnValue(false));
+
+            allowing(mockActionDomainEventFacet).value();
+            will(returnValue(eventType));
+        }});
+    }
+
+    private boolean isImperative(final Object... subscribers) {
+        final Set<Object> subscriberSet = Sets.newLinkedHashSet(Arrays.asList(subscribers));
+        final EventBusService eventBusService = new EventBusService.Noop() {
+            @Override
+            public Set<Object> getSubscribers() {
+                return subscriberSet;
+            }
+        };
+        return ServiceActionsMenuCache.ServiceMenuEntry.isImperative(mockObjectAction, eventBusService);
+    }
+
+    //endregion
+
+}
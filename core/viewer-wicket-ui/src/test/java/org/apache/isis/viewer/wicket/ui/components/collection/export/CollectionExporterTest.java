@@ -0,0 +1,212 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.viewer.wicket.ui.components.collection.export;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.jmock.Expectations;
+import org.jmock.Sequence;
+import org.jmock.auto.Mock;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.applib.annotation.Where;
+import org.apache.isis.applib.filter.Filter;
+import org.apache.isis.applib.services.tablecol.TableColumnOrderService;
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.consent.Allow;
+import org.apache.isis.core.metamodel.consent.InteractionInitiatedBy;
+import org.apache.isis.core.metamodel.consent.Veto;
+import org.apache.isis.core.metamodel.facets.object.grid.GridFacet;
+import org.apache.isis.core.metamodel.facets.object.value.ValueFacet;
+import org.apache.isis.core.metamodel.services.ServicesInjector;
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+import org.apache.isis.core.metamodel.spec.feature.Contributed;
+import org.apache.isis.core.metamodel.spec.feature.ObjectAssociation;
+import org.apache.isis.core.runtime.system.persistence.PersistenceSession;
+import org.apache.isis.core.runtime.system.session.IsisSessionFactory;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+import org.apache.isis.viewer.wicket.model.models.EntityCollectionModel;
+
+public class CollectionExporterTest {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private EntityCollectionModel mockModel;
+    @Mock
+    private ObjectSpecification mockTypeOfSpec;
+    @Mock
+    private ObjectSpecification mockValueSpec;
+    @Mock
+    private IsisSessionFactory mockIsisSessionFactory;
+    @Mock
+    private ServicesInjector mockServicesInjector;
+    @Mock
+    private PersistenceSession mockPersistenceSession;
+
+    @Mock
+    private ObjectAssociation mockNameProperty;
+    @Mock
+    private ObjectAssociation mockAmountProperty;
+
+    @Mock
+    private ObjectAdapter mockAdapter1;
+    @Mock
+    private ObjectAdapter mockAdapter2;
+    @Mock
+    private ObjectAdapter mockAdapter3;
+
+    @Mock
+    private ObjectAdapter mockName1;
+    @Mock
+    private ObjectAdapter mockName2;
+    @Mock
+    private ObjectAdapter mockName3;
+    @Mock
+    private ObjectAdapter mockAmount1;
+    @Mock
+    private ObjectAdapter mockAmount3;
+
+    @Mock
+    private TableWriter mockTableWriter;
+
+    @Before
+    public void setUp() throws Exception {
+        context.checking(new Expectations() {{
+            allowing(mockModel).isParented();
+            will(returnValue(false));
+            allowing(mockModel).getTypeOfSpecification();
+            will(returnValue(mockTypeOfSpec));
+            allowing(mockModel).getParentObjectAdapterMemento();
+            will(returnValue(null));
+            allowing(mockModel).getIsisSessionFactory();
+            will(returnValue(mockIsisSessionFactory));
+            allowing(mockIsisSessionFactory).getServicesInjector();
+            will(returnValue(mockServicesInjector));
+            allowing(mockServicesInjector).lookupServices(TableColumnOrderService.class);
+            will(returnValue(Collections.emptyList()));
+            allowing(mockModel).getPersistenceSession();
+            will(returnValue(mockPersistenceSession));
+
+            allowing(mockTypeOfSpec).getFacet(GridFacet.class);
+            will(returnValue(null));
+            allowing(mockTypeOfSpec).getAssociations(with(Contributed.INCLUDED), with(any(Filter.class)));
+            will(returnValue(Arrays.asList(mockNameProperty, mockAmountProperty)));
+
+            allowing(mockNameProperty).getId();
+            will(returnValue("name"));
+            allowing(mockNameProperty).getName();
+            will(returnValue("Name"));
+            allowing(mockAmountProperty).getId();
+            will(returnValue("amount"));
+            allowing(mockAmountProperty).getName();
+            will(returnValue("Amount"));
+
+            allowing(mockModel).iterateObjects(2);
+            will(returnValue(Arrays.asList(mockAdapter1, mockAdapter2, mockAdapter3)));
+        }});
+
+        allowingRow(mockAdapter1, "Object 1", mockName1, "Fred", mockAmount1, 10);
+        allowingRow(mockAdapter2, "Object 2", mockName2, "Mary", null, null);
+        allowingRow(mockAdapter3, "Object 3", mockName3, "Joe", mockAmount3, 30);
+    }
+
+    /**
+     * @param mockAmount - if <tt>null</tt>, then the amount property is hidden for the object.
+     */
+    private void allowingRow(
+            final ObjectAdapter mockAdapter,
+            final String title,
+            final ObjectAdapter mockName,
+            final String name,
+            final ObjectAdapter mockAmount,
+            final Integer amount) {
+        context.checking(new Expectations() {{
+            allowing(mockAdapter).titleString(null);
+            will(returnValue(title));
+
+            allowing(mockNameProperty).isVisible(mockAdapter, InteractionInitiatedBy.USER, Where.STANDALONE_TABLES);
+            will(returnValue(Allow.DEFAULT));
+            allowing(mockNameProperty).get(mockAdapter, InteractionInitiatedBy.USER);
+            will(returnValue(mockName));
+            allowing(mockName).getObject();
+            will(returnValue(name));
+            allowing(mockName).getSpecification();
+            will(returnValue(mockValueSpec));
+            allowing(mockName).titleString(null);
+            will(returnValue(name));
+
+            allowing(mockAmountProperty).isVisible(mockAdapter, InteractionInitiatedBy.USER, Where.STANDALONE_TABLES);
+            will(returnValue(mockAmount != null ? Allow.DEFAULT : Veto.DEFAULT));
+            if(mockAmount != null) {
+                allowing(mockAmountProperty).get(mockAdapter, InteractionInitiatedBy.USER);
+                will(returnValue(mockAmount));
+                allowing(mockAmount).getObject();
+                will(returnValue(amount));
+            }
+
+            allowing(mockValueSpec).containsFacet(ValueFacet.class);
+            will(returnValue(false));
+        }});
+    }
+
+    @Test
+    public void writes_rows_a_chunk_at_a_time_evicting_each_chunk_once_written() throws Exception {
+
+        // expecting
+        final Sequence sequence = context.sequence("export");
+        context.checking(new Expectations() {{
+            oneOf(mockTableWriter).writeRow(row("Object", "Name", "Amount"));
+            inSequence(sequence);
+
+            oneOf(mockTableWriter).writeRow(row("Object 1", "Fred", 10));
+            inSequence(sequence);
+            oneOf(mockTableWriter).writeRow(row("Object 2", "Mary", null));
+            inSequence(sequence);
+            oneOf(mockTableWriter).flush();
+            inSequence(sequence);
+            oneOf(mockPersistenceSession).evict(mockAdapter1);
+            inSequence(sequence);
+            oneOf(mockPersistenceSession).evict(mockAdapter2);
+            inSequence(sequence);
+
+            oneOf(mockTableWriter).writeRow(row("Object 3", "Joe", 30));
+            inSequence(sequence);
+            oneOf(mockPersistenceSession).evict(mockAdapter3);
+            inSequence(sequence);
+
+            oneOf(mockTableWriter).close();
+            inSequence(sequence);
+        }});
+
+        // when
+        new CollectionExporter(mockModel, 2).export(mockTableWriter);
+    }
+
+    private static List<Object> row(final Object... cells) {
+        return Arrays.asList(cells);
+    }
+
+}
@@ -0,0 +1,78 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.viewer.wicket.ui.components.collection.export;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class CsvTableWriterTest {
+
+    @Test
+    public void writes_rows_escaping_where_required() throws Exception {
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        final CsvTableWriter writer = new CsvTableWriter(baos);
+
+        writer.writeRow(Arrays.<Object>asList("Name", "Amount", "Active"));
+        writer.writeRow(Arrays.<Object>asList("Smith, John", new BigDecimal("12.50"), true));
+        writer.writeRow(Arrays.<Object>asList("Say \"hi\"", null, false));
+        writer.close();
+
+        assertThat(new String(baos.toByteArray(), StandardCharsets.UTF_8), is(
+                "﻿" +
+                "Name,Amount,Active\r\n" +
+                "\"Smith, John\",12.50,true\r\n" +
+                "\"Say \"\"hi\"\"\",,false\r\n"));
+    }
+
+    @Test
+    public void neutralizes_text_that_would_be_interpreted_as_a_formula() throws Exception {
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        final CsvTableWriter writer = new CsvTableWriter(baos);
+
+        writer.writeRow(Arrays.<Object>asList("=HYPERLINK(\"http://x\",\"y\")", "+1", "-1", "@SUM(A1)", "a=b"));
+        writer.writeRow(Arrays.<Object>asList(new BigDecimal("-12.50"), -3, ""));
+        writer.close();
+
+        assertThat(new String(baos.toByteArray(), StandardCharsets.UTF_8), is(
+                "\uFEFF" +
+                "\"'=HYPERLINK(\"\"http://x\"\",\"\"y\"\")\",'+1,'-1,'@SUM(A1),a=b\r\n" +
+                "-12.50,-3,\r\n"));
+    }
+
+    @Test
+    public void neutralizes_text_starting_with_a_tab_or_carriage_return() throws Exception {
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        final CsvTableWriter writer = new CsvTableWriter(baos);
+
+        writer.writeRow(Arrays.<Object>asList("\t=1+2", "\r=1+2", "a\tb"));
+        writer.close();
+
+        assertThat(new String(baos.toByteArray(), StandardCharsets.UTF_8), is(
+                "\uFEFF" +
+                "'\t=1+2,\"'\r=1+2\",a\tb\r\n"));
+    }
+
+}
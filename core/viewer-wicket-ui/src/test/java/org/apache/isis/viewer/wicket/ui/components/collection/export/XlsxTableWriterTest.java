@@ -0,0 +1,104 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.viewer.wicket.ui.components.collection.export;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import com.google.common.collect.Maps;
+import com.google.common.io.ByteStreams;
+
+import org.junit.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.junit.Assert.assertThat;
+
+public class XlsxTableWriterTest {
+
+    @Test
+    public void writes_package_with_worksheet_last() throws Exception {
+        final Map<String, byte[]> entries = write();
+
+        assertThat(entries.keySet().toString(), is(
+                "[[Content_Types].xml, _rels/.rels, xl/workbook.xml, xl/_rels/workbook.xml.rels, xl/worksheets/sheet1.xml]"));
+        for (final byte[] bytes : entries.values()) {
+            assertThat(parse(bytes), is(notNullValue()));
+        }
+    }
+
+    @Test
+    public void writes_typed_cells() throws Exception {
+        final Map<String, byte[]> entries = write();
+
+        final Document sheet = parse(entries.get("xl/worksheets/sheet1.xml"));
+        final NodeList rows = sheet.getElementsByTagName("row");
+        assertThat(rows.getLength(), is(2));
+
+        final NodeList cells = ((Element) rows.item(1)).getElementsByTagName("c");
+        assertThat(cells.getLength(), is(4));
+        assertThat(((Element) cells.item(0)).getAttribute("t"), is("inlineStr"));
+        assertThat(cells.item(0).getTextContent(), is("<Smith> & Sons"));
+        assertThat(((Element) cells.item(1)).getAttribute("t"), is(""));
+        assertThat(cells.item(1).getTextContent(), is("12.50"));
+        assertThat(((Element) cells.item(2)).getAttribute("t"), is("b"));
+        assertThat(cells.item(2).getTextContent(), is("1"));
+        assertThat(cells.item(3).getTextContent(), is(""));
+    }
+
+    @Test
+    public void sheet_name_is_sanitized() throws Exception {
+        assertThat(XlsxTableWriter.asSheetName("Orders [2016/17]"), is("Orders  2016 17"));
+        assertThat(XlsxTableWriter.asSheetName(null), is("Sheet1"));
+        assertThat(XlsxTableWriter.asSheetName("A very long name for a collection of things").length(), is(31));
+    }
+
+    private static Map<String, byte[]> write() throws Exception {
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        final XlsxTableWriter writer = new XlsxTableWriter(baos, "Customers");
+        writer.writeRow(Arrays.<Object>asList("Name", "Amount", "Active", "Notes"));
+        writer.writeRow(Arrays.<Object>asList("<Smith> & Sons\u0007", new BigDecimal("12.50"), true, null));
+        writer.close();
+
+        final Map<String, byte[]> entries = Maps.newLinkedHashMap();
+        try (final ZipInputStream zis = new ZipInputStream(new ByteArrayInputStream(baos.toByteArray()))) {
+            ZipEntry entry;
+            while ((entry = zis.getNextEntry()) != null) {
+                entries.put(entry.getName(), ByteStreams.toByteArray(zis));
+            }
+        }
+        return entries;
+    }
+
+    private static Document parse(final byte[] bytes) throws Exception {
+        return DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(new ByteArrayInputStream(bytes));
+    }
+
+}
@@ -0,0 +1,153 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.viewer.wicket.ui.components.widgets.select2.providers;
+
+import java.util.List;
+
+import com.google.common.collect.Lists;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.apache.isis.core.metamodel.adapter.oid.RootOid;
+import org.apache.isis.core.metamodel.spec.ObjectSpecId;
+import org.apache.isis.viewer.wicket.model.mementos.ObjectAdapterMemento;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class AutoCompleteResultCacheTest {
+
+    /**
+     * Simulates a domain autoComplete that matches on title, returning at most <tt>maxResults</tt> matches; declared
+     * to do so unless <tt>maxResults</tt> is <tt>0</tt> (in which case all matches are returned).
+     */
+    static class CountingQuery implements AutoCompleteResultCache.Query {
+
+        private final AutoCompleteResultCache cache;
+        private final List<String> titles;
+        private final int maxResults;
+        int count;
+
+        CountingQuery(final AutoCompleteResultCache cache, final int maxResults, final String... titles) {
+            this.cache = cache;
+            this.maxResults = maxResults;
+            this.titles = Lists.newArrayList(titles);
+        }
+
+        @Override
+        public AutoCompleteResultCache.Entry execute(final String term) {
+            count++;
+            final List<ObjectAdapterMemento> mementos = Lists.newArrayList();
+            final List<String> matchingTitles = Lists.newArrayList();
+            for (int i = 0; i < titles.size() && (maxResults == 0 || mementos.size() < maxResults); i++) {
+                final String title = titles.get(i);
+                if(title.toLowerCase().contains(term.toLowerCase())) {
+                    mementos.add(ObjectAdapterMemento.createPersistent(
+                            RootOid.create(ObjectSpecId.of("CUS"), "" + i)));
+                    matchingTitles.add(title);
+                }
+            }
+            return cache.newEntry(mementos, matchingTitles, maxResults);
+        }
+    }
+
+    private AutoCompleteResultCache cache;
+
+    @Before
+    public void setUp() throws Exception {
+        cache = new AutoCompleteResultCache(false, 100, 60);
+    }
+
+    @Test
+    public void same_term_is_cached() throws Exception {
+        final CountingQuery query = new CountingQuery(cache, 10, "Apple", "Banana");
+
+        assertThat(cache.obtainMementos("s1", "CUS", "an", query).size(), is(1));
+        assertThat(cache.obtainMementos("s1", "CUS", "an", query).size(), is(1));
+
+        assertThat(query.count, is(1));
+    }
+
+    @Test
+    public void longer_term_refined_from_shorter_term() throws Exception {
+        final CountingQuery query = new CountingQuery(cache, 10, "Apple", "Apricot", "Banana");
+
+        assertThat(cache.obtainMementos("s1", "CUS", "ap", query).size(), is(2));
+        assertThat(cache.obtainMementos("s1", "CUS", "apr", query).size(), is(1));
+        assertThat(cache.obtainMementos("s1", "CUS", "apri", query).size(), is(1));
+
+        assertThat(query.count, is(1));
+    }
+
+    @Test
+    public void longer_term_not_refined_if_shorter_term_truncated() throws Exception {
+        final CountingQuery query = new CountingQuery(cache, 3, "Anna", "Andrew", "Andy", "Angela");
+
+        assertThat(cache.obtainMementos("s1", "CUS", "an", query).size(), is(3));
+        assertThat(cache.obtainMementos("s1", "CUS", "ang", query).size(), is(1));
+
+        assertThat(query.count, is(2));
+    }
+
+    @Test
+    public void longer_term_not_refined_unless_declared_to_match_on_title() throws Exception {
+        final CountingQuery query = new CountingQuery(cache, 0, "Apple", "Apricot", "Banana");
+
+        assertThat(cache.obtainMementos("s1", "CUS", "ap", query).size(), is(2));
+        assertThat(cache.obtainMementos("s1", "CUS", "apr", query).size(), is(1));
+        assertThat(cache.obtainMementos("s1", "CUS", "apr", query).size(), is(1));
+
+        assertThat(query.count, is(2));
+    }
+
+    @Test
+    public void not_shared_across_sessions_or_scopes() throws Exception {
+        final CountingQuery query = new CountingQuery(cache, 10, "Apple", "Banana");
+
+        cache.obtainMementos("s1", "CUS", "an", query);
+        cache.obtainMementos("s2", "CUS", "an", query);
+        cache.obtainMementos("s1", "ORD", "an", query);
+
+        assertThat(query.count, is(3));
+    }
+
+    @Test
+    public void shared_across_sessions_if_configured() throws Exception {
+        cache = new AutoCompleteResultCache(true, 100, 60);
+        final CountingQuery query = new CountingQuery(cache, 10, "Apple", "Banana");
+
+        cache.obtainMementos("s1", "CUS", "an", query);
+        cache.obtainMementos("s2", "CUS", "an", query);
+
+        assertThat(query.count, is(1));
+    }
+
+    @Test
+    public void invalidateAll() throws Exception {
+        final CountingQuery query = new CountingQuery(cache, 10, "Apple", "Banana");
+
+        cache.obtainMementos("s1", "CUS", "an", query);
+        cache.invalidateAll();
+        cache.obtainMementos("s1", "CUS", "an", query);
+
+        assertThat(query.count, is(2));
+    }
+
+}
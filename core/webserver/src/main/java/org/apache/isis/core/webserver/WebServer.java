@@ -20,16 +20,33 @@
 package org.apache.isis.core.webserver;
 
 import java.io.File;
+import java.lang.management.ManagementFactory;
 import java.net.URI;
 import java.util.Arrays;
 import java.util.Formatter;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.BlockingQueue;
 
+import com.google.common.base.Splitter;
+import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 
+import org.eclipse.jetty.http2.server.HTTP2CServerConnectionFactory;
+import org.eclipse.jetty.jmx.MBeanContainer;
+import org.eclipse.jetty.server.AsyncNCSARequestLog;
+import org.eclipse.jetty.server.ConnectionFactory;
+import org.eclipse.jetty.server.ConnectorStatistics;
+import org.eclipse.jetty.server.Handler;
+import org.eclipse.jetty.server.HttpConfiguration;
+import org.eclipse.jetty.server.HttpConnectionFactory;
+import org.eclipse.jetty.server.RequestLog;
 import org.eclipse.jetty.server.Server;
 import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.server.handler.StatisticsHandler;
+import org.eclipse.jetty.server.handler.gzip.GzipHandler;
+import org.eclipse.jetty.util.BlockingArrayQueue;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
 import org.eclipse.jetty.webapp.WebAppContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -57,12 +74,47 @@
 import org.apache.isis.core.webserver.internal.OptionHandlerPort;
 import org.apache.isis.core.webserver.internal.OptionHandlerStartupMode;
 
+import static org.apache.isis.core.webserver.WebServerConstants.EMBEDDED_WEB_SERVER_ACCEPTORS_KEY;
+import static org.apache.isis.core.webserver.WebServerConstants.EMBEDDED_WEB_SERVER_ACCEPTORS_DEFAULT;
+import static org.apache.isis.core.webserver.WebServerConstants.EMBEDDED_WEB_SERVER_ACCEPT_QUEUE_SIZE_KEY;
+import static org.apache.isis.core.webserver.WebServerConstants.EMBEDDED_WEB_SERVER_ACCEPT_QUEUE_SIZE_DEFAULT;
+import static org.apache.isis.core.webserver.WebServerConstants.EMBEDDED_WEB_SERVER_CACHE_CONTROL_KEY;
+import static org.apache.isis.core.webserver.WebServerConstants.EMBEDDED_WEB_SERVER_GZIP_KEY;
+import static org.apache.isis.core.webserver.WebServerConstants.EMBEDDED_WEB_SERVER_GZIP_DEFAULT;
+import static org.apache.isis.core.webserver.WebServerConstants.EMBEDDED_WEB_SERVER_GZIP_MIME_TYPES_KEY;
+import static org.apache.isis.core.webserver.WebServerConstants.EMBEDDED_WEB_SERVER_GZIP_MIME_TYPES_DEFAULT;
+import static org.apache.isis.core.webserver.WebServerConstants.EMBEDDED_WEB_SERVER_GZIP_MIN_SIZE_KEY;
+import static org.apache.isis.core.webserver.WebServerConstants.EMBEDDED_WEB_SERVER_GZIP_MIN_SIZE_DEFAULT;
+import static org.apache.isis.core.webserver.WebServerConstants.EMBEDDED_WEB_SERVER_HTTP2C_KEY;
+import static org.apache.isis.core.webserver.WebServerConstants.EMBEDDED_WEB_SERVER_HTTP2C_DEFAULT;
+import static org.apache.isis.core.webserver.WebServerConstants.EMBEDDED_WEB_SERVER_IDLE_TIMEOUT_KEY;
+import static org.apache.isis.core.webserver.WebServerConstants.EMBEDDED_WEB_SERVER_IDLE_TIMEOUT_DEFAULT;
+import static org.apache.isis.core.webserver.WebServerConstants.EMBEDDED_WEB_SERVER_JMX_KEY;
+import static org.apache.isis.core.webserver.WebServerConstants.EMBEDDED_WEB_SERVER_JMX_DEFAULT;
 import static org.apache.isis.core.webserver.WebServerConstants.EMBEDDED_WEB_SERVER_PORT_DEFAULT;
 import static org.apache.isis.core.webserver.WebServerConstants.EMBEDDED_WEB_SERVER_PORT_KEY;
+import static org.apache.isis.core.webserver.WebServerConstants.EMBEDDED_WEB_SERVER_REQUEST_LOG_DEFAULT;
+import static org.apache.isis.core.webserver.WebServerConstants.EMBEDDED_WEB_SERVER_REQUEST_LOG_KEY;
+import static org.apache.isis.core.webserver.WebServerConstants.EMBEDDED_WEB_SERVER_REQUEST_LOG_FILENAME_DEFAULT;
+import static org.apache.isis.core.webserver.WebServerConstants.EMBEDDED_WEB_SERVER_REQUEST_LOG_FILENAME_KEY;
+import static org.apache.isis.core.webserver.WebServerConstants.EMBEDDED_WEB_SERVER_REQUEST_LOG_RETAIN_DAYS_DEFAULT;
+import static org.apache.isis.core.webserver.WebServerConstants.EMBEDDED_WEB_SERVER_REQUEST_LOG_RETAIN_DAYS_KEY;
+import static org.apache.isis.core.webserver.WebServerConstants.EMBEDDED_WEB_SERVER_SELECTORS_DEFAULT;
+import static org.apache.isis.core.webserver.WebServerConstants.EMBEDDED_WEB_SERVER_SELECTORS_KEY;
+import static org.apache.isis.core.webserver.WebServerConstants.EMBEDDED_WEB_SERVER_SEND_SERVER_VERSION_DEFAULT;
+import static org.apache.isis.core.webserver.WebServerConstants.EMBEDDED_WEB_SERVER_SEND_SERVER_VERSION_KEY;
 import static org.apache.isis.core.webserver.WebServerConstants.EMBEDDED_WEB_SERVER_RESOURCE_BASE_DEFAULT;
 import static org.apache.isis.core.webserver.WebServerConstants.EMBEDDED_WEB_SERVER_RESOURCE_BASE_KEY;
 import static org.apache.isis.core.webserver.WebServerConstants.EMBEDDED_WEB_SERVER_STARTUP_MODE_DEFAULT;
 import static org.apache.isis.core.webserver.WebServerConstants.EMBEDDED_WEB_SERVER_STARTUP_MODE_KEY;
+import static org.apache.isis.core.webserver.WebServerConstants.EMBEDDED_WEB_SERVER_THREADS_IDLE_TIMEOUT_DEFAULT;
+import static org.apache.isis.core.webserver.WebServerConstants.EMBEDDED_WEB_SERVER_THREADS_IDLE_TIMEOUT_KEY;
+import static org.apache.isis.core.webserver.WebServerConstants.EMBEDDED_WEB_SERVER_THREADS_MAX_DEFAULT;
+import static org.apache.isis.core.webserver.WebServerConstants.EMBEDDED_WEB_SERVER_THREADS_MAX_KEY;
+import static org.apache.isis.core.webserver.WebServerConstants.EMBEDDED_WEB_SERVER_THREADS_MIN_DEFAULT;
+import static org.apache.isis.core.webserver.WebServerConstants.EMBEDDED_WEB_SERVER_THREADS_MIN_KEY;
+import static org.apache.isis.core.webserver.WebServerConstants.EMBEDDED_WEB_SERVER_THREADS_QUEUE_CAPACITY_DEFAULT;
+import static org.apache.isis.core.webserver.WebServerConstants.EMBEDDED_WEB_SERVER_THREADS_QUEUE_CAPACITY_KEY;
 
 public class WebServer {
 
@@ -92,7 +144,14 @@ public boolean isBackground() {
     }
 
 
+    /**
+     * Init parameters of Jetty's <tt>DefaultServlet</tt>, which serves the static resources of the webapp.
+     */
+    private static final String DEFAULT_SERVLET_CACHE_CONTROL = "org.eclipse.jetty.servlet.Default.cacheControl";
+    private static final String DEFAULT_SERVLET_ETAGS = "org.eclipse.jetty.servlet.Default.etags";
+
     private Server jettyServer;
+    private WebAppContext webAppContext;
 
     public static void main(final String[] args) {
         new WebServer().run(args);
@@ -164,15 +223,129 @@ private Server createJettyServerAndBindConfig(final IsisConfigurationBuilder con
 
         LOG.info("Running Jetty on port '{}' to serve the web application", port);
 
-        final Server jettyServer = new Server(port);
-        final WebAppContext context = new WebAppContext(SRC_MAIN_WEBAPP, webappContextPath);
-        jettyServer.setHandler(context);
+        final Server jettyServer = new Server(createThreadPool(configuration));
+        jettyServer.addConnector(createConnector(jettyServer, port, configuration));
+
+        webAppContext = new WebAppContext(SRC_MAIN_WEBAPP, webappContextPath);
+        webAppContext.setAttribute(WebAppConstants.CONFIGURATION_BUILDER_KEY, configurationBuilder);
+        final String cacheControl = configuration.getString(EMBEDDED_WEB_SERVER_CACHE_CONTROL_KEY);
+        if(cacheControl != null) {
+            webAppContext.setInitParameter(DEFAULT_SERVLET_CACHE_CONTROL, cacheControl);
+            webAppContext.setInitParameter(DEFAULT_SERVLET_ETAGS, "true");
+        }
+
+        Handler handler = webAppContext;
+        if(configuration.getBoolean(EMBEDDED_WEB_SERVER_GZIP_KEY, EMBEDDED_WEB_SERVER_GZIP_DEFAULT)) {
+            handler = gzip(handler, configuration);
+        }
 
-        context.setAttribute(WebAppConstants.CONFIGURATION_BUILDER_KEY, configurationBuilder);
+        if(configuration.getBoolean(EMBEDDED_WEB_SERVER_REQUEST_LOG_KEY, EMBEDDED_WEB_SERVER_REQUEST_LOG_DEFAULT)) {
+            jettyServer.setRequestLog(createRequestLog(configuration));
+        }
+
+        if(configuration.getBoolean(EMBEDDED_WEB_SERVER_JMX_KEY, EMBEDDED_WEB_SERVER_JMX_DEFAULT)) {
+            final MBeanContainer mBeanContainer = new MBeanContainer(ManagementFactory.getPlatformMBeanServer());
+            jettyServer.addEventListener(mBeanContainer);
+            jettyServer.addBean(mBeanContainer);
+            ConnectorStatistics.addToAllConnectors(jettyServer);
+
+            final StatisticsHandler statisticsHandler = new StatisticsHandler();
+            statisticsHandler.setHandler(handler);
+            handler = statisticsHandler;
+        }
+
+        jettyServer.setHandler(handler);
 
         return jettyServer;
     }
 
+    static QueuedThreadPool createThreadPool(final IsisConfiguration configuration) {
+        final int minThreads = configuration.getInteger(
+                EMBEDDED_WEB_SERVER_THREADS_MIN_KEY, EMBEDDED_WEB_SERVER_THREADS_MIN_DEFAULT);
+        final int maxThreads = configuration.getInteger(
+                EMBEDDED_WEB_SERVER_THREADS_MAX_KEY, EMBEDDED_WEB_SERVER_THREADS_MAX_DEFAULT);
+        final int idleTimeout = configuration.getInteger(
+                EMBEDDED_WEB_SERVER_THREADS_IDLE_TIMEOUT_KEY, EMBEDDED_WEB_SERVER_THREADS_IDLE_TIMEOUT_DEFAULT);
+        final int queueCapacity = configuration.getInteger(
+                EMBEDDED_WEB_SERVER_THREADS_QUEUE_CAPACITY_KEY, EMBEDDED_WEB_SERVER_THREADS_QUEUE_CAPACITY_DEFAULT);
+
+        final QueuedThreadPool threadPool =
+                new QueuedThreadPool(maxThreads, minThreads, idleTimeout, queueFor(minThreads, queueCapacity));
+        threadPool.setName("isis-jetty");
+        return threadPool;
+    }
+
+    /**
+     * A <tt>null</tt> queue means Jetty's default (unbounded) queue.
+     */
+    static BlockingQueue<Runnable> queueFor(final int minThreads, final int queueCapacity) {
+        return queueCapacity > 0
+                ? new BlockingArrayQueue<Runnable>(minThreads, minThreads, queueCapacity)
+                : null;
+    }
+
+    static ServerConnector createConnector(
+            final Server jettyServer,
+            final int port,
+            final IsisConfiguration configuration) {
+        final int acceptors = configuration.getInteger(
+                EMBEDDED_WEB_SERVER_ACCEPTORS_KEY, EMBEDDED_WEB_SERVER_ACCEPTORS_DEFAULT);
+        final int selectors = configuration.getInteger(
+                EMBEDDED_WEB_SERVER_SELECTORS_KEY, EMBEDDED_WEB_SERVER_SELECTORS_DEFAULT);
+
+        final HttpConfiguration httpConfiguration = new HttpConfiguration();
+        httpConfiguration.setSendServerVersion(configuration.getBoolean(
+                EMBEDDED_WEB_SERVER_SEND_SERVER_VERSION_KEY, EMBEDDED_WEB_SERVER_SEND_SERVER_VERSION_DEFAULT));
+
+        final List<ConnectionFactory> connectionFactories = Lists.newArrayList();
+        connectionFactories.add(new HttpConnectionFactory(httpConfiguration));
+        if(configuration.getBoolean(EMBEDDED_WEB_SERVER_HTTP2C_KEY, EMBEDDED_WEB_SERVER_HTTP2C_DEFAULT)) {
+            // upgrade from HTTP/1.1 (or prior knowledge) to cleartext HTTP/2
+            connectionFactories.add(new HTTP2CServerConnectionFactory(httpConfiguration));
+        }
+
+        final ServerConnector connector = new ServerConnector(
+                jettyServer, acceptors, selectors,
+                connectionFactories.toArray(new ConnectionFactory[connectionFactories.size()]));
+        connector.setPort(port);
+        connector.setIdleTimeout(configuration.getInteger(
+                EMBEDDED_WEB_SERVER_IDLE_TIMEOUT_KEY, EMBEDDED_WEB_SERVER_IDLE_TIMEOUT_DEFAULT));
+        connector.setAcceptQueueSize(configuration.getInteger(
+                EMBEDDED_WEB_SERVER_ACCEPT_QUEUE_SIZE_KEY, EMBEDDED_WEB_SERVER_ACCEPT_QUEUE_SIZE_DEFAULT));
+        return connector;
+    }
+
+    static GzipHandler gzip(final Handler handler, final IsisConfiguration configuration) {
+        final GzipHandler gzipHandler = new GzipHandler();
+        gzipHandler.setMinGzipSize(configuration.getInteger(
+                EMBEDDED_WEB_SERVER_GZIP_MIN_SIZE_KEY, EMBEDDED_WEB_SERVER_GZIP_MIN_SIZE_DEFAULT));
+        final String mimeTypes = configuration.getString(
+                EMBEDDED_WEB_SERVER_GZIP_MIME_TYPES_KEY, EMBEDDED_WEB_SERVER_GZIP_MIME_TYPES_DEFAULT);
+        gzipHandler.setIncludedMimeTypes(
+                Iterables.toArray(Splitter.on(',').trimResults().omitEmptyStrings().split(mimeTypes), String.class));
+        gzipHandler.setHandler(handler);
+        return gzipHandler;
+    }
+
+    /**
+     * Writes to the log file on a background thread, so that request threads are not blocked on I/O.
+     */
+    static RequestLog createRequestLog(final IsisConfiguration configuration) {
+        final String filename = configuration.getString(
+                EMBEDDED_WEB_SERVER_REQUEST_LOG_FILENAME_KEY, EMBEDDED_WEB_SERVER_REQUEST_LOG_FILENAME_DEFAULT);
+        final File parentDir = new File(filename).getAbsoluteFile().getParentFile();
+        if(parentDir != null && !parentDir.exists() && !parentDir.mkdirs()) {
+            LOG.warn("Unable to create directory for request log '{}'", filename);
+        }
+        final AsyncNCSARequestLog requestLog = new AsyncNCSARequestLog(filename);
+        requestLog.setAppend(true);
+        requestLog.setExtended(false);
+        requestLog.setLogLatency(true);
+        requestLog.setRetainDays(configuration.getInteger(
+                EMBEDDED_WEB_SERVER_REQUEST_LOG_RETAIN_DAYS_KEY, EMBEDDED_WEB_SERVER_REQUEST_LOG_RETAIN_DAYS_DEFAULT));
+        return requestLog;
+    }
+
     private static void start(final Server jettyServer, final StartupMode startupMode) {
         long start = System.currentTimeMillis();
         try {
@@ -232,8 +405,7 @@ private String baseFor(final Server jettyServer) {
         final String host = ArrayExtensions.coalesce(connector.getHost(), "localhost");
         final int port = connector.getPort();
 
-        final WebAppContext handler = (WebAppContext) jettyServer.getHandler();
-        final String contextPath = handler.getContextPath();
+        final String contextPath = webAppContext.getContextPath();
 
         final StringBuilder buf = new StringBuilder();
         
@@ -40,6 +40,105 @@ public final class WebServerConstants {
     public static final String EMBEDDED_WEB_SERVER_STARTUP_MODE_KEY = ROOT + "startupMode";
     public static final String EMBEDDED_WEB_SERVER_STARTUP_MODE_DEFAULT = StartupMode.FOREGROUND.name();
 
+    //region > thread pool
+
+    public static final String EMBEDDED_WEB_SERVER_THREADS_MIN_KEY = ROOT + "threads.min";
+    public static final int EMBEDDED_WEB_SERVER_THREADS_MIN_DEFAULT = 8;
+
+    public static final String EMBEDDED_WEB_SERVER_THREADS_MAX_KEY = ROOT + "threads.max";
+    public static final int EMBEDDED_WEB_SERVER_THREADS_MAX_DEFAULT = 200;
+
+    public static final String EMBEDDED_WEB_SERVER_THREADS_IDLE_TIMEOUT_KEY = ROOT + "threads.idleTimeout";
+    public static final int EMBEDDED_WEB_SERVER_THREADS_IDLE_TIMEOUT_DEFAULT = 60000;
+
+    /**
+     * Maximum number of requests queued waiting for a thread; a value of <tt>0</tt> or less means unbounded.
+     */
+    public static final String EMBEDDED_WEB_SERVER_THREADS_QUEUE_CAPACITY_KEY = ROOT + "threads.queueCapacity";
+    public static final int EMBEDDED_WEB_SERVER_THREADS_QUEUE_CAPACITY_DEFAULT = 0;
+
+    //endregion
+
+    //region > connector
+
+    /**
+     * A value of <tt>-1</tt> means that Jetty picks a value based on the number of available processors.
+     */
+    public static final String EMBEDDED_WEB_SERVER_ACCEPTORS_KEY = ROOT + "acceptors";
+    public static final int EMBEDDED_WEB_SERVER_ACCEPTORS_DEFAULT = -1;
+
+    /**
+     * A value of <tt>-1</tt> means that Jetty picks a value based on the number of available processors.
+     */
+    public static final String EMBEDDED_WEB_SERVER_SELECTORS_KEY = ROOT + "selectors";
+    public static final int EMBEDDED_WEB_SERVER_SELECTORS_DEFAULT = -1;
+
+    public static final String EMBEDDED_WEB_SERVER_ACCEPT_QUEUE_SIZE_KEY = ROOT + "acceptQueueSize";
+    public static final int EMBEDDED_WEB_SERVER_ACCEPT_QUEUE_SIZE_DEFAULT = 0;
+
+    public static final String EMBEDDED_WEB_SERVER_IDLE_TIMEOUT_KEY = ROOT + "idleTimeout";
+    public static final int EMBEDDED_WEB_SERVER_IDLE_TIMEOUT_DEFAULT = 30000;
+
+    public static final String EMBEDDED_WEB_SERVER_HTTP2C_KEY = ROOT + "http2c";
+    public static final boolean EMBEDDED_WEB_SERVER_HTTP2C_DEFAULT = false;
+
+    /**
+     * Whether the <tt>Server</tt> response header (and error pages) include Jetty's version.
+     */
+    public static final String EMBEDDED_WEB_SERVER_SEND_SERVER_VERSION_KEY = ROOT + "sendServerVersion";
+    public static final boolean EMBEDDED_WEB_SERVER_SEND_SERVER_VERSION_DEFAULT = true;
+
+    //endregion
+
+    //region > gzip
+
+    public static final String EMBEDDED_WEB_SERVER_GZIP_KEY = ROOT + "gzip";
+    public static final boolean EMBEDDED_WEB_SERVER_GZIP_DEFAULT = false;
+
+    public static final String EMBEDDED_WEB_SERVER_GZIP_MIN_SIZE_KEY = ROOT + "gzip.minSize";
+    public static final int EMBEDDED_WEB_SERVER_GZIP_MIN_SIZE_DEFAULT = 1024;
+
+    public static final String EMBEDDED_WEB_SERVER_GZIP_MIME_TYPES_KEY = ROOT + "gzip.mimeTypes";
+    public static final String EMBEDDED_WEB_SERVER_GZIP_MIME_TYPES_DEFAULT =
+            "text/html,text/plain,text/xml,text/css,"
+            + "application/javascript,text/javascript,"
+            + "application/json,application/xml";
+
+    //endregion
+
+    //region > static resources
+
+    /**
+     * The <tt>Cache-Control</tt> header for static resources served by Jetty's default servlet, eg
+     * <tt>max-age=3600,public</tt>.  If not specified then no header is added.
+     */
+    public static final String EMBEDDED_WEB_SERVER_CACHE_CONTROL_KEY = ROOT + "cacheControl";
+
+    //endregion
+
+    //region > request log
+
+    public static final String EMBEDDED_WEB_SERVER_REQUEST_LOG_KEY = ROOT + "requestLog";
+    public static final boolean EMBEDDED_WEB_SERVER_REQUEST_LOG_DEFAULT = false;
+
+    /**
+     * The request log file; <tt>yyyy_mm_dd</tt> in the name is replaced by the date, rolled over daily.
+     */
+    public static final String EMBEDDED_WEB_SERVER_REQUEST_LOG_FILENAME_KEY = ROOT + "requestLog.filename";
+    public static final String EMBEDDED_WEB_SERVER_REQUEST_LOG_FILENAME_DEFAULT = "logs/yyyy_mm_dd.request.log";
+
+    public static final String EMBEDDED_WEB_SERVER_REQUEST_LOG_RETAIN_DAYS_KEY = ROOT + "requestLog.retainDays";
+    public static final int EMBEDDED_WEB_SERVER_REQUEST_LOG_RETAIN_DAYS_DEFAULT = 7;
+
+    //endregion
+
+    //region > jmx
+
+    public static final String EMBEDDED_WEB_SERVER_JMX_KEY = ROOT + "jmx";
+    public static final boolean EMBEDDED_WEB_SERVER_JMX_DEFAULT = false;
+
+    //endregion
+
     private WebServerConstants() {
     }
 
@@ -0,0 +1,263 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.webserver;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.GZIPInputStream;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import com.google.common.base.Strings;
+import com.google.common.io.ByteStreams;
+import com.google.common.io.Files;
+
+import org.eclipse.jetty.server.Handler;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.server.handler.AbstractHandler;
+import org.eclipse.jetty.util.BlockingArrayQueue;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.apache.isis.core.commons.config.IsisConfigurationDefault;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class WebServerTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private static final String BODY = Strings.repeat("<p>Hello world</p>", 200);
+
+    private IsisConfigurationDefault configuration;
+    private Server jettyServer;
+
+    @Before
+    public void setUp() throws Exception {
+        configuration = new IsisConfigurationDefault();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if(jettyServer != null) {
+            jettyServer.stop();
+        }
+    }
+
+    @Test
+    public void thread_pool() throws Exception {
+
+        // given
+        configuration.add(WebServerConstants.EMBEDDED_WEB_SERVER_THREADS_MIN_KEY, "4");
+        configuration.add(WebServerConstants.EMBEDDED_WEB_SERVER_THREADS_MAX_KEY, "16");
+        configuration.add(WebServerConstants.EMBEDDED_WEB_SERVER_THREADS_IDLE_TIMEOUT_KEY, "5000");
+
+        // when
+        final QueuedThreadPool threadPool = WebServer.createThreadPool(configuration);
+
+        // then
+        assertThat(threadPool.getMinThreads(), is(4));
+        assertThat(threadPool.getMaxThreads(), is(16));
+        assertThat(threadPool.getIdleTimeout(), is(5000));
+        assertThat(threadPool.getName(), is("isis-jetty"));
+    }
+
+    @Test
+    public void thread_pool_queue() throws Exception {
+        assertThat(WebServer.queueFor(8, 0), is(nullValue()));
+
+        final BlockingQueue<Runnable> queue = WebServer.queueFor(8, 100);
+        assertThat(((BlockingArrayQueue<Runnable>) queue).getMaxCapacity(), is(100));
+    }
+
+    @Test
+    public void connector_defaults() throws Exception {
+
+        // given
+        jettyServer = new Server();
+
+        // when
+        final ServerConnector connector = WebServer.createConnector(jettyServer, 0, configuration);
+
+        // then
+        assertThat(connector.getIdleTimeout(), is((long) WebServerConstants.EMBEDDED_WEB_SERVER_IDLE_TIMEOUT_DEFAULT));
+        assertThat(connector.getAcceptQueueSize(), is(WebServerConstants.EMBEDDED_WEB_SERVER_ACCEPT_QUEUE_SIZE_DEFAULT));
+        assertThat(connector.getProtocols().contains("h2c"), is(false));
+    }
+
+    @Test
+    public void connector() throws Exception {
+
+        // given
+        configuration.add(WebServerConstants.EMBEDDED_WEB_SERVER_ACCEPTORS_KEY, "1");
+        configuration.add(WebServerConstants.EMBEDDED_WEB_SERVER_SELECTORS_KEY, "2");
+        configuration.add(WebServerConstants.EMBEDDED_WEB_SERVER_IDLE_TIMEOUT_KEY, "1000");
+        configuration.add(WebServerConstants.EMBEDDED_WEB_SERVER_ACCEPT_QUEUE_SIZE_KEY, "50");
+        configuration.add(WebServerConstants.EMBEDDED_WEB_SERVER_HTTP2C_KEY, "true");
+        jettyServer = new Server();
+
+        // when
+        final ServerConnector connector = WebServer.createConnector(jettyServer, 0, configuration);
+
+        // then
+        assertThat(connector.getAcceptors(), is(1));
+        assertThat(connector.getSelectorManager().getSelectorCount(), is(2));
+        assertThat(connector.getIdleTimeout(), is(1000L));
+        assertThat(connector.getAcceptQueueSize(), is(50));
+        assertThat(connector.getProtocols().contains("http/1.1"), is(true));
+        assertThat(connector.getProtocols().contains("h2c"), is(true));
+    }
+
+    @Test
+    public void sends_server_version_by_default() throws Exception {
+
+        // given
+        final int port = start(helloHandler());
+
+        // when
+        final HttpURLConnection connection = get(port, false);
+
+        // then
+        assertThat(connection.getResponseCode(), is(200));
+        assertThat(connection.getHeaderField("Server"), containsString("Jetty"));
+        assertThat(connection.getHeaderField("Content-Encoding"), is(nullValue()));
+    }
+
+    @Test
+    public void does_not_send_server_version_if_so_configured() throws Exception {
+
+        // given
+        configuration.add(WebServerConstants.EMBEDDED_WEB_SERVER_SEND_SERVER_VERSION_KEY, "false");
+        final int port = start(helloHandler());
+
+        // when
+        final HttpURLConnection connection = get(port, false);
+
+        // then
+        assertThat(connection.getResponseCode(), is(200));
+        assertThat(connection.getHeaderField("Server"), is(nullValue()));
+    }
+
+    @Test
+    public void gzip() throws Exception {
+
+        // given
+        final int port = start(WebServer.gzip(helloHandler(), configuration));
+
+        // when
+        final HttpURLConnection connection = get(port, true);
+
+        // then
+        assertThat(connection.getHeaderField("Content-Encoding"), is("gzip"));
+        try (final InputStream in = new GZIPInputStream(connection.getInputStream())) {
+            assertThat(new String(ByteStreams.toByteArray(in), StandardCharsets.UTF_8), is(BODY));
+        }
+    }
+
+    @Test
+    public void gzip_not_for_other_mime_types() throws Exception {
+
+        // given
+        configuration.add(WebServerConstants.EMBEDDED_WEB_SERVER_GZIP_MIME_TYPES_KEY, "application/json");
+        final int port = start(WebServer.gzip(helloHandler(), configuration));
+
+        // when
+        final HttpURLConnection connection = get(port, true);
+
+        // then
+        assertThat(connection.getHeaderField("Content-Encoding"), is(nullValue()));
+    }
+
+    @Test
+    public void request_log() throws Exception {
+
+        // given
+        final File requestLogFile = new File(temporaryFolder.getRoot(), "logs/request.log");
+        configuration.add(WebServerConstants.EMBEDDED_WEB_SERVER_REQUEST_LOG_FILENAME_KEY, requestLogFile.getPath());
+        jettyServer = new Server(WebServer.createThreadPool(configuration));
+        jettyServer.setRequestLog(WebServer.createRequestLog(configuration));
+        final int port = start(helloHandler());
+
+        // when
+        get(port, false).getResponseCode();
+        jettyServer.stop();
+
+        // then
+        assertThat(Files.toString(requestLogFile, StandardCharsets.UTF_8), containsString("/hello HTTP/1.1\" 200"));
+    }
+
+    //region > helpers
+
+    private int start(final Handler handler) throws Exception {
+        if(jettyServer == null) {
+            jettyServer = new Server(WebServer.createThreadPool(configuration));
+        }
+        final ServerConnector connector = WebServer.createConnector(jettyServer, 0, configuration);
+        jettyServer.addConnector(connector);
+        jettyServer.setHandler(handler);
+        jettyServer.start();
+        return connector.getLocalPort();
+    }
+
+    private static HttpURLConnection get(final int port, final boolean acceptGzip) throws IOException {
+        final HttpURLConnection connection =
+                (HttpURLConnection) new URL("http://localhost:" + port + "/hello").openConnection();
+        if(acceptGzip) {
+            connection.setRequestProperty("Accept-Encoding", "gzip");
+        }
+        return connection;
+    }
+
+    private static Handler helloHandler() {
+        return new AbstractHandler() {
+            @Override
+            public void handle(
+                    final String target,
+                    final Request baseRequest,
+                    final HttpServletRequest request,
+                    final HttpServletResponse response) throws IOException, ServletException {
+                response.setContentType("text/html");
+                response.setCharacterEncoding("UTF-8");
+                response.getOutputStream().write(BODY.getBytes(StandardCharsets.UTF_8));
+                baseRequest.setHandled(true);
+            }
+        };
+    }
+
+    //endregion
+
+}
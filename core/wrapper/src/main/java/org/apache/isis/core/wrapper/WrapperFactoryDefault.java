@@ -24,6 +24,21 @@
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PreDestroy;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
 
 import org.apache.isis.applib.annotation.DomainService;
 import org.apache.isis.applib.annotation.NatureOfService;
@@ -45,12 +60,19 @@
 import org.apache.isis.applib.events.PropertyModifyEvent;
 import org.apache.isis.applib.events.PropertyUsabilityEvent;
 import org.apache.isis.applib.events.PropertyVisibilityEvent;
+import org.apache.isis.applib.services.bookmark.Bookmark;
+import org.apache.isis.applib.services.bookmark.BookmarkService2;
 import org.apache.isis.applib.services.wrapper.WrapperFactory;
 import org.apache.isis.applib.services.wrapper.WrappingObject;
 import org.apache.isis.applib.services.wrapper.listeners.InteractionListener;
+import org.apache.isis.core.commons.authentication.AuthenticationSession;
 import org.apache.isis.core.commons.authentication.AuthenticationSessionProvider;
+import org.apache.isis.core.commons.config.IsisConfiguration;
 import org.apache.isis.core.metamodel.services.persistsession.PersistenceSessionServiceInternal;
 import org.apache.isis.core.runtime.system.session.IsisSessionFactory;
+import org.apache.isis.core.runtime.system.transaction.IsisTransaction;
+import org.apache.isis.core.runtime.system.transaction.IsisTransactionManager;
+import org.apache.isis.core.runtime.system.transaction.TransactionalClosureWithReturn;
 import org.apache.isis.core.wrapper.dispatchers.InteractionEventDispatcher;
 import org.apache.isis.core.wrapper.dispatchers.InteractionEventDispatcherTypeSafe;
 import org.apache.isis.core.wrapper.handlers.ProxyContextHandler;
@@ -269,6 +291,168 @@ public <T> T unwrap(T possibleWrappedDomainObject) {
         return possibleWrappedDomainObject;
     }
 
+    // /////////////////////////////////////////////////////////////
+    // async
+    // /////////////////////////////////////////////////////////////
+
+    public static final String ASYNC_THREADS_KEY = "isis.services.wrapper.async.threads";
+    public static final String ASYNC_QUEUE_CAPACITY_KEY = "isis.services.wrapper.async.queueCapacity";
+    public static final int ASYNC_QUEUE_CAPACITY_DEFAULT = 1000;
+
+    private ListeningExecutorService asyncExecutor;
+    private boolean asyncExecutorCreated;
+
+    @Override
+    public <T> AsyncWrapper<T> async(final T domainObject) {
+        final T underlyingDomainObject = unwrap(domainObject);
+        return new AsyncWrapper<T>() {
+            @Override
+            public <R> ListenableFuture<R> invoke(final AsyncCall<T, R> call) {
+
+                // validate the business rules now, so that any exception is thrown to the caller
+                call.call(wrapNoExecute(underlyingDomainObject));
+
+                // the domain object (if an entity) belongs to the caller's session, so is looked up again
+                final Bookmark bookmark = bookmarkService.bookmarkFor(underlyingDomainObject);
+                if(bookmark == null || bookmark.getObjectState().isTransient()) {
+                    throw new IllegalArgumentException(
+                            "Only persistent objects, view models and services can be invoked asynchronously");
+                }
+                final AuthenticationSession authenticationSession =
+                        authenticationSessionProvider.getAuthenticationSession();
+
+                final Callable<R> task = new Callable<R>() {
+                    @Override
+                    public R call() throws Exception {
+                        return executeInSessionAndTransaction(authenticationSession, new Callable<R>() {
+                            @Override
+                            public R call() {
+                                @SuppressWarnings("unchecked")
+                                final T target = (T) bookmarkService.lookup(bookmark);
+                                return call.call(wrap(target));
+                            }
+                        });
+                    }
+                };
+
+                final IsisTransaction transaction = currentTransaction();
+                if(transaction == null) {
+                    return getAsyncExecutor().submit(task);
+                }
+
+                // the task may only see (and depend upon) the caller's changes once they have been committed
+                final SettableFuture<R> future = SettableFuture.create();
+                transaction.registerCompletionCallback(new IsisTransaction.CompletionCallback() {
+                    @Override
+                    public void afterCommit() {
+                        try {
+                            future.setFuture(getAsyncExecutor().submit(task));
+                        } catch (final RejectedExecutionException ex) {
+                            future.setException(ex);
+                        }
+                    }
+
+                    @Override
+                    public void afterAbort() {
+                        future.cancel(false);
+                    }
+                });
+                return future;
+            }
+        };
+    }
+
+    /**
+     * The caller's transaction, if still in progress; {@link #async(Object) async} interactions are only submitted
+     * once it has committed (and are cancelled if it aborts).
+     */
+    protected IsisTransaction currentTransaction() {
+        if(isisSessionFactory == null || !isisSessionFactory.inSession()) {
+            return null;
+        }
+        final IsisTransaction transaction = isisSessionFactory.getCurrentSession().getPersistenceSession()
+                .getTransactionManager().getCurrentTransaction();
+        return transaction != null && !transaction.getState().isComplete() ? transaction : null;
+    }
+
+    /**
+     * Runs the callable (on the current, ie a pooled, thread) in a new session for the
+     * specified user, within a transaction.
+     */
+    protected <R> R executeInSessionAndTransaction(
+            final AuthenticationSession authenticationSession,
+            final Callable<R> callable) throws Exception {
+        try {
+            isisSessionFactory.openSession(authenticationSession);
+            final IsisTransactionManager transactionManager =
+                    isisSessionFactory.getCurrentSession().getPersistenceSession().getTransactionManager();
+            return transactionManager.executeWithinTransaction(new TransactionalClosureWithReturn<R>() {
+                @Override
+                public R execute() {
+                    try {
+                        return callable.call();
+                    } catch (final RuntimeException ex) {
+                        throw ex;
+                    } catch (final Exception ex) {
+                        throw new RuntimeException(ex);
+                    }
+                }
+            });
+        } finally {
+            isisSessionFactory.closeSession();
+        }
+    }
+
+    /**
+     * Use the specified executor (rather than a pool of
+     * <tt>isis.services.wrapper.async.threads</tt> threads) for {@link #async(Object) async} interactions.
+     */
+    @Programmatic
+    public synchronized void setAsyncExecutor(final ExecutorService executorService) {
+        this.asyncExecutor = MoreExecutors.listeningDecorator(executorService);
+        this.asyncExecutorCreated = false;
+    }
+
+    private synchronized ListeningExecutorService getAsyncExecutor() {
+        if(asyncExecutor == null) {
+            final int threads = configuration != null
+                    ? configuration.getInteger(ASYNC_THREADS_KEY, Runtime.getRuntime().availableProcessors())
+                    : Runtime.getRuntime().availableProcessors();
+            final int queueCapacity = configuration != null
+                    ? configuration.getInteger(ASYNC_QUEUE_CAPACITY_KEY, ASYNC_QUEUE_CAPACITY_DEFAULT)
+                    : ASYNC_QUEUE_CAPACITY_DEFAULT;
+
+            final AtomicInteger threadNumber = new AtomicInteger();
+            // if the queue is full then the submission is rejected; it cannot be run by the caller, because that
+            // would replace the caller's own session.
+            final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                    threads, threads,
+                    60L, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<Runnable>(queueCapacity),
+                    new ThreadFactory() {
+                        @Override
+                        public Thread newThread(final Runnable r) {
+                            final Thread thread = new Thread(r, "isis-wrapper-async-" + threadNumber.incrementAndGet());
+                            thread.setDaemon(true);
+                            return thread;
+                        }
+                    });
+            executor.allowCoreThreadTimeOut(true);
+            asyncExecutor = MoreExecutors.listeningDecorator(executor);
+            asyncExecutorCreated = true;
+        }
+        return asyncExecutor;
+    }
+
+    @PreDestroy
+    @Programmatic
+    public synchronized void shutdown() {
+        // an executor provided by the application is its own responsibility
+        if(asyncExecutorCreated) {
+            asyncExecutor.shutdown();
+        }
+    }
+
     // /////////////////////////////////////////////////////////////
     // Listeners
     // /////////////////////////////////////////////////////////////
@@ -310,4 +494,10 @@ public void notifyListeners(final InteractionEvent interactionEvent) {
     @javax.inject.Inject
     IsisSessionFactory isisSessionFactory;
 
+    @javax.inject.Inject
+    BookmarkService2 bookmarkService;
+
+    @javax.inject.Inject
+    IsisConfiguration configuration;
+
 }
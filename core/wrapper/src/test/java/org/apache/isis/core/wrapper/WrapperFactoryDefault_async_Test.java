@@ -0,0 +1,281 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.wrapper;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.util.concurrent.ListenableFuture;
+
+import org.jmock.Expectations;
+import org.jmock.api.Invocation;
+import org.jmock.auto.Mock;
+import org.jmock.lib.action.CustomAction;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.applib.services.bookmark.Bookmark;
+import org.apache.isis.applib.services.bookmark.BookmarkService2;
+import org.apache.isis.applib.services.wrapper.WrapperFactory;
+import org.apache.isis.core.commons.authentication.AuthenticationSession;
+import org.apache.isis.core.commons.authentication.AuthenticationSessionProvider;
+import org.apache.isis.core.runtime.system.session.IsisSessionFactory;
+import org.apache.isis.core.runtime.system.transaction.IsisTransaction;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.wrapper.proxy.ProxyCreator;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.fail;
+
+public class WrapperFactoryDefault_async_Test {
+
+    public static class Counter {
+
+        private int count;
+        private Thread incrementedOnThread;
+
+        public Integer incrementBy(final int amount) {
+            incrementedOnThread = Thread.currentThread();
+            count += amount;
+            return count;
+        }
+    }
+
+    /**
+     * Stands in for a {@link WrapperFactory.ExecutionMode#NO_EXECUTE no-execute} wrapper: validates, but does
+     * not execute.
+     */
+    public static class CounterNoExecute extends Counter {
+        @Override
+        public Integer incrementBy(final int amount) {
+            if(amount < 0) {
+                throw new IllegalArgumentException("amount cannot be negative");
+            }
+            return null;
+        }
+    }
+
+    private static WrapperFactory.AsyncCall<Counter, Integer> incrementBy(final int amount) {
+        return new WrapperFactory.AsyncCall<Counter, Integer>() {
+            @Override
+            public Integer call(final Counter wrapped) {
+                return wrapped.incrementBy(amount);
+            }
+        };
+    }
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(JUnitRuleMockery2.Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    ProxyCreator mockProxyCreator;
+    @Mock
+    BookmarkService2 mockBookmarkService;
+    @Mock
+    AuthenticationSessionProvider mockAuthenticationSessionProvider;
+    @Mock
+    AuthenticationSession mockAuthenticationSession;
+    @Mock
+    IsisTransaction mockTransaction;
+
+    private Counter counter;
+    private Bookmark bookmark;
+    private ExecutorService executorService;
+    private WrapperFactoryDefault wrapperFactory;
+
+    private AuthenticationSession executedAs;
+    private IsisTransaction transaction;
+    private IsisTransaction.CompletionCallback completionCallback;
+
+    @Before
+    public void setUp() throws Exception {
+        counter = new Counter();
+        bookmark = new Bookmark("CTR", "1");
+
+        wrapperFactory = new WrapperFactoryDefault(mockProxyCreator) {
+            @Override
+            protected <T> T createProxy(
+                    final T domainObject, final ExecutionMode mode, final IsisSessionFactory isisSessionFactory) {
+                return mode == ExecutionMode.NO_EXECUTE ? (T) new CounterNoExecute() : domainObject;
+            }
+
+            @Override
+            protected <R> R executeInSessionAndTransaction(
+                    final AuthenticationSession authenticationSession, final Callable<R> callable) throws Exception {
+                executedAs = authenticationSession;
+                return callable.call();
+            }
+
+            @Override
+            protected IsisTransaction currentTransaction() {
+                return transaction;
+            }
+        };
+        wrapperFactory.bookmarkService = mockBookmarkService;
+        wrapperFactory.authenticationSessionProvider = mockAuthenticationSessionProvider;
+
+        executorService = Executors.newSingleThreadExecutor();
+        wrapperFactory.setAsyncExecutor(executorService);
+
+        context.checking(new Expectations() {{
+            allowing(mockAuthenticationSessionProvider).getAuthenticationSession();
+            will(returnValue(mockAuthenticationSession));
+        }});
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    public void executes_on_another_thread_as_current_user() throws Exception {
+
+        // given
+        context.checking(new Expectations() {{
+            allowing(mockBookmarkService).bookmarkFor(counter);
+            will(returnValue(bookmark));
+
+            oneOf(mockBookmarkService).lookup(bookmark);
+            will(returnValue(counter));
+        }});
+
+        // when
+        final ListenableFuture<Integer> future = wrapperFactory.async(counter).invoke(incrementBy(3));
+
+        // then
+        assertThat(future.get(5, TimeUnit.SECONDS), is(3));
+        assertThat(counter.incrementedOnThread, is(not(sameInstance(Thread.currentThread()))));
+        assertThat(executedAs, is(sameInstance(mockAuthenticationSession)));
+    }
+
+    @Test
+    public void within_a_transaction_executes_only_once_committed() throws Exception {
+
+        // given
+        givenCallerTransaction();
+        context.checking(new Expectations() {{
+            allowing(mockBookmarkService).bookmarkFor(counter);
+            will(returnValue(bookmark));
+
+            oneOf(mockBookmarkService).lookup(bookmark);
+            will(returnValue(counter));
+        }});
+
+        // when
+        final ListenableFuture<Integer> future = wrapperFactory.async(counter).invoke(incrementBy(3));
+
+        // then
+        assertThat(future.isDone(), is(false));
+        assertThat(counter.count, is(0));
+
+        // when
+        completionCallback.afterCommit();
+
+        // then
+        assertThat(future.get(5, TimeUnit.SECONDS), is(3));
+        assertThat(counter.incrementedOnThread, is(not(sameInstance(Thread.currentThread()))));
+    }
+
+    @Test
+    public void within_a_transaction_not_executed_if_rolled_back() throws Exception {
+
+        // given
+        givenCallerTransaction();
+        context.checking(new Expectations() {{
+            allowing(mockBookmarkService).bookmarkFor(counter);
+            will(returnValue(bookmark));
+
+            never(mockBookmarkService).lookup(with(any(Bookmark.class)));
+        }});
+
+        // when
+        final ListenableFuture<Integer> future = wrapperFactory.async(counter).invoke(incrementBy(3));
+        completionCallback.afterAbort();
+
+        // then
+        assertThat(future.isCancelled(), is(true));
+        executorService.shutdown();
+        assertThat(executorService.awaitTermination(5, TimeUnit.SECONDS), is(true));
+        assertThat(counter.count, is(0));
+    }
+
+    private void givenCallerTransaction() {
+        transaction = mockTransaction;
+        context.checking(new Expectations() {{
+            oneOf(mockTransaction).registerCompletionCallback(with(any(IsisTransaction.CompletionCallback.class)));
+            will(new CustomAction("capture callback") {
+                @Override
+                public Object invoke(final Invocation invocation) throws Throwable {
+                    completionCallback = (IsisTransaction.CompletionCallback) invocation.getParameter(0);
+                    return null;
+                }
+            });
+        }});
+    }
+
+    @Test
+    public void validation_failures_are_thrown_to_caller() throws Exception {
+
+        // expecting
+        context.checking(new Expectations() {{
+            never(mockBookmarkService);
+        }});
+
+        // when
+        try {
+            wrapperFactory.async(counter).invoke(incrementBy(-1));
+            fail();
+        } catch(IllegalArgumentException ex) {
+            // then
+            assertThat(ex.getMessage(), is("amount cannot be negative"));
+        }
+        assertThat(counter.count, is(0));
+    }
+
+    @Test
+    public void transient_objects_are_rejected() throws Exception {
+
+        // given
+        context.checking(new Expectations() {{
+            allowing(mockBookmarkService).bookmarkFor(counter);
+            will(returnValue(new Bookmark("!CTR", "1")));
+
+            never(mockBookmarkService).lookup(with(any(Bookmark.class)));
+        }});
+
+        // when
+        try {
+            wrapperFactory.async(counter).invoke(incrementBy(1));
+            fail();
+        } catch(IllegalArgumentException ex) {
+            // then
+            assertThat(ex.getMessage(), is("Only persistent objects, view models and services can be invoked asynchronously"));
+        }
+        assertThat(counter.count, is(0));
+    }
+
+}